@@ -107,6 +107,23 @@ public class CVSAnnotateBlock {
 		valid = true;
 	}
 
+	/**
+	 * Instantiate the receiver from the parts of a CVS Annotate output line
+	 * that were already parsed.
+	 * @param revision the revision of the line
+	 * @param user the user that committed the revision
+	 * @param lineNumber the number of the line
+	 * @param sourceOffset the index of the source in the line
+	 */
+	public CVSAnnotateBlock(String revision, String user, int lineNumber, int sourceOffset) {
+		this.revision = revision;
+		this.user = user;
+		this.startLine = lineNumber;
+		this.endLine = lineNumber;
+		this.sourceOffset = sourceOffset;
+		this.valid = true;
+	}
+
 	/**
 	 * Used by the default LabelProvider to display objects in a List View
 	 */
@@ -55,6 +55,7 @@ public class CVSMessages extends NLS {
 	public static String Connection_readUnestablishedConnection;
 	public static String Connection_writeUnestablishedConnection;
 	public static String Connection_0;
+	public static String ConnectionPool_0;
 	public static String PrepareForReplaceVisitor_DeletedFileWithoutHistoryCannotBeRestoredWhileRevertToBase;
 	public static String PrepareForReplaceVisitor_FileCannotBeReplacedWithBase;
 
@@ -191,6 +192,7 @@ public class CVSMessages extends NLS {
 	public static String CVSProvider_Scrubbing_local_project_1;
 	public static String CVSProvider_Scrubbing_projects_1;
 	public static String CVSProvider_Creating_projects_2;
+	public static String CVSProvider_noRepositoryLocation;
 
 	public static String EclipseFile_Problem_deleting_resource;
 	public static String EclipseFile_Problem_accessing_resource;
@@ -221,6 +223,7 @@ public class CVSMessages extends NLS {
 	public static String Version_versionNotValidRequest;
 
 	public static String LogListener_invalidRevisionFormat;
+	public static String ConsoleListeners_listenerFailed;
 	public static String NotifyInfo_MalformedLine;
 	public static String NotifyInfo_MalformedNotificationType;
 	public static String NotifyInfo_MalformedNotifyDate;
@@ -255,6 +258,11 @@ public class CVSMessages extends NLS {
 	public static String CVSRepositoryLocation_74;
 	public static String CVSRepositoryLocation_75;
 	public static String SyncFileWriter_0;
+	public static String SyncStateIndex_0;
+	public static String SyncStateIndex_1;
+	public static String ModuleCache_0;
+	public static String ModuleCache_1;
+	public static String RemoteContentCache_0;
 	public static String ResponseHandler_0;
 
 	public static String CVSTeamProviderType_0;
@@ -22,6 +22,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -35,10 +36,14 @@ import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobGroup;
 import org.eclipse.core.runtime.jobs.MultiRule;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.team.core.ProjectSetCapability;
 import org.eclipse.team.core.ProjectSetSerializationContext;
 import org.eclipse.team.core.RepositoryProvider;
@@ -57,6 +62,8 @@ import org.eclipse.team.internal.ccvs.core.resources.RemoteFolder;
 import org.eclipse.team.internal.ccvs.core.resources.RemoteModule;
 import org.eclipse.team.internal.ccvs.core.syncinfo.FolderSyncInfo;
 import org.eclipse.team.internal.ccvs.core.util.KnownRepositories;
+import org.eclipse.team.internal.ccvs.core.util.ModuleCache;
+import org.eclipse.team.internal.ccvs.core.util.ParallelTasks;
 
 /**
  * An object for serializing and deserializing of references to CVS based
@@ -248,6 +255,13 @@ public class CVSProjectSetCapability extends ProjectSetCapability {
 		IProgressMonitor monitor)
 		throws TeamException {
 		
+		// The workers obtain the rules of their projects so the projects are checked
+		// out one after the other if the caller already holds a rule
+		int maxConnections = CVSProviderPlugin.getPlugin().getMaxCheckoutConnections();
+		if (maxConnections > 1 && projects.length > 1 && Job.getJobManager().currentRule() == null) {
+			return checkoutInParallel(projects, infoMap, maxConnections, monitor);
+		}
+		
 		final List result = new ArrayList();
 		try {
 			ResourcesPlugin.getWorkspace().run((IWorkspaceRunnable) monitor1 -> {
@@ -258,7 +272,9 @@ public class CVSProjectSetCapability extends ProjectSetCapability {
 							break;
 						IProject project = projects[i];
 						LoadInfo info = (LoadInfo) infoMap.get(project);
-						if (info != null && info.checkout(SubMonitor.convert(monitor1, 1000)))
+						if (info == null || info.repositoryLocation == null)
+							reportNotLoaded(project);
+						else if (info.checkout(SubMonitor.convert(monitor1, 1000)))
 							result.add(project);
 					}
 				}
@@ -272,6 +288,126 @@ public class CVSProjectSetCapability extends ProjectSetCapability {
 		return (IProject[])result.toArray(new IProject[result.size()]);
 	}
 
+	/**
+	 * Checkout projects from their CVS repositories concurrently. The projects are
+	 * grouped by repository and a single session is first opened to each repository
+	 * to expand the modules of all its projects in one request. This authenticates
+	 * the location so the workers reuse its pooled connection and a repository that
+	 * cannot be used fails before any of its projects is scrubbed. The projects of
+	 * each repository are then checked out by at most the given number of workers,
+	 * each holding only the rule of its project.
+	 * <p>
+	 * The workers are only canceled when the import is and the calling thread reports
+	 * their progress. No new project is started once the import is canceled or a checkout
+	 * fails but the projects being checked out are allowed to finish so they are left mapped.
+	 * </p>
+	 * 
+	 * @param projects the projects to be loaded from the repository
+	 * @param infoMap a mapping of project to project load information
+	 * @param maxConnections the number of projects checked out at once from a repository
+	 * @param monitor the progress monitor (not <code>null</code>)
+	 */
+	private IProject[] checkoutInParallel(
+		IProject[] projects,
+		Map infoMap,
+		int maxConnections,
+		IProgressMonitor monitor)
+		throws TeamException {
+		
+		// Group the projects by repository, keeping the order of the references
+		Map<ICVSRepositoryLocation, List<LoadInfo>> groups = new LinkedHashMap<>();
+		for (IProject project : projects) {
+			LoadInfo info = (LoadInfo) infoMap.get(project);
+			if (info == null || info.repositoryLocation == null)
+				reportNotLoaded(project);
+			else
+				groups.computeIfAbsent(info.repositoryLocation, location -> new ArrayList<>()).add(info);
+		}
+		
+		monitor.beginTask("", 100 * groups.size() + 1000 * projects.length); //$NON-NLS-1$
+		Set<IProject> loaded = new HashSet<>();
+		ParallelTasks<IProject> tasks = new ParallelTasks<>("CVS project set checkout", monitor, loaded::add); //$NON-NLS-1$
+		CVSException expandFailure = null;
+		try {
+			for (Map.Entry<ICVSRepositoryLocation, List<LoadInfo>> group : groups.entrySet()) {
+				List<LoadInfo> infos = group.getValue();
+				try {
+					Policy.checkCanceled(monitor);
+					expandModules(group.getKey(), infos, Policy.subMonitorFor(monitor, 100));
+				} catch (CVSException e) {
+					expandFailure = e;
+				} catch (OperationCanceledException e) {
+					// handled by the tasks
+				}
+				if (expandFailure != null || monitor.isCanceled()) {
+					// Wait for the projects of the previous repositories
+					tasks.stop();
+					break;
+				}
+				JobGroup jobGroup = tasks.newGroup(Math.min(maxConnections, infos.size()));
+				for (final LoadInfo info : infos) {
+					tasks.submit(jobGroup, 1000, workerMonitor -> info.checkout(workerMonitor) ? info.getProject() : null);
+				}
+			}
+			tasks.join();
+		} finally {
+			monitor.done();
+		}
+		if (expandFailure != null)
+			throw expandFailure;
+		
+		List<IProject> result = new ArrayList<>();
+		for (IProject project : projects) {
+			if (loaded.contains(project))
+				result.add(project);
+		}
+		return result.toArray(new IProject[result.size()]);
+	}
+	
+	/*
+	 * Log that the given project is not loaded because it has no repository location
+	 */
+	private static void reportNotLoaded(IProject project) {
+		CVSProviderPlugin.log(IStatus.WARNING, NLS.bind(CVSMessages.CVSProvider_noRepositoryLocation, new String[] { project.getName() }), null);
+	}
+	
+	/*
+	 * Expand the modules of the given projects with a single request to their repository.
+	 * The expansion of each module is then cached so that the checkout of its project
+	 * does not send another request.
+	 */
+	private static void expandModules(ICVSRepositoryLocation location, List<LoadInfo> infos, IProgressMonitor monitor) throws CVSException {
+		String[] modules = new String[infos.size()];
+		for (int i = 0; i < modules.length; i++) {
+			modules[i] = infos.get(i).module;
+		}
+		monitor.beginTask(null, 100);
+		Session session = new Session(location, CVSWorkspaceRoot.getCVSFolderFor(ResourcesPlugin.getWorkspace().getRoot()));
+		try {
+			session.open(Policy.subMonitorFor(monitor, 50), false /* read-only */);
+			try {
+				IStatus status = Request.EXPAND_MODULES.execute(session, modules, Policy.subMonitorFor(monitor, 50));
+				if (status.getCode() == CVSStatus.SERVER_ERROR) {
+					throw new CVSServerException(status);
+				}
+				// An expansion can only be matched with its module when each module expands
+				// to itself, as a module that is a directory does
+				String[] expansions = session.getModuleExpansions();
+				if (expansions.length == modules.length) {
+					ModuleCache cache = ModuleCache.getInstance();
+					for (int i = 0; i < modules.length; i++) {
+						if (expansions[i].equals(modules[i]))
+							cache.setModuleExpansions(location, new String[] { modules[i] }, new String[] { expansions[i] });
+					}
+				}
+			} finally {
+				session.close();
+			}
+		} finally {
+			monitor.done();
+		}
+	}
+
 	/**
 	 * Internal class for adding projects to the workspace 
 	 */
@@ -457,38 +593,47 @@ public class CVSProjectSetCapability extends ProjectSetCapability {
 									(IProject[]) targetProjects.toArray(new IProject[targetProjects.size()]), monitor1),
 									Policy.subMonitorFor(pm, 100));
 
-							// Build the local options
-							List localOptions = new ArrayList();
-							// Add the option to load into the target project if one was supplied
-							if (project != null) {
-								localOptions.add(Checkout.makeDirectoryNameOption(project.getName()));
-							}
-							// Prune empty directories if pruning enabled
-							if (CVSProviderPlugin.getPlugin().getPruneEmptyDirectories()) 
-								localOptions.add(Command.PRUNE_EMPTY_DIRECTORIES);
-							// Add the options related to the CVSTag
-							CVSTag tag = resource.getTag();
-							if (tag == null) {
-								// A null tag in a remote resource indicates HEAD
-								tag = CVSTag.DEFAULT;
-							}
-							localOptions.add(Update.makeTagOption(tag));
+							// The scrubbed projects are brought into the workspace if the checkout loaded them, even partially
+							boolean loaded = false;
+							try {
+								// Build the local options
+								List localOptions = new ArrayList();
+								// Add the option to load into the target project if one was supplied
+								if (project != null) {
+									localOptions.add(Checkout.makeDirectoryNameOption(project.getName()));
+								}
+								// Prune empty directories if pruning enabled
+								if (CVSProviderPlugin.getPlugin().getPruneEmptyDirectories()) 
+									localOptions.add(Command.PRUNE_EMPTY_DIRECTORIES);
+								// Add the options related to the CVSTag
+								CVSTag tag = resource.getTag();
+								if (tag == null) {
+									// A null tag in a remote resource indicates HEAD
+									tag = CVSTag.DEFAULT;
+								}
+								localOptions.add(Update.makeTagOption(tag));
 
-							// Perform the checkout
-							IStatus status2 = Command.CHECKOUT.execute(session,
-								Command.NO_GLOBAL_OPTIONS,
-								(LocalOption[])localOptions.toArray(new LocalOption[localOptions.size()]),
-								new String[]{moduleName},
-								null,
-								Policy.subMonitorFor(pm, 800));
-							if (status2.getCode() == CVSStatus.SERVER_ERROR) {
-								// XXX Should we cleanup any partially checked out projects?
-								throw new CVSServerException(status2);
+								// Perform the checkout
+								IStatus status2 = Command.CHECKOUT.execute(session,
+									Command.NO_GLOBAL_OPTIONS,
+									(LocalOption[])localOptions.toArray(new LocalOption[localOptions.size()]),
+									new String[]{moduleName},
+									null,
+									Policy.subMonitorFor(pm, 800));
+								if (status2.getCode() == CVSStatus.SERVER_ERROR) {
+									// XXX Should we cleanup any partially checked out projects?
+									throw new CVSServerException(status2);
+								}
+								loaded = true;
+							} finally {
+								// Bring the project into the workspace
+								IProject[] targets = (IProject[])targetProjects.toArray(new IProject[targetProjects.size()]);
+								if (loaded) {
+									refreshProjects(targets, Policy.subMonitorFor(pm, 100));
+								} else {
+									refreshPartialProjects(targets, Policy.subMonitorFor(pm, 100));
+								}
 							}
-							
-							// Bring the project into the workspace
-							refreshProjects((IProject[])targetProjects.toArray(new IProject[targetProjects.size()]), Policy.subMonitorFor(pm, 100));
-
 						} finally {
 							session.close();
 						}
@@ -549,6 +694,23 @@ public class CVSProjectSetCapability extends ProjectSetCapability {
 		}
 	}
 	
+	/*
+	 * Bring the projects that a failed checkout partially loaded into the workspace.
+	 * A failure to do so is logged so that it does not hide the failure of the checkout.
+	 */
+	private static void refreshPartialProjects(IProject[] projects, IProgressMonitor monitor) {
+		try {
+			List<IProject> partial = new ArrayList<>();
+			for (IProject project : projects) {
+				if (CVSWorkspaceRoot.getCVSFolderFor(project).isCVSFolder())
+					partial.add(project);
+			}
+			refreshProjects(partial.toArray(new IProject[partial.size()]), monitor);
+		} catch (CoreException e) {
+			CVSProviderPlugin.log(e);
+		}
+	}
+	
 	/*
 	 * Delete the target projects before checking out
 	 */
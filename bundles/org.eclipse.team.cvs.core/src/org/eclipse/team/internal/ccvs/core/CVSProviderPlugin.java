@@ -30,6 +30,7 @@ import org.eclipse.team.internal.ccvs.core.client.*;
 import org.eclipse.team.internal.ccvs.core.client.Command.KSubstOption;
 import org.eclipse.team.internal.ccvs.core.client.Command.QuietOption;
 import org.eclipse.team.internal.ccvs.core.client.listeners.IConsoleListener;
+import org.eclipse.team.internal.ccvs.core.connection.ConnectionPool;
 import org.eclipse.team.internal.ccvs.core.mapping.CVSActiveChangeSetCollector;
 import org.eclipse.team.internal.ccvs.core.resources.FileModificationManager;
 import org.eclipse.team.internal.ccvs.core.util.*;
@@ -60,6 +61,20 @@ public class CVSProviderPlugin extends Plugin {
 	public static final int DEFAULT_TIMEOUT = 60;
 	// file transfer compression level (0 - 9)
 	public static final int DEFAULT_COMPRESSION_LEVEL = 0;
+	// determines if the whole session is compressed when the server supports it
+	public static final boolean DEFAULT_USE_STREAM_COMPRESSION = false;
+	// number of idle connections kept open per repository location (0 disables reuse)
+	public static final int DEFAULT_MAX_POOLED_CONNECTIONS = 2;
+	// number of concurrent connections used to fetch file revisions when building remote trees
+	public static final int DEFAULT_MAX_REVISION_FETCH_CONNECTIONS = 4;
+	// number of projects checked out concurrently from a repository (1 checks them out sequentially)
+	public static final int DEFAULT_MAX_CHECKOUT_CONNECTIONS = 1;
+	// number of threads reading the metafiles of folders when sync info is loaded (1 reads them sequentially)
+	public static final int DEFAULT_MAX_SYNC_INFO_READERS = 4;
+	// number of minutes module expansions and definitions are cached (0 disables the cache)
+	public static final int DEFAULT_MODULE_CACHE_TIMEOUT = 60;
+	// number of megabytes used to cache the contents of remote file revisions (0 disables the cache)
+	public static final int DEFAULT_REMOTE_CONTENT_CACHE_SIZE = 64;
 	// default text keyword substitution mode
 	public static final KSubstOption DEFAULT_TEXT_KSUBST_OPTION = Command.KSUBST_TEXT_EXPAND;
 
@@ -73,6 +88,13 @@ public class CVSProviderPlugin extends Plugin {
 	
 	private QuietOption quietness;
 	private int compressionLevel = DEFAULT_COMPRESSION_LEVEL;
+	private boolean useStreamCompression = DEFAULT_USE_STREAM_COMPRESSION;
+	private int maxPooledConnections = DEFAULT_MAX_POOLED_CONNECTIONS;
+	private int maxRevisionFetchConnections = DEFAULT_MAX_REVISION_FETCH_CONNECTIONS;
+	private int maxCheckoutConnections = DEFAULT_MAX_CHECKOUT_CONNECTIONS;
+	private int maxSyncInfoReaders = DEFAULT_MAX_SYNC_INFO_READERS;
+	private int moduleCacheTimeout = DEFAULT_MODULE_CACHE_TIMEOUT;
+	private int remoteContentCacheSize = DEFAULT_REMOTE_CONTENT_CACHE_SIZE;
 	private KSubstOption defaultTextKSubstOption = DEFAULT_TEXT_KSUBST_OPTION;
 	private boolean usePlatformLineend = true;
 	private int communicationsTimeout = DEFAULT_TIMEOUT;
@@ -216,6 +238,126 @@ public class CVSProviderPlugin extends Plugin {
 		return compressionLevel;
 	}
 	
+	/**
+	 * Sets whether all communication with the server is compressed (using the
+	 * Gzip-stream request) instead of only the file contents. Stream compression
+	 * is only used if the compression level is not 0 and the server supports it.
+	 */
+	public void setUseStreamCompression(boolean useStreamCompression) {
+		this.useStreamCompression = useStreamCompression;
+	}
+
+	/**
+	 * Gets whether all communication with the server is compressed.
+	 */
+	public boolean isUseStreamCompression() {
+		return useStreamCompression;
+	}
+	
+	/**
+	 * Sets the number of idle connections that are kept open for each
+	 * repository location so that they can be reused by later sessions.
+	 * A value of 0 disables the reuse of connections.
+	 */
+	public void setMaxPooledConnections(int max) {
+		maxPooledConnections = Math.max(0, max);
+		if (maxPooledConnections == 0)
+			ConnectionPool.getInstance().closeAll(null);
+	}
+
+	/**
+	 * Gets the number of idle connections that are kept open for each
+	 * repository location.
+	 */
+	public int getMaxPooledConnections() {
+		return maxPooledConnections;
+	}
+	
+	/**
+	 * Sets the number of connections that are used concurrently to fetch
+	 * file revisions when the remote state of a large number of files is
+	 * determined. A value of 1 fetches the revisions sequentially.
+	 */
+	public void setMaxRevisionFetchConnections(int max) {
+		maxRevisionFetchConnections = Math.max(1, max);
+	}
+
+	/**
+	 * Gets the number of connections that are used concurrently to fetch
+	 * file revisions.
+	 */
+	public int getMaxRevisionFetchConnections() {
+		return maxRevisionFetchConnections;
+	}
+	
+	/**
+	 * Sets the number of projects that are checked out concurrently from a
+	 * repository, each over its own connection. A value of 1 checks the projects
+	 * out sequentially.
+	 */
+	public void setMaxCheckoutConnections(int max) {
+		maxCheckoutConnections = Math.max(1, max);
+	}
+
+	/**
+	 * Gets the number of projects that are checked out concurrently from a
+	 * repository.
+	 */
+	public int getMaxCheckoutConnections() {
+		return maxCheckoutConnections;
+	}
+
+	/**
+	 * Sets the number of threads that read the metafiles of folders concurrently
+	 * when the sync info of many folders is loaded. A value of 1 reads them
+	 * sequentially.
+	 */
+	public void setMaxSyncInfoReaders(int max) {
+		maxSyncInfoReaders = Math.max(1, max);
+	}
+
+	/**
+	 * Gets the number of threads that read the metafiles of folders concurrently.
+	 */
+	public int getMaxSyncInfoReaders() {
+		return maxSyncInfoReaders;
+	}
+
+	/**
+	 * Sets the number of minutes the module expansions and module definitions
+	 * obtained from a repository are reused. A value of 0 disables the cache.
+	 */
+	public void setModuleCacheTimeout(int minutes) {
+		moduleCacheTimeout = Math.max(0, minutes);
+	}
+
+	/**
+	 * Gets the number of minutes the module expansions and module definitions
+	 * obtained from a repository are reused.
+	 */
+	public int getModuleCacheTimeout() {
+		return moduleCacheTimeout;
+	}
+
+	/**
+	 * Sets the number of megabytes used to cache the contents of remote file
+	 * revisions on disk. A value of 0 disables the cache and removes its entries.
+	 */
+	public void setRemoteContentCacheSize(int megabytes) {
+		remoteContentCacheSize = Math.max(0, megabytes);
+		if (remoteContentCacheSize == 0) {
+			RemoteContentCache.getInstance().clear();
+		}
+	}
+
+	/**
+	 * Gets the number of megabytes used to cache the contents of remote file
+	 * revisions on disk.
+	 */
+	public int getRemoteContentCacheSize() {
+		return remoteContentCacheSize;
+	}
+	
 	/**
 	 * Sets the default keyword substitution mode for text files.
 	 */
@@ -335,6 +477,12 @@ public class CVSProviderPlugin extends Plugin {
 			
 			getChangeSetManager().dispose();
 			
+			// record the sync state of the metafiles for the next session
+			SyncStateIndex.getInstance().save();
+			ModuleCache.getInstance().save();
+			
+			ConnectionPool.getInstance().closeAll(null);
+			
 			tracker.close();
 			
 			deleteCrashFile();
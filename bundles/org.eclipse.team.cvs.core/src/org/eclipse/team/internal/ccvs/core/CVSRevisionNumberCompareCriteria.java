@@ -18,7 +18,7 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.team.core.variants.IResourceVariant;
 import org.eclipse.team.core.variants.IResourceVariantComparator;
 import org.eclipse.team.internal.ccvs.core.resources.CVSWorkspaceRoot;
-import org.eclipse.team.internal.ccvs.core.syncinfo.ResourceSyncInfo;
+import org.eclipse.team.internal.ccvs.core.syncinfo.EntryLineView;
 
 /**
  * CVSRevisionNumberCompareCriteria
@@ -60,10 +60,12 @@ import org.eclipse.team.internal.ccvs.core.syncinfo.ResourceSyncInfo;
 			byte[] syncBytes2 = ((ICVSRemoteFile)e2).getSyncBytes();
 		
 			if(syncBytes1 != null) {
-				if(ResourceSyncInfo.isDeletion(syncBytes1) || ResourceSyncInfo.isMerge(syncBytes1) || cvsFile.isModified(null)) {
+				// Read the slots in place since this is done for every file of a synchronization
+				EntryLineView local = new EntryLineView(syncBytes1);
+				if(local.isDeletion() || local.isMerge() || cvsFile.isModified(null)) {
 					return false;
 				}
-				return ResourceSyncInfo.getRevision(syncBytes1).equals(ResourceSyncInfo.getRevision(syncBytes2));
+				return local.isSameRevision(new EntryLineView(syncBytes2));
 			}
 			return false;
 		} catch(CVSException e) {
@@ -22,6 +22,7 @@ import org.eclipse.team.internal.ccvs.core.*;
 import org.eclipse.team.internal.ccvs.core.client.listeners.*;
 import org.eclipse.team.internal.ccvs.core.connection.CVSServerException;
 import org.eclipse.team.internal.ccvs.core.resources.RemoteModule;
+import org.eclipse.team.internal.ccvs.core.util.ModuleCache;
 
 public class Checkout extends Command {
 	/*** Local options: specific to checkout ***/
@@ -176,7 +177,9 @@ public class Checkout extends Command {
 			throw new CVSServerException(status);
 		}
 		
-		return RemoteModule.createRemoteModules(moduleDefinitionListener.getModuleExpansions(), session.getCVSRepositoryLocation(), tag);
+		String[] definitions = moduleDefinitionListener.getModuleExpansions();
+		ModuleCache.getInstance().setModuleDefinitions(session.getCVSRepositoryLocation(), definitions);
+		return RemoteModule.createRemoteModules(definitions, session.getCVSRepositoryLocation(), tag);
 	}
 	
 	protected String getDisplayText() {
@@ -22,6 +22,7 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.team.internal.ccvs.core.*;
 import org.eclipse.team.internal.ccvs.core.client.listeners.ICommandOutputListener;
+import org.eclipse.team.internal.ccvs.core.util.ModuleCache;
 
 public class Commit extends Command {
 	/*** Local options: specific to commit ***/
@@ -76,6 +77,15 @@ public class Commit extends Command {
 			return status;
 		}
 
+		// The module definitions change when the modules file is committed
+		for (ICVSResource resource : resources) {
+			if (!resource.isFolder() && resource.getName().equals("modules") //$NON-NLS-1$
+					&& "CVSROOT/modules".equals(resource.getRepositoryRelativePath())) { //$NON-NLS-1$
+				ModuleCache.getInstance().invalidate(session.getCVSRepositoryLocation());
+				break;
+			}
+		}
+
 		// If pruning is enable, prune empty directories after a commit
 		if (CVSProviderPlugin.getPlugin().getPruneEmptyDirectories()) { 
 			new PruneFolderVisitor().visit(session, resources);
@@ -13,22 +13,24 @@
  *******************************************************************************/
 package org.eclipse.team.internal.ccvs.core.client;
 
-import java.util.HashSet;
-import java.util.Set;
-
-import org.eclipse.core.runtime.*;
 import org.eclipse.core.runtime.IStatus;
-import org.eclipse.core.runtime.Platform;
+import org.eclipse.team.internal.ccvs.core.CVSMessages;
+import org.eclipse.team.internal.ccvs.core.CVSProviderPlugin;
 import org.eclipse.team.internal.ccvs.core.client.listeners.IConsoleListener;
 
 /**
  * Class which forwards CVS console output to 1 or more
  * registered console listeners.
+ * <p>
+ * The listeners are notified of every line sent by the server so they are kept
+ * in an array that is replaced when a listener is added or removed and a failing
+ * listener is logged without wrapping each notification in a safe runnable.
+ * </p>
  */
 public class ConsoleListeners implements IConsoleListener {
 
 	private static ConsoleListeners instance = new ConsoleListeners();
-	private Set listeners = new HashSet();
+	private volatile IConsoleListener[] listeners = new IConsoleListener[0];
 	
 	/**
 	 * Return the console listeners
@@ -38,85 +40,73 @@ public class ConsoleListeners implements IConsoleListener {
 		return instance;
 	}
 	
-	public void addListener(IConsoleListener listener) {
-		synchronized(listeners) {
-			listeners.add(listener);
+	public synchronized void addListener(IConsoleListener listener) {
+		for (IConsoleListener l : listeners) {
+			if (l == listener) return;
 		}
+		IConsoleListener[] newListeners = new IConsoleListener[listeners.length + 1];
+		System.arraycopy(listeners, 0, newListeners, 0, listeners.length);
+		newListeners[listeners.length] = listener;
+		listeners = newListeners;
 	}
 	
-	public void removeListener(IConsoleListener listener) {
-		synchronized(listeners) {
-			listeners.remove(listener);
+	public synchronized void removeListener(IConsoleListener listener) {
+		for (int i = 0; i < listeners.length; i++) {
+			if (listeners[i] == listener) {
+				IConsoleListener[] newListeners = new IConsoleListener[listeners.length - 1];
+				System.arraycopy(listeners, 0, newListeners, 0, i);
+				System.arraycopy(listeners, i + 1, newListeners, i, listeners.length - i - 1);
+				listeners = newListeners;
+				return;
+			}
 		}
 	}
-
-	private IConsoleListener[] getListeners() {
-		synchronized(listeners) {
-			return (IConsoleListener[]) listeners.toArray(new IConsoleListener[listeners.size()]);
-		}
+	
+	private void handleException(Throwable exception) {
+		CVSProviderPlugin.log(IStatus.ERROR, CVSMessages.ConsoleListeners_listenerFailed, exception);
 	}
 	
 	@Override
-	public void commandInvoked(final Session session, final String line) {
-		if (listeners.isEmpty()) return;
-		IConsoleListener[] listeners = getListeners();
+	public void commandInvoked(Session session, String line) {
 		for (IConsoleListener listener : listeners) {
-			Platform.run(new ISafeRunnable() {
-				public void handleException(Throwable exception) {
-					// Exception logged by Platform
-				}
-				public void run() throws Exception {
-					listener.commandInvoked(session, line);
-				}
-			});
+			try {
+				listener.commandInvoked(session, line);
+			} catch (RuntimeException | LinkageError e) {
+				handleException(e);
+			}
 		}
 	}
 
 	@Override
-	public void messageLineReceived(final Session session, final String line, final IStatus status) {
-		if (listeners.isEmpty()) return;
-		IConsoleListener[] listeners = getListeners();
+	public void messageLineReceived(Session session, String line, IStatus status) {
 		for (IConsoleListener listener : listeners) {
-			Platform.run(new ISafeRunnable() {
-				public void handleException(Throwable exception) {
-					// Exception logged by Platform
-				}
-				public void run() throws Exception {
-					listener.messageLineReceived(session, line, status);
-				}
-			});
+			try {
+				listener.messageLineReceived(session, line, status);
+			} catch (RuntimeException | LinkageError e) {
+				handleException(e);
+			}
 		}
 	}
 
 	@Override
-	public void errorLineReceived(final Session session, final String line, final IStatus status) {
-		if (listeners.isEmpty()) return;
-		IConsoleListener[] listeners = getListeners();
+	public void errorLineReceived(Session session, String line, IStatus status) {
 		for (IConsoleListener listener : listeners) {
-			Platform.run(new ISafeRunnable() {
-				public void handleException(Throwable exception) {
-					// Exception logged by Platform
-				}
-				public void run() throws Exception {
-					listener.errorLineReceived(session, line, status);
-				}
-			});
+			try {
+				listener.errorLineReceived(session, line, status);
+			} catch (RuntimeException | LinkageError e) {
+				handleException(e);
+			}
 		}
 	}
 
 	@Override
-	public void commandCompleted(final Session session, final IStatus status, final Exception exception) {
-		if (listeners.isEmpty()) return;
-		IConsoleListener[] listeners = getListeners();
+	public void commandCompleted(Session session, IStatus status, Exception exception) {
 		for (IConsoleListener listener : listeners) {
-			Platform.run(new ISafeRunnable() {
-				public void handleException(Throwable exception) {
-					// Exception logged by Platform
-				}
-				public void run() throws Exception {
-					listener.commandCompleted(session, status, exception);
-				}
-			});
+			try {
+				listener.commandCompleted(session, status, exception);
+			} catch (RuntimeException | LinkageError e) {
+				handleException(e);
+			}
 		}
 	}
 }
@@ -16,6 +16,8 @@ package org.eclipse.team.internal.ccvs.core.client;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.team.internal.ccvs.core.CVSException;
+import org.eclipse.team.internal.ccvs.core.client.listeners.ICommandOutputListener;
+import org.eclipse.team.internal.ccvs.core.util.ModuleCache;
 
 public class ExpandModules extends Request {
 	protected ExpandModules() { }
@@ -23,12 +25,30 @@ public class ExpandModules extends Request {
 		return "expand-modules"; //$NON-NLS-1$
 	}
 
+	/**
+	 * Put the expansions of the given modules in the session. Expansions obtained
+	 * from the repository recently are taken from the module cache without
+	 * contacting the server.
+	 */
 	public IStatus execute(Session session, String[] modules, IProgressMonitor monitor) throws CVSException {
 		// Reset the module expansions before the responses arrive
 		session.resetModuleExpansion();
+		ModuleCache cache = ModuleCache.getInstance();
+		String[] expansions = cache.getModuleExpansions(session.getCVSRepositoryLocation(), modules);
+		if (expansions != null) {
+			for (String expansion : expansions) {
+				session.addModuleExpansion(expansion);
+			}
+			monitor.done();
+			return ICommandOutputListener.OK;
+		}
 		for (int i = 0; i < modules.length; ++i) {
 			session.sendArgument(modules[i]);
 		}
-		return executeRequest(session, Command.DEFAULT_OUTPUT_LISTENER, monitor);
+		IStatus status = executeRequest(session, Command.DEFAULT_OUTPUT_LISTENER, monitor);
+		if (status.isOK()) {
+			cache.setModuleExpansions(session.getCVSRepositoryLocation(), modules, session.getModuleExpansions());
+		}
+		return status;
 	}
 }
@@ -27,6 +27,7 @@ public class RLog extends RemoteCommand {
 	public static final LocalOption ONLY_INCLUDE_CHANGES = new LocalOption("-S"); //$NON-NLS-1$ 
 	public static final LocalOption REVISIONS_ON_DEFAULT_BRANCH = new LocalOption("-b"); //$NON-NLS-1$ 
 	public static final LocalOption LOCAL_DIRECTORY_ONLY = new LocalOption("-l"); //$NON-NLS-1$ 
+	public static final LocalOption HEADER_ONLY = new LocalOption("-h"); //$NON-NLS-1$ 
 	/**
 	 * Makes a -r option for rlog. Here are the currently supported options:
 	 * 
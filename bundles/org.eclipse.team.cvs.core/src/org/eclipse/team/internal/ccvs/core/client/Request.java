@@ -28,6 +28,7 @@ import org.eclipse.team.internal.ccvs.core.connection.CVSServerException;
 public abstract class Request {
 	public static final ExpandModules EXPAND_MODULES = new ExpandModules();
 	public static final ValidRequests VALID_REQUESTS = new ValidRequests();
+	public static final NoopRequest NOOP = new NoopRequest();
 
 	/*** Response handler map ***/
 	private static final Map<String,ResponseHandler> responseHandlers = new HashMap<>();
@@ -142,50 +143,21 @@ public abstract class Request {
 			Policy.checkCanceled(monitor);
 
 			// retrieve a response line
-			String response = session.readLine();
-			int spacePos = response.indexOf(' ');
-			String argument;
-			if (spacePos != -1) {
-				argument = response.substring(spacePos + 1);
-				response = response.substring(0, spacePos);
-			} else argument = "";  //$NON-NLS-1$
+			String response = session.readResponse();
+			String argument = session.getResponseArgument();
 
+			// The response names returned by the session are shared so the switch finds the
+			// matching response from the cached hash code and a single comparison
+			switch (response) {
 			// handle completion responses
-			if (response.equals("ok")) {  //$NON-NLS-1$
-				break;
-			} else if (response.equals("error") || (isCVSNT && response.isEmpty())) {  //$NON-NLS-1$
-				argument = argument.trim();
-				boolean serious = false;
-				if (argument.length() == 0) {
-					argument = getServerErrorMessage();
-				} else {
-					argument = NLS.bind(CVSMessages.Command_seriousServerError, new String[] { argument }); 
-					if (!session.hasErrors()) {
-						session.addError(new CVSStatus(IStatus.ERROR, CVSStatus.SERVER_ERROR, argument,session.getLocalRoot()));
-					}
-					serious = true;
-				}
-					
-				if (!session.hasErrors()) {
-					session.addError(new CVSStatus(IStatus.ERROR, CVSStatus.SERVER_ERROR, CVSMessages.Command_noMoreInfoAvailable,session.getLocalRoot()));
-				}
-				IStatus status = new MultiStatus(CVSProviderPlugin.ID, CVSStatus.SERVER_ERROR, 
-						session.getErrors(),
-					argument, null);
-				if (serious) {
-					throw new CVSServerException(status);
-				} else {
-					// look for particularly bad errors in the accumulated statuses
-					IStatus[] errors = session.getErrors();
-					for (IStatus s : errors) {
-						if (s.getCode() == CVSStatus.PROTOCOL_ERROR) {
-							throw new CVSServerException(status);
-						}
-					}
-				}
-				return status;
+			case "ok": //$NON-NLS-1$
+				session.setIdle();
+				return getCompletionStatus(session);
+			case "error": //$NON-NLS-1$
+				session.setIdle();
+				return handleError(session, argument);
 			// handle message responses
-			} else if (response.equals("MT")) {  //$NON-NLS-1$
+			case "MT": { //$NON-NLS-1$
 				// Handle the MT response
 				MTHandler handler = (MTHandler) session.getResponseHandler(response);
 				if (handler != null) {
@@ -204,16 +176,26 @@ public abstract class Request {
 					ConsoleListeners.getInstance().messageLineReceived(session, line, status);
 
 				}
-			} else if (response.equals("M")) {  //$NON-NLS-1$
+				break;
+			}
+			case "M": { //$NON-NLS-1$
 				IStatus status = listener.messageLine(argument, session.getCVSRepositoryLocation(), session.getLocalRoot(), monitor);
 				session.addError(status); // The session ignores OK status
 				ConsoleListeners.getInstance().messageLineReceived(session, argument, status);
-			} else if (response.equals("E")) { //$NON-NLS-1$
+				break;
+			}
+			case "E": { //$NON-NLS-1$
 				IStatus status = listener.errorLine(argument, session.getCVSRepositoryLocation(), session.getLocalRoot(), monitor);
 				session.addError(status); // The session ignores OK status
 				ConsoleListeners.getInstance().errorLineReceived(session, argument, status);
+				break;
+			}
 			// handle other responses
-			} else {
+			default:
+				if (isCVSNT && response.isEmpty()) {
+					// CVSNT drops the connection rather than reporting an empty error
+					return handleError(session, argument);
+				}
 				ResponseHandler handler = session.getResponseHandler(response);
 				if (handler != null) {
 					handler.handle(session, argument, monitor);
@@ -224,6 +206,12 @@ public abstract class Request {
 				}
 			}
 		}
+	}
+	
+	/*
+	 * Return the status of a request that the server completed with an ok response
+	 */
+	private IStatus getCompletionStatus(Session session) {
 		if (!session.hasErrors()) {
 			return ICommandOutputListener.OK;
 		} else {
@@ -232,6 +220,43 @@ public abstract class Request {
 				NLS.bind(CVSMessages.Command_warnings, new String[] { getDisplayText() }), null);
 		}
 	}
+
+	/*
+	 * Return the status of a request that the server failed with an error response
+	 * or throw an exception if the error is serious
+	 */
+	private IStatus handleError(Session session, String argument) throws CVSServerException {
+		argument = argument.trim();
+		boolean serious = false;
+		if (argument.length() == 0) {
+			argument = getServerErrorMessage();
+		} else {
+			argument = NLS.bind(CVSMessages.Command_seriousServerError, new String[] { argument }); 
+			if (!session.hasErrors()) {
+				session.addError(new CVSStatus(IStatus.ERROR, CVSStatus.SERVER_ERROR, argument,session.getLocalRoot()));
+			}
+			serious = true;
+		}
+			
+		if (!session.hasErrors()) {
+			session.addError(new CVSStatus(IStatus.ERROR, CVSStatus.SERVER_ERROR, CVSMessages.Command_noMoreInfoAvailable,session.getLocalRoot()));
+		}
+		IStatus status = new MultiStatus(CVSProviderPlugin.ID, CVSStatus.SERVER_ERROR, 
+				session.getErrors(),
+			argument, null);
+		if (serious) {
+			throw new CVSServerException(status);
+		} else {
+			// look for particularly bad errors in the accumulated statuses
+			IStatus[] errors = session.getErrors();
+			for (IStatus s : errors) {
+				if (s.getCode() == CVSStatus.PROTOCOL_ERROR) {
+					throw new CVSServerException(status);
+				}
+			}
+		}
+		return status;
+	}
 	
 	/*
 	 * Provide the message that is used for the status that is generated when the server
@@ -35,6 +35,8 @@ import org.eclipse.team.internal.ccvs.core.client.Command.GlobalOption;
 import org.eclipse.team.internal.ccvs.core.client.Command.QuietOption;
 import org.eclipse.team.internal.ccvs.core.connection.CVSRepositoryLocation;
 import org.eclipse.team.internal.ccvs.core.connection.Connection;
+import org.eclipse.team.internal.ccvs.core.connection.ConnectionPool;
+import org.eclipse.team.internal.ccvs.core.connection.ConnectionPool.PooledConnection;
 import org.eclipse.team.internal.ccvs.core.syncinfo.NotifyInfo;
 import org.eclipse.team.internal.ccvs.core.syncinfo.ResourceSyncInfo;
 import org.eclipse.team.internal.ccvs.core.util.Util;
@@ -78,12 +80,19 @@ public class Session {
 	private ICVSFolder localRoot;
 	private boolean outputToConsole;
 	private Connection connection = null;
+	// the key used to return the connection to the pool when the session is closed
+	private String poolKey = null;
+	// the location the connection was opened to
+	private CVSRepositoryLocation poolLocation = null;
+	// whether global options were sent, which the server applies to all later commands
+	private boolean globalOptionsSent = false;
 	private String validRequests = null;
 	private Date modTime = null;
 	private boolean noLocalChanges = false;
 	private boolean createBackups = true;
 	private int compressionLevel = 0;
 	private List<String> expansions;
+	private TransferBuffer transferBuffer;
 	private Collection /* of ICVSFile */ textTransferOverrideSet = null;
 	
 	// state need to indicate whether 
@@ -158,17 +167,26 @@ public class Session {
 		boolean opened = false;	
 	
 		try {
-			connection = getLocationForConnection(writeAccess).openConnection(Policy.subMonitorFor(monitor, 50));
-			
 			// If we're connected to a CVSNT server or we don't know the platform, 
 			// accept MT. Otherwise don't.
 			boolean useMT = ! (location.getServerPlatform() == CVSRepositoryLocation.CVS_SERVER);
 			if ( ! useMT) {
 				removeResponseHandler("MT"); //$NON-NLS-1$
 			}
+			String responseList = makeResponseList();
+			
+			// reuse a connection that was negotiated the same way if one is available
+			poolKey = getPoolKey(writeAccess, responseList);
+			poolLocation = getLocationForConnection(writeAccess);
+			if (openPooledConnection(Policy.subMonitorFor(monitor, 50))) {
+				opened = true;
+				return;
+			}
+			
+			connection = poolLocation.openConnection(Policy.subMonitorFor(monitor, 50));
 			
 			// tell the server the names of the responses we can handle
-			connection.writeLine("Valid-responses " + makeResponseList()); //$NON-NLS-1$
+			connection.writeLine("Valid-responses " + responseList); //$NON-NLS-1$
 			// Flush in order to recieve the valid requests
 			connection.flush();
 	
@@ -183,13 +201,15 @@ public class Session {
 
 			// enable compression
 			compressionLevel = CVSProviderPlugin.getPlugin().getCompressionLevel();
-			if (compressionLevel != 0 && isValidRequest("gzip-file-contents")) { //$NON-NLS-1$
+			if (compressionLevel != 0 && CVSProviderPlugin.getPlugin().isUseStreamCompression() && isValidRequest("Gzip-stream")) { //$NON-NLS-1$
+				// Compress the whole dialogue. Protocol lines dominate the traffic of
+				// status and update -n, and these only benefit from stream compression.
+				// Files are then sent as is since compressing them twice gains nothing.
+				connection.writeLine("Gzip-stream " + Integer.toString(compressionLevel)); //$NON-NLS-1$
+				connection.enableStreamCompression(compressionLevel);
+				compressionLevel = 0;
+			} else if (compressionLevel != 0 && isValidRequest("gzip-file-contents")) { //$NON-NLS-1$
 				// Enable the use of CVS 1.8 per-file compression mechanism.
-				// The newer Gzip-stream request seems to be problematic due to Java's
-				// GZIPInputStream tendency to block on read() rather than to return a
-				// partially filled buffer.  The latter option would be better since it
-				// can make more effective use of the code dictionary, if it can be made
-				// to work...
 				connection.writeLine("gzip-file-contents " + Integer.toString(compressionLevel)); //$NON-NLS-1$
 			} else {
 				compressionLevel = 0;
@@ -199,6 +219,8 @@ public class Session {
 			if (CVSProviderPlugin.getPlugin().isDetermineVersionEnabled() && location.getServerPlatform() == CVSRepositoryLocation.UNDETERMINED_PLATFORM) {
 				Command.VERSION.execute(this, location, Policy.subMonitorFor(monitor, 10));
 			}
+			// the negotiation requests have no responses
+			connection.setIdle();
 			opened = true;
 		} finally {
 			if (connection != null && ! opened) {
@@ -208,6 +230,49 @@ public class Session {
 		}
 	}		
 	
+	/*
+	 * Take an idle connection from the pool and verify that it is still alive.
+	 * Return whether a connection was obtained. Dead connections are discarded.
+	 */
+	private boolean openPooledConnection(IProgressMonitor monitor) throws CVSException {
+		monitor.beginTask(null, 100);
+		try {
+			PooledConnection pooled;
+			while ((pooled = ConnectionPool.getInstance().acquire(poolKey)) != null) {
+				connection = pooled.getConnection();
+				validRequests = pooled.getValidRequests();
+				compressionLevel = pooled.getCompressionLevel();
+				try {
+					if (Request.NOOP.execute(this, Policy.subMonitorFor(monitor, 10)).isOK())
+						return true;
+				} catch (CVSException e) {
+					// The connection is no longer usable. Try the next one.
+				}
+				connection.close();
+				connection = null;
+				validRequests = null;
+				compressionLevel = 0;
+			}
+			return false;
+		} finally {
+			monitor.done();
+		}
+	}
+	
+	/*
+	 * Return the key that identifies connections that were negotiated in
+	 * the same way as this session's connection would be.
+	 */
+	private String getPoolKey(boolean writeAccess, String responseList) {
+		CVSProviderPlugin plugin = CVSProviderPlugin.getPlugin();
+		StringBuilder key = new StringBuilder(getLocationForConnection(writeAccess).getLocation());
+		key.append('\n').append(writeAccess);
+		key.append('\n').append(plugin.getCompressionLevel());
+		key.append('\n').append(plugin.isUseStreamCompression());
+		key.append('\n').append(responseList);
+		return key.toString();
+	}
+	
 	/*
 	 * Return the location to be used for this connection
 	 */
@@ -216,15 +281,30 @@ public class Session {
 	}
 
 	/**
-	 * Closes a connection to the server.
+	 * Closes a connection to the server. If the dialogue with the server
+	 * is between commands, the connection is returned to the pool so that
+	 * it can be reused by another session for the same location. Connections
+	 * that were sent global options are not pooled since the server keeps
+	 * applying them (e.g. <code>-n</code>) to the commands of the next session.
 	 *
 	 * @throws IllegalStateException if the Session is not in the OPEN state
 	 */
 	public void close() {
 		if (connection != null) {
-			connection.close();
+			if (poolKey != null && !globalOptionsSent && connection.isIdle()) {
+				ConnectionPool.getInstance().release(poolKey, new PooledConnection(poolLocation, connection, validRequests, compressionLevel));
+			} else {
+				connection.close();
+			}
 			connection = null;
 			validRequests = null;
+			poolKey = null;
+			poolLocation = null;
+			globalOptionsSent = false;
+		}
+		if (transferBuffer != null) {
+			transferBuffer.reset();
+			transferBuffer = null;
 		}
 	}
 	
@@ -301,6 +381,26 @@ public class Session {
 	public String readLine() throws CVSException {
 		return connection.readLine();
 	}
+	
+	/**
+	 * Receives a response line from the server and returns the name of the response.
+	 * 
+	 * @return the response name
+	 * @see #getResponseArgument()
+	 */
+	public String readResponse() throws CVSException {
+		return connection.readResponse();
+	}
+	
+	/**
+	 * Returns the text following the name of the last response received with
+	 * <code>readResponse</code>, or an empty string if there is none.
+	 * 
+	 * @return the response argument
+	 */
+	public String getResponseArgument() throws CVSException {
+		return connection.getResponseArgument();
+	}
 
 	/**
 	 * Sends a line of text followed by a newline to the server.
@@ -355,6 +455,15 @@ public class Session {
 		connection.flush();
 	}
 
+	/**
+	 * Sends the requests written so far to the server. Requests are buffered
+	 * until a request that expects a response is sent so this is only needed
+	 * when the server must see the requests earlier.
+	 */
+	public void flush() throws CVSException {
+		connection.flush();
+	}
+
 	/**
 	 * Sends an Is-modified request to the server without the file contents.
 	 * <p>e.g. if a file called "local_file" was modified, sends:</p>
@@ -500,6 +609,7 @@ public class Session {
 	 * @param option the global option to send
 	 */
 	public void sendGlobalOption(String option) throws CVSException {
+		globalOptionsSent = true;
 		connection.writeLine("Global_option " + option); //$NON-NLS-1$
 	}
 
@@ -608,7 +718,9 @@ public class Session {
 		 * (required by the CVS specification) when sending non-binary files.  This
 		 * may alter the actual size and contents of the file that is sent.
 		 * </p><p>
-		 * Note: Non-binary files must be small enough to fit in available memory.
+		 * Files that need translation or compression are read only once. The
+		 * bytes to be sent are captured in a buffer that spills to disk for
+		 * large files so that the size can be sent ahead of the contents.
 		 * </p>
 		 * @param file the file to be sent
 		 * @param isBinary is true if the file should be sent without translation
@@ -624,7 +736,6 @@ public class Session {
 			monitor.subTask(NLS.bind(CVSMessages.Session_transferNoSize, new String[] { title })); 
 			try {
 				InputStream in = null;
-				long length;
 				try {
 					if (isBinary && !sendBinary)  {
 						byte[] bytes = "hello".getBytes();  //$NON-NLS-1$
@@ -632,56 +743,37 @@ public class Session {
 						return;
 					}
 					
-					if (compressionLevel == 0) {
-						in = file.getContents();
-						if (!isBinary && IS_CRLF_PLATFORM){
-							// uncompressed text
-							byte[] buffer = new byte[TRANSFER_BUFFER_SIZE];
-							in = new CRLFtoLFInputStream(in);
-							ByteCountOutputStream counter = new ByteCountOutputStream();
-							try {
-								for (int count; (count = in.read(buffer)) != -1;) counter.write(buffer, 0, count);
-							} finally {
-								counter.close();
-							}
-							in.close();
-							length = counter.getSize();
-							in = new CRLFtoLFInputStream(file.getContents());
-						} else {
-							// uncompressed binary
-							length = file.getSize();
+					in = new ProgressMonitorInputStream(file.getContents(), file.getSize(), TRANSFER_PROGRESS_INCREMENT, monitor) {
+						protected void updateMonitor(long bytesRead, long bytesTotal, IProgressMonitor monitor) {
+							if (bytesRead == 0) return;
+							Assert.isTrue(bytesRead <= bytesTotal);
+							monitor.subTask(NLS.bind(CVSMessages.Session_transfer, (new Object[] { title, Long.toString(bytesRead >> 10), Long.toString(bytesTotal >> 10) })));
 						}
-						in = new ProgressMonitorInputStream(in, length, TRANSFER_PROGRESS_INCREMENT, monitor) {
-							protected void updateMonitor(long bytesRead, long bytesTotal, IProgressMonitor monitor) {
-								if (bytesRead == 0) return;
-								Assert.isTrue(bytesRead <= bytesTotal);
-								monitor.subTask(NLS.bind(CVSMessages.Session_transfer, (new Object[] { title, Long.toString(bytesRead >> 10), Long.toString(bytesTotal >> 10) })));
-							}
-						};
-						sendUncompressedBytes(in, length);
-					} else {
-						monitor.subTask(NLS.bind(CVSMessages.Session_calculatingCompressedSize, new String[] { Util.toTruncatedPath(file, localRoot, 3) })); 
-						in = file.getContents();
-						byte[] buffer = new byte[TRANSFER_BUFFER_SIZE];
-						ByteCountOutputStream counter = new ByteCountOutputStream();
-						OutputStream zout = new GZIPOutputStream(counter);
-						if (!isBinary && IS_CRLF_PLATFORM) in = new CRLFtoLFInputStream(in);
-						try {
-							for (int count; (count = in.read(buffer)) != -1;) zout.write(buffer, 0, count);
-						} finally {
+					};
+					boolean translate = !isBinary && IS_CRLF_PLATFORM;
+					if (compressionLevel == 0 && !translate) {
+						// uncompressed binary (or text that needs no translation) can be sent as is
+						sendUncompressedBytes(in, file.getSize());
+						return;
+					}
+					
+					// translate and/or compress the contents in a single pass to determine the size
+					if (translate) in = new CRLFtoLFInputStream(in);
+					TransferBuffer buffer = getTransferBuffer();
+					try {
+						if (compressionLevel == 0) {
+							copy(in, buffer);
+							writeLine(Long.toString(buffer.getSize()));
+						} else {
+							monitor.subTask(NLS.bind(CVSMessages.Session_calculatingCompressedSize, new String[] { Util.toTruncatedPath(file, localRoot, 3) })); 
+							GZIPOutputStream zout = new GZIPOutputStream(buffer, TRANSFER_BUFFER_SIZE);
+							copy(in, zout);
 							zout.close();
+							writeLine("z" + Long.toString(buffer.getSize())); //$NON-NLS-1$
 						}
-						in.close();
-						in = file.getContents();
-						in = new ProgressMonitorInputStream(in, file.getSize(), TRANSFER_PROGRESS_INCREMENT, monitor) {
-							protected void updateMonitor(long bytesRead, long bytesTotal, IProgressMonitor monitor) {
-								if (bytesRead == 0) return;
-								Assert.isTrue(bytesRead <= bytesTotal);
-								monitor.subTask(NLS.bind(CVSMessages.Session_transfer, (new Object[] { title, Long.toString(bytesRead >> 10), Long.toString(bytesTotal >> 10) })));
-							}
-						};
-						if (!isBinary && IS_CRLF_PLATFORM) in = new CRLFtoLFInputStream(in);
-						sendCompressedBytes(in, counter.getSize());
+						buffer.writeTo(connection.getOutputStream());
+					} finally {
+						buffer.reset();
 					}
 				} finally {
 					if (in != null) in.close();
@@ -692,20 +784,18 @@ public class Session {
 		}
 
 	/*
-	 * Send the contents of the input stream to CVS.
-	 * Length must equal the number of bytes that will be transferred
-	 * across the wire, that is, the compressed file size.
+	 * Return the buffer used to capture translated or compressed file contents.
+	 * The buffer is reused for all the files sent during the session.
 	 */
-	private void sendCompressedBytes(InputStream in, long length) throws IOException, CVSException {
-		String sizeLine = "z" + Long.toString(length); //$NON-NLS-1$
-		writeLine(sizeLine);
-		OutputStream out = connection.getOutputStream();
-		GZIPOutputStream zo = new GZIPOutputStream(out);
+	private TransferBuffer getTransferBuffer() {
+		if (transferBuffer == null)
+			transferBuffer = new TransferBuffer();
+		return transferBuffer;
+	}
+
+	private static void copy(InputStream in, OutputStream out) throws IOException {
 		byte[] buffer = new byte[TRANSFER_BUFFER_SIZE];
-		for (int count;
-		(count = in.read(buffer)) != -1;)
-		zo.write(buffer, 0, count);
-		zo.finish();
+		for (int count; (count = in.read(buffer)) != -1;) out.write(buffer, 0, count);
 	}
 
 	/*
@@ -717,8 +807,7 @@ public class Session {
 		OutputStream out = connection.getOutputStream();
 		String sizeLine = Long.toString(length);
 		writeLine(sizeLine);
-		byte[] buffer = new byte[TRANSFER_BUFFER_SIZE];
-		for (int count; (count = in.read(buffer)) != -1;) out.write(buffer, 0, count);
+		copy(in, out);
 	}
 
 
@@ -840,6 +929,14 @@ public class Session {
 		return noLocalChanges;
 	}
 	
+	/**
+	 * Records that all the requests sent so far have been answered by the server.
+	 * Invoked when a request completes with an ok or error response.
+	 */
+	void setIdle() {
+		connection.setIdle();
+	}
+	
 	/**
 	 * Callback hook for the ValidRequestsHandler to specify the set of valid
 	 * requests for this session.
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.internal.ccvs.core.client;
+
+import java.io.*;
+
+/**
+ * An output stream that captures the bytes of a file that is about to be sent
+ * to the server so that its size is known before the contents are transferred.
+ * Contents are kept in memory up to a threshold after which they are spilled
+ * to a temporary file. The in-memory buffer is retained across calls to
+ * {@link #reset()} so that a session can reuse it for every file it sends.
+ */
+public class TransferBuffer extends OutputStream {
+
+	// initial size of the in-memory buffer
+	private static final int INITIAL_SIZE = 8192;
+	// contents larger than this are spilled to disk
+	private static final int SPILL_THRESHOLD = 1024 * 1024;
+
+	private byte[] buffer = new byte[INITIAL_SIZE];
+	private int count;
+	private long size;
+	private File spillFile;
+	private OutputStream spillStream;
+
+	@Override
+	public void write(int b) throws IOException {
+		write(new byte[] { (byte)b }, 0, 1);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		if (spillStream == null && count + len > buffer.length) {
+			if (count + len <= SPILL_THRESHOLD) {
+				byte[] newBuffer = new byte[Math.min(SPILL_THRESHOLD, Math.max(buffer.length * 2, count + len))];
+				System.arraycopy(buffer, 0, newBuffer, 0, count);
+				buffer = newBuffer;
+			} else {
+				spill();
+			}
+		}
+		if (spillStream != null) {
+			spillStream.write(b, off, len);
+		} else {
+			System.arraycopy(b, off, buffer, count, len);
+			count += len;
+		}
+		size += len;
+	}
+
+	/*
+	 * Move the in-memory contents to a temporary file and direct
+	 * all further writes to that file.
+	 */
+	private void spill() throws IOException {
+		spillFile = File.createTempFile("cvs", ".tmp"); //$NON-NLS-1$ //$NON-NLS-2$
+		spillFile.deleteOnExit();
+		spillStream = new BufferedOutputStream(new FileOutputStream(spillFile), INITIAL_SIZE);
+		spillStream.write(buffer, 0, count);
+		count = 0;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		if (spillStream != null)
+			spillStream.flush();
+	}
+
+	/**
+	 * Return the number of bytes written to the buffer since the last reset.
+	 * @return the number of bytes in the buffer
+	 */
+	public long getSize() {
+		return size;
+	}
+
+	/**
+	 * Write the contents of the buffer to the given output stream.
+	 * @param out the output stream
+	 * @throws IOException
+	 */
+	public void writeTo(OutputStream out) throws IOException {
+		if (spillStream == null) {
+			out.write(buffer, 0, count);
+			return;
+		}
+		spillStream.flush();
+		try (InputStream in = new FileInputStream(spillFile)) {
+			byte[] transfer = new byte[INITIAL_SIZE];
+			for (int read; (read = in.read(transfer)) != -1;) out.write(transfer, 0, read);
+		}
+	}
+
+	/**
+	 * Discard the contents of the buffer, deleting the spill file if there is one.
+	 * The in-memory buffer is kept for reuse.
+	 */
+	public void reset() {
+		count = 0;
+		size = 0;
+		if (spillStream != null) {
+			try {
+				spillStream.close();
+			} catch (IOException e) {
+				// Don't care. The file is about to be deleted.
+			}
+			spillStream = null;
+			spillFile.delete();
+			spillFile = null;
+		}
+	}
+
+	/*
+	 * Closing the stream must not discard the contents since wrapping
+	 * streams close the buffer before it is transferred. Use reset() instead.
+	 */
+	@Override
+	public void close() throws IOException {
+		flush();
+	}
+}
@@ -14,77 +14,247 @@
 package org.eclipse.team.internal.ccvs.core.client.listeners;
 
 import java.io.*;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.*;
+import java.util.*;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.team.internal.ccvs.core.*;
 import org.eclipse.team.internal.ccvs.core.client.CommandOutputListener;
 
-public class AnnotateListener extends CommandOutputListener {
-
 /**
  * Handle output from the CVS Annotate command.
- */	
-	ByteArrayOutputStream aStream = new ByteArrayOutputStream();
-	List<CVSAnnotateBlock> blocks = new ArrayList<>();
-	int lineNumber;
-	
-	public IStatus messageLine(String line, ICVSRepositoryLocation location, ICVSFolder commandRoot, IProgressMonitor monitor) {
-		String error = null;
-		CVSAnnotateBlock aBlock = new CVSAnnotateBlock(line, lineNumber++);
-		if (!aBlock.isValid()) {
-			error = line;
+ * <p>
+ * Each line is parsed in place and consecutive lines of the same revision are
+ * merged into one block as they are received, so a block is only created when
+ * the revision changes. The source of the lines is accumulated in a single buffer
+ * and encoded while it is read from {@link #getContents()}.
+ * </p>
+ */
+public class AnnotateListener extends CommandOutputListener {
+
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+	private static final int ENCODING_BUFFER_SIZE = 8192;
+
+	// the source of the annotated lines
+	private final StringBuilder source = new StringBuilder();
+	// the contents set explicitly, which replace the source
+	private byte[] contents;
+	// set once the source and contents are discarded
+	private boolean discarded;
+	private final List<CVSAnnotateBlock> blocks = new ArrayList<>();
+	// the start line of each block, indexed like the blocks
+	private int[] blockStarts = new int[16];
+	private int lineNumber;
+
+	/*
+	 * Encodes a character sequence while it is read
+	 */
+	private static class EncodingInputStream extends InputStream {
+		private final CharBuffer chars;
+		private final CharsetEncoder encoder;
+		private final ByteBuffer bytes = ByteBuffer.allocate(ENCODING_BUFFER_SIZE);
+		private boolean encoded;
+		private boolean flushed;
+
+		EncodingInputStream(CharSequence text, Charset charset) {
+			chars = CharBuffer.wrap(text);
+			encoder = charset.newEncoder()
+					.onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE);
+			bytes.flip();
 		}
-		
-		/**
-		 * Make sure all lines have a line terminator.
-		 */
-		try {
-			aStream.write(line.substring(aBlock.getSourceOffset()).getBytes());
-			if (!(line.endsWith("\r") || line.endsWith("\r\n"))) { //$NON-NLS-1$ //$NON-NLS-2$
-				aStream.write(System.getProperty("line.separator").getBytes()); //$NON-NLS-1$
+
+		@Override
+		public int read() {
+			byte[] b = new byte[1];
+			return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (len == 0) return 0;
+			while (!bytes.hasRemaining()) {
+				if (flushed) return -1;
+				fill();
 			}
-		} catch (IOException e) {
+			int n = Math.min(len, bytes.remaining());
+			bytes.get(b, off, n);
+			return n;
 		}
-		add(aBlock);
-		if (error != null)
-			return new CVSStatus(IStatus.ERROR, CVSStatus.ERROR_LINE_PARSE_FAILURE, error, commandRoot);
+
+		private void fill() {
+			bytes.clear();
+			if (!encoded) {
+				encoder.encode(chars, bytes, true);
+				encoded = !chars.hasRemaining();
+			}
+			if (encoded) {
+				flushed = encoder.flush(bytes).isUnderflow();
+			}
+			bytes.flip();
+		}
+	}
+
+	@Override
+	public IStatus messageLine(String line, ICVSRepositoryLocation location, ICVSFolder commandRoot, IProgressMonitor monitor) {
+		int currentLine = lineNumber++;
+		int sourceOffset = parseLine(line, currentLine);
+		if (sourceOffset == -1) {
+			CVSAnnotateBlock aBlock = new CVSAnnotateBlock(line, currentLine);
+			add(aBlock);
+			appendSource(line, aBlock.getSourceOffset());
+			return new CVSStatus(IStatus.ERROR, CVSStatus.ERROR_LINE_PARSE_FAILURE, line, commandRoot);
+		}
+		appendSource(line, sourceOffset);
 		return OK;
 	}
-	
+
+	/*
+	 * Parse a line of the form "revision (user date): source", extending the
+	 * last block if the line has the same revision or adding a block otherwise.
+	 * Return the offset of the source or -1 if the line could not be parsed.
+	 */
+	private int parseLine(String line, int currentLine) {
+		int revisionEnd = line.indexOf(' ');
+		if (revisionEnd == -1) return -1;
+		int userStart = line.indexOf('(', revisionEnd);
+		if (userStart == -1) return -1;
+		int userEnd = line.indexOf(' ', userStart);
+		if (userEnd == -1) return -1;
+		int colon = line.indexOf(':', userEnd);
+		if (colon == -1) return -1;
+		int sourceOffset = Math.min(colon + 2, line.length());
+		int size = blocks.size();
+		if (size > 0) {
+			CVSAnnotateBlock lastBlock = blocks.get(size - 1);
+			String lastRevision = lastBlock.getRevision();
+			if (lastRevision.length() == revisionEnd && line.startsWith(lastRevision)) {
+				lastBlock.setEndLine(currentLine);
+				return sourceOffset;
+			}
+		}
+		addBlock(new CVSAnnotateBlock(line.substring(0, revisionEnd), line.substring(userStart + 1, userEnd), currentLine, sourceOffset));
+		return sourceOffset;
+	}
+
+	/*
+	 * Append the source of a line, making sure all lines have a line terminator
+	 */
+	private void appendSource(String line, int sourceOffset) {
+		source.append(line, Math.min(sourceOffset, line.length()), line.length());
+		if (!(line.endsWith("\r") || line.endsWith("\r\n"))) { //$NON-NLS-1$ //$NON-NLS-2$
+			source.append(LINE_SEPARATOR);
+		}
+	}
+
+	/**
+	 * Return the contents of the annotated file. The contents are encoded while
+	 * they are read so they are not copied in memory.
+	 * @return the contents of the file
+	 */
 	public InputStream getContents() {
-		return new ByteArrayInputStream(aStream.toByteArray());
+		if (discarded) {
+			return new ByteArrayInputStream(new byte[0]);
+		}
+		if (contents != null) {
+			return new ByteArrayInputStream(contents);
+		}
+		return new EncodingInputStream(source, Charset.defaultCharset());
 	}
-	
+
+	/**
+	 * Release the contents of the annotated file, keeping the blocks. This is done
+	 * when the annotations are kept for a file whose contents are available locally.
+	 * The contents returned by {@link #getContents()} are then empty.
+	 */
+	public void discardContents() {
+		discarded = true;
+		contents = null;
+		source.setLength(0);
+		source.trimToSize();
+	}
+
+	/**
+	 * Return whether the contents of the annotated file are available.
+	 * @return whether the contents were not discarded
+	 */
+	public boolean hasContents() {
+		return !discarded;
+	}
+
 	public List getCvsAnnotateBlocks() {
 		return blocks;
 	}
+
+	/**
+	 * Return the number of lines received.
+	 * @return the number of annotated lines
+	 */
+	public int getLineCount() {
+		return lineNumber;
+	}
+
+	/**
+	 * Return the block that contains the given line or <code>null</code> if the
+	 * line was not received. The block is found by a binary search of the start
+	 * lines of the blocks.
+	 * @param line a line number starting at 0
+	 * @return the block containing the line or <code>null</code>
+	 */
+	public CVSAnnotateBlock getBlock(int line) {
+		if (line < 0 || line >= lineNumber) return null;
+		int index = Arrays.binarySearch(blockStarts, 0, blocks.size(), line);
+		if (index < 0) {
+			// the line is in the block that starts before the insertion point
+			index = -index - 2;
+		}
+		return blocks.get(index);
+	}
+
+	/**
+	 * Return the revision of the given line or <code>null</code> if the
+	 * line was not received.
+	 * @param line a line number starting at 0
+	 * @return the revision of the line or <code>null</code>
+	 */
+	public String getRevision(int line) {
+		CVSAnnotateBlock block = getBlock(line);
+		return block == null ? null : block.getRevision();
+	}
+
 	/**
 	 * Add an annotate block to the receiver merging this block with the
 	 * previous block if it is part of the same change.
 	 * @param aBlock
 	 */
 	private void add(CVSAnnotateBlock aBlock) {
-		
 		int size = blocks.size();
-		if (size == 0) {
-			blocks.add(aBlock);
-		} else {
+		if (size > 0) {
 			CVSAnnotateBlock lastBlock = blocks.get(size - 1);
 			if (lastBlock.getRevision().equals(aBlock.getRevision())) {
 				lastBlock.setEndLine(aBlock.getStartLine());
-			} else {
-				blocks.add(aBlock);
+				return;
 			}
 		}
+		addBlock(aBlock);
+	}
+
+	private void addBlock(CVSAnnotateBlock aBlock) {
+		int size = blocks.size();
+		if (size == blockStarts.length) {
+			blockStarts = Arrays.copyOf(blockStarts, size * 2);
+		}
+		blockStarts[size] = aBlock.getStartLine();
+		blocks.add(aBlock);
 	}
 
 	@Override
 	public IStatus errorLine(String line, ICVSRepositoryLocation location, ICVSFolder commandRoot, IProgressMonitor monitor) {
-		if(line.startsWith(CVSMessages.AnnotateListener_3)) { 
-			String error = CVSMessages.AnnotateListener_4; 
+		if(line.startsWith(CVSMessages.AnnotateListener_3)) {
+			String error = CVSMessages.AnnotateListener_4;
 			return new CVSStatus(IStatus.ERROR, CVSStatus.SERVER_ERROR, error, commandRoot);
 		}
 		return super.errorLine(line, location, commandRoot, monitor);
@@ -105,7 +275,10 @@ public class AnnotateListener extends CommandOutputListener {
 				stream.write(buffer, 0, n);
 				n = remoteContents.read(buffer);
 			}
-			aStream = stream;
+			contents = stream.toByteArray();
+			// the annotated source is no longer needed
+			source.setLength(0);
+			source.trimToSize();
 		} catch (IOException e) {
 			// Log and continue
 			CVSProviderPlugin.log(CVSException.wrapException(e));
@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.internal.ccvs.core.client.listeners;
+
+import org.eclipse.team.internal.ccvs.core.ICVSRemoteFile;
+
+/**
+ * Interface for receiving log entries from the <code>LogListener</code> that
+ * is also notified when the log of each file is complete. This allows the
+ * entries of a file to be processed and released while the log command is
+ * still running instead of retaining the entries of all files.
+ */
+public interface ILogFileListener extends ILogEntryListener {
+
+	/**
+	 * All the log entries of the given file have been received
+	 * @param file the file whose log is complete
+	 */
+	void handleFileCompleted(ICVSRemoteFile file);
+
+}
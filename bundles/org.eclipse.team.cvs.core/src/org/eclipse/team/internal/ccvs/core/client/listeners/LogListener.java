@@ -16,7 +16,7 @@
  *******************************************************************************/
 package org.eclipse.team.internal.ccvs.core.client.listeners;
 
-import java.text.*;
+import java.text.ParseException;
 import java.util.*;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -27,6 +27,9 @@ import org.eclipse.team.internal.ccvs.core.*;
 import org.eclipse.team.internal.ccvs.core.client.CommandOutputListener;
 import org.eclipse.team.internal.ccvs.core.resources.RemoteFile;
 import org.eclipse.team.internal.ccvs.core.syncinfo.ResourceSyncInfo;
+import org.eclipse.team.internal.ccvs.core.util.BoundedMap;
+import org.eclipse.team.internal.ccvs.core.util.CVSDateFormatter;
+import org.eclipse.team.internal.ccvs.core.util.CVSTagRegistry;
 import org.eclipse.team.internal.ccvs.core.util.Util;
 
 /**
@@ -35,15 +38,6 @@ import org.eclipse.team.internal.ccvs.core.util.Util;
  */
 public class LogListener extends CommandOutputListener {
 	
-	/*
-	 * A new format for log dates was introduced in 1.12.9
-	 */
-	private static final String LOG_TIMESTAMP_FORMAT_OLD= "yyyy/MM/dd HH:mm:ss zzz";//$NON-NLS-1$
-	private static final String LOG_TIMESTAMP_FORMAT= "yyyy-MM-dd HH:mm:ss zzz";//$NON-NLS-1$
-	private static final Locale LOG_TIMESTAMP_LOCALE= Locale.US;
-	private final DateFormat LOG_DATE_FORMATTER_OLD = new SimpleDateFormat(LOG_TIMESTAMP_FORMAT_OLD, LOG_TIMESTAMP_LOCALE);
-	private final DateFormat LOG_DATE_FORMATTER = new SimpleDateFormat(LOG_TIMESTAMP_FORMAT, LOG_TIMESTAMP_LOCALE);
-	
 	// Server message prefix used for error detection
 	private static final String NOTHING_KNOWN_ABOUT = "nothing known about "; //$NON-NLS-1$
 
@@ -60,16 +54,26 @@ public class LogListener extends CommandOutputListener {
 	private static final CVSTag[] NO_TAGS = new CVSTag[0];
 	private static final String[] NO_VERSIONS = new String[0];
 	
+	// The strings and symbolic names are shared between files but the tables are
+	// bounded so that the log of a large module does not retain them all
+	private static final int MAX_INTERNED_STRINGS = 10000;
+	private static final int MAX_SYMBOLIC_NAMES = 10000;
+	
+	private static final String END_OF_FILE = "============================================================================="; //$NON-NLS-1$
+	private static final String END_OF_REVISION = "----------------------------"; //$NON-NLS-1$
+	
 	// Instance variables for accumulating Log information
 	private RemoteFile currentFile;
 	private int state = BEGIN;
-	private StringBuffer comment;
+	private StringBuilder comment;
 	private String fileState;
 	private String revision;
 	private String author;
 	private Date creationDate;
 	private List<VersionInfo> versions = new ArrayList<>();
-	private Map<String,String> internedStrings = new HashMap<>();
+	private Map<String,String> internedStrings = new BoundedMap<>(MAX_INTERNED_STRINGS);
+	// keys = String (symbolic name line), values = VersionInfo
+	private Map<String,VersionInfo> symbolicNames = new BoundedMap<>(MAX_SYMBOLIC_NAMES);
 	private final ILogEntryListener listener;
 	
 	/**
@@ -148,18 +152,18 @@ public class LogListener extends CommandOutputListener {
 						//ok put into comment state to await ======= and add info to log
 						state = COMMENT;
 						revision = BRANCH_REVISION;
-						comment = new StringBuffer();
+						comment = new StringBuilder();
 					}
+				} else if (line.equals(END_OF_FILE)) {
+					// the log of a file without selected revisions
+					endFile();
 				}
 				break;
 			case SYMBOLIC_NAMES:
 				if (line.startsWith("keyword substitution:")) { //$NON-NLS-1$
 					state = BEGIN;
 				} else {
-					int firstColon = line.indexOf(':');
-					String tagName = internAndCopyString(line.substring(1, firstColon));
-					String tagRevision = internAndCopyString(line.substring(firstColon + 2));
-					versions.add(new VersionInfo(tagRevision, tagName));
+					versions.add(getVersionInfo(line));
 				}
 				break;
 			case REVISION:
@@ -175,14 +179,13 @@ public class LogListener extends CommandOutputListener {
 				// get the file state (because this revision might be "dead")
 				int endOfStateIndex = line.indexOf(';', endOfAuthorIndex + 1) < 0 ? line.length() : line.indexOf(';', endOfAuthorIndex + 1);
 				fileState = internAndCopyString(line.substring(endOfAuthorIndex + 10, endOfStateIndex));
-				comment = new StringBuffer();
+				comment = new StringBuilder();
 				state = COMMENT;
 				break;
 			case COMMENT:
 				// skip next line (info about branches) if it exists, if not then it is a comment line.
 				if (line.startsWith("branches:")) break; //$NON-NLS-1$
-				if (line.equals("=============================================================================") //$NON-NLS-1$
-					|| line.equals("----------------------------")) { //$NON-NLS-1$
+				if (line.equals(END_OF_FILE) || line.equals(END_OF_REVISION)) {
 					state = DONE;
 					break;
 				}
@@ -201,6 +204,8 @@ public class LogListener extends CommandOutputListener {
 			//a parallel lists for revision tags (used only for branches with no commits on them)
 			List<String> revisionVersions = versions.isEmpty() ? Collections.emptyList() : new ArrayList<>(3);
 			String branchRevision = this.getBranchRevision(revision);
+			// the tags of a module are shared between its files and revisions
+			CVSTagRegistry registry = CVSTagRegistry.getRegistry(location);
 			for (Iterator i = versions.iterator(); i.hasNext();) {
 				VersionInfo version = (VersionInfo) i.next();
 				String tagName = version.getTagName();
@@ -209,13 +214,13 @@ public class LogListener extends CommandOutputListener {
 				int type = version.isBranch() ? CVSTag.BRANCH : CVSTag.VERSION;
 				if ( branchRevision.equals(tagBranchRevision) || 
 						(version.isBranch() && revision.equals(tagRevision))) {
-					CVSTag cvsTag = new CVSTag(tagName, tagBranchRevision, type);
+					CVSTag cvsTag = registry.getTag(tagName, tagBranchRevision, type);
 					thisRevisionBranches.add(cvsTag);
 				}
 				
 				if (tagRevision.equals(revision) ||
 					revision.equals(BRANCH_REVISION)) {
-					CVSTag cvsTag = new CVSTag(tagName, tagBranchRevision, type);
+					CVSTag cvsTag = registry.getTag(tagName, tagBranchRevision, type);
 					thisRevisionTags.add(cvsTag);
 					if (revision.equals(BRANCH_REVISION)){
 						//also record the tag revision
@@ -225,23 +230,26 @@ public class LogListener extends CommandOutputListener {
 			}
 			
 			if (branchRevision.equals(CVSTag.HEAD_REVISION)) {
-				CVSTag tag = new CVSTag(CVSTag.HEAD_BRANCH, CVSTag.HEAD_REVISION, CVSTag.HEAD);
+				CVSTag tag = registry.getTag(CVSTag.HEAD_BRANCH, CVSTag.HEAD_REVISION, CVSTag.HEAD);
 				thisRevisionBranches.add(tag);
 			} else {
 				if ( thisRevisionBranches.isEmpty()) {
-					CVSTag cvsTag = new CVSTag(CVSTag.UNKNOWN_BRANCH, branchRevision, CVSTag.BRANCH);
+					CVSTag cvsTag = registry.getTag(CVSTag.UNKNOWN_BRANCH, branchRevision, CVSTag.BRANCH);
 					thisRevisionBranches.add(cvsTag);
 				}			
 			}
 			if (currentFile != null) {
 				LogEntry entry = new LogEntry(currentFile, revision, author, creationDate,
 					internString(comment.toString()), fileState, 
-					!thisRevisionTags.isEmpty() ? (CVSTag[]) thisRevisionTags.toArray(new CVSTag[thisRevisionTags.size()]) :NO_TAGS, 
-					!thisRevisionBranches.isEmpty() ? (CVSTag[]) thisRevisionBranches.toArray(new CVSTag[thisRevisionBranches.size()]) :NO_TAGS, 
+					!thisRevisionTags.isEmpty() ? registry.getTags(thisRevisionTags.toArray(new CVSTag[thisRevisionTags.size()])) :NO_TAGS, 
+					!thisRevisionBranches.isEmpty() ? registry.getTags(thisRevisionBranches.toArray(new CVSTag[thisRevisionBranches.size()])) :NO_TAGS, 
 						!revisionVersions.isEmpty() ? (String[]) revisionVersions.toArray(new String[revisionVersions.size()]) : NO_VERSIONS);
 				addEntry(entry);
 			}
 			state = BEGIN;
+			if (line.equals(END_OF_FILE)) {
+				endFile();
+			}
 		}
 		return OK;
 	}
@@ -281,6 +289,15 @@ public class LogListener extends CommandOutputListener {
 		versions.clear();
 	}
 
+	/*
+	 * Notify the listener that the log of the current file is complete
+	 */
+	private void endFile() {
+		if (currentFile != null && listener instanceof ILogFileListener) {
+			((ILogFileListener)listener).handleFileCompleted(currentFile);
+		}
+	}
+
 	protected void addEntry(LogEntry entry) {
 		listener.handleLogEntryReceived(entry);
 	}
@@ -294,19 +311,31 @@ public class LogListener extends CommandOutputListener {
 	 * <code>Date</code>.
 	 */
 	private Date convertFromLogTime(String modTime) {
-		DateFormat format = LOG_DATE_FORMATTER;
-		// Compatibility for older cvs version (pre 1.12.9)
-		if (modTime.length() > 4 && modTime.charAt(4) == '/')
-			format = LOG_DATE_FORMATTER_OLD;
-		
 		try {
-			return format.parse(modTime);
+			// handles both the format introduced in 1.12.9 and the older one
+			return CVSDateFormatter.logStampToDate(modTime);
 		} catch (ParseException e) {
 			// fallback is to return null
 			return null;
 		}
 	}
 	
+	/*
+	 * Return the version info for a line of the symbolic names of a file.
+	 * The same line is usually found in the log of several files.
+	 */
+	private VersionInfo getVersionInfo(String line) {
+		VersionInfo info = symbolicNames.get(line);
+		if (info == null) {
+			int firstColon = line.indexOf(':');
+			String tagName = internAndCopyString(line.substring(1, firstColon));
+			String tagRevision = internAndCopyString(line.substring(firstColon + 2));
+			info = new VersionInfo(tagRevision, tagName);
+			symbolicNames.put(line, info);
+		}
+		return info;
+	}
+	
 	private String internAndCopyString(String string) {
 		String internedString = internedStrings.get(string);
 		if (internedString == null) {
@@ -325,6 +354,29 @@ public class LogListener extends CommandOutputListener {
 		return internedString;    	
 	}
 	
+	/**
+	 * Return whether the revision of a symbolic name is the revision of a branch.
+	 * Branch revisions have an odd number of segments or have an even number
+	 * with a zero as the second last segment, e.g. 1.1.1 and 1.26.0.2.
+	 */
+	static boolean isBranchRevision(String revision) {
+		// First check if we have an odd number of segments (i.e. even number of dots)
+		int numberOfDots = 0;
+		int lastDot = 0;
+		for (int i = 0; i < revision.length(); i++) {
+			if (revision.charAt(i) == '.') {
+				numberOfDots++;
+				lastDot = i;
+			}
+		}
+		if ((numberOfDots % 2) == 0) return true;
+		if (numberOfDots == 1) return false;
+		
+		// If not, check if the second lat segment is a zero
+		if (revision.charAt(lastDot - 1) == '0' && revision.charAt(lastDot - 2) == '.') return true;
+		return false;
+	}
+	
 	private static class VersionInfo {
 		private final boolean isBranch;
 		private String tagRevision;
@@ -333,7 +385,7 @@ public class LogListener extends CommandOutputListener {
 		
 		public VersionInfo(String version, String tagName) {
 			this.tagName = tagName;
-			this.isBranch = isBranchTag(version);
+			this.isBranch = isBranchRevision(version);
 			tagRevision = version;
 			if (isBranch) {
 				int lastDot = version.lastIndexOf('.');
@@ -362,27 +414,6 @@ public class LogListener extends CommandOutputListener {
 			return isBranch;
 		}
 		
-		/** branch tags have odd number of segments or have
-		 *  an even number with a zero as the second last segment
-		 *  e.g: 1.1.1, 1.26.0.2 are branch revision numbers */
-		private boolean isBranchTag(String tagName) {
-			// First check if we have an odd number of segments (i.e. even number of dots)
-			int numberOfDots = 0;
-			int lastDot = 0;
-			for (int i = 0; i < tagName.length(); i++) {
-				if (tagName.charAt(i) == '.') {
-					numberOfDots++;
-					lastDot = i;
-				}
-			}
-			if ((numberOfDots % 2) == 0) return true;
-			if (numberOfDots == 1) return false;
-			
-			// If not, check if the second lat segment is a zero
-			if (tagName.charAt(lastDot - 1) == '0' && tagName.charAt(lastDot - 2) == '.') return true;
-			return false;
-		}
-
 		public String getBranchRevision() {
 			return branchRevision;
 		}
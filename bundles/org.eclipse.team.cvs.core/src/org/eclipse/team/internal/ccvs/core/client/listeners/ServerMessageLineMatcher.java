@@ -37,6 +37,8 @@ public class ServerMessageLineMatcher {
 	
 	Pattern pattern;
 	String[] variables;
+	// the text that a line must contain, in order, to match the pattern
+	String[] literals;
 
 	public ServerMessageLineMatcher(String template, String[] expectedVariables) throws CVSException {
 		// Extract the variable names from the template
@@ -73,6 +75,79 @@ public class ServerMessageLineMatcher {
 
 		// Create the pattern fir matching lines from the server
 		this.pattern = Pattern.compile(template);
+		this.literals = getLiterals(template);
+	}
+
+	/*
+	 * Return the literal text of the template outside of groups, character classes
+	 * and quantified characters. Lines that do not contain this text can be rejected
+	 * without running the pattern. An empty array is returned if the template uses
+	 * alternation since no text is then required.
+	 */
+	private static String[] getLiterals(String template) {
+		List<String> literals = new ArrayList<>();
+		StringBuilder literal = new StringBuilder();
+		int depth = 0;
+		boolean inClass = false;
+		for (int i = 0; i < template.length(); i++) {
+			char c = template.charAt(i);
+			if (c == '\\') {
+				// escapes either stand for a set of characters or are rare enough to ignore
+				i++;
+				addLiteral(literals, literal);
+			} else if (inClass) {
+				if (c == ']') inClass = false;
+			} else if (c == '[') {
+				inClass = true;
+				addLiteral(literals, literal);
+			} else if (c == '(') {
+				// flags such as case insensitivity change how the text matches
+				if (i + 1 < template.length() && template.charAt(i + 1) == '?') return new String[0];
+				depth++;
+				addLiteral(literals, literal);
+			} else if (c == ')') {
+				depth--;
+			} else if (c == '|') {
+				return new String[0];
+			} else if (depth > 0) {
+				// ignore the contents of groups
+			} else if (c == '*' || c == '?' || c == '+' || c == '{') {
+				// the preceding character is optional or repeated
+				if (literal.length() > 0) literal.setLength(literal.length() - 1);
+				addLiteral(literals, literal);
+				if (c == '{') {
+					int end = template.indexOf('}', i);
+					if (end == -1) return new String[0];
+					i = end;
+				}
+			} else if (c == '.' || c == '^' || c == '$') {
+				addLiteral(literals, literal);
+			} else {
+				literal.append(c);
+			}
+		}
+		addLiteral(literals, literal);
+		return literals.toArray(new String[literals.size()]);
+	}
+
+	private static void addLiteral(List<String> literals, StringBuilder literal) {
+		if (literal.length() > 0) {
+			literals.add(literal.toString());
+			literal.setLength(0);
+		}
+	}
+
+	/*
+	 * Return whether the line contains the literal text of the template
+	 */
+	private boolean containsLiterals(String line) {
+		int index = 0;
+		for (String literal : literals) {
+			index = line.indexOf(literal, index);
+			if (index == -1) return false;
+			index += literal.length();
+		}
+		return true;
 	}
 
 	/*
@@ -88,6 +163,7 @@ public class ServerMessageLineMatcher {
 	}
 
 	public Map processServerMessage(String line) {
+		if (!containsLiterals(line)) return null;
 		Matcher matcher = pattern.matcher(line);
 		if (!matcher.find()) return null;
 		Assert.isTrue(matcher.groupCount() == variables.length);
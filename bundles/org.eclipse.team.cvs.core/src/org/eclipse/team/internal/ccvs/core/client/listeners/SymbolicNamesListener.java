@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.internal.ccvs.core.client.listeners;
+
+import java.util.*;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.team.internal.ccvs.core.*;
+import org.eclipse.team.internal.ccvs.core.client.CommandOutputListener;
+import org.eclipse.team.internal.ccvs.core.util.CVSTagRegistry;
+
+/**
+ * Collects the tags found in the symbolic names of the log headers returned by
+ * <code>rlog -h</code>. Only the symbolic names are parsed so the tags of a folder
+ * are discovered without receiving the revisions and comments of its files.
+ */
+public class SymbolicNamesListener extends CommandOutputListener {
+
+	// The symbolic names of a file are listed, one per line, between these headers
+	private static final String SYMBOLIC_NAMES = "symbolic names:"; //$NON-NLS-1$
+	private static final String KEYWORD_SUBSTITUTION = "keyword substitution:"; //$NON-NLS-1$
+
+	private boolean inSymbolicNames;
+	// the tags found so far, keyed by symbolic name line since the same lines are repeated for most files
+	private final Map<String, CVSTag> tags = new HashMap<>();
+
+	@Override
+	public IStatus messageLine(String line, ICVSRepositoryLocation location, ICVSFolder commandRoot, IProgressMonitor monitor) {
+		if (inSymbolicNames) {
+			if (line.startsWith(KEYWORD_SUBSTITUTION) || line.length() == 0 || line.charAt(0) != '\t') {
+				inSymbolicNames = false;
+			} else if (!tags.containsKey(line)) {
+				CVSTag tag = getTag(line, location);
+				if (tag != null) {
+					tags.put(line, tag);
+				}
+			}
+		} else if (line.startsWith(SYMBOLIC_NAMES)) {
+			inSymbolicNames = true;
+		}
+		return OK;
+	}
+
+	/*
+	 * Return the canonical tag for a line of the form "\tname: revision"
+	 */
+	private CVSTag getTag(String line, ICVSRepositoryLocation location) {
+		int colon = line.indexOf(':');
+		if (colon == -1 || colon + 2 > line.length()) return null;
+		String name = line.substring(1, colon);
+		String revision = line.substring(colon + 1).trim();
+		if (LogListener.isBranchRevision(revision)) {
+			return CVSTagRegistry.getRegistry(location).getTag(name, revision, CVSTag.BRANCH);
+		}
+		return CVSTagRegistry.getRegistry(location).getTag(name, null, CVSTag.VERSION);
+	}
+
+	/**
+	 * Return the distinct tags found in the symbolic names received so far.
+	 */
+	public CVSTag[] getTags() {
+		Set<CVSTag> result = new HashSet<>(tags.values());
+		return result.toArray(new CVSTag[result.size()]);
+	}
+}
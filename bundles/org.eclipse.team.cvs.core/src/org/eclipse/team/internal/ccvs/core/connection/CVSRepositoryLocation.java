@@ -19,8 +19,6 @@ import java.util.*;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.*;
 import org.eclipse.core.runtime.Status;
-import org.eclipse.core.runtime.jobs.ILock;
-import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.core.runtime.preferences.DefaultScope;
 import org.eclipse.equinox.security.storage.*;
 import org.eclipse.osgi.util.NLS;
@@ -29,6 +27,7 @@ import org.eclipse.team.internal.ccvs.core.*;
 import org.eclipse.team.internal.ccvs.core.client.*;
 import org.eclipse.team.internal.ccvs.core.resources.*;
 import org.eclipse.team.internal.ccvs.core.util.KnownRepositories;
+import org.eclipse.team.internal.ccvs.core.util.ModuleCache;
 import org.osgi.service.prefs.BackingStoreException;
 import org.osgi.service.prefs.Preferences;
 
@@ -89,10 +88,6 @@ public class CVSRepositoryLocation extends PlatformObject implements ICVSReposit
 	private static IUserAuthenticator authenticator;
 	private static IConnectionMethod[] pluggedInConnectionMethods = null;
 	
-	// Locks for ensuring that authentication to a host is serialized
-	// so that invalid passwords do not result in account lockout
-	private static Map<String, ILock> hostLocks = new HashMap<>(); 
-
 	private IConnectionMethod method;
 	private String user;
 	private String password;
@@ -141,6 +136,13 @@ public class CVSRepositoryLocation extends PlatformObject implements ICVSReposit
 	 */
 	private boolean previousAuthenticationFailed = false;
 	
+	/*
+	 * Field that indicates that a connection to this repository location has
+	 * been authenticated with the current authentication information. Until this
+	 * is the case, connections to the host are opened one at a time.
+	 */
+	private volatile boolean authenticated = false;
+	
 	/**
 	 * Return the preferences node whose child nodes are the know repositories
 	 * @return a preferences node
@@ -538,11 +540,13 @@ public class CVSRepositoryLocation extends PlatformObject implements ICVSReposit
 	}
 	
 	/*
-	 * Dispose of the receiver by clearing any cached authorization information.
+	 * Dispose of the receiver by clearing any cached authorization and module information.
 	 * This method should only be invoked when the corresponding adapter is shut
 	 * down or a connection is being validated.
 	 */
 	public void dispose() {
+		closePooledConnections();
+		ModuleCache.getInstance().invalidate(this);
 		removeNode();
 		try {
 			if (hasPreferences()) {
@@ -712,40 +716,22 @@ public class CVSRepositoryLocation extends PlatformObject implements ICVSReposit
 	 * password if one has not previously been provided or if the previously
 	 * supplied username and password are invalid.
 	 * 
-	 * This method is synchronized to ensure that authentication with the 
-	 * remote server is serialized. This is needed to avoid the situation where
-	 * multiple failed authentications occur and result in the remote account
-	 * being locked. The CVSProviderPlugin enforces that there is one instance
-	 * of a CVSRepositoryLocation per remote location thus this method is called
-	 * for any connection made to this remote location.
+	 * Until a connection has been authenticated, this method uses an exclusive
+	 * host permit to ensure that authentication with the remote server is
+	 * serialized. This is needed to avoid the situation where multiple failed
+	 * authentications occur and result in the remote account being locked.
+	 * Once the authentication information is known to be valid, connections
+	 * to the host may be opened concurrently. The CVSProviderPlugin enforces
+	 * that there is one instance of a CVSRepositoryLocation per remote location
+	 * thus this method is called for any connection made to this remote location.
 	 */
 	public Connection openConnection(IProgressMonitor monitor) throws CVSException {
-		// Get the lock for the host to ensure that we are not connecting to the same host concurrently.
+		// Get a permit for the host. Unless the authentication information is known to be
+		// valid, the permit is exclusive so that we are not connecting to the same host concurrently.
 		Policy.checkCanceled(monitor);
-		ILock hostLock;
-		synchronized(hostLocks) {
-			hostLock = hostLocks.get(getHost());
-			if (hostLock == null) {
-				hostLock = Job.getJobManager().newLock();
-				hostLocks.put(getHost(), hostLock);
-			}
-		}
+		boolean exclusive = !authenticated || previousAuthenticationFailed;
+		ConnectionPool.getInstance().acquireHostPermit(getHost(), exclusive, monitor);
 		try {
-			boolean acquired = false;
-			int count = 0;
-			int timeout = CVSProviderPlugin.getPlugin().getTimeout();
-			while (!acquired) {
-				try {
-					acquired = hostLock.acquire(1000);
-				} catch (InterruptedException e) {
-					// Ignore
-				}
-				if (timeout > 0 && count > timeout) {
-					throw new CVSCommunicationException(NLS.bind(CVSMessages.CVSRepositoryLocation_72, getHost()));
-				}
-				count++;
-				Policy.checkCanceled(monitor);
-			}
 			// Allow two ticks in case of a retry
 			monitor.beginTask(NLS.bind(CVSMessages.CVSRepositoryLocation_openingConnection, new String[] { getHost() }), 2);
 			ensureLocationCached();
@@ -774,9 +760,11 @@ public class CVSRepositoryLocation extends PlatformObject implements ICVSReposit
 					if (cacheNeedsUpdate)
 						updateCachedLocation();
 					previousAuthenticationFailed = false;
+					authenticated = true;
 					return connection;
 				} catch (CVSAuthenticationException ex) {
 					previousAuthenticationFailed = true;
+					authenticated = false;
 					if (ex.getRetryStatus() == CVSAuthenticationException.RETRY) {
 						String message = ex.getMessage();
 						promptForUserInfo(message);
@@ -788,7 +776,7 @@ public class CVSRepositoryLocation extends PlatformObject implements ICVSReposit
 				}
 			}
 		} finally {
-			hostLock.release();
+			ConnectionPool.getInstance().releaseHostPermit(getHost(), exclusive);
 			monitor.done();
 		}
 	}
@@ -934,6 +922,7 @@ public class CVSRepositoryLocation extends PlatformObject implements ICVSReposit
 		// The password has been changed, reset the flag, so we won't 
 		// prompt before attempting to connect
 		previousAuthenticationFailed = false;
+		authenticated = false;
 	}
 	
 	@Override
@@ -1056,9 +1045,19 @@ public class CVSRepositoryLocation extends PlatformObject implements ICVSReposit
 	
 	@Override
 	public void flushUserInfo() {
+		closePooledConnections();
+		authenticated = false;
 		removeNode();
 	}
 	
+	/*
+	 * Close any idle connections to this location that were opened with
+	 * authentication information that is no longer valid.
+	 */
+	private void closePooledConnections() {
+		ConnectionPool.getInstance().closeAll(this);
+	}
+	
 	/*
 	 * Return the command string that is to be used by the EXT connection method.
 	 */
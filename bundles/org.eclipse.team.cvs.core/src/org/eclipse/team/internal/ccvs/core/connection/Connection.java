@@ -16,6 +16,8 @@ package org.eclipse.team.internal.ccvs.core.connection;
 
  
 import java.io.*;
+import java.nio.charset.Charset;
+import java.util.zip.*;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -45,9 +47,15 @@ public class Connection {
 	private IServerConnection serverConnection;
 	private ICVSRepositoryLocation fCVSRoot;
 	private boolean fIsEstablished;
-	private InputStream fResponseStream;
+	private ResponseReader fResponseStream;
+	private OutputStream fRequestStream;
+	private RequestWriter fRequestWriter;
+	private Deflater fDeflater;
+	private Inflater fInflater;
 	private String fServerEncoding;
-	private byte[] readLineBuffer = new byte[256];
+	private Charset fServerCharset;
+	// true when all requests written to the server have been answered
+	private boolean fIdle;
 
 	public Connection(ICVSRepositoryLocation cvsroot, IServerConnection serverConnection) {
 		fCVSRoot = cvsroot;
@@ -80,11 +88,24 @@ public class Connection {
 			}
 		} finally {
 			fResponseStream = null;
+			fRequestStream = null;
+			fRequestWriter = null;
+			fIdle = false;
+			if (fDeflater != null) {
+				fDeflater.end();
+				fDeflater = null;
+			}
+			if (fInflater != null) {
+				fInflater.end();
+				fInflater = null;
+			}
 			fIsEstablished = false;
 		}
 	}
 	/**
-	 * Flushes the request stream.
+	 * Flushes the request stream. Requests are buffered until the connection
+	 * is flushed so this method must be invoked after a request that expects
+	 * a response.
 	 */
 	public void flush() throws CVSException {
 		if (!isEstablished())
@@ -98,12 +119,27 @@ public class Connection {
 	
 	/**
 	 * Returns the <code>OutputStream</code> used to send requests
-	 * to the server.
+	 * to the server. The stream is buffered; bytes written to it are
+	 * sent when the connection is flushed.
 	 */
 	public OutputStream getOutputStream() {
 		if (!isEstablished())
 			return null;
-		return serverConnection.getOutputStream();
+		return getRequestWriter();
+	}
+	
+	private RequestWriter getRequestWriter() {
+		if (fRequestWriter == null) {
+			Charset charset;
+			try {
+				charset = getServerCharset();
+			} catch (UnsupportedEncodingException e) {
+				// Strings are not written with an unsupported encoding so any charset will do
+				charset = Charset.defaultCharset();
+			}
+			fRequestWriter = new RequestWriter(serverConnection.getOutputStream(), charset);
+		}
+		return fRequestWriter;
 	}
 	/**
 	 * Returns the <code>InputStream</code> used to read responses from
@@ -113,10 +149,64 @@ public class Connection {
 		if (!isEstablished())
 			return null;
 		if (fResponseStream == null)
-			fResponseStream = serverConnection.getInputStream();
+			fResponseStream = new ResponseReader(serverConnection.getInputStream());
 		return fResponseStream;	
 	}
 
+	/**
+	 * Compresses all further communication with the server using zlib
+	 * streams in both directions, as negotiated by the <code>Gzip-stream</code>
+	 * request. The request itself must have been written before this method
+	 * is invoked. Output is sync-flushed whenever the connection is flushed
+	 * so that the server can decode each request as soon as it is sent.
+	 * 
+	 * @param level the compression level (1-9)
+	 */
+	public void enableStreamCompression(int level) {
+		if (!isEstablished() || fRequestStream != null)
+			return;
+		RequestWriter writer = getRequestWriter();
+		// Any bytes already buffered are compressed too so the inflater reads through the current buffer
+		InputStream in = getInputStream();
+		fDeflater = new Deflater(level);
+		fInflater = new Inflater();
+		fRequestStream = new DeflaterOutputStream(serverConnection.getOutputStream(), fDeflater, 8192, true /* syncFlush */);
+		fResponseStream = new ResponseReader(new InflaterInputStream(in, fInflater, 8192));
+		try {
+			// The requests buffered so far (including Gzip-stream itself) are sent uncompressed
+			writer.setOutputStream(fRequestStream);
+		} catch (IOException e) {
+			// The failure will be reported by the next write
+			CVSProviderPlugin.log(new CVSCommunicationException(fCVSRoot, e));
+		}
+	}
+
+	/**
+	 * Returns whether communication with the server is compressed.
+	 * @return whether communication with the server is compressed
+	 */
+	public boolean isStreamCompressed() {
+		return fRequestStream != null;
+	}
+
+	/**
+	 * Returns whether all requests written to the server have been answered,
+	 * that is, the dialogue is between two commands and the connection could
+	 * be used by another session.
+	 * @return whether the connection is idle
+	 */
+	public boolean isIdle() {
+		return isEstablished() && fIdle;
+	}
+
+	/**
+	 * Records that all requests written to the server have been answered.
+	 * Any subsequent write makes the connection busy again.
+	 */
+	public void setIdle() {
+		fIdle = true;
+	}
+
 	/**
 	 * Returns <code>true</code> if the connection is established;
 	 * otherwise <code>false</code>.
@@ -145,15 +235,9 @@ public class Connection {
 		if (!isEstablished())
 			throw new CVSCommunicationException(CVSMessages.Connection_readUnestablishedConnection,fCVSRoot,null);
 		try { 
-			InputStream in = getInputStream();
-			int index = 0;
-			int r;
-			while ((r = in.read()) != -1) {
-				if (r == NEWLINE) break;
-				readLineBuffer = append(readLineBuffer, index++, (byte) r);
-			}
-
-			String result = new String(readLineBuffer, 0, index, fServerEncoding);
+			ResponseReader in = (ResponseReader)getInputStream();
+			in.nextLine();
+			String result = in.getLine(getServerCharset());
 			if (Policy.isDebugProtocol()) Policy.printProtocolLine(result);
 			return result;
 		} catch (IOException e) {
@@ -161,6 +245,49 @@ public class Connection {
 		}
 	}
 	
+	/**
+	 * Reads a response line from the response stream and returns the name of
+	 * the response, that is, the line up to the first space. The rest of the line
+	 * is available from <code>getResponseArgument</code> until the next line is read.
+	 * Response names are not decoded again when they are repeated so reading a
+	 * response allocates fewer strings than reading the line.
+	 */
+	public String readResponse() throws CVSException {
+		if (!isEstablished())
+			throw new CVSCommunicationException(CVSMessages.Connection_readUnestablishedConnection,fCVSRoot,null);
+		try { 
+			ResponseReader in = (ResponseReader)getInputStream();
+			in.nextLine();
+			if (Policy.isDebugProtocol()) Policy.printProtocolLine(in.getLine(getServerCharset()));
+			return in.getResponseName(getServerCharset());
+		} catch (IOException e) {
+			throw new CVSCommunicationException(fCVSRoot,e);
+		}
+	}
+	
+	/**
+	 * Returns the argument of the last response read by <code>readResponse</code>
+	 * or an empty string if the response has no argument.
+	 */
+	public String getResponseArgument() throws CVSException {
+		try { 
+			return ((ResponseReader)getInputStream()).getResponseArgument(getServerCharset());
+		} catch (IOException e) {
+			throw new CVSCommunicationException(fCVSRoot,e);
+		}
+	}
+	
+	private Charset getServerCharset() throws UnsupportedEncodingException {
+		if (fServerCharset == null) {
+			try {
+				fServerCharset = Charset.forName(fServerEncoding);
+			} catch (IllegalArgumentException e) {
+				throw new UnsupportedEncodingException(fServerEncoding);
+			}
+		}
+		return fServerCharset;
+	}
+	
 	static String readLine(ICVSRepositoryLocation location, InputStream in) throws IOException {
 		byte[] buffer = new byte[256];
 		int index = 0;
@@ -183,12 +310,7 @@ public class Connection {
 	 * Sends the given string to the server.
 	 */
 	public void write(String s) throws CVSException {
-		try {
-			write(s.getBytes(fServerEncoding), false);
-		} catch (UnsupportedEncodingException e) {
-			IStatus status = new CVSStatus(IStatus.ERROR, CVSStatus.SERVER_ERROR, e.getMessage(), e, fCVSRoot);
-			throw new CVSException (status);
-		}
+		write(s, false);
 	}
 	
 	/**
@@ -203,12 +325,31 @@ public class Connection {
 	 * Sends the given string and a newline to the server. 
 	 */
 	public void writeLine(String s) throws CVSException {
+		write(s, true);
+	}
+	
+	/*
+	 * Encode the string straight into the request buffer
+	 */
+	private void write(String s, boolean newline) throws CVSException {
+		if (!isEstablished())
+			throw new CVSCommunicationException(CVSMessages.Connection_writeUnestablishedConnection,fCVSRoot,null);
 		try {
-			write(s.getBytes(fServerEncoding), true);
+			getServerCharset();
 		} catch (UnsupportedEncodingException e) {
 			IStatus status = new CVSStatus(IStatus.ERROR, CVSStatus.SERVER_ERROR, e.getMessage(), e, fCVSRoot);
 			throw new CVSException (status);
 		}
+			
+		if (Policy.isDebugProtocol())
+			Policy.printProtocol(s, newline);
+	
+		fIdle = false;
+		try {
+			getRequestWriter().write(s, newline);
+		} catch (IOException e) {
+			throw new CVSCommunicationException(fCVSRoot,e);
+		}
 	}
 
 	void write (byte[] bytes, boolean newLine) throws CVSException {
@@ -216,8 +357,8 @@ public class Connection {
 	}
 	
 	/**
-	 * Low level method to write a string to the server. All write* methods are
-	 * funneled through this method.
+	 * Low level method to write bytes to the server. The bytes are buffered
+	 * until the connection is flushed.
 	 */
 	void write(byte[] b, int off, int len, boolean newline) throws CVSException {
 		if (!isEstablished())
@@ -226,6 +367,7 @@ public class Connection {
 		if (Policy.isDebugProtocol())
 			Policy.printProtocol(new String(b, off, len), newline);
 	
+		fIdle = false;
 		try {
 			OutputStream out= getOutputStream();
 			out.write(b, off, len);
@@ -0,0 +1,318 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.internal.ccvs.core.connection;
+
+import java.util.*;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.*;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.team.internal.ccvs.core.*;
+
+/**
+ * Keeps negotiated connections to CVS servers open after a session is closed
+ * so that subsequent sessions to the same repository location can reuse them
+ * instead of connecting, authenticating and negotiating the valid requests again.
+ * <p>
+ * Connections are keyed by a string provided by the session which identifies
+ * the repository location and everything that was negotiated when the connection
+ * was opened. Idle connections are closed once they have not been used for
+ * {@link #IDLE_TIMEOUT} milliseconds, unless another timeout is set. The number
+ * of idle connections kept per key is bounded by
+ * {@link CVSProviderPlugin#getMaxPooledConnections()}.
+ * </p><p>
+ * The pool also provides the per-host permits that guard the opening of new
+ * connections. See {@link #acquireHostPermit(String, boolean, IProgressMonitor)}.
+ * The permits of a host are discarded once no connection to it is being opened.
+ * </p>
+ */
+public class ConnectionPool {
+
+	// the time (in milliseconds) an idle connection is kept open
+	public static final long IDLE_TIMEOUT = 60000;
+
+	// the number of connections that may be opened concurrently to the same host
+	public static final int MAX_CONCURRENT_OPENS = 4;
+
+	private static ConnectionPool instance;
+
+	private final Map<String, LinkedList<PooledConnection>> idleConnections = new HashMap<>();
+	private final Map<String, HostPermits> hostPermits = new HashMap<>();
+	private final Job evictionJob;
+	private volatile long idleTimeout = IDLE_TIMEOUT;
+
+	/**
+	 * A connection kept in the pool along with the state that was negotiated
+	 * with the server when it was opened.
+	 */
+	public static class PooledConnection {
+		private final CVSRepositoryLocation location;
+		private final Connection connection;
+		private final String validRequests;
+		private final int compressionLevel;
+		private long releaseTime;
+
+		public PooledConnection(CVSRepositoryLocation location, Connection connection, String validRequests, int compressionLevel) {
+			this.location = location;
+			this.connection = connection;
+			this.validRequests = validRequests;
+			this.compressionLevel = compressionLevel;
+		}
+		public Connection getConnection() {
+			return connection;
+		}
+		public String getValidRequests() {
+			return validRequests;
+		}
+		public int getCompressionLevel() {
+			return compressionLevel;
+		}
+		boolean isExpired(long now, long timeout) {
+			return now - releaseTime > timeout;
+		}
+	}
+
+	/*
+	 * The permits of a host and the number of threads that are opening a
+	 * connection to it, which is used to discard the permits once unused
+	 */
+	private static class HostPermits {
+		// Use a fair semaphore so exclusive requests are not starved
+		final Semaphore semaphore = new Semaphore(MAX_CONCURRENT_OPENS, true);
+		int users;
+	}
+
+	public static synchronized ConnectionPool getInstance() {
+		if (instance == null) {
+			instance = new ConnectionPool();
+		}
+		return instance;
+	}
+
+	private ConnectionPool() {
+		evictionJob = new Job(CVSMessages.ConnectionPool_0) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				evictExpired();
+				if (!isEmpty())
+					schedule(idleTimeout);
+				return Status.OK_STATUS;
+			}
+		};
+		evictionJob.setSystem(true);
+	}
+
+	/**
+	 * Return an idle connection for the given key or <code>null</code>
+	 * if there is none. The most recently released connection is returned.
+	 * The connection is removed from the pool and must be validated by the
+	 * caller before it is used.
+	 *
+	 * @param key the key identifying the location and negotiated state
+	 * @return an idle connection or <code>null</code>
+	 */
+	public PooledConnection acquire(String key) {
+		evictExpired();
+		synchronized (idleConnections) {
+			LinkedList<PooledConnection> list = idleConnections.get(key);
+			if (list == null)
+				return null;
+			PooledConnection pooled = list.removeLast();
+			if (list.isEmpty())
+				idleConnections.remove(key);
+			return pooled;
+		}
+	}
+
+	/**
+	 * Return the given connection to the pool. The connection is closed instead
+	 * if pooling is disabled or if the pool already holds the maximum number of
+	 * idle connections for the key.
+	 *
+	 * @param key the key identifying the location and negotiated state
+	 * @param pooled the connection
+	 */
+	public void release(String key, PooledConnection pooled) {
+		int max = CVSProviderPlugin.getPlugin().getMaxPooledConnections();
+		PooledConnection evicted = pooled;
+		synchronized (idleConnections) {
+			if (max > 0) {
+				LinkedList<PooledConnection> list = idleConnections.get(key);
+				if (list == null) {
+					list = new LinkedList<>();
+					idleConnections.put(key, list);
+				}
+				pooled.releaseTime = System.currentTimeMillis();
+				list.addLast(pooled);
+				evicted = list.size() > max ? list.removeFirst() : null;
+			}
+		}
+		if (evicted != null)
+			evicted.getConnection().close();
+		if (max > 0 && evictionJob.getState() == Job.NONE)
+			evictionJob.schedule(idleTimeout);
+	}
+
+	/**
+	 * Set the time an idle connection is kept open. Connections that have already
+	 * been idle for longer are closed the next time the pool is used.
+	 *
+	 * @param timeout the time in milliseconds
+	 */
+	public void setIdleTimeout(long timeout) {
+		idleTimeout = timeout;
+	}
+
+	/**
+	 * Close all idle connections that were opened to the given location.
+	 * This is used when a location is disposed or its authentication
+	 * information changes. The connections are matched by location rather
+	 * than by key since the location string of a location can change
+	 * (e.g. when its fixed password is changed).
+	 *
+	 * @param location the location or <code>null</code> to close all idle connections
+	 */
+	public void closeAll(CVSRepositoryLocation location) {
+		List<PooledConnection> toClose = new ArrayList<>();
+		synchronized (idleConnections) {
+			for (Iterator<LinkedList<PooledConnection>> iter = idleConnections.values().iterator(); iter.hasNext();) {
+				LinkedList<PooledConnection> list = iter.next();
+				for (Iterator<PooledConnection> connections = list.iterator(); connections.hasNext();) {
+					PooledConnection pooled = connections.next();
+					if (location == null || pooled.location == location) {
+						toClose.add(pooled);
+						connections.remove();
+					}
+				}
+				if (list.isEmpty())
+					iter.remove();
+			}
+		}
+		for (PooledConnection pooled : toClose) {
+			pooled.getConnection().close();
+		}
+	}
+
+	/*
+	 * Close the connections that have been idle for longer than the timeout.
+	 * Connections are closed outside of the lock since closing may block.
+	 */
+	private void evictExpired() {
+		long now = System.currentTimeMillis();
+		List<PooledConnection> toClose = new ArrayList<>();
+		synchronized (idleConnections) {
+			for (Iterator<LinkedList<PooledConnection>> iter = idleConnections.values().iterator(); iter.hasNext();) {
+				LinkedList<PooledConnection> list = iter.next();
+				while (!list.isEmpty() && list.getFirst().isExpired(now, idleTimeout)) {
+					toClose.add(list.removeFirst());
+				}
+				if (list.isEmpty())
+					iter.remove();
+			}
+		}
+		for (PooledConnection pooled : toClose) {
+			pooled.getConnection().close();
+		}
+	}
+
+	private boolean isEmpty() {
+		synchronized (idleConnections) {
+			return idleConnections.isEmpty();
+		}
+	}
+
+	/**
+	 * Acquire a permit to open a connection to the given host. Permits are
+	 * shared so that several connections to a host can be opened concurrently
+	 * once authentication is known to succeed. An exclusive permit serializes
+	 * the connection with all others to the host. This is needed when the
+	 * credentials have not been verified yet so that invalid passwords do not
+	 * result in account lockout.
+	 * <p>
+	 * The permit must be released using {@link #releaseHostPermit(String, boolean)}.
+	 * </p>
+	 *
+	 * @param host the host
+	 * @param exclusive whether the permit is exclusive
+	 * @param monitor a progress monitor used to check for cancellation
+	 * @throws CVSException if the permit could not be obtained within the timeout
+	 */
+	public void acquireHostPermit(String host, boolean exclusive, IProgressMonitor monitor) throws CVSException {
+		HostPermits permits = retainHostPermits(host);
+		int count = 0;
+		int timeout = CVSProviderPlugin.getPlugin().getTimeout();
+		boolean acquired = false;
+		try {
+			while (!acquired) {
+				try {
+					acquired = permits.semaphore.tryAcquire(exclusive ? MAX_CONCURRENT_OPENS : 1, 1000, TimeUnit.MILLISECONDS);
+				} catch (InterruptedException e) {
+					// Ignore
+				}
+				if (!acquired && timeout > 0 && count > timeout) {
+					throw new CVSCommunicationException(NLS.bind(CVSMessages.CVSRepositoryLocation_72, host));
+				}
+				count++;
+				if (!acquired)
+					Policy.checkCanceled(monitor);
+			}
+		} finally {
+			if (!acquired)
+				releaseHostPermits(host, permits);
+		}
+	}
+
+	/**
+	 * Release a permit obtained using {@link #acquireHostPermit(String, boolean, IProgressMonitor)}.
+	 *
+	 * @param host the host
+	 * @param exclusive whether the permit is exclusive
+	 */
+	public void releaseHostPermit(String host, boolean exclusive) {
+		HostPermits permits;
+		synchronized (hostPermits) {
+			permits = hostPermits.get(host);
+		}
+		permits.semaphore.release(exclusive ? MAX_CONCURRENT_OPENS : 1);
+		releaseHostPermits(host, permits);
+	}
+
+	/*
+	 * Return the permits of the given host, recording that the caller uses them
+	 */
+	private HostPermits retainHostPermits(String host) {
+		synchronized (hostPermits) {
+			HostPermits permits = hostPermits.get(host);
+			if (permits == null) {
+				permits = new HostPermits();
+				hostPermits.put(host, permits);
+			}
+			permits.users++;
+			return permits;
+		}
+	}
+
+	/*
+	 * Record that the caller no longer uses the permits of the given host and
+	 * discard them if no other connection to the host is being opened
+	 */
+	private void releaseHostPermits(String host, HostPermits permits) {
+		synchronized (hostPermits) {
+			if (--permits.users == 0)
+				hostPermits.remove(host);
+		}
+	}
+}
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.internal.ccvs.core.connection;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.*;
+
+/**
+ * Buffers the requests written to a server. Request lines are encoded directly
+ * into the buffer and the buffer is only written to the server when it is full
+ * or when the connection is flushed, which happens when a request that expects
+ * a response is sent. The structure lines sent for the resources of a command
+ * are therefore written in a few large writes instead of one write per line.
+ * <p>
+ * Like the connection that owns it, a writer must only be used by one thread at a time.
+ * </p>
+ */
+class RequestWriter extends OutputStream {
+	private static final byte NEWLINE = 0xA;
+	private static final int BUFFER_SIZE = 65536;
+
+	private OutputStream out;
+	private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+	private final CharsetEncoder encoder;
+
+	RequestWriter(OutputStream out, Charset charset) {
+		this.out = out;
+		// replace characters that cannot be encoded as String.getBytes does
+		this.encoder = charset.newEncoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+
+	/**
+	 * Write the buffered bytes to the stream and send all further bytes to the given
+	 * stream instead (e.g. to start compressing the requests).
+	 */
+	void setOutputStream(OutputStream out) throws IOException {
+		drain();
+		this.out = out;
+	}
+
+	/*
+	 * Write the buffered bytes to the stream without flushing the stream
+	 */
+	private void drain() throws IOException {
+		if (buffer.position() > 0) {
+			out.write(buffer.array(), 0, buffer.position());
+			buffer.clear();
+		}
+	}
+
+	/**
+	 * Encode the characters into the buffer, optionally followed by a newline.
+	 */
+	void write(CharSequence chars, boolean newline) throws IOException {
+		CharBuffer in = CharBuffer.wrap(chars);
+		encoder.reset();
+		while (true) {
+			CoderResult result = encoder.encode(in, buffer, true);
+			if (result.isOverflow()) {
+				drain();
+			} else if (result.isUnderflow()) {
+				break;
+			} else {
+				result.throwException();
+			}
+		}
+		while (encoder.flush(buffer).isOverflow()) {
+			drain();
+		}
+		if (newline) {
+			write(NEWLINE);
+		}
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		if (!buffer.hasRemaining()) {
+			drain();
+		}
+		buffer.put((byte)b);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		if (len > buffer.remaining()) {
+			drain();
+			// large writes such as file contents bypass the buffer
+			if (len >= buffer.capacity()) {
+				out.write(b, off, len);
+				return;
+			}
+		}
+		buffer.put(b, off, len);
+	}
+
+	@Override
+	public void flush() throws IOException {
+		drain();
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			drain();
+		} finally {
+			out.close();
+		}
+	}
+}
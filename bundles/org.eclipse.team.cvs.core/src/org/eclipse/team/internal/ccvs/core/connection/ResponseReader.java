@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.internal.ccvs.core.connection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * Buffers the responses read from a server. The buffer is filled with bulk reads
+ * and lines are located by scanning it so a line that fits in the buffer is decoded
+ * in place. The bytes of file contents sent by the server are consumed from the
+ * same buffer through the <code>InputStream</code> methods.
+ * <p>
+ * A line stays available until the next line is read. Like the connection that
+ * owns it, a reader must only be used by one thread at a time.
+ * </p>
+ */
+class ResponseReader extends InputStream {
+	private static final byte NEWLINE = 0xA;
+	private static final byte SPACE = 0x20;
+	private static final int BUFFER_SIZE = 32768;
+	// the number of entries in the table of response names (must be a power of 2)
+	private static final int NAMES_SIZE = 64;
+
+	private final InputStream in;
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+	private int position;
+	private int limit;
+
+	// the last line read is either a range of the buffer or of the line buffer
+	private byte[] lineBuffer = new byte[256];
+	private byte[] line = buffer;
+	private int lineStart;
+	private int lineEnd;
+
+	private final String[] names = new String[NAMES_SIZE];
+
+	ResponseReader(InputStream in) {
+		this.in = in;
+	}
+
+	/*
+	 * Refill the buffer once it has been consumed. Return false at the end of the stream.
+	 */
+	private boolean fill() throws IOException {
+		int count;
+		do {
+			count = in.read(buffer, 0, buffer.length);
+		} while (count == 0);
+		if (count == -1) return false;
+		position = 0;
+		limit = count;
+		return true;
+	}
+
+	private int indexOfNewline(int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (buffer[i] == NEWLINE) return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Read the next line. If the end of the stream is reached before a newline,
+	 * the line contains the bytes read up to the end of the stream.
+	 */
+	void nextLine() throws IOException {
+		if (position == limit && !fill()) {
+			line = buffer;
+			lineStart = lineEnd = position;
+			return;
+		}
+		int end = indexOfNewline(position, limit);
+		if (end != -1) {
+			// the whole line is in the buffer
+			line = buffer;
+			lineStart = position;
+			lineEnd = end;
+			position = end + 1;
+			return;
+		}
+		// the line spans more than one fill of the buffer
+		int length = 0;
+		while (true) {
+			int chunkEnd = end == -1 ? limit : end;
+			int chunkLength = chunkEnd - position;
+			if (length + chunkLength > lineBuffer.length) {
+				byte[] newBuffer = new byte[Math.max(lineBuffer.length * 2, length + chunkLength)];
+				System.arraycopy(lineBuffer, 0, newBuffer, 0, length);
+				lineBuffer = newBuffer;
+			}
+			System.arraycopy(buffer, position, lineBuffer, length, chunkLength);
+			length += chunkLength;
+			if (end != -1) {
+				position = end + 1;
+				break;
+			}
+			position = limit;
+			if (!fill()) break;
+			end = indexOfNewline(position, limit);
+		}
+		line = lineBuffer;
+		lineStart = 0;
+		lineEnd = length;
+	}
+
+	/**
+	 * Return the last line read.
+	 */
+	String getLine(Charset charset) {
+		return new String(line, lineStart, lineEnd - lineStart, charset);
+	}
+
+	private int indexOfSpace() {
+		for (int i = lineStart; i < lineEnd; i++) {
+			if (line[i] == SPACE) return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Return the first word of the last line read, that is, the name of a response.
+	 * The names are taken from a small vocabulary so the recent ones are kept and
+	 * returned without decoding the line again.
+	 */
+	String getResponseName(Charset charset) {
+		int space = indexOfSpace();
+		int end = space == -1 ? lineEnd : space;
+		int hash = 1;
+		for (int i = lineStart; i < end; i++) {
+			hash = 31 * hash + line[i];
+		}
+		int index = (hash ^ (hash >>> 16)) & (NAMES_SIZE - 1);
+		String cached = names[index];
+		if (cached != null && matches(cached, end)) {
+			return cached;
+		}
+		String name = new String(line, lineStart, end - lineStart, charset);
+		if (isAscii(end)) {
+			names[index] = name;
+		}
+		return name;
+	}
+
+	/**
+	 * Return the remainder of the last line read after the response name or an empty
+	 * string if the line only contains the name.
+	 */
+	String getResponseArgument(Charset charset) {
+		int space = indexOfSpace();
+		if (space == -1) return ""; //$NON-NLS-1$
+		return new String(line, space + 1, lineEnd - space - 1, charset);
+	}
+
+	private boolean matches(String name, int end) {
+		if (name.length() != end - lineStart) return false;
+		for (int i = lineStart; i < end; i++) {
+			if (name.charAt(i - lineStart) != line[i]) return false;
+		}
+		return true;
+	}
+
+	private boolean isAscii(int end) {
+		for (int i = lineStart; i < end; i++) {
+			if (line[i] < 0) return false;
+		}
+		return true;
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (position == limit && !fill()) return -1;
+		return buffer[position++] & 0xff;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) return 0;
+		if (position == limit) {
+			// large reads bypass the buffer
+			if (len >= buffer.length) return in.read(b, off, len);
+			if (!fill()) return -1;
+		}
+		int count = Math.min(len, limit - position);
+		System.arraycopy(buffer, position, b, off, count);
+		position += count;
+		return count;
+	}
+
+	@Override
+	public long skip(long n) throws IOException {
+		if (n <= 0) return 0;
+		if (position == limit) return in.skip(n);
+		int count = (int)Math.min(n, limit - position);
+		position += count;
+		return count;
+	}
+
+	@Override
+	public int available() throws IOException {
+		return (limit - position) + in.available();
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+}
@@ -24,6 +24,7 @@ import org.eclipse.team.internal.ccvs.core.ICVSRemoteFile;
 import org.eclipse.team.internal.ccvs.core.ICVSRemoteResource;
 import org.eclipse.team.internal.ccvs.core.ILogEntry;
 import org.eclipse.team.internal.ccvs.core.client.listeners.ILogEntryListener;
+import org.eclipse.team.internal.ccvs.core.util.Revision;
 import org.eclipse.team.internal.ccvs.core.util.Util;
 
 class LogEntryCache implements ILogEntryListener {
@@ -42,7 +43,7 @@ class LogEntryCache implements ILogEntryListener {
 	 * @param path the file path
 	 * @return the log entries for the file
 	 */
-	public ILogEntry[] getLogEntries(String path) {
+	public synchronized ILogEntry[] getLogEntries(String path) {
 		Map map = internalGetLogEntries(path);
 		return (ILogEntry[]) map.values().toArray(new ILogEntry[map.size()]);
 	}
@@ -55,7 +56,7 @@ class LogEntryCache implements ILogEntryListener {
 		return null;
 	}
 
-	public String[] getCachedFilePaths() {
+	public synchronized String[] getCachedFilePaths() {
 		return (String[]) entries.keySet().toArray(new String[entries.size()]);
 	}
 
@@ -108,15 +109,14 @@ class LogEntryCache implements ILogEntryListener {
 	}
 
 	public synchronized ICVSRemoteFile getImmediatePredecessor(ICVSRemoteFile file) throws TeamException {
-		ILogEntry[] allLogs = getLogEntries(file);
-		String revision = file.getRevision();
+		Revision revision = Revision.valueOf(file.getRevision());
+		if (revision == null) return null;
+		String path = getFullPath(file);
 		// First decrement the last digit and see if that revision exists
-		String predecessorRevision = getPredecessorRevision(revision);
-		ICVSRemoteFile predecessor = findRevison(allLogs, predecessorRevision);
+		ICVSRemoteFile predecessor = findRevision(path, revision.getPredecessor());
 		// If nothing was found, try to fond the base of a branch
-		if (predecessor == null && isBrancheRevision(revision)) {
-			predecessorRevision = getBaseRevision(revision);
-			predecessor = findRevison(allLogs, predecessorRevision);
+		if (predecessor == null && revision.isBranchRevision()) {
+			predecessor = findRevision(path, revision.getBranchPoint());
 		}
 		// If that fails, it is still possible that there is a revision.
 		// This can happen if the revision has been manually set.
@@ -128,62 +128,12 @@ class LogEntryCache implements ILogEntryListener {
 	}
 
 	/*
-	 * Find the given revision in the list of log entries.
+	 * Find the given revision in the log entries of the file.
 	 * Return null if the revision wasn't found.
 	 */
-	ICVSRemoteFile findRevison(ILogEntry[] allLogs, String predecessorRevision) throws TeamException {
-		for (ILogEntry entry : allLogs) {
-			ICVSRemoteFile file = entry.getRemoteFile();
-			if (file.getRevision().equals(predecessorRevision)) {
-				return file;
-			}
-		}
-		return null;
-	}
-
-	/*
-	 * Decrement the trailing digit by one.
-	 */
-	String getPredecessorRevision(String revision) {
-		int digits[] = Util.convertToDigits(revision);
-		digits[digits.length - 1]--;
-		StringBuilder buffer = new StringBuilder(revision.length());
-		for (int i = 0; i < digits.length; i++) {
-			buffer.append(Integer.toString(digits[i]));
-			if (i < digits.length - 1) {
-				buffer.append('.');
-			}
-		}
-		return buffer.toString();
-	}
-
-	/*
-	 * Return true if there are more than 2 digits in the revision number
-	 * (i.e. the revision is on a branch)
-	 */
-	boolean isBrancheRevision(String revision) {
-		return Util.convertToDigits(revision).length > 2;
-	}
-
-	/*
-	 * Remove the trailing revision digits such that the
-	 * returned revision is shorter than the given revision 
-	 * and is an even number of digits long
-	 */
-	String getBaseRevision(String revision) {
-		int digits[] = Util.convertToDigits(revision);
-		int length = digits.length - 1;
-		if (length % 2 == 1) {
-			length--;
-		}
-		StringBuilder buffer = new StringBuilder(revision.length());
-		for (int i = 0; i < length; i++) {
-			buffer.append(Integer.toString(digits[i]));
-			if (i < length - 1) {
-				buffer.append('.');
-			}
-		}
-		return buffer.toString();
+	private ICVSRemoteFile findRevision(String path, Revision revision) throws TeamException {
+		ILogEntry entry = internalGetLogEntry(path, revision.toString());
+		return entry == null ? null : entry.getRemoteFile();
 	}
 
 	/**
@@ -196,7 +146,7 @@ class LogEntryCache implements ILogEntryListener {
 	}
 
 	@Override
-	public void handleLogEntryReceived(ILogEntry entry) {
+	public synchronized void handleLogEntryReceived(ILogEntry entry) {
 		ICVSRemoteFile file = entry.getRemoteFile();
 		String fullPath = getFullPath(file);
 		String revision = entry.getRevision();
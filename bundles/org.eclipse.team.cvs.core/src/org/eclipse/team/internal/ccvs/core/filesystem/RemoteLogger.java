@@ -19,6 +19,7 @@ import org.eclipse.core.runtime.*;
 import org.eclipse.team.core.TeamException;
 import org.eclipse.team.internal.ccvs.core.*;
 import org.eclipse.team.internal.ccvs.core.client.*;
+import org.eclipse.team.internal.ccvs.core.client.listeners.ILogFileListener;
 import org.eclipse.team.internal.ccvs.core.client.listeners.LogEntry;
 import org.eclipse.team.internal.ccvs.core.client.listeners.LogListener;
 import org.eclipse.team.internal.ccvs.core.resources.RemoteFile;
@@ -37,12 +38,31 @@ public class RemoteLogger {
 		this.remoteFolder = folder;
 	}
 
-	private void getRemoteChildren(CVSTag tag, IProgressMonitor monitor) {
+	private void getRemoteChildren(final CVSTag tag, IProgressMonitor monitor) {
 		Session session = new Session(this.remoteFolder.getRepository(), this.remoteFolder, false /* output to console */);
 		try {
+			// Add each file to the tree as soon as its log is complete so that
+			// only the entries of the current file are retained
+			LogListener listener = new LogListener(new ILogFileListener() {
+				@Override
+				public void handleLogEntryReceived(ILogEntry entry) {
+					cache.handleLogEntryReceived(entry);
+				}
+				@Override
+				public void handleFileCompleted(ICVSRemoteFile file) {
+					ILogEntry[] logEntry = cache.getLogEntries(file);
+					if (logEntry.length == 0)
+						return;
+					try {
+						addFile(tag, logEntry);
+					} catch (CVSException e) {
+						CVSProviderPlugin.log(e);
+					}
+					cache.clearEntries(file);
+				}
+			});
+
 			// Build the local options
-			this.cache = new LogEntryCache();
-			LogListener listener = new LogListener(cache);
 
 			Command.LocalOption[] localOptions = getLocalOptions(tag, null);
 			try {
@@ -71,38 +91,14 @@ public class RemoteLogger {
 		if (tag == null)
 			tag = CVSTag.DEFAULT;
 
+		this.cache = new LogEntryCache();
+		treeBuilder = new RLogTreeBuilder(this.remoteFolder.getRepository(), tag, cache);
 		getRemoteChildren(tag, SubMonitor.convert(monitor,70));
 
-		final ICVSRemoteFolder project = this.remoteFolder;
-		//Get the entry paths
+		//Add the files whose log was not completed
 		String[] entry = this.cache.getCachedFilePaths();
-
-		treeBuilder = new RLogTreeBuilder(project.getRepository(), tag, cache);
 		for (String e : entry) {
-			ILogEntry[] logEntry = this.cache.getLogEntries(e);
-			//might not have state if this a branch entry
-			if (logEntry[0].getState() != null && logEntry[0].getState().equals(DEAD_STATE))
-				continue;
-
-			ICVSRemoteFile remoteFile = logEntry[0].getRemoteFile();
-			//if the current folder tag is a branch tag, we need to take the extra step
-			//of making sure that the file's revision number has been set appropriately
-			if (tag.getType() == CVSTag.BRANCH && remoteFile.getRevision().equals(LogListener.BRANCH_REVISION))
-				verifyRevision(tag, logEntry[0], remoteFile);
-
-			IPath logPath = new Path(null, remoteFile.getRepositoryRelativePath());
-			if (logPath.segmentCount() > 0) {
-				//trim everything up to the project segment
-				String[] pathSegments = logPath.segments();
-				int index;
-				String projectName = project.getName();
-				for (index = 0; index < pathSegments.length; index++) {
-					if (pathSegments[index].equals(projectName))
-						break;
-				}
-				logPath = logPath.removeFirstSegments(index + 1);
-			}
-			treeBuilder.newFile(logPath, remoteFile);
+			addFile(tag, this.cache.getLogEntries(e));
 		}
 
 		return treeBuilder.getTree();
@@ -112,6 +108,32 @@ public class RemoteLogger {
 		}
 	}
 
+	private void addFile(CVSTag tag, ILogEntry[] logEntry) throws CVSException {
+		//might not have state if this a branch entry
+		if (logEntry[0].getState() != null && logEntry[0].getState().equals(DEAD_STATE))
+			return;
+
+		ICVSRemoteFile remoteFile = logEntry[0].getRemoteFile();
+		//if the current folder tag is a branch tag, we need to take the extra step
+		//of making sure that the file's revision number has been set appropriately
+		if (tag.getType() == CVSTag.BRANCH && remoteFile.getRevision().equals(LogListener.BRANCH_REVISION))
+			verifyRevision(tag, logEntry[0], remoteFile);
+
+		IPath logPath = new Path(null, remoteFile.getRepositoryRelativePath());
+		if (logPath.segmentCount() > 0) {
+			//trim everything up to the project segment
+			String[] pathSegments = logPath.segments();
+			int index;
+			String projectName = this.remoteFolder.getName();
+			for (index = 0; index < pathSegments.length; index++) {
+				if (pathSegments[index].equals(projectName))
+					break;
+			}
+			logPath = logPath.removeFirstSegments(index + 1);
+		}
+		treeBuilder.newFile(logPath, remoteFile);
+	}
+
 	protected Command.LocalOption[] getLocalOptions(CVSTag tag1, CVSTag tag2) {
 		if (tag1 != null && tag2 != null) {
 			return new Command.LocalOption[] {RLog.NO_TAGS, RLog.ONLY_INCLUDE_CHANGES, RLog.makeTagOption(tag1, tag2)};
@@ -33,11 +33,19 @@ import org.osgi.framework.Bundle;
  * A synchronizer is responsible for managing synchronization information for local
  * CVS resources.
  * 
- * This class is thread safe but only allows one thread to modify the cache at a time. It
- * doesn't support fine grain locking on a resource basis. Lock ordering between the workspace
- * lock and the synchronizer lock is guaranteed to be deterministic. That is, the workspace
- * lock is *always* acquired before the synchronizer lock. This protects against possible
- * deadlock cases where the synchronizer lock is acquired before a workspace lock.
+ * This class is thread safe. The cache of a project is guarded by one of a fixed set of
+ * synchronizer locks chosen by the project name so only one thread at a time can modify
+ * the cache of a project but threads working in different projects usually proceed in
+ * parallel. Operations on the workspace root, such as a move/delete, acquire all the
+ * locks in a fixed order. It doesn't support fine grain locking on a resource basis.
+ * Lock ordering between the workspace lock and the synchronizer locks is guaranteed to
+ * be deterministic. That is, the workspace lock is *always* acquired before the
+ * synchronizer locks. This protects against possible deadlock cases where a synchronizer
+ * lock is acquired before a workspace lock. Similarly, the locks of all projects are
+ * acquired before the lock of any single project: an operation on the workspace root
+ * may not be started by a thread that is in an operation on a project since it would
+ * acquire the other locks out of order. Such an escalation fails an assertion instead
+ * of risking a deadlock with a thread that acquires the locks in order.
  * 
  * Special processing has been added for linked folders and their childen so
  * that their CVS meta files are never read or written.
@@ -60,8 +68,17 @@ public class EclipseSynchronizer implements IFlushOperation {
 	// the cvs eclipse synchronizer is a singleton
 	private static EclipseSynchronizer instance;
 	
+	// the number of locks guarding the caches (must be a power of 2).
+	// The locks are always acquired in increasing index order (see acquire(int[], int, int))
+	private static final int LOCK_STRIPES = 16;
+	
+	// the largest number of folders whose metafiles are read by one job
+	private static final int SYNC_INFO_READ_BATCH_SIZE = 64;
+	
 	// track resources that have changed in a given operation
-	private ILock lock = Job.getJobManager().newLock();
+	private ILock[] locks = new ILock[LOCK_STRIPES];
+	// the number of times the current thread acquired each lock
+	private final ThreadLocal<int[]> heldLocks = ThreadLocal.withInitial(() -> new int[LOCK_STRIPES]);
 	private ReentrantLock resourceLock = new ReentrantLock();
 	
 	private SynchronizerSyncInfoCache synchronizerCache = new SynchronizerSyncInfoCache();
@@ -71,6 +88,9 @@ public class EclipseSynchronizer implements IFlushOperation {
 	 * Package private constructor to allow specialized subclass for handling folder deletions
 	 */
 	EclipseSynchronizer() {		
+		for (int i = 0; i < locks.length; i++) {
+			locks[i] = Job.getJobManager().newLock();
+		}
 	}
 	
 	/**
@@ -122,7 +142,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 		try {
 			rule = beginBatching(folder, null);
 			try {
-				beginOperation();
+				beginOperation(folder);
 				// get the old info
 				FolderSyncInfo oldInfo = getFolderSync(folder);
 				// set folder sync and notify
@@ -133,7 +153,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 				}
 				folderChanged(folder);
 			} finally {
-				endOperation();
+				endOperation(folder);
 			}
 		} finally {
 			if (rule != null) endBatching(rule, null);
@@ -155,11 +175,11 @@ public class EclipseSynchronizer implements IFlushOperation {
 		if (info != null)
 			return info;
 		try {
-			beginOperation();
+			beginOperation(folder);
 			cacheFolderSync(folder);
 			return getSyncInfoCacheFor(folder).getCachedFolderSync(folder, true /* thread safe */);
 		} finally {
-			endOperation();
+			endOperation(folder);
 		}
 	}	
 
@@ -177,7 +197,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 		try {
 			rule = beginBatching(folder, null);
 			try {
-				beginOperation();
+				beginOperation(folder);
 				// iterate over all children with sync info and prepare notifications
 				// this is done first since deleting the folder sync may remove a phantom
 				cacheResourceSyncForChildren(folder, true /* can modify workspace */);
@@ -193,7 +213,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 			} catch (CoreException e) {
 				throw CVSException.wrapException(e);
 			} finally {
-				endOperation();
+				endOperation(folder);
 			}
 		} finally {
 			if (rule != null) endBatching(rule, null);
@@ -229,13 +249,13 @@ public class EclipseSynchronizer implements IFlushOperation {
 		try {
 			rule = beginBatching(resource, null);
 			try {
-				beginOperation();
+				beginOperation(resource);
 				// cache resource sync for siblings, set for self, then notify
 				cacheResourceSyncForChildren(parent, true /* can modify workspace */);
 				setCachedResourceSync(resource, info);
 				resourceChanged(resource);		
 			} finally {
-				endOperation();
+				endOperation(resource);
 			}
 		} finally {
 			if (rule != null) endBatching(rule, null);
@@ -272,7 +292,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 		if (info != null)
 			return info;
 		try {
-			beginOperation();
+			beginOperation(resource);
 			// cache resource sync for siblings, then return for self
 			try {
 				cacheResourceSyncForChildren(parent, false /* cannot modify workspace */);
@@ -290,7 +310,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 			}
 			return getCachedSyncBytes(resource);
 		} finally {
-			endOperation();
+			endOperation(resource);
 		}
 	}
 
@@ -315,13 +335,13 @@ public class EclipseSynchronizer implements IFlushOperation {
 		try {
 			rule = beginBatching(resource, null);
 			try {
-				beginOperation();
+				beginOperation(resource);
 				// cache resource sync for siblings, set for self, then notify
 				cacheResourceSyncForChildren(parent, true /* can modify workspace */);
 				setCachedSyncBytes(resource, syncBytes);
 				resourceChanged(resource);		
 			} finally {
-				endOperation();
+				endOperation(resource);
 			}
 		} finally {
 			if (rule != null) endBatching(rule, null);
@@ -342,7 +362,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 		try {
 			rule = beginBatching(resource, null);
 			try {
-				beginOperation();
+				beginOperation(resource);
 				// cache resource sync for siblings, delete for self, then notify
 				cacheResourceSyncForChildren(parent, true /* can modify workspace */);
 				if (getCachedSyncBytes(resource) != null) { // avoid redundant notifications
@@ -351,7 +371,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 					resourceChanged(resource);
 				}
 			} finally {
-				endOperation();
+				endOperation(resource);
 			}
 		} finally {
 			if (rule != null) endBatching(rule, null);
@@ -383,10 +403,10 @@ public class EclipseSynchronizer implements IFlushOperation {
 		FileNameMatcher matcher = sessionPropertyCache.getFolderIgnores(parent, false /* not thread safe */);
 		if (matcher == null) {
 			try {
-				beginOperation();
+				beginOperation(parent);
 				matcher = cacheFolderIgnores(parent);
 			} finally {
-				endOperation();
+				endOperation(parent);
 			}
 		}
 		return matcher.match(resource.getName());
@@ -408,7 +428,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 		try {
 			rule = beginBatching(folder.getFile(new Path(SyncFileWriter.IGNORE_FILE)), null);
 			try {
-				beginOperation();
+				beginOperation(folder);
 				String[] ignores = SyncFileWriter.readCVSIgnoreEntries(folder);
 				if (ignores != null) {
 					// verify that the pattern has not already been added
@@ -432,7 +452,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 				accumulateNonManagedChildren(folder, possibleIgnores);
 				ResourceStateChangeListeners.getListener().resourceSyncInfoChanged(possibleIgnores.toArray(new IResource[possibleIgnores.size()]));
 			} finally {
-				endOperation();
+				endOperation(folder);
 			}
 		} finally {
 			if (rule != null) endBatching(rule, null);
@@ -449,7 +469,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 	public IResource[] members(IContainer folder) throws CVSException {
 		if (! isValid(folder)) return new IResource[0];
 		try {				
-			beginOperation();
+			beginOperation(folder);
 			if (folder.getType() != IResource.ROOT) {
 				// ensure that the sync info is cached so any required phantoms are created
 				cacheResourceSyncForChildren(folder, false);
@@ -459,7 +479,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 				throw e;
 			}
 		} finally {
-			endOperation();
+			endOperation(folder);
 		}
 		try {
 			
@@ -538,8 +558,10 @@ public class EclipseSynchronizer implements IFlushOperation {
 	
 	/*
 	 * Begin an access to the internal data structures of the synchronizer
+	 * for the given resource. A resource of <code>null</code> or the workspace
+	 * root gives access to the data of all projects.
 	 */
-	private void beginOperation() {
+	private void beginOperation(IResource resource) {
 		try {
 			// Do not try to acquire the lock if the resources tree is locked
 			// The reason for this is that during the resource delta phase (i.e. when the tree is locked)
@@ -556,13 +578,52 @@ public class EclipseSynchronizer implements IFlushOperation {
 				throw new OperationCanceledException();
 			}
 		}
-		lock.acquire();
+		int[] held = heldLocks.get();
+		if (resource == null || resource.getType() == IResource.ROOT) {
+			acquire(held, 0, locks.length - 1);
+		} else {
+			int i = getLockIndex(resource);
+			acquire(held, i, i);
+		}
+	}
+	
+	/*
+	 * Acquire the locks from first to last (inclusive) once more. The locks are always
+	 * acquired in increasing index order so that two threads never wait for each other.
+	 * A thread that needs a lock with a lower index than a lock it already holds (e.g.
+	 * an operation on another project or on the workspace root started within an
+	 * operation on a project) releases the locks with a higher index and acquires them
+	 * again once it holds the lower one.
+	 */
+	private void acquire(int[] held, int first, int last) {
+		// the lowest lock to acquire that is not held yet
+		int lowest = first;
+		while (lowest <= last && held[lowest] > 0) {
+			lowest++;
+		}
+		int[] released = new int[locks.length];
+		if (lowest <= last) {
+			for (int i = locks.length - 1; i > lowest; i--) {
+				released[i] = held[i];
+				for (; held[i] > 0; held[i]--) {
+					locks[i].release();
+				}
+			}
+		}
+		for (int i = first; i < locks.length; i++) {
+			int count = released[i] + (i <= last ? 1 : 0);
+			for (int j = 0; j < count; j++) {
+				locks[i].acquire();
+				held[i]++;
+			}
+		}
 	}
 	
 	/*
 	 * End an access to the internal data structures of the synchronizer
+	 * for the given resource
 	 */
-	private void endOperation() {
+	private void endOperation(IResource resource) {
 		try {
 			// See beginOperation() for a description of why the lock is not obtained when the tree is locked
 			if (ResourcesPlugin.getWorkspace().isTreeLocked()) return;
@@ -575,7 +636,25 @@ public class EclipseSynchronizer implements IFlushOperation {
 				throw new OperationCanceledException();
 			}
 		}
-		lock.release();
+		int[] held = heldLocks.get();
+		if (resource == null || resource.getType() == IResource.ROOT) {
+			for (int i = locks.length - 1; i >= 0; i--) {
+				held[i]--;
+				locks[i].release();
+			}
+		} else {
+			int i = getLockIndex(resource);
+			held[i]--;
+			locks[i].release();
+		}
+	}
+	
+	/*
+	 * Return the index of the lock that guards the data of the project of the resource
+	 */
+	private int getLockIndex(IResource resource) {
+		int hash = resource.getProject().getName().hashCode();
+		return (hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1);
 	}
 	
 	/**
@@ -599,7 +678,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 		try {
 			rule = beginBatching(root, Policy.subMonitorFor(monitor, 1));
 			try {
-				beginOperation();
+				beginOperation(root);
 				try {
 					// Flush changes to disk
 					resourceLock.flush(Policy.subMonitorFor(monitor, 8));
@@ -610,7 +689,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 					sessionPropertyCache.purgeCache(root, deep);
 				}
 			} finally {
-				endOperation();
+				endOperation(root);
 			}
 		} finally {
 			if (rule != null) endBatching(rule, Policy.subMonitorFor(monitor, 1));
@@ -652,7 +731,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 					Set<IResource> changed = new HashSet<>();
 					rule = beginBatching(container, null);
 					try {
-						beginOperation();
+						beginOperation(container);
 						
 						// Record the previous ignore pattterns
 						FileNameMatcher oldIgnores = null;
@@ -684,7 +763,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 							}
 						}
 					} finally {
-						endOperation();
+						endOperation(container);
 					}
 					if (!changed.isEmpty()) {
 						ResourceStateChangeListeners.getListener().resourceSyncInfoChanged(
@@ -736,7 +815,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 		try {
 			rule = beginBatching(resource, null);
 			try {
-				beginOperation();
+				beginOperation(resource);
 				// Flush the dirty info for the resource and it's ancestors.
 				// Although we could be smarter, we need to do this because the
 				// deletion may fail.
@@ -774,7 +853,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 					}
 				}
 			} finally {
-				endOperation();
+				endOperation(resource);
 			}
 		} finally {
 			if (rule != null) endBatching(rule, null);
@@ -792,10 +871,10 @@ public class EclipseSynchronizer implements IFlushOperation {
 	protected void handleDeleted(IResource resource) throws CVSException {
 		if (resource.exists()) return;
 		try {
-			beginOperation();
+			beginOperation(resource);
 			adjustDirtyStateRecursively(resource, RECOMPUTE_INDICATOR);
 		} finally {
-			endOperation();
+			endOperation(resource);
 		}
 	}
 	
@@ -810,10 +889,10 @@ public class EclipseSynchronizer implements IFlushOperation {
 	protected void handleAdded(IResource resource) throws CVSException {
 		if (!resource.exists()) return;
 		try {
-			beginOperation();
+			beginOperation(resource);
 			adjustDirtyStateRecursively(resource, RECOMPUTE_INDICATOR);
 		} finally {
-			endOperation();
+			endOperation(resource);
 		}
 	}
 	
@@ -833,7 +912,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 		// Move sync info to phantom space for the resource and all it's children
 		monitor = Policy.monitorFor(monitor);
 		try {
-			beginOperation();
+			beginOperation(resource);
 			monitor.beginTask(null, 100);
 			try {
 				resource.accept(new IResourceVisitor() {
@@ -850,7 +929,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 				throw CVSException.wrapException(e);
 			}
 		} finally {
-			endOperation();
+			endOperation(resource);
 			monitor.done();
 		}
 	}
@@ -872,26 +951,33 @@ public class EclipseSynchronizer implements IFlushOperation {
 			} else {
 				infos = SyncFileWriter.readAllResourceSync(container);
 			}
-			try {
-				if (infos != null) {
-					for (byte[] syncBytes : infos) {
-						IPath name = new Path(null, getName(syncBytes));
-						IResource resource;
-						if (isFolder(syncBytes)) {
-							resource = container.getFolder(name);
-						} else {
-							resource = container.getFile(name);
-						}
-						getSyncInfoCacheFor(resource).setCachedSyncBytes(resource, syncBytes, canModifyWorkspace);
+			cacheResourceSync(container, infos, canModifyWorkspace);
+		}
+	}
+	
+	/*
+	 * Cache the resource sync read from the Entries of the container for its children.
+	 */
+	private void cacheResourceSync(IContainer container, byte[][] infos, boolean canModifyWorkspace) throws CVSException {
+		try {
+			if (infos != null) {
+				for (byte[] syncBytes : infos) {
+					IPath name = new Path(null, getName(syncBytes));
+					IResource resource;
+					if (isFolder(syncBytes)) {
+						resource = container.getFolder(name);
+					} else {
+						resource = container.getFile(name);
 					}
+					getSyncInfoCacheFor(resource).setCachedSyncBytes(resource, syncBytes, canModifyWorkspace);
 				}
-				getSyncInfoCacheFor(container).setResourceSyncInfoCached(container);
-			} catch (CVSException e) {
-				if (Policy.DEBUG_METAFILE_CHANGES) {
-					System.err.println("Failed to cache Entries for folder " + container.getFullPath()); //$NON-NLS-1$
-				}
-				throw e;
 			}
+			getSyncInfoCacheFor(container).setResourceSyncInfoCached(container);
+		} catch (CVSException e) {
+			if (Policy.DEBUG_METAFILE_CHANGES) {
+				System.err.println("Failed to cache Entries for folder " + container.getFullPath()); //$NON-NLS-1$
+			}
+			throw e;
 		}
 	}
 	
@@ -978,11 +1064,31 @@ public class EclipseSynchronizer implements IFlushOperation {
 			}
 			
 			/*** write sync info to disk ***/
+			// Notify and Baserev changes are written first as they were made before
+			// the folder sync of the changed folders was written
+			if (threadInfo instanceof CVSThreadInfo) {
+				CVSThreadInfo cvsThreadInfo = (CVSThreadInfo)threadInfo;
+				for (Map.Entry<IContainer, NotifyInfo[]> entry : cvsThreadInfo.getChangedNotifyInfos().entrySet()) {
+					try {
+						SyncFileWriter.writeAllNotifyInfo(entry.getKey(), entry.getValue());
+					} catch(CVSException e) {
+						errors.add(e.getStatus());
+					}
+				}
+				for (Map.Entry<IContainer, BaserevInfo[]> entry : cvsThreadInfo.getChangedBaserevInfos().entrySet()) {
+					try {
+						SyncFileWriter.writeAllBaserevInfo(entry.getKey(), entry.getValue());
+					} catch(CVSException e) {
+						errors.add(e.getStatus());
+					}
+				}
+			}
+			
 			// folder sync info changes
 			for (IContainer folder : changedFolders) {
 				if (folder.exists() && folder.getType() != IResource.ROOT) {
 					try {
-						beginOperation();
+						beginOperation(folder);
 						FolderSyncInfo info = sessionPropertyCache.getCachedFolderSync(folder, true);
 						// Do not write the folder sync for linked resources
 						if (info == null) {
@@ -1003,7 +1109,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 						}
 						errors.add(e.getStatus());
 					} finally {
-						endOperation();
+						endOperation(folder);
 					}
 				}
 				monitor.worked(1);
@@ -1018,7 +1124,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 				if (folder.exists() && folder.getType() != IResource.ROOT) {
 					// write sync info for all children in one go
 					try {
-						beginOperation();
+						beginOperation(folder);
 						List<byte[]> infos = new ArrayList<>();
 						IResource[] children = folder.members(true);
 						for (IResource resource : children) {
@@ -1046,7 +1152,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 						}							
 						errors.add(e.getStatus());
 					} finally {
-						endOperation();
+						endOperation(folder);
 					}
 				}
 				monitor.worked(1);
@@ -1197,7 +1303,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 	 * @param info
 	 */
 	public void setNotifyInfo(IResource resource, NotifyInfo info) throws CVSException {
-		NotifyInfo[] infos = SyncFileWriter.readAllNotifyInfo(resource.getParent());
+		NotifyInfo[] infos = readAllNotifyInfo(resource.getParent());
 		if (infos == null) {
 			// if the file is empty and we are removing an entry, just return;
 			if (info == null) return;
@@ -1222,7 +1328,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 			}
 			infos = newInfos;
 		}
-		SyncFileWriter.writeAllNotifyInfo(resource.getParent(), infos);
+		writeAllNotifyInfo(resource.getParent(), infos);
 	}
 
 	/**
@@ -1231,7 +1337,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 	 * @return NotifyInfo
 	 */
 	public NotifyInfo getNotifyInfo(IResource resource) throws CVSException {
-		NotifyInfo[] infos = SyncFileWriter.readAllNotifyInfo(resource.getParent());
+		NotifyInfo[] infos = readAllNotifyInfo(resource.getParent());
 		if (infos == null) return null;
 		for (NotifyInfo notifyInfo : infos) {
 			if (notifyInfo.getName().equals(resource.getName())) {
@@ -1246,7 +1352,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 	 * @param resource
 	 */
 	public void deleteNotifyInfo(IResource resource) throws CVSException {
-		NotifyInfo[] infos = SyncFileWriter.readAllNotifyInfo(resource.getParent());
+		NotifyInfo[] infos = readAllNotifyInfo(resource.getParent());
 		if (infos == null) return;
 		Map<String, NotifyInfo> infoMap = new HashMap<>();
 		for (NotifyInfo notifyInfo : infos) {
@@ -1258,7 +1364,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 		for (Iterator iter = infoMap.values().iterator(); iter.hasNext();) {
 			newInfos[i++] = (NotifyInfo) iter.next();
 		}
-		SyncFileWriter.writeAllNotifyInfo(resource.getParent(), newInfos);
+		writeAllNotifyInfo(resource.getParent(), newInfos);
 	}
 	
 	/**
@@ -1273,7 +1379,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 	 * @param info
 	 */
 	public void setBaserevInfo(IResource resource, BaserevInfo info) throws CVSException {
-		BaserevInfo[] infos = SyncFileWriter.readAllBaserevInfo(resource.getParent());
+		BaserevInfo[] infos = readAllBaserevInfo(resource.getParent());
 		if (infos == null) {
 			infos = new BaserevInfo[] { info };
 		} else {
@@ -1289,7 +1395,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 			}
 			infos = newInfos;
 		}
-		SyncFileWriter.writeAllBaserevInfo(resource.getParent(), infos);
+		writeAllBaserevInfo(resource.getParent(), infos);
 	}
 
 	/**
@@ -1298,7 +1404,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 	 * @return BaserevInfo
 	 */
 	public BaserevInfo getBaserevInfo(IResource resource) throws CVSException {
-		BaserevInfo[] infos = SyncFileWriter.readAllBaserevInfo(resource.getParent());
+		BaserevInfo[] infos = readAllBaserevInfo(resource.getParent());
 		if (infos == null) return null;
 		for (BaserevInfo info : infos) {
 			if (info.getName().equals(resource.getName())) {
@@ -1313,7 +1419,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 	 * @param resource
 	 */
 	public void deleteBaserevInfo(IResource resource) throws CVSException {
-		BaserevInfo[] infos = SyncFileWriter.readAllBaserevInfo(resource.getParent());
+		BaserevInfo[] infos = readAllBaserevInfo(resource.getParent());
 		if (infos == null) return;
 		Map<String, BaserevInfo> infoMap = new HashMap<>();
 		for (BaserevInfo info : infos) {
@@ -1325,7 +1431,59 @@ public class EclipseSynchronizer implements IFlushOperation {
 		for (Iterator iter = infoMap.values().iterator(); iter.hasNext();) {
 			newInfos[i++] = (BaserevInfo) iter.next();
 		}
-		SyncFileWriter.writeAllBaserevInfo(resource.getParent(), newInfos);
+		writeAllBaserevInfo(resource.getParent(), newInfos);
+	}
+
+	/*
+	 * Read the Notify file of the folder. Changes made within the current batching
+	 * operation that have not been written yet are returned instead.
+	 */
+	private NotifyInfo[] readAllNotifyInfo(IContainer folder) throws CVSException {
+		CVSThreadInfo threadInfo = resourceLock.getCVSThreadInfo();
+		if (threadInfo != null && threadInfo.hasNotifyInfos(folder)) {
+			NotifyInfo[] infos = threadInfo.getNotifyInfos(folder);
+			// an empty Notify file is deleted when written
+			return infos.length == 0 ? null : infos;
+		}
+		return SyncFileWriter.readAllNotifyInfo(folder);
+	}
+	
+	/*
+	 * Write the Notify file of the folder. Within a batching operation, the write is
+	 * deferred until the operation ends so a folder is only written once.
+	 */
+	private void writeAllNotifyInfo(IContainer folder, NotifyInfo[] infos) throws CVSException {
+		CVSThreadInfo threadInfo = resourceLock.getCVSThreadInfo();
+		if (threadInfo != null) {
+			threadInfo.setNotifyInfos(folder, infos);
+		} else {
+			SyncFileWriter.writeAllNotifyInfo(folder, infos);
+		}
+	}
+	
+	/*
+	 * Read the Baserev file of the folder. Changes made within the current batching
+	 * operation that have not been written yet are returned instead.
+	 */
+	private BaserevInfo[] readAllBaserevInfo(IContainer folder) throws CVSException {
+		CVSThreadInfo threadInfo = resourceLock.getCVSThreadInfo();
+		if (threadInfo != null && threadInfo.hasBaserevInfos(folder)) {
+			return threadInfo.getBaserevInfos(folder);
+		}
+		return SyncFileWriter.readAllBaserevInfo(folder);
+	}
+	
+	/*
+	 * Write the Baserev file of the folder. Within a batching operation, the write is
+	 * deferred until the operation ends so a folder is only written once.
+	 */
+	private void writeAllBaserevInfo(IContainer folder, BaserevInfo[] infos) throws CVSException {
+		CVSThreadInfo threadInfo = resourceLock.getCVSThreadInfo();
+		if (threadInfo != null) {
+			threadInfo.setBaserevInfos(folder, infos);
+		} else {
+			SyncFileWriter.writeAllBaserevInfo(folder, infos);
+		}
 	}
 
 	public void copyFileToBaseDirectory(final IFile file, IProgressMonitor monitor) throws CVSException {
@@ -1396,30 +1554,163 @@ public class EclipseSynchronizer implements IFlushOperation {
 	 * Method ensureSyncInfoLoaded loads all the relevent sync info into the cache.
 	 * This method can only be invoked when the workspace is open for modification.
 	 * in other words it cannot be invoked from inside a POST_CHANGE delta listener.
+	 * <p>
+	 * When invoked outside of a scheduling rule, the metafiles of the folders that are
+	 * not cached are read by up to {@link CVSProviderPlugin#getMaxSyncInfoReaders()} jobs
+	 * without holding any lock and the results are then cached with one critical section
+	 * per project. The results of a folder whose metafiles changed after they were read
+	 * are discarded and the folder is loaded again.
+	 * </p>
 	 * @param resources
 	 * @param i
 	 * @return Object
 	 */
 	public void ensureSyncInfoLoaded(IResource[] resources, int depth) throws CVSException {
-		// get the folders involved
-		IContainer[] folders = getParentFolders(resources, depth);
-		// Cache the sync info for all the folders
+		ensureSyncInfoLoaded(resources, depth, null);
+	}
+	
+	/**
+	 * Load the sync info of the given resources into the cache, checking the given
+	 * monitor for cancellation between folders.
+	 * @see #ensureSyncInfoLoaded(IResource[], int)
+	 */
+	public void ensureSyncInfoLoaded(IResource[] resources, int depth, IProgressMonitor monitor) throws CVSException {
+		monitor = Policy.monitorFor(monitor);
+		monitor.beginTask(null, 100);
+		try {
+			ensureSyncInfoLoaded(getParentFolders(resources, depth), monitor);
+		} finally {
+			monitor.done();
+		}
+	}
+	
+	private void ensureSyncInfoLoaded(IContainer[] folders, IProgressMonitor monitor) throws CVSException {
+		// Read the metafiles in parallel if it can be done without holding the rules of the calling thread
+		Map<IContainer, LoadedSyncInfo> loaded;
+		if (folders.length > 1 && CVSProviderPlugin.getPlugin().getMaxSyncInfoReaders() > 1 && Job.getJobManager().currentRule() == null) {
+			loaded = readSyncInfo(folders, Policy.subMonitorFor(monitor, 50));
+		} else {
+			loaded = Collections.emptyMap();
+		}
+		IProgressMonitor cacheMonitor = Policy.subMonitorFor(monitor, 50);
+		cacheMonitor.beginTask(null, folders.length);
+		// Cache the sync info for all the folders of each project
+		Map<IProject, List<IContainer>> projects = new LinkedHashMap<>();
 		for (IContainer parent : folders) {
+			projects.computeIfAbsent(parent.getProject(), project -> new ArrayList<>()).add(parent);
+		}
+		for (Map.Entry<IProject, List<IContainer>> entry : projects.entrySet()) {
+			IProject project = entry.getKey();
 			ISchedulingRule rule = null;
 			try {
-				rule = beginBatching(parent, null);
+				// the batching rule of a resource is its project
+				rule = beginBatching(project, null);
 				try {
-					beginOperation();
-					cacheResourceSyncForChildren(parent, true /* can modify workspace */);
-					cacheFolderSync(parent);
-					cacheFolderIgnores(parent);
+					beginOperation(project);
+					for (IContainer parent : entry.getValue()) {
+						Policy.checkCanceled(cacheMonitor);
+						LoadedSyncInfo info = loaded.get(parent);
+						if (info != null && info.isCurrent()) {
+							if (!getSyncInfoCacheFor(parent).isResourceSyncInfoCached(parent)) {
+								cacheResourceSync(parent, info.resourceSync, true /* can modify workspace */);
+							}
+							if (!getSyncInfoCacheFor(parent).isFolderSyncInfoCached(parent)) {
+								getSyncInfoCacheFor(parent).setCachedFolderSync(parent, info.folderSync, false);
+							}
+						} else {
+							cacheResourceSyncForChildren(parent, true /* can modify workspace */);
+							cacheFolderSync(parent);
+						}
+						cacheFolderIgnores(parent);
+						cacheMonitor.worked(1);
+					}
 				} finally {
-					endOperation();
+					endOperation(project);
 				}
 			} finally {
 				if (rule != null) endBatching(rule, null);
 			}
 		}
+		cacheMonitor.done();
+	}
+	
+	/*
+	 * The contents of the metafiles of a folder read outside of the synchronizer
+	 * lock and the modification stamps the metafiles had before they were read.
+	 */
+	private static class LoadedSyncInfo {
+		final IContainer folder;
+		final long[] stamps;
+		byte[][] resourceSync;
+		FolderSyncInfo folderSync;
+		CVSException error;
+		LoadedSyncInfo(IContainer folder) {
+			this.folder = folder;
+			this.stamps = SyncFileWriter.getMetaFileStamps(folder);
+		}
+		boolean isCurrent() {
+			return error == null && Arrays.equals(stamps, SyncFileWriter.getMetaFileStamps(folder));
+		}
+	}
+	
+	/*
+	 * Read the metafiles of the folders whose sync info is not cached using up to the
+	 * configured number of jobs. Each job reads a batch of folders and stops when the
+	 * monitor is canceled. Linked folders are not read since their metafiles are ignored.
+	 * Errors are recorded so the folder is loaded again, and the error reported, when cached.
+	 */
+	private Map<IContainer, LoadedSyncInfo> readSyncInfo(IContainer[] folders, IProgressMonitor monitor) throws CVSException {
+		List<IContainer> toRead = new ArrayList<>();
+		for (IContainer folder : folders) {
+			if (folder.exists() && !isLinkedResource(folder) && !getSyncInfoCacheFor(folder).isSyncInfoLoaded(folder)) {
+				toRead.add(folder);
+			}
+		}
+		if (toRead.size() < 2) {
+			monitor.done();
+			return Collections.emptyMap();
+		}
+		monitor.beginTask(null, toRead.size());
+		try {
+			Map<IContainer, LoadedSyncInfo> loaded = new HashMap<>();
+			ParallelTasks<List<LoadedSyncInfo>> tasks = new ParallelTasks<>("CVS sync info read", monitor, batch -> { //$NON-NLS-1$
+				for (LoadedSyncInfo info : batch) {
+					loaded.put(info.folder, info);
+				}
+			});
+			int readers = Math.min(CVSProviderPlugin.getPlugin().getMaxSyncInfoReaders(), toRead.size());
+			JobGroup group = tasks.newGroup(readers);
+			// several batches per reader so the readers finish at about the same time
+			int batchSize = Math.max(1, Math.min(SYNC_INFO_READ_BATCH_SIZE, toRead.size() / (readers * 4)));
+			for (int start = 0; start < toRead.size(); start += batchSize) {
+				final List<IContainer> batch = toRead.subList(start, Math.min(start + batchSize, toRead.size()));
+				tasks.submit(group, batch.size(), readerMonitor -> {
+					readerMonitor.beginTask(null, batch.size());
+					List<LoadedSyncInfo> result = new ArrayList<>(batch.size());
+					for (IContainer folder : batch) {
+						Policy.checkCanceled(readerMonitor);
+						LoadedSyncInfo info = new LoadedSyncInfo(folder);
+						try {
+							info.resourceSync = SyncFileWriter.readAllResourceSync(folder);
+							info.folderSync = SyncFileWriter.readFolderSync(folder);
+						} catch (CVSException e) {
+							info.error = e;
+						}
+						result.add(info);
+						readerMonitor.worked(1);
+					}
+					readerMonitor.done();
+					return result;
+				});
+			}
+			tasks.join();
+			if (tasks.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			return loaded;
+		} finally {
+			monitor.done();
+		}
 	}
 
 	/*
@@ -1484,7 +1775,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 	/* package */ void adjustDirtyStateRecursively(IResource resource, String indicator) throws CVSException {
 		if (resource.getType() == IResource.ROOT) return;
 		try {
-			beginOperation();
+			beginOperation(resource);
 			
 			if (getSyncInfoCacheFor(resource).cachesDirtyState()) {
 				if (indicator == getDirtyIndicator(resource)) {
@@ -1510,7 +1801,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 				adjustDirtyStateRecursively(parent, indicator);
 			} 
 		} finally {
-			endOperation();
+			endOperation(resource);
 		}
 	}
 
@@ -1520,10 +1811,10 @@ public class EclipseSynchronizer implements IFlushOperation {
 		if (indicator != null)
 			return indicator;
 		try {
-			beginOperation();
+			beginOperation(resource);
 			return getSyncInfoCacheFor(resource).getDirtyIndicator(resource, true);
 		} finally {
-			endOperation();
+			endOperation(resource);
 		}
 	}
 	
@@ -1620,7 +1911,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 		try {
 			rule = beginBatching(file, null);
 			try {
-				beginOperation();
+				beginOperation(file);
 				try {
 					file.setLocalTimeStamp(time);
 					setModified(cvsFile, ICVSFile.CLEAN);
@@ -1629,7 +1920,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 				}
 				resourceChanged(file);		
 			} finally {
-				endOperation();
+				endOperation(file);
 			}
 		} finally {
 			if (rule != null) endBatching(rule, null);
@@ -1642,7 +1933,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 	 */
 	public void postMove(IResource resource) throws CVSException {
 		try {
-			beginOperation();
+			beginOperation(resource);
 			if (resource.getType() == IResource.FILE) {
 				// Purge any copied sync info so true sync info will 
 				// be obtained from the synchronizer cache
@@ -1674,7 +1965,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 				flush(container, true /* deep */, null);
 			}
 		} finally {
-			endOperation();
+			endOperation(resource);
 		}
 	}
 	
@@ -1693,10 +1984,10 @@ public class EclipseSynchronizer implements IFlushOperation {
 			monitor.beginTask(null, 100);
 			rule = beginBatching(null, null);
 			try {
-				beginOperation();
+				beginOperation(null);
 				runnable.run(Policy.subMonitorFor(monitor, 95));
 			} finally {
-				endOperation();
+				endOperation(null);
 			}
 		} finally {
 			if (rule != null) endBatching(rule, Policy.subMonitorFor(monitor, 5));
@@ -1715,7 +2006,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 	 */
 	public boolean setModified(EclipseFile cvsFile, int modificationState) throws CVSException {
 		try {
-			beginOperation();
+			beginOperation(cvsFile.getIResource());
 			boolean dirty;
 			if (modificationState == ICVSFile.UNKNOWN) {
 				dirty = cvsFile.isDirty();
@@ -1725,7 +2016,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 			setDirtyIndicator(cvsFile.getIResource(), dirty);
 			return dirty;
 		} finally {
-			endOperation();
+			endOperation(cvsFile.getIResource());
 		}
 
 	}
@@ -1739,7 +2030,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 	 */
 	public void setModified(ICVSFolder cvsFolder, boolean modified) throws CVSException {
 		try {
-			beginOperation();
+			beginOperation(cvsFolder.getIResource());
 			IContainer folder = (IContainer)cvsFolder.getIResource();
 			// The drop out condition for clean or dirty are the opposite.
 			// (i.e. if modified and a dirty is found we can set the indicator
@@ -1765,7 +2056,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 				setDirtyIndicator(folder, modified);
 			}
 		} finally {
-			endOperation();
+			endOperation(cvsFolder.getIResource());
 		}
 	}
 	
@@ -1824,7 +2115,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 
 	protected void created(IResource resource) throws CVSException {
 		try {
-			beginOperation();
+			beginOperation(resource);
 			if (resource.exists()) {
 				restoreResourceSync(resource);
 				if (resource.getType() == IResource.FOLDER) {
@@ -1832,7 +2123,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 				}
 			}
 		} finally {
-			endOperation();
+			endOperation(resource);
 		}
 	}
 	
@@ -1842,7 +2133,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 	private void restoreFolderSync(IFolder folder) throws CVSException {
 		try {
 			// set the dirty count using what was cached in the phantom it
-			beginOperation();
+			beginOperation(folder);
 			FolderSyncInfo folderInfo = synchronizerCache.getCachedFolderSync(folder, true);
 			if (folderInfo != null) {
 				// There is folder sync info to restore
@@ -1891,7 +2182,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 			}
 		} finally {
 			try {
-				endOperation();
+				endOperation(folder);
 			} finally {
 				synchronizerCache.flush(folder);
 			}
@@ -1903,7 +2194,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 	 */
 	private void restoreResourceSync(IResource resource) throws CVSException {
 		try {
-			beginOperation();
+			beginOperation(resource);
 			byte[] syncBytes = synchronizerCache.getCachedSyncBytes(resource, true);
 			if (syncBytes != null) {
 				if (!ResourceSyncInfo.isFolder(syncBytes)) {
@@ -1920,7 +2211,7 @@ public class EclipseSynchronizer implements IFlushOperation {
 			}
 		} finally {
 			try {
-				endOperation();
+				endOperation(resource);
 			} finally {
 				synchronizerCache.setCachedSyncBytes(resource, null, true);
 			}
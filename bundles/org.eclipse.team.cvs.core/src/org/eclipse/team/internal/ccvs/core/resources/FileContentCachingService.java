@@ -13,8 +13,7 @@
  *******************************************************************************/
 package org.eclipse.team.internal.ccvs.core.resources;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -90,7 +89,9 @@ public class FileContentCachingService {
 	}
 	
 	private void cacheFileContents(IProgressMonitor monitor) throws CVSException {
-		String[] files = getUncachedFiles();
+		// The keyword modes are obtained before the update which replaces them with the modes of the revisions
+		Map<RemoteFile, String> keywordModes = new LinkedHashMap<>();
+		String[] files = getUncachedFiles(keywordModes);
 		if (files.length == 0) return;
 		// Fetch the file contents for all out-of-sync files by running an update
 		// on the remote tree passing the known changed files as arguments
@@ -114,26 +115,51 @@ public class FileContentCachingService {
 			session.close();
 			monitor.done();
 		}
+		for (Map.Entry<RemoteFile, String> entry : keywordModes.entrySet()) {
+			RemoteFile file = entry.getKey();
+			file.cacheContents(entry.getValue(), getTag(file));
+		}
 	}
 
 	/*
-	 * Only return those file in the diff list that exist remotely and whose contents are not already cached
+	 * Only return those file in the diff list that exist remotely and whose contents are not already cached.
+	 * The contents of the files whose revision is in the remote content cache are obtained from the cache.
 	 */
-	private String[] getUncachedFiles() {
+	private String[] getUncachedFiles(Map<RemoteFile, String> keywordModes) throws CVSException {
 		if (fileDiffs.length == 0) return fileDiffs;
 		List<String> existing = new ArrayList<>();
 		for (String filePath : fileDiffs) {
+			ICVSFile file;
 			try {
-				ICVSFile file = remoteRoot.getFile(filePath);
-				if (file instanceof RemoteFile) {
-					if (!((RemoteFile)file).isContentsCached()) {
-						existing.add(filePath);
-					}
-				}
+				file = remoteRoot.getFile(filePath);
 			} catch (CVSException e) {
 				// The child does not exists so exclude it
+				continue;
+			}
+			if (file instanceof RemoteFile) {
+				RemoteFile remoteFile = (RemoteFile)file;
+				if (!remoteFile.isContentsCached()) {
+					String keywordMode = remoteFile.getKeywordMode().toMode();
+					try {
+						// reading the cache is quick compared to the update so it is not reported
+						if (remoteFile.fetchCachedContents(keywordMode, getTag(remoteFile), Policy.monitorFor(null))) {
+							continue;
+						}
+					} catch (TeamException e) {
+						throw CVSException.wrapException(e);
+					}
+					existing.add(filePath);
+					keywordModes.put(remoteFile, keywordMode);
+				}
 			}
 		}
 		return existing.toArray(new String[existing.size()]);
 	}
+
+	/*
+	 * Return the tag through which the update fetches the contents of the file
+	 */
+	private static CVSTag getTag(RemoteFile file) {
+		return ((RemoteFolder)file.getParent()).getTag();
+	}
 }
@@ -15,6 +15,7 @@
 package org.eclipse.team.internal.ccvs.core.resources;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
 
@@ -34,6 +35,8 @@ import org.eclipse.team.internal.ccvs.core.connection.CVSServerException;
 import org.eclipse.team.internal.ccvs.core.filehistory.CVSResourceVariantFileRevision;
 import org.eclipse.team.internal.ccvs.core.filesystem.CVSURI;
 import org.eclipse.team.internal.ccvs.core.syncinfo.*;
+import org.eclipse.team.internal.ccvs.core.util.RemoteContentCache;
+import org.eclipse.team.internal.ccvs.core.util.RemoteContentCache.CachedContents;
 
 /**
  * This class provides the implementation of ICVSRemoteFile and IManagedFile for
@@ -189,6 +192,11 @@ public class RemoteFile extends RemoteResource implements ICVSRemoteFile  {
 	
 	@Override
 	protected void fetchContents(IProgressMonitor monitor) throws TeamException {
+		// The keyword mode is obtained before the fetch which replaces it with the mode of the revision
+		String keywordMode = getKeywordMode().toMode();
+		if (fetchCachedContents(keywordMode, null /* fetched by revision */, monitor)) {
+			return;
+		}
 		try {
 			aboutToReceiveContents(getSyncBytes());
 			internalFetchContents(monitor);
@@ -200,6 +208,62 @@ public class RemoteFile extends RemoteResource implements ICVSRemoteFile  {
 		} finally {
 			doneReceivingContents();
 		}
+		cacheContents(keywordMode, null /* fetched by revision */);
+	}
+
+	/**
+	 * Set the contents of the receiver from the remote content cache if the
+	 * contents of its revision were cached.
+	 * @param keywordMode the keyword mode requested for the contents
+	 * @param tag the tag through which the contents are fetched or <code>null</code>
+	 * if they are fetched by revision
+	 * @return whether the contents were obtained from the cache
+	 * @see RemoteContentCache
+	 */
+	/* package */ boolean fetchCachedContents(String keywordMode, CVSTag tag, IProgressMonitor monitor) throws TeamException {
+		String revision = getRevision();
+		if (!RemoteContentCache.isEnabled() || !RemoteContentCache.isCacheable(revision)) {
+			return false;
+		}
+		CachedContents cached = RemoteContentCache.getInstance().getContents(
+				RemoteContentCache.getKey(getRepository(), getRepositoryRelativePath(), revision, keywordMode, tag));
+		if (cached == null) {
+			return false;
+		}
+		aboutToReceiveContents(getSyncBytes());
+		try (InputStream contents = cached.getContents()) {
+			setSyncBytes(cached.getSyncBytes(), ICVSFile.CLEAN);
+			setContents(contents, monitor);
+		} catch (IOException e) {
+			// The contents were read so the failure to close the cache entry is ignored
+		} finally {
+			doneReceivingContents();
+		}
+		return true;
+	}
+
+	/**
+	 * Record the contents fetched for the receiver in the remote content cache.
+	 * @param keywordMode the keyword mode that was requested for the contents
+	 * @param tag the tag through which the contents were fetched or <code>null</code>
+	 * if they were fetched by revision
+	 * @see RemoteContentCache
+	 */
+	/* package */ void cacheContents(String keywordMode, CVSTag tag) {
+		String revision = getRevision();
+		if (!RemoteContentCache.isEnabled() || !RemoteContentCache.isCacheable(revision) || !isContentsCached()) {
+			return;
+		}
+		try (InputStream contents = getCachedContents()) {
+			if (contents != null) {
+				RemoteContentCache.getInstance().setContents(
+						RemoteContentCache.getKey(getRepository(), getRepositoryRelativePath(), revision, keywordMode, tag),
+						getSyncBytes(),
+						contents);
+			}
+		} catch (TeamException | IOException e) {
+			CVSProviderPlugin.log(IStatus.WARNING, CVSMessages.RemoteContentCache_0, e);
+		}
 	}
 	
 	private void internalFetchContents(IProgressMonitor monitor) throws CVSException {
@@ -307,7 +371,7 @@ public class RemoteFile extends RemoteResource implements ICVSRemoteFile  {
 		}
 	}
 	
-	private KSubstOption getKeywordMode() {
+	/* package */ KSubstOption getKeywordMode() {
 		try {
 			return ResourceSyncInfo.getKeywordMode(syncBytes);
 		} catch (CVSException e) {
@@ -18,6 +18,7 @@ import java.util.*;
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.*;
+import org.eclipse.core.runtime.jobs.JobGroup;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.team.internal.ccvs.core.*;
 import org.eclipse.team.internal.ccvs.core.client.*;
@@ -27,6 +28,7 @@ import org.eclipse.team.internal.ccvs.core.connection.CVSRepositoryLocation;
 import org.eclipse.team.internal.ccvs.core.connection.CVSServerException;
 import org.eclipse.team.internal.ccvs.core.syncinfo.FolderSyncInfo;
 import org.eclipse.team.internal.ccvs.core.syncinfo.ResourceSyncInfo;
+import org.eclipse.team.internal.ccvs.core.util.ParallelTasks;
 import org.eclipse.team.internal.ccvs.core.util.Util;
 
 /*
@@ -96,9 +98,9 @@ public class RemoteFolderTreeBuilder {
 		this.repository = repository;
 		this.root = root;
 		this.tag = tag;
-		this.fileDeltas = new HashMap<>();
+		this.fileDeltas = new ConcurrentHashMap<>();
 		this.changedFiles = new ArrayList<>();
-		this.remoteFolderTable = new HashMap<>();
+		this.remoteFolderTable = new ConcurrentHashMap<>();
 		
 		// Build the local options
 		List<LocalOption> localOptions = new ArrayList<>();
@@ -260,22 +262,66 @@ public class RemoteFolderTreeBuilder {
 		// 3rd+ Connection: Used to fetch file status in groups of 1024
 		if (remoteRoot != null && !changedFiles.isEmpty()) {
 			String[] allChangedFiles = changedFiles.toArray(new String[changedFiles.size()]);
-			int iterations = (allChangedFiles.length / MAX_REVISION_FETCHES_PER_CONNECTION) 
-				+ (allChangedFiles.length % MAX_REVISION_FETCHES_PER_CONNECTION == 0 ? 0 : 1);
-			for (int i = 0; i < iterations ; i++) {
-				int length = Math.min(MAX_REVISION_FETCHES_PER_CONNECTION, 
-					allChangedFiles.length - (MAX_REVISION_FETCHES_PER_CONNECTION * i));
+			List<String[]> groups = new ArrayList<>();
+			for (int start = 0; start < allChangedFiles.length; start += MAX_REVISION_FETCHES_PER_CONNECTION) {
+				int length = Math.min(MAX_REVISION_FETCHES_PER_CONNECTION, allChangedFiles.length - start);
 				String buffer[] = new String[length];
-				System.arraycopy(allChangedFiles, i * MAX_REVISION_FETCHES_PER_CONNECTION, buffer, 0, length);
-				Session session = new Session(repository, remoteRoot, false);
-				session.open(Policy.subMonitorFor(monitor, 1), false /* read-only */);
+				System.arraycopy(allChangedFiles, start, buffer, 0, length);
+				groups.add(buffer);
+			}
+			int parallelism = Math.min(groups.size(), CVSProviderPlugin.getPlugin().getMaxRevisionFetchConnections());
+			monitor.beginTask(null, groups.size() * 3);
+			try {
+				if (parallelism > 1) {
+					fetchFileRevisions(groups, parallelism, monitor);
+				} else {
+					for (String[] buffer : groups) {
+						Session session = new Session(repository, remoteRoot, false);
+						session.open(Policy.subMonitorFor(monitor, 1), false /* read-only */);
+						try {
+							fetchFileRevisions(session, buffer, Policy.subMonitorFor(monitor, 2));
+						} finally {
+							session.close();
+						}
+					}
+				}
+			} finally {
+				monitor.done();
+			}
+		}
+	}
+	
+	/*
+	 * Fetch the revisions of the given groups of files over several concurrent sessions.
+	 * The workers only observe cancellation of the given monitor and their progress is
+	 * reported on the calling thread. The file revisions are recorded in the remote files
+	 * that were created when the tree was built. Each file belongs to a single group and
+	 * the folder table is not modified during this phase so the workers do not need to
+	 * coordinate.
+	 */
+	private void fetchFileRevisions(List<String[]> groups, int parallelism, IProgressMonitor monitor) throws CVSException {
+		ParallelTasks<Object> tasks = new ParallelTasks<>("CVS revision fetch", monitor, null); //$NON-NLS-1$
+		JobGroup group = tasks.newGroup(parallelism);
+		for (final String[] buffer : groups) {
+			tasks.submit(group, 3, workerMonitor -> {
+				workerMonitor.beginTask(null, 3);
 				try {
-					fetchFileRevisions(session, buffer, Policy.subMonitorFor(monitor, 2));
+					Session session = new Session(repository, remoteRoot, false);
+					session.open(Policy.subMonitorFor(workerMonitor, 1), false /* read-only */);
+					try {
+						fetchFileRevisions(session, buffer, Policy.subMonitorFor(workerMonitor, 2));
+					} finally {
+						session.close();
+					}
+					return null;
 				} finally {
-					session.close();
+					workerMonitor.done();
 				}
-			}
+			});
 		}
+		tasks.join();
+		if (tasks.isCanceled())
+			throw new OperationCanceledException();
 	}
 	
 	/* package */ RemoteFile buildTree(ICVSFile file, IProgressMonitor monitor) throws CVSException {
@@ -28,6 +28,7 @@ import org.eclipse.team.internal.ccvs.core.*;
 import org.eclipse.team.internal.ccvs.core.client.*;
 import org.eclipse.team.internal.ccvs.core.client.Command.LocalOption;
 import org.eclipse.team.internal.ccvs.core.syncinfo.FolderSyncInfo;
+import org.eclipse.team.internal.ccvs.core.util.ModuleCache;
 
 public class RemoteModule extends RemoteFolder {
 	
@@ -37,6 +38,11 @@ public class RemoteModule extends RemoteFolder {
 	private boolean expandable;
 	
 	public static RemoteModule[] getRemoteModules(ICVSRepositoryLocation repository, CVSTag tag, IProgressMonitor monitor) throws TeamException {
+		// The definitions do not depend on the tag so they are shared by all tags
+		String[] definitions = ModuleCache.getInstance().getModuleDefinitions(repository);
+		if (definitions != null) {
+			return createRemoteModules(definitions, repository, tag);
+		}
 		monitor = Policy.monitorFor(monitor);
 		monitor.beginTask(CVSMessages.RemoteModule_getRemoteModules, 100); 
 		try {		
@@ -0,0 +1,356 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.internal.ccvs.core.syncinfo;
+
+import java.text.ParseException;
+import java.util.Date;
+
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.team.internal.ccvs.core.CVSException;
+import org.eclipse.team.internal.ccvs.core.CVSMessages;
+import org.eclipse.team.internal.ccvs.core.client.Command.KSubstOption;
+import org.eclipse.team.internal.ccvs.core.util.CVSDateFormatter;
+
+/**
+ * A read-only view of the sync bytes of a file (i.e. a line of the CVS/Entries file).
+ * The offsets of the slots are computed once when the view is created so that
+ * several values can be obtained from the same bytes without rescanning them.
+ * The values are read in place and revisions, keyword modes and tags are pooled
+ * so that querying a view does not allocate in the common case.
+ * <p>
+ * Use this class instead of the static helpers of {@link ResourceSyncInfo} when
+ * more than one value is needed from the same bytes. Unlike {@link ResourceSyncInfo},
+ * a view is not validated when it is created. A {@link CVSException} is thrown by
+ * the accessor of a slot that is missing.
+ * </p>
+ * Example entry line from the CVS/Entry file:
+ *
+ * /new.java/1.2/Fri Dec  7 00:17:52 2001/-kb/
+ *
+ * @see ResourceSyncInfo
+ */
+public final class EntryLineView {
+
+	public static final int NAME_SLOT = 1;
+	public static final int REVISION_SLOT = 2;
+	public static final int TIMESTAMP_SLOT = 3;
+	public static final int KEYWORD_MODE_SLOT = 4;
+	public static final int TAG_SLOT = 5;
+
+	private static final byte[] BINARY_MODE = "-kb".getBytes(); //$NON-NLS-1$
+	private static final byte[] LOCKED_BY = "locked by".getBytes(); //$NON-NLS-1$
+	private static final byte[] SERVER_MERGED = ResourceSyncInfo.TIMESTAMP_SERVER_MERGED.getBytes();
+	private static final byte[] SERVER_MERGED_WITH_CONFLICT = ResourceSyncInfo.TIMESTAMP_SERVER_MERGED_WITH_CONFLICT.getBytes();
+	private static final byte[] MERGED_WITH_CONFLICT = ResourceSyncInfo.TIMESTAMP_MERGED_WITH_CONFLICT.getBytes();
+	private static final byte[] MERGED = ResourceSyncInfo.TIMESTAMP_MERGED.getBytes();
+	private static final byte[] DELETED_AND_RESTORED = ResourceSyncInfo.TIMESTAMP_DELETED_AND_RESTORED.getBytes();
+
+	private final byte[] syncBytes;
+	// the offset of the slash that precedes each slot or -1 if the slot is missing.
+	// The tag is the last slot and extends to the end of the bytes
+	private final int[] separators = new int[TAG_SLOT + 1];
+
+	/**
+	 * Create a view of the given sync bytes.
+	 * @param syncBytes the sync bytes of a file
+	 */
+	public EntryLineView(byte[] syncBytes) {
+		this.syncBytes = syncBytes;
+		int slot = 1;
+		for (int i = 0; i < syncBytes.length && slot <= TAG_SLOT; i++) {
+			if (syncBytes[i] == ResourceSyncInfo.SEPARATOR_BYTE) {
+				separators[slot++] = i;
+			}
+		}
+		for (; slot <= TAG_SLOT; slot++) {
+			separators[slot] = -1;
+		}
+	}
+
+	/**
+	 * Return the sync bytes this is a view of.
+	 * @return the sync bytes
+	 */
+	public byte[] getBytes() {
+		return syncBytes;
+	}
+
+	/**
+	 * Return whether the given slot is present in the bytes.
+	 * @param slot the slot (between 1 and 5)
+	 * @return whether the slot is present
+	 */
+	public boolean hasSlot(int slot) {
+		return separators[slot] != -1;
+	}
+
+	/**
+	 * Return the offset of the first byte of the given slot.
+	 * @param slot the slot (between 1 and 5)
+	 * @return the offset of the first byte of the slot
+	 * @throws CVSException if the slot is missing
+	 */
+	public int getSlotStart(int slot) throws CVSException {
+		int separator = separators[slot];
+		if (separator == -1) {
+			throw malformed(syncBytes);
+		}
+		return separator + 1;
+	}
+
+	/**
+	 * Return the offset after the last byte of the given slot.
+	 * @param slot the slot (between 1 and 5)
+	 * @return the offset after the last byte of the slot
+	 * @throws CVSException if the slot is missing
+	 */
+	public int getSlotEnd(int slot) throws CVSException {
+		if (separators[slot] == -1) {
+			throw malformed(syncBytes);
+		}
+		if (slot == TAG_SLOT || separators[slot + 1] == -1) {
+			return syncBytes.length;
+		}
+		return separators[slot + 1];
+	}
+
+	/**
+	 * Return the revision without the deleted prefix or the "locked by" suffix.
+	 * @return the revision
+	 * @throws CVSException if the bytes are malformed
+	 * @see ResourceSyncInfo#getRevision(byte[])
+	 */
+	public String getRevision() throws CVSException {
+		return getRevision(syncBytes, getSlotStart(REVISION_SLOT), getSlotEnd(REVISION_SLOT));
+	}
+
+	/**
+	 * Return whether the revision of this view is the same as the revision of the given view.
+	 * @param other another view
+	 * @return whether the revisions are the same
+	 * @throws CVSException if the bytes are malformed
+	 */
+	public boolean isSameRevision(EntryLineView other) throws CVSException {
+		return getRevision().equals(other.getRevision());
+	}
+
+	/**
+	 * @return whether the bytes represent an addition
+	 * @throws CVSException if the bytes are malformed
+	 * @see ResourceSyncInfo#isAddition(byte[])
+	 */
+	public boolean isAddition() throws CVSException {
+		int separator = separators[REVISION_SLOT];
+		// There must be a slot and, in the very least, there must be two characters after the slot
+		if (separator == -1 || separator > syncBytes.length - 3) {
+			throw malformed(syncBytes);
+		}
+		// If the zero is followed by a dot, then it is a valid revision and not an addition
+		return syncBytes[separator + 1] == '0' && syncBytes[separator + 2] != '.';
+	}
+
+	/**
+	 * @return whether the bytes represent a deletion
+	 * @throws CVSException if the bytes are malformed
+	 * @see ResourceSyncInfo#isDeletion(byte[])
+	 */
+	public boolean isDeletion() throws CVSException {
+		int separator = separators[REVISION_SLOT];
+		if (separator == -1 || separator >= syncBytes.length - 1) {
+			throw malformed(syncBytes);
+		}
+		return syncBytes[separator + 1] == ResourceSyncInfo.DELETED_PREFIX_BYTE;
+	}
+
+	/**
+	 * @return whether the keyword mode is binary
+	 * @throws CVSException if the bytes are malformed
+	 * @see ResourceSyncInfo#isBinary(byte[])
+	 */
+	public boolean isBinary() throws CVSException {
+		return isBinary(syncBytes, getSlotStart(KEYWORD_MODE_SLOT), getSlotEnd(KEYWORD_MODE_SLOT));
+	}
+
+	/**
+	 * @return the keyword mode
+	 * @throws CVSException if the bytes are malformed
+	 * @see ResourceSyncInfo#getKeywordMode(byte[])
+	 */
+	public KSubstOption getKeywordMode() throws CVSException {
+		return KSubstOption.fromMode(SyncValuePool.internString(syncBytes, getSlotStart(KEYWORD_MODE_SLOT), getSlotEnd(KEYWORD_MODE_SLOT)));
+	}
+
+	/**
+	 * Return the bytes of the tag slot. The returned array is shared and must not be modified.
+	 * @return the tag bytes
+	 * @throws CVSException if the bytes are malformed
+	 * @see ResourceSyncInfo#getTagBytes(byte[])
+	 */
+	public byte[] getTagBytes() throws CVSException {
+		return SyncValuePool.internBytes(syncBytes, getSlotStart(TAG_SLOT), syncBytes.length);
+	}
+
+	/**
+	 * Return whether the tag of this view is the same as the tag of the given view.
+	 * The tags are compared in place.
+	 * @param other another view
+	 * @return whether the tags are the same
+	 * @throws CVSException if the bytes are malformed
+	 */
+	public boolean isSameTag(EntryLineView other) throws CVSException {
+		int start = getSlotStart(TAG_SLOT);
+		int otherStart = other.getSlotStart(TAG_SLOT);
+		int length = syncBytes.length - start;
+		if (length != other.syncBytes.length - otherStart) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (syncBytes[start + i] != other.syncBytes[otherStart + i]) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @return whether the file was merged by the server
+	 * @throws CVSException if the bytes are malformed
+	 * @see ResourceSyncInfo#isMerge(byte[])
+	 */
+	public boolean isMerge() throws CVSException {
+		int syncType = getSyncType();
+		return syncType == ResourceSyncInfo.TYPE_MERGED || syncType == ResourceSyncInfo.TYPE_MERGED_WITH_CONFLICTS;
+	}
+
+	/**
+	 * @return whether the file was merged by the server with conflicts
+	 * @throws CVSException if the bytes are malformed
+	 * @see ResourceSyncInfo#isMergedWithConflicts(byte[])
+	 */
+	public boolean isMergedWithConflicts() throws CVSException {
+		return getSyncType() == ResourceSyncInfo.TYPE_MERGED_WITH_CONFLICTS;
+	}
+
+	/**
+	 * @return whether the file was deleted and restored afterwards
+	 * @throws CVSException if the bytes are malformed
+	 * @see ResourceSyncInfo#wasDeleted(byte[])
+	 */
+	public boolean wasDeleted() throws CVSException {
+		return getSyncType() == ResourceSyncInfo.TYPE_DELETED_AND_RESTORED;
+	}
+
+	/**
+	 * Return the timestamp of the entry line. This is the same timestamp as the one
+	 * of a {@link ResourceSyncInfo} created from the bytes.
+	 * @return the timestamp or <code>null</code> if there is none
+	 * @throws CVSException if the bytes are malformed
+	 * @see ResourceSyncInfo#getTimeStamp()
+	 */
+	public Date getTimeStamp() throws CVSException {
+		int start = getSlotStart(TIMESTAMP_SLOT);
+		int end = getSlotEnd(TIMESTAMP_SLOT);
+		switch (getSyncType(syncBytes, start, end)) {
+			case ResourceSyncInfo.TYPE_MERGED:
+				return null;
+			case ResourceSyncInfo.TYPE_MERGED_WITH_CONFLICTS:
+			case ResourceSyncInfo.TYPE_DELETED_AND_RESTORED:
+				// the timestamp follows the marker
+				if (indexOf(syncBytes, start, end, SERVER_MERGED_WITH_CONFLICT) != -1) return null;
+				while (start < end && syncBytes[start] != '+') start++;
+				start++;
+				break;
+			default:
+				break;
+		}
+		if (start >= end) {
+			return null;
+		}
+		try {
+			return CVSDateFormatter.entryLineToDate(new String(syncBytes, start, end - start));
+		} catch(ParseException e) {
+			// something we don't understand, just make this sync have no timestamp and
+			// never be in sync with the server.
+			return null;
+		}
+	}
+
+	private int getSyncType() throws CVSException {
+		return getSyncType(syncBytes, getSlotStart(TIMESTAMP_SLOT), getSlotEnd(TIMESTAMP_SLOT));
+	}
+
+	/*
+	 * Return the revision in the given range with the deleted prefix and the "locked by"
+	 * suffix removed.
+	 */
+	static String getRevision(byte[] syncBytes, int start, int end) {
+		if (start < end && syncBytes[start] == ResourceSyncInfo.DELETED_PREFIX_BYTE) {
+			start++;
+		}
+		// Equivalent to removing ResourceSyncInfo.LOCKEDBY_REGEX
+		for (int i = start; i < end - LOCKED_BY.length - 1; i++) {
+			if (isWhitespace(syncBytes[i]) && regionMatches(syncBytes, i + 1, LOCKED_BY)) {
+				end = i;
+				break;
+			}
+		}
+		return SyncValuePool.internString(syncBytes, start, end);
+	}
+
+	/*
+	 * Same characters as the \s of a regular expression
+	 */
+	private static boolean isWhitespace(byte b) {
+		return b == ' ' || b == '\t' || b == '\n' || b == 0x0B || b == '\f' || b == '\r';
+	}
+
+	static boolean isBinary(byte[] syncBytes, int start, int end) {
+		return end - start == BINARY_MODE.length && regionMatches(syncBytes, start, BINARY_MODE);
+	}
+
+	/*
+	 * Return the type of sync for the timestamp in the given range. The checks are
+	 * done in the same order as ResourceSyncInfo.getSyncType(String).
+	 */
+	static int getSyncType(byte[] syncBytes, int start, int end) {
+		if (indexOf(syncBytes, start, end, SERVER_MERGED) != -1) {
+			return ResourceSyncInfo.TYPE_MERGED;
+		} else if (indexOf(syncBytes, start, end, SERVER_MERGED_WITH_CONFLICT) != -1) {
+			return ResourceSyncInfo.TYPE_MERGED_WITH_CONFLICTS;
+		} else if (indexOf(syncBytes, start, end, MERGED_WITH_CONFLICT) != -1) {
+			return ResourceSyncInfo.TYPE_MERGED_WITH_CONFLICTS;
+		} else if (indexOf(syncBytes, start, end, MERGED) != -1) {
+			return ResourceSyncInfo.TYPE_MERGED;
+		} else if (indexOf(syncBytes, start, end, DELETED_AND_RESTORED) != -1) {
+			return ResourceSyncInfo.TYPE_DELETED_AND_RESTORED;
+		}
+		return ResourceSyncInfo.TYPE_REGULAR;
+	}
+
+	private static int indexOf(byte[] bytes, int start, int end, byte[] pattern) {
+		for (int i = start; i <= end - pattern.length; i++) {
+			if (regionMatches(bytes, i, pattern)) return i;
+		}
+		return -1;
+	}
+
+	private static boolean regionMatches(byte[] bytes, int offset, byte[] pattern) {
+		for (int i = 0; i < pattern.length; i++) {
+			if (bytes[offset + i] != pattern[i]) return false;
+		}
+		return true;
+	}
+
+	static CVSException malformed(byte[] syncBytes) {
+		return new CVSException(NLS.bind(CVSMessages.ResourceSyncInfo_malformedSyncBytes, new String[] { new String(syncBytes) }));
+	}
+}
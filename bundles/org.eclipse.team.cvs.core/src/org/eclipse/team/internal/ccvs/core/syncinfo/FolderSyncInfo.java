@@ -21,6 +21,7 @@ import org.eclipse.osgi.util.NLS;
 import org.eclipse.team.internal.ccvs.core.*;
 import org.eclipse.team.internal.ccvs.core.connection.CVSRepositoryLocation;
 import org.eclipse.team.internal.ccvs.core.resources.CVSEntryLineTag;
+import org.eclipse.team.internal.ccvs.core.util.CVSTagRegistry;
 import org.eclipse.team.internal.ccvs.core.util.Util;
 
 /**
@@ -232,7 +233,7 @@ public class FolderSyncInfo {
 		if (tag == null || tag.equals(CVSTag.DEFAULT)) {
 			this.tag = null;
 		} else {
-			this.tag = new CVSEntryLineTag(tag);
+			this.tag = CVSTagRegistry.getDefault().getEntryLineTag(tag);
 		}
 	}
 	
@@ -301,7 +302,7 @@ public class FolderSyncInfo {
 			if (tagName.length() == 0) {
 				tag = null;
 			} else {
-				tag = new CVSEntryLineTag(tagName);
+				tag = CVSTagRegistry.getDefault().getEntryLineTag(tagName);
 			}
 			isStatic = dis.readBoolean();
 		} catch (IOException e) {
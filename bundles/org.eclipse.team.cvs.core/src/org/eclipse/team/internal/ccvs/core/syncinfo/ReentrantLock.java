@@ -13,8 +13,7 @@
  *******************************************************************************/
 package org.eclipse.team.internal.ccvs.core.syncinfo;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.runtime.Assert;
@@ -39,14 +38,42 @@ public class ReentrantLock extends BatchingLock {
 	
 	public class CVSThreadInfo extends ThreadInfo{
 		private Set changedFolders = new HashSet();
+		// The Notify and Baserev contents to be written when the lock is released.
+		// Only the last contents set for a folder are kept and folders are written in the order they were first changed.
+		private Map<IContainer, NotifyInfo[]> notifyInfos = new LinkedHashMap<>();
+		private Map<IContainer, BaserevInfo[]> baserevInfos = new LinkedHashMap<>();
 		public CVSThreadInfo(IFlushOperation operation) {
 			super(operation);
 		}
 		public void addChangedFolder(IContainer container) {
 			changedFolders.add(container);
 		}
+		public void setNotifyInfos(IContainer container, NotifyInfo[] infos) {
+			notifyInfos.put(container, infos);
+		}
+		public NotifyInfo[] getNotifyInfos(IContainer container) {
+			return notifyInfos.get(container);
+		}
+		public boolean hasNotifyInfos(IContainer container) {
+			return notifyInfos.containsKey(container);
+		}
+		public Map<IContainer, NotifyInfo[]> getChangedNotifyInfos() {
+			return notifyInfos;
+		}
+		public void setBaserevInfos(IContainer container, BaserevInfo[] infos) {
+			baserevInfos.put(container, infos);
+		}
+		public BaserevInfo[] getBaserevInfos(IContainer container) {
+			return baserevInfos.get(container);
+		}
+		public boolean hasBaserevInfos(IContainer container) {
+			return baserevInfos.containsKey(container);
+		}
+		public Map<IContainer, BaserevInfo[]> getChangedBaserevInfos() {
+			return baserevInfos;
+		}
 		public boolean isEmpty() {
-			return changedFolders.isEmpty() && super.isEmpty();
+			return changedFolders.isEmpty() && notifyInfos.isEmpty() && baserevInfos.isEmpty() && super.isEmpty();
 		}
 		public IContainer[] getChangedFolders() {
 			return (IContainer[]) changedFolders.toArray(new IContainer[changedFolders.size()]);
@@ -58,6 +85,8 @@ public class ReentrantLock extends BatchingLock {
 				// We have to clear the resources no matter what since the next attempt
 				// to flush may not have an appropriate scheduling rule
 				changedFolders.clear();
+				notifyInfos.clear();
+				baserevInfos.clear();
 			}
 		}
 	}
@@ -72,5 +101,13 @@ public class ReentrantLock extends BatchingLock {
 		Assert.isNotNull(info, "Folder changed outside of resource lock"); //$NON-NLS-1$
 		info.addChangedFolder(folder);
 	}
+	
+	/**
+	 * Return the lock information of the calling thread or <code>null</code>
+	 * if the thread does not hold the lock.
+	 */
+	public CVSThreadInfo getCVSThreadInfo() {
+		return (CVSThreadInfo)getThreadInfo();
+	}
 
 }
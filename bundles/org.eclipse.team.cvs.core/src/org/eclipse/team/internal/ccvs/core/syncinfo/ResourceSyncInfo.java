@@ -24,6 +24,8 @@ import org.eclipse.team.internal.ccvs.core.*;
 import org.eclipse.team.internal.ccvs.core.client.Command.KSubstOption;
 import org.eclipse.team.internal.ccvs.core.resources.CVSEntryLineTag;
 import org.eclipse.team.internal.ccvs.core.util.CVSDateFormatter;
+import org.eclipse.team.internal.ccvs.core.util.CVSTagRegistry;
+import org.eclipse.team.internal.ccvs.core.util.Revision;
 import org.eclipse.team.internal.ccvs.core.util.Util;
 
 /**
@@ -57,7 +59,7 @@ public class ResourceSyncInfo {
 	// file sync information can be associated with a local resource that has been deleted. This is
 	// noted by prefixing the revision with this character.
 	private static final String DELETED_PREFIX = "-"; //$NON-NLS-1$
-	private static final byte DELETED_PREFIX_BYTE = '-';
+	static final byte DELETED_PREFIX_BYTE = '-';
 
 	// revision can be locked in repository using "cvs admin -l<rev>" command
 	// entry looks like [M revision 1.2.2.3	locked by: igorf;]
@@ -329,7 +331,7 @@ public class ResourceSyncInfo {
 	 */
 	protected void setTag(CVSTag tag) {
 		if(tag!=null) {
-			this.tag = new CVSEntryLineTag(tag);
+			this.tag = CVSTagRegistry.getDefault().getEntryLineTag(tag);
 		} else {
 			this.tag = null;
 		}					
@@ -458,7 +460,7 @@ public class ResourceSyncInfo {
 		}
 						
 		if(tagEntry.length()>0) {
-			tag = new CVSEntryLineTag(tagEntry);
+			tag = CVSTagRegistry.getDefault().getEntryLineTag(tagEntry);
 		} else {
 			tag = null;
 		}
@@ -543,11 +545,11 @@ public class ResourceSyncInfo {
 	 * @return String
 	 */
 	public static KSubstOption getKeywordMode(byte[] syncBytes) throws CVSException {
-		String mode = Util.getSubstring(syncBytes, SEPARATOR_BYTE, 4, false);
-		if (mode == null) {
+		int start = startOfSlot(syncBytes, 4);
+		if (start == -1) {
 			throw new CVSException(NLS.bind(CVSMessages.ResourceSyncInfo_malformedSyncBytes, new String[] { new String(syncBytes) })); 
 		}
-		return KSubstOption.fromMode(mode);
+		return KSubstOption.fromMode(SyncValuePool.internString(syncBytes, start + 1, endOfSlot(syncBytes, start)));
 	}
 	
 	/**
@@ -588,11 +590,11 @@ public class ResourceSyncInfo {
 	 */
 	public static boolean isBinary(byte[] syncBytes)  throws CVSException {
 		if (syncBytes == null) return false;
-		String mode = Util.getSubstring(syncBytes, SEPARATOR_BYTE, 4, false);
-		if (mode == null) {
+		int start = startOfSlot(syncBytes, 4);
+		if (start == -1) {
 			throw new CVSException(NLS.bind(CVSMessages.ResourceSyncInfo_malformedSyncBytes, new String[] { new String(syncBytes) })); 
 		}
-		return "-kb".equals(mode); //$NON-NLS-1$
+		return EntryLineView.isBinary(syncBytes, start + 1, endOfSlot(syncBytes, start));
 	}
 	
 	/**
@@ -709,6 +711,17 @@ public class ResourceSyncInfo {
 		return -1;
 	}
 	
+	/*
+	 * Return the index of the slash that ends the slot that starts after
+	 * the given slash or the length of the bytes if it is the last slot.
+	 */
+	private static int endOfSlot(byte[] syncBytes, int startOfSlot) {
+		for (int j = startOfSlot + 1; j < syncBytes.length; j++) {
+			if (syncBytes[j] == SEPARATOR_BYTE) return j;
+		}
+		return syncBytes.length;
+	}
+	
 	/**
 	 * Method setSlot modifies a given array of bytes representing a line in the
 	 * CVS/Entry file.
@@ -729,7 +742,8 @@ public class ResourceSyncInfo {
 		if (start == -1) {
 			throw new CVSException(NLS.bind(CVSMessages.ResourceSyncInfo_malformedSyncBytes, new String[] { new String(syncBytes) })); 
 		}
-		int end = startOfSlot(syncBytes, slot + 1);
+		int end = endOfSlot(syncBytes, start);
+		if (end == syncBytes.length) end = -1;
 		int totalLength = start + 1 + newBytes.length;
 		if (end != -1) {
 			totalLength += syncBytes.length - end;
@@ -820,17 +834,30 @@ public class ResourceSyncInfo {
 		return TYPE_REGULAR;
 	}
 	
+	/*
+	 * Return the sync type of the timestamp slot of the given bytes
+	 * without creating a string for the timestamp.
+	 */
+	private static int getSyncType(byte[] syncBytes) throws CVSException {
+		int start = startOfSlot(syncBytes, 3);
+		if (start == -1) {
+			throw new CVSException(NLS.bind(CVSMessages.ResourceSyncInfo_malformedSyncBytes, new String[] { new String(syncBytes) })); 
+		}
+		return EntryLineView.getSyncType(syncBytes, start + 1, endOfSlot(syncBytes, start));
+	}
+	
 	/**
-	 * Method getTag.
+	 * Return the bytes of the tag slot. The returned array may be shared
+	 * and must not be modified.
 	 * @param syncBytes
-	 * @return String
+	 * @return byte[]
 	 */
 	public static byte[] getTagBytes(byte[] syncBytes) throws CVSException {
-		byte[] tag = Util.getBytesForSlot(syncBytes, SEPARATOR_BYTE, 5, true);
-		if (tag == null) {
+		int start = startOfSlot(syncBytes, 5);
+		if (start == -1) {
 			throw new CVSException(NLS.bind(CVSMessages.ResourceSyncInfo_malformedSyncBytes, new String[] { new String(syncBytes) })); 
 		}
-		return tag;
+		return SyncValuePool.internBytes(syncBytes, start + 1, syncBytes.length);
 	}
 	
 	/**
@@ -870,15 +897,11 @@ public class ResourceSyncInfo {
 	 * @see #LOCKEDBY_REGEX
 	 */
 	public static String getRevision(byte[] syncBytes) throws CVSException {
-		String revision = Util.getSubstring(syncBytes, SEPARATOR_BYTE, 2, false);
-		if (revision == null) {
+		int start = startOfSlot(syncBytes, 2);
+		if (start == -1) {
 			throw new CVSException(NLS.bind(CVSMessages.ResourceSyncInfo_malformedSyncBytes, new String[] { new String(syncBytes) })); 
 		}
-		if(revision.startsWith(DELETED_PREFIX)) {
-			revision = revision.substring(DELETED_PREFIX.length());
-		}
-		revision = revision.replaceFirst(LOCKEDBY_REGEX, ""); //$NON-NLS-1$
-		return revision;
+		return EntryLineView.getRevision(syncBytes, start + 1, endOfSlot(syncBytes, start));
 	}
 
 	/**
@@ -897,11 +920,7 @@ public class ResourceSyncInfo {
 	 * @return boolean
 	 */
 	public static boolean isMerge(byte[] syncBytes) throws CVSException {
-		String timestamp = Util.getSubstring(syncBytes, SEPARATOR_BYTE, 3, false);
-		if (timestamp == null) {
-			throw new CVSException(NLS.bind(CVSMessages.ResourceSyncInfo_malformedSyncBytes, new String[] { new String(syncBytes) })); 
-		}
-		int syncType = getSyncType(timestamp);
+		int syncType = getSyncType(syncBytes);
 		return syncType == TYPE_MERGED || syncType == TYPE_MERGED_WITH_CONFLICTS;
 	}
 
@@ -913,14 +932,7 @@ public class ResourceSyncInfo {
 	 * @return boolean
 	 */
 	public static boolean wasDeleted(byte[] syncBytes) throws CVSException {
-		String timestamp = Util.getSubstring(syncBytes, SEPARATOR_BYTE, 3,
-				false);
-		if (timestamp == null) {
-			throw new CVSException(NLS.bind(
-					CVSMessages.ResourceSyncInfo_malformedSyncBytes,
-					new String[] { new String(syncBytes) }));
-		}
-		int syncType = getSyncType(timestamp);
+		int syncType = getSyncType(syncBytes);
 		return syncType == TYPE_DELETED_AND_RESTORED;
 	}
 
@@ -930,11 +942,7 @@ public class ResourceSyncInfo {
 	 * @return boolean
 	 */
 	public static boolean isMergedWithConflicts(byte[] syncBytes) throws CVSException {
-		String timestamp = Util.getSubstring(syncBytes, SEPARATOR_BYTE, 3, false);
-		if (timestamp == null) {
-			throw new CVSException(NLS.bind(CVSMessages.ResourceSyncInfo_malformedSyncBytes, new String[] { new String(syncBytes) })); 
-		}
-		int syncType = getSyncType(timestamp);
+		int syncType = getSyncType(syncBytes);
 		return syncType == TYPE_MERGED_WITH_CONFLICTS;
 	}
 	
@@ -950,13 +958,13 @@ public class ResourceSyncInfo {
 	public static boolean isLaterRevisionOnSameBranch(byte[] remoteBytes, byte[] localBytes) throws CVSException {
 		// If the two byte arrays are the same, then the remote isn't a later revision
 		if (remoteBytes == localBytes) return false;
+		EntryLineView remote = new EntryLineView(remoteBytes);
+		EntryLineView local = new EntryLineView(localBytes);
 		//	If the tags differ, then the remote isn't a later revision
-		byte[] remoteTag = ResourceSyncInfo.getTagBytes(remoteBytes);
-		byte[] localTag = ResourceSyncInfo.getTagBytes(localBytes);
-		if (!Util.equals(remoteTag, localTag)) return false;
+		if (!remote.isSameTag(local)) return false;
 		// If the revisions are the same, the remote isn't later
-		String remoteRevision = ResourceSyncInfo.getRevision(remoteBytes);
-		String localRevision = ResourceSyncInfo.getRevision(localBytes);
+		String remoteRevision = remote.getRevision();
+		String localRevision = local.getRevision();
 		if (remoteRevision.equals(localRevision)) return false;
 		return isLaterRevision(remoteRevision, localRevision);
 	}
@@ -969,34 +977,14 @@ public class ResourceSyncInfo {
 	 * @return
 	 */
 	public static boolean isLaterRevision(String remoteRevision, String localRevision) {
-		int localDigits[] = Util.convertToDigits(localRevision);
-		if (localDigits.length == 0) return false;
-		int remoteDigits[] = Util.convertToDigits(remoteRevision);
-		if (remoteDigits.length == 0) return false;
+		Revision local = Revision.valueOf(localRevision);
+		if (local == null) return false;
+		Revision remote = Revision.valueOf(remoteRevision);
+		if (remote == null) return false;
 		
 		if (localRevision.equals(ADDED_REVISION)) {
-			return (remoteDigits.length >= 2);
-		}
-		if (localDigits.length < remoteDigits.length) {
-			// If there are more digits in the remote revision then all
-			// the leading digits must match
-			for (int i = 0; i < localDigits.length; i++) {
-				int localDigit = localDigits[i];
-				int remoteDigit = remoteDigits[i];
-				if (remoteDigit != localDigit) return false;
-			}
-			return true;
-		}
-		// They are the same length or the local is longer.
-		// The last digit must differ and all others must be the same.
-		// If the local is longer, ignore the addition numbers
-		// (this can occur as the result on an import)
-		for (int i = 0; i < remoteDigits.length - 1; i++) {
-			int localDigit = localDigits[i];
-			int remoteDigit = remoteDigits[i];
-			if (remoteDigit != localDigit) return false;
-		}
-		// All the leading digits are equals so the remote is later if the last digit is greater
-		return localDigits[remoteDigits.length - 1] < remoteDigits[remoteDigits.length - 1] ;
+			return (remote.getSegmentCount() >= 2);
+		}
+		return remote.isLaterOnSameBranch(local);
 	}
 }
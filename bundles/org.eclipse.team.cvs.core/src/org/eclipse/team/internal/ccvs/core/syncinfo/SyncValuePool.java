@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.internal.ccvs.core.syncinfo;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded pool of the revision, keyword mode and tag values found in entry lines.
+ * A workspace typically contains a small number of distinct values for these slots
+ * so the pool allows the entry line accessors to return a shared instance instead of
+ * allocating a new one for every call.
+ * <p>
+ * The pool is a direct mapped table. A value whose slot is occupied by a different value
+ * replaces it so the pool never grows. Lookups are lock free.
+ * </p>
+ */
+final class SyncValuePool {
+
+	// the number of entries in each table (must be a power of 2)
+	private static final int SIZE = 1024;
+
+	private static final AtomicReferenceArray<String> strings = new AtomicReferenceArray<>(SIZE);
+	private static final AtomicReferenceArray<byte[]> bytes = new AtomicReferenceArray<>(SIZE);
+
+	private static final byte[] EMPTY_BYTES = new byte[0];
+
+	private SyncValuePool() {
+		// Not to be instantiated
+	}
+
+	/**
+	 * Return the string for the given range of bytes. The returned string
+	 * is equal to <code>new String(source, start, end - start)</code>.
+	 *
+	 * @param source the bytes
+	 * @param start the offset of the first byte of the value
+	 * @param end the offset after the last byte of the value
+	 * @return the string for the given range
+	 */
+	static String internString(byte[] source, int start, int end) {
+		if (start == end)
+			return ""; //$NON-NLS-1$
+		int index = hash(source, start, end) & (SIZE - 1);
+		String cached = strings.get(index);
+		if (cached != null && matches(cached, source, start, end))
+			return cached;
+		String value = new String(source, start, end - start);
+		// Only ASCII values can be matched against the bytes without decoding them
+		if (isAscii(source, start, end))
+			strings.set(index, value);
+		return value;
+	}
+
+	/**
+	 * Return a copy of the given range of bytes. The returned array may be
+	 * shared with other callers and must not be modified.
+	 *
+	 * @param source the bytes
+	 * @param start the offset of the first byte of the value
+	 * @param end the offset after the last byte of the value
+	 * @return the bytes of the given range
+	 */
+	static byte[] internBytes(byte[] source, int start, int end) {
+		if (start == end)
+			return EMPTY_BYTES;
+		int index = hash(source, start, end) & (SIZE - 1);
+		byte[] cached = bytes.get(index);
+		if (cached != null && matches(cached, source, start, end))
+			return cached;
+		byte[] value = new byte[end - start];
+		System.arraycopy(source, start, value, 0, value.length);
+		bytes.set(index, value);
+		return value;
+	}
+
+	private static int hash(byte[] source, int start, int end) {
+		int hash = 1;
+		for (int i = start; i < end; i++) {
+			hash = 31 * hash + source[i];
+		}
+		return hash ^ (hash >>> 16);
+	}
+
+	private static boolean matches(String value, byte[] source, int start, int end) {
+		if (value.length() != end - start)
+			return false;
+		for (int i = start; i < end; i++) {
+			if (value.charAt(i - start) != source[i])
+				return false;
+		}
+		return true;
+	}
+
+	private static boolean matches(byte[] value, byte[] source, int start, int end) {
+		if (value.length != end - start)
+			return false;
+		for (int i = start; i < end; i++) {
+			if (value[i - start] != source[i])
+				return false;
+		}
+		return true;
+	}
+
+	private static boolean isAscii(byte[] source, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (source[i] < 0)
+				return false;
+		}
+		return true;
+	}
+}
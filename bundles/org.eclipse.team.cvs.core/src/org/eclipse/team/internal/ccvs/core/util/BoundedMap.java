@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.internal.ccvs.core.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A map that removes the least recently used entry once it holds
+ * more than the maximum number of entries. Reading an entry makes it
+ * the most recently used one.
+ */
+public class BoundedMap<K, V> extends LinkedHashMap<K, V> {
+	private static final long serialVersionUID = 1L;
+	private final int maxSize;
+
+	public BoundedMap(int maxSize) {
+		super(16, 0.75f, true /* access order */);
+		this.maxSize = maxSize;
+	}
+
+	@Override
+	protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+		return size() > maxSize;
+	}
+}
@@ -15,90 +15,265 @@ package org.eclipse.team.internal.ccvs.core.util;
 
 
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.*;
+import java.time.format.DateTimeFormatter;
 import java.util.Date;
 import java.util.Locale;
-import java.util.TimeZone;
 
 /**
  * Utility class for converting timestamps used in Entry file lines. The format
  * required in the Entry file is ISO C asctime() function (Sun Apr  7 01:29:26 1996).
  * <p>
  * To be compatible with asctime(), the day field in the entryline format is
- * padded with a space and not a zero. Most other CVS clients use string comparison 
+ * padded with a space and not a zero. Most other CVS clients use string comparison
  * for timestamps based on the result of the C function asctime().
+ * </p><p>
+ * The formatter holds no mutable state other than caches of the last entry line
+ * timestamps parsed and formatted so it can be used concurrently without locking.
+ * Timestamps are parsed field by field. As with the lenient parsing of previous
+ * releases, the day of the week is not validated and extra whitespace between
+ * fields is accepted.
  * </p>
  */
 public class CVSDateFormatter {
-	
-	private static final String ENTRYLINE_FORMAT = "E MMM dd HH:mm:ss yyyy"; //$NON-NLS-1$
-	private static final String SERVER_FORMAT = "dd MMM yyyy HH:mm:ss";//$NON-NLS-1$
-	private static final int ENTRYLINE_TENS_DAY_OFFSET = 8;
-	
-	private static final SimpleDateFormat serverFormat = new SimpleDateFormat(SERVER_FORMAT, Locale.US);
-	private static SimpleDateFormat entryLineFormat = new SimpleDateFormat(ENTRYLINE_FORMAT, Locale.US);
-	
-	static {
-		entryLineFormat.setTimeZone(TimeZone.getTimeZone("GMT")); //$NON-NLS-1$
+
+	private static final DateTimeFormatter ENTRYLINE_FORMAT = DateTimeFormatter.ofPattern("EEE MMM ppd HH:mm:ss yyyy", Locale.US).withZone(ZoneOffset.UTC); //$NON-NLS-1$
+	private static final DateTimeFormatter NOTIFY_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy HH:mm:ss", Locale.US).withZone(ZoneOffset.UTC); //$NON-NLS-1$
+
+	private static final String[] MONTHS = { "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$ //$NON-NLS-11$ //$NON-NLS-12$
+
+	/*
+	 * An entry line timestamp and the time it represents. Files checked out
+	 * or updated together share their timestamp so the last one is cached.
+	 * Parsing and formatting have their own cache since a parsed timestamp
+	 * need not be in the canonical format produced by formatting.
+	 */
+	private static final class EntryLineStamp {
+		final String text;
+		final long time;
+		EntryLineStamp(String text, long time) {
+			this.text = text;
+			this.time = time;
+		}
 	}
-	static synchronized public Date serverStampToDate(String text) throws ParseException {
-		serverFormat.setTimeZone(getTimeZone(text));
-		Date date = serverFormat.parse(text);
-		return date;
+	private static volatile EntryLineStamp lastParsedStamp;
+	private static volatile EntryLineStamp lastFormattedStamp;
+
+	/**
+	 * Parse a timestamp sent by the server in a Mod-time response
+	 * (e.g. 23 Mar 2003 13:24:05 -0000).
+	 * @param text the timestamp
+	 * @return the date
+	 * @throws ParseException if the timestamp is not in the expected format
+	 */
+	public static Date serverStampToDate(String text) throws ParseException {
+		Fields fields = new Fields(text);
+		int day = fields.nextNumber();
+		int month = fields.nextMonth();
+		int year = fields.nextNumber();
+		fields.nextTime();
+		return new Date(fields.toTime(year, month, day, fields.nextTimeZone()));
 	}
-	
-	static synchronized public Date entryLineToDate(String text) throws ParseException {
-		try {
-			if (text.charAt(ENTRYLINE_TENS_DAY_OFFSET) == ' ') {
-				StringBuilder buf = new StringBuilder(text);
-				buf.setCharAt(ENTRYLINE_TENS_DAY_OFFSET, '0');
-				text = buf.toString();
-			}
-		} catch (StringIndexOutOfBoundsException e) {
-			throw new ParseException(e.getMessage(), ENTRYLINE_TENS_DAY_OFFSET);
+
+	/**
+	 * Parse a timestamp in the Entries file format (e.g. Sun Apr  7 01:29:26 1996).
+	 * @param text the timestamp
+	 * @return the date
+	 * @throws ParseException if the timestamp is not in the expected format
+	 */
+	public static Date entryLineToDate(String text) throws ParseException {
+		EntryLineStamp last = lastParsedStamp;
+		if (last != null && last.text.equals(text)) {
+			return new Date(last.time);
 		}
-		return entryLineFormat.parse(text);
+		Fields fields = new Fields(text);
+		fields.skipWord(); // day of week
+		int month = fields.nextMonth();
+		int day = fields.nextNumber();
+		fields.nextTime();
+		int year = fields.nextNumber();
+		long time = fields.toTime(year, month, day, ZoneOffset.UTC);
+		lastParsedStamp = new EntryLineStamp(text, time);
+		return new Date(time);
 	}
 
-	static synchronized public String dateToEntryLine(Date date) {
+	/**
+	 * Format the given date in the Entries file format.
+	 * @param date the date or <code>null</code>
+	 * @return the timestamp or an empty string if the date is <code>null</code>
+	 */
+	public static String dateToEntryLine(Date date) {
 		if (date == null) return ""; //$NON-NLS-1$
-		String passOne = entryLineFormat.format(date);
-		if (passOne.charAt(ENTRYLINE_TENS_DAY_OFFSET) != '0') return passOne;
-		StringBuilder passTwo = new StringBuilder(passOne);
-		passTwo.setCharAt(ENTRYLINE_TENS_DAY_OFFSET, ' ');
-		return passTwo.toString();
+		// the format has a precision of seconds
+		long time = Math.floorDiv(date.getTime(), 1000) * 1000;
+		EntryLineStamp last = lastFormattedStamp;
+		if (last != null && last.time == time) {
+			return last.text;
+		}
+		String text = ENTRYLINE_FORMAT.format(Instant.ofEpochMilli(time));
+		lastFormattedStamp = new EntryLineStamp(text, time);
+		return text;
+	}
+
+	/**
+	 * Format the given date to be sent to the server in a Notify request.
+	 * @param date the date
+	 * @return the timestamp
+	 */
+	public static String dateToNotifyServer(Date date) {
+		return NOTIFY_FORMAT.format(date.toInstant()) + " GMT"; //$NON-NLS-1$
 	}
-	
-	static synchronized public String dateToNotifyServer(Date date) {
-		serverFormat.setTimeZone(TimeZone.getTimeZone("GMT"));//$NON-NLS-1$
-		return serverFormat.format(date) + " GMT"; //$NON-NLS-1$
+
+	/**
+	 * Parse a timestamp sent by the server in the output of the log command.
+	 * Servers prior to 1.12.9 use yyyy/MM/dd HH:mm:ss and later servers
+	 * use yyyy-MM-dd HH:mm:ss followed by the time zone offset. A time zone
+	 * that is missing is assumed to be GMT.
+	 * @param text the timestamp
+	 * @return the date
+	 * @throws ParseException if the timestamp is not in the expected format
+	 */
+	public static Date logStampToDate(String text) throws ParseException {
+		Fields fields = new Fields(text);
+		int year = fields.nextNumber();
+		fields.expectSeparator();
+		int month = fields.nextNumber();
+		fields.expectSeparator();
+		int day = fields.nextNumber();
+		fields.nextTime();
+		return new Date(fields.toTime(year, month, day, fields.nextTimeZone()));
 	}
-	
+
 	/*
-	 * Converts timezone text from date string from CVS server and
-	 * returns a timezone representing the received timezone.
-	 * Timezone string is of the following format: [-|+]MMSS
+	 * A cursor over the fields of a timestamp. Fields are separated by one or more spaces.
 	 */
-	static private TimeZone getTimeZone(String dateFromServer) {
-		if (dateFromServer.contains("0000"))  //$NON-NLS-1$
-			return TimeZone.getTimeZone("GMT");//$NON-NLS-1$ 
-		String tz = null;
-		StringBuilder resultTz = new StringBuilder("GMT");//$NON-NLS-1$
-		if (dateFromServer.contains("-")) {//$NON-NLS-1$
-			resultTz.append("-");//$NON-NLS-1$
-			tz = dateFromServer.substring(dateFromServer.indexOf("-"));//$NON-NLS-1$
-		} else if (dateFromServer.contains("+")) {//$NON-NLS-1$
-			resultTz.append('+');
-			tz = dateFromServer.substring(dateFromServer.indexOf("+"));//$NON-NLS-1$
+	private static final class Fields {
+		private final String text;
+		private int position;
+		private int hour, minute, second;
+
+		Fields(String text) {
+			this.text = text;
 		}
-		try {
-			if(tz!=null) {
-				resultTz.append(tz.substring(1, 3) /*hours*/ + ":" + tz.substring(3, 5) /*minutes*/);//$NON-NLS-1$
-				return TimeZone.getTimeZone(resultTz.toString());
+
+		private ParseException error() {
+			return new ParseException("Unparseable date: \"" + text + "\"", position); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+		private void skipSpaces() {
+			while (position < text.length() && text.charAt(position) == ' ') position++;
+		}
+
+		void skipWord() throws ParseException {
+			skipSpaces();
+			int start = position;
+			while (position < text.length() && Character.isLetter(text.charAt(position))) position++;
+			if (start == position) throw error();
+		}
+
+		int nextNumber() throws ParseException {
+			skipSpaces();
+			int start = position;
+			int value = 0;
+			while (position < text.length() && position - start < 9) {
+				char c = text.charAt(position);
+				if (c < '0' || c > '9') break;
+				value = value * 10 + (c - '0');
+				position++;
+			}
+			if (start == position) throw error();
+			return value;
+		}
+
+		int nextMonth() throws ParseException {
+			skipSpaces();
+			if (position + 3 <= text.length()) {
+				for (int i = 0; i < MONTHS.length; i++) {
+					if (text.regionMatches(true, position, MONTHS[i], 0, 3)) {
+						position += 3;
+						// accept full month names as well
+						while (position < text.length() && Character.isLetter(text.charAt(position))) position++;
+						return i + 1;
+					}
+				}
+			}
+			throw error();
+		}
+
+		void expectSeparator() throws ParseException {
+			if (position < text.length() && (text.charAt(position) == '/' || text.charAt(position) == '-')) {
+				position++;
+				return;
+			}
+			throw error();
+		}
+
+		private void expect(char c) throws ParseException {
+			if (position < text.length() && text.charAt(position) == c) {
+				position++;
+				return;
+			}
+			throw error();
+		}
+
+		/*
+		 * Parse a time zone of the form [-|+]HHMM or a zone name. GMT is
+		 * returned if there is no time zone.
+		 */
+		ZoneId nextTimeZone() throws ParseException {
+			skipSpaces();
+			if (position == text.length()) return ZoneOffset.UTC;
+			char c = text.charAt(position);
+			if (c == '+' || c == '-') {
+				position++;
+				int start = position;
+				int hours = nextNumber();
+				int minutes = 0;
+				if (position - start == 4) {
+					minutes = hours % 100;
+					hours = hours / 100;
+				} else if (position < text.length() && text.charAt(position) == ':') {
+					position++;
+					minutes = nextNumber();
+				}
+				try {
+					return ZoneOffset.ofHoursMinutes(c == '-' ? -hours : hours, c == '-' ? -minutes : minutes);
+				} catch (DateTimeException e) {
+					throw error();
+				}
+			}
+			int start = position;
+			while (position < text.length() && text.charAt(position) != ' ') position++;
+			String name = text.substring(start, position);
+			if (name.equals("GMT") || name.equals("UTC")) return ZoneOffset.UTC; //$NON-NLS-1$ //$NON-NLS-2$
+			try {
+				return ZoneId.of(name, ZoneId.SHORT_IDS);
+			} catch (DateTimeException e) {
+				throw error();
+			}
+		}
+
+		/*
+		 * Parse the time of day in the form HH:mm:ss
+		 */
+		void nextTime() throws ParseException {
+			hour = nextNumber();
+			expect(':');
+			minute = nextNumber();
+			expect(':');
+			second = nextNumber();
+		}
+
+		/*
+		 * Return the time in milliseconds represented by the given date
+		 * and the time of day that was parsed.
+		 */
+		long toTime(int year, int month, int day, ZoneId zone) throws ParseException {
+			try {
+				return LocalDateTime.of(year, month, day, hour, minute, second).atZone(zone).toInstant().toEpochMilli();
+			} catch (DateTimeException e) {
+				throw error();
 			}
-		} catch(IndexOutOfBoundsException e) {
-			return TimeZone.getTimeZone("GMT");//$NON-NLS-1$
 		}
-		return TimeZone.getTimeZone("GMT");//$NON-NLS-1$
 	}
 }
@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.internal.ccvs.core.util;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+import org.eclipse.team.internal.ccvs.core.CVSTag;
+import org.eclipse.team.internal.ccvs.core.ICVSRepositoryLocation;
+import org.eclipse.team.internal.ccvs.core.resources.CVSEntryLineTag;
+
+/**
+ * Canonicalizes tags and arrays of tags so that equal tags share one instance.
+ * The log of a module repeats the same tags for most of its files and revisions
+ * and the entry lines of a project usually all contain the same sticky tag.
+ * <p>
+ * The instances are weakly referenced so a tag is released once it is no longer
+ * used. Tags are considered equal if they have the same class, name, branch
+ * revision and type. Canonical tags and arrays are shared and must not be modified.
+ * </p>
+ */
+public class CVSTagRegistry {
+
+	private static final CVSTagRegistry DEFAULT = new CVSTagRegistry();
+	private static final Map<ICVSRepositoryLocation, CVSTagRegistry> registries = new WeakHashMap<>();
+
+	private final Map<Object, Entry> entries = new HashMap<>();
+	private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+	/*
+	 * A weak reference to a canonical tag or array that knows its key so it can be
+	 * removed from the registry once the instance has been collected
+	 */
+	private static class Entry extends WeakReference<Object> {
+		private final Object key;
+		Entry(Object key, Object value, ReferenceQueue<Object> queue) {
+			super(value, queue);
+			this.key = key;
+		}
+	}
+
+	/*
+	 * The key of a tag. It must not reference the tag so the tag can be collected.
+	 */
+	private static class TagKey {
+		private final Class<?> kind;
+		private final String name;
+		private final String branchRevision;
+		private final int type;
+		TagKey(CVSTag tag) {
+			this.kind = tag.getClass();
+			this.name = tag.getName();
+			this.branchRevision = tag.getBranchRevision();
+			this.type = tag.getType();
+		}
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof TagKey)) return false;
+			TagKey key = (TagKey) other;
+			return kind == key.kind && type == key.type && Objects.equals(name, key.name)
+					&& Objects.equals(branchRevision, key.branchRevision);
+		}
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(name) * 31 + type;
+		}
+	}
+
+	/*
+	 * The key of an array of canonical tags. It references a copy of the array
+	 * so the canonical array can be collected.
+	 */
+	private static class ArrayKey {
+		private final CVSTag[] tags;
+		ArrayKey(CVSTag[] tags) {
+			this.tags = tags;
+		}
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof ArrayKey)) return false;
+			CVSTag[] otherTags = ((ArrayKey) other).tags;
+			if (tags.length != otherTags.length) return false;
+			for (int i = 0; i < tags.length; i++) {
+				// the elements are canonical
+				if (tags[i] != otherTags[i]) return false;
+			}
+			return true;
+		}
+		@Override
+		public int hashCode() {
+			int hash = 1;
+			for (CVSTag tag : tags) {
+				hash = 31 * hash + System.identityHashCode(tag);
+			}
+			return hash;
+		}
+	}
+
+	/**
+	 * Return the registry used for tags that are not specific to a repository
+	 * such as the tags found in entry lines.
+	 * @return the default registry
+	 */
+	public static CVSTagRegistry getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Return the registry for the tags of the given repository.
+	 * @param location a repository location
+	 * @return the registry for the tags of the repository
+	 */
+	public static CVSTagRegistry getRegistry(ICVSRepositoryLocation location) {
+		if (location == null) return DEFAULT;
+		synchronized (registries) {
+			CVSTagRegistry registry = registries.get(location);
+			if (registry == null) {
+				registry = new CVSTagRegistry();
+				registries.put(location, registry);
+			}
+			return registry;
+		}
+	}
+
+	/**
+	 * Return the canonical tag with the given name, branch revision and type.
+	 */
+	public CVSTag getTag(String name, String branchRevision, int type) {
+		return getTag(new CVSTag(name, branchRevision, type));
+	}
+
+	/**
+	 * Return the canonical tag for the given tag of an entry line.
+	 */
+	public CVSEntryLineTag getEntryLineTag(String entryLineTag) {
+		return (CVSEntryLineTag) getTag(new CVSEntryLineTag(entryLineTag));
+	}
+
+	/**
+	 * Return the canonical entry line tag for the given tag.
+	 */
+	public CVSEntryLineTag getEntryLineTag(CVSTag tag) {
+		return (CVSEntryLineTag) getTag(new CVSEntryLineTag(tag));
+	}
+
+	/**
+	 * Return the canonical tag that is equal to the given tag.
+	 * @param tag a tag
+	 * @return a tag of the same class with the same name, branch revision and type
+	 */
+	public synchronized CVSTag getTag(CVSTag tag) {
+		return (CVSTag) intern(new TagKey(tag), tag);
+	}
+
+	/**
+	 * Return a canonical array containing the canonical tags of the given array.
+	 * The returned array is shared and must not be modified.
+	 * @param tags an array of tags
+	 * @return the canonical array
+	 */
+	public synchronized CVSTag[] getTags(CVSTag[] tags) {
+		CVSTag[] canonicalTags = new CVSTag[tags.length];
+		for (int i = 0; i < tags.length; i++) {
+			canonicalTags[i] = (CVSTag) intern(new TagKey(tags[i]), tags[i]);
+		}
+		return (CVSTag[]) intern(new ArrayKey(canonicalTags), canonicalTags.clone());
+	}
+
+	private Object intern(Object key, Object value) {
+		expungeStaleEntries();
+		Entry entry = entries.get(key);
+		if (entry != null) {
+			Object canonical = entry.get();
+			if (canonical != null) return canonical;
+		}
+		entries.put(key, new Entry(key, value, queue));
+		return value;
+	}
+
+	private void expungeStaleEntries() {
+		Entry entry;
+		while ((entry = (Entry) queue.poll()) != null) {
+			// the entry may have been replaced after its value was collected
+			if (entries.get(entry.key) == entry) {
+				entries.remove(entry.key);
+			}
+		}
+	}
+}
@@ -0,0 +1,269 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.internal.ccvs.core.util;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.team.internal.ccvs.core.*;
+
+/**
+ * Caches the module information obtained from each repository: the expansions
+ * returned by the <code>expand-modules</code> request and the module definitions
+ * returned by <code>checkout -c</code>. Entries are reused for the number of minutes
+ * given by {@link CVSProviderPlugin#getModuleCacheTimeout()} and can be invalidated
+ * explicitly, for instance when the user refreshes the repositories view.
+ * <p>
+ * The cache is saved in the plugin state location when the plugin is stopped and
+ * loaded the first time it is used in the next session. Entries keep the time at
+ * which they were obtained so they expire across sessions.
+ * </p>
+ */
+public class ModuleCache {
+
+	private static final String CACHE_FILE = ".moduleCache"; //$NON-NLS-1$
+	private static final int CACHE_FILE_VERSION = 1;
+	private static final byte EXPANSION_RECORD = 1;
+	private static final byte DEFINITION_RECORD = 2;
+	// the key of the definitions of a location, which is never the key of an expansion
+	private static final String DEFINITIONS_KEY = ""; //$NON-NLS-1$
+
+	private static ModuleCache instance;
+
+	/*
+	 * The lines obtained from the server and the time at which they were obtained
+	 */
+	private static class Entry {
+		final long timestamp;
+		final String[] lines;
+		Entry(long timestamp, String[] lines) {
+			this.timestamp = timestamp;
+			this.lines = lines;
+		}
+	}
+
+	// location -> (module key -> expansions)
+	private final Map<String, Map<String, Entry>> expansions = new HashMap<>();
+	// location -> module definitions
+	private final Map<String, Entry> definitions = new HashMap<>();
+	private boolean loaded;
+	private boolean dirty;
+
+	public static synchronized ModuleCache getInstance() {
+		if (instance == null) {
+			instance = new ModuleCache();
+		}
+		return instance;
+	}
+
+	/**
+	 * Return the expansions of the given modules in the given repository or
+	 * <code>null</code> if they are not cached or have expired.
+	 * @param location a repository location
+	 * @param modules the modules, in the order they are sent to the server
+	 * @return the expansions or <code>null</code>
+	 */
+	public synchronized String[] getModuleExpansions(ICVSRepositoryLocation location, String[] modules) {
+		if (!isEnabled()) return null;
+		ensureLoaded();
+		Map<String, Entry> entries = expansions.get(getKey(location));
+		if (entries == null) return null;
+		return getLines(entries, getKey(modules));
+	}
+
+	/**
+	 * Record the expansions of the given modules in the given repository.
+	 */
+	public synchronized void setModuleExpansions(ICVSRepositoryLocation location, String[] modules, String[] moduleExpansions) {
+		if (!isEnabled() || modules.length == 0) return;
+		ensureLoaded();
+		expansions.computeIfAbsent(getKey(location), l -> new HashMap<>()).put(getKey(modules), new Entry(System.currentTimeMillis(), moduleExpansions.clone()));
+		dirty = true;
+	}
+
+	/**
+	 * Return the module definition strings of the given repository or
+	 * <code>null</code> if they are not cached or have expired.
+	 */
+	public synchronized String[] getModuleDefinitions(ICVSRepositoryLocation location) {
+		if (!isEnabled()) return null;
+		ensureLoaded();
+		return getLines(definitions, getKey(location));
+	}
+
+	/**
+	 * Record the module definition strings of the given repository.
+	 */
+	public synchronized void setModuleDefinitions(ICVSRepositoryLocation location, String[] moduleDefinitions) {
+		if (!isEnabled()) return;
+		ensureLoaded();
+		definitions.put(getKey(location), new Entry(System.currentTimeMillis(), moduleDefinitions.clone()));
+		dirty = true;
+	}
+
+	/**
+	 * Discard the module information cached for the given repository.
+	 */
+	public synchronized void invalidate(ICVSRepositoryLocation location) {
+		ensureLoaded();
+		String key = getKey(location);
+		if (expansions.remove(key) != null | definitions.remove(key) != null) {
+			dirty = true;
+		}
+	}
+
+	/**
+	 * Discard the module information cached for all repositories.
+	 */
+	public synchronized void clear() {
+		ensureLoaded();
+		if (!expansions.isEmpty() || !definitions.isEmpty()) {
+			expansions.clear();
+			definitions.clear();
+			dirty = true;
+		}
+	}
+
+	private String[] getLines(Map<String, Entry> entries, String key) {
+		Entry entry = entries.get(key);
+		if (entry == null) return null;
+		if (isExpired(entry)) {
+			entries.remove(key);
+			dirty = true;
+			return null;
+		}
+		return entry.lines.clone();
+	}
+
+	private static boolean isEnabled() {
+		return CVSProviderPlugin.getPlugin().getModuleCacheTimeout() > 0;
+	}
+
+	private static boolean isExpired(Entry entry) {
+		return isExpired(entry, System.currentTimeMillis());
+	}
+
+	private static boolean isExpired(Entry entry, long now) {
+		long age = now - entry.timestamp;
+		// an entry from the future means the clock was changed
+		return age < 0 || age >= CVSProviderPlugin.getPlugin().getModuleCacheTimeout() * 60000L;
+	}
+
+	private static String getKey(ICVSRepositoryLocation location) {
+		return location.getLocation(false);
+	}
+
+	private static String getKey(String[] modules) {
+		// module names cannot contain newlines
+		return String.join("\n", modules); //$NON-NLS-1$
+	}
+
+	private File getCacheFile() {
+		return CVSProviderPlugin.getPlugin().getStateLocation().append(CACHE_FILE).toFile();
+	}
+
+	private void ensureLoaded() {
+		if (loaded) return;
+		try {
+			load(getCacheFile());
+		} catch (IOException e) {
+			// The cache is only an optimization so start from scratch
+			expansions.clear();
+			definitions.clear();
+			CVSProviderPlugin.log(IStatus.WARNING, CVSMessages.ModuleCache_0, e);
+		}
+		loaded = true;
+	}
+
+	private void load(File file) throws IOException {
+		if (!file.exists()) return;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != CACHE_FILE_VERSION) return;
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				byte kind = in.readByte();
+				String location = in.readUTF();
+				String key = in.readUTF();
+				long timestamp = in.readLong();
+				String[] lines = new String[in.readInt()];
+				for (int j = 0; j < lines.length; j++) {
+					lines[j] = in.readUTF();
+				}
+				Entry entry = new Entry(timestamp, lines);
+				if (isExpired(entry)) continue;
+				if (kind == EXPANSION_RECORD) {
+					expansions.computeIfAbsent(location, l -> new HashMap<>()).put(key, entry);
+				} else if (kind == DEFINITION_RECORD) {
+					definitions.put(location, entry);
+				} else {
+					throw new IOException();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Save the cache to the plugin state location. Expired entries are dropped.
+	 */
+	public synchronized void save() {
+		if (!loaded || !dirty) return;
+		File file = getCacheFile();
+		File tempFile = new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+		try {
+			// drop the expired entries before writing the count
+			long now = System.currentTimeMillis();
+			for (Map<String, Entry> entries : expansions.values()) {
+				entries.values().removeIf(entry -> isExpired(entry, now));
+			}
+			expansions.values().removeIf(Map::isEmpty);
+			definitions.values().removeIf(entry -> isExpired(entry, now));
+			int count = definitions.size();
+			for (Map<String, Entry> entries : expansions.values()) {
+				count += entries.size();
+			}
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+				out.writeInt(CACHE_FILE_VERSION);
+				out.writeInt(count);
+				for (Map.Entry<String, Map<String, Entry>> locationEntry : expansions.entrySet()) {
+					for (Map.Entry<String, Entry> entry : locationEntry.getValue().entrySet()) {
+						write(out, EXPANSION_RECORD, locationEntry.getKey(), entry.getKey(), entry.getValue());
+					}
+				}
+				for (Map.Entry<String, Entry> entry : definitions.entrySet()) {
+					write(out, DEFINITION_RECORD, entry.getKey(), DEFINITIONS_KEY, entry.getValue());
+				}
+			}
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			dirty = false;
+		} catch (IOException e) {
+			tempFile.delete();
+			CVSProviderPlugin.log(IStatus.WARNING, CVSMessages.ModuleCache_1, e);
+		}
+	}
+
+	private static void write(DataOutputStream out, byte kind, String location, String key, Entry entry) throws IOException {
+		out.writeByte(kind);
+		out.writeUTF(location);
+		out.writeUTF(key);
+		out.writeLong(entry.timestamp);
+		out.writeInt(entry.lines.length);
+		for (String line : entry.lines) {
+			out.writeUTF(line);
+		}
+	}
+}
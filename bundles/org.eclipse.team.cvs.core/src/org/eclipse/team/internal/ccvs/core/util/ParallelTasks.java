@@ -0,0 +1,290 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.internal.ccvs.core.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.*;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobGroup;
+import org.eclipse.team.internal.ccvs.core.CVSException;
+
+/**
+ * Runs the tasks of an operation concurrently in jobs. The tasks are added to job
+ * groups that bound how many of them run at once. The thread that owns the monitor
+ * of the operation then joins the tasks, reporting their progress and handling
+ * their results as they complete.
+ * <p>
+ * A failure does not cancel the other tasks. Once a task fails or {@link #stop()}
+ * is called, the tasks that have not started are skipped but the running tasks are
+ * allowed to finish, and {@link #join()} throws the first failure. The monitors of
+ * the tasks are only canceled when the monitor of the operation is.
+ * </p>
+ * @param <T> the type of the results of the tasks
+ */
+public class ParallelTasks<T> {
+
+	/**
+	 * A task run in a job
+	 */
+	public interface Task<T> {
+		/**
+		 * Run the task. The monitor may be used from the thread running the task only.
+		 * @param monitor a monitor whose work is reported to the monitor of the operation
+		 * @return the result of the task or <code>null</code>
+		 * @throws CoreException if the task fails
+		 */
+		T run(IProgressMonitor monitor) throws CoreException;
+	}
+
+	/**
+	 * Handles the results of the tasks on the thread that joins them
+	 */
+	public interface ResultHandler<T> {
+		void handleResult(T result);
+	}
+
+	// the longest time the joining thread waits before checking the monitor of the operation
+	private static final long REPORT_INTERVAL = 100;
+
+	private final String name;
+	private final IProgressMonitor monitor;
+	private final ResultHandler<T> handler;
+	private volatile boolean canceled;
+
+	// the following are guarded by this
+	private final List<T> results = new ArrayList<>();
+	private int running;
+	private boolean stopped;
+	private Throwable failure;
+	private double worked;
+	private double reported;
+	private String subTask;
+
+	/**
+	 * Create a set of tasks that report to the given monitor
+	 * @param name the name of the jobs running the tasks
+	 * @param monitor the monitor of the operation, owned by the calling thread
+	 * @param handler the handler of the results of the tasks or <code>null</code>
+	 */
+	public ParallelTasks(String name, IProgressMonitor monitor, ResultHandler<T> handler) {
+		this.name = name;
+		this.monitor = monitor;
+		this.handler = handler;
+	}
+
+	/**
+	 * Return a group in which at most the given number of tasks run at once
+	 * @param maxWorkers the number of tasks of the group that may run at once
+	 * @return a job group for {@link #submit(JobGroup, int, Task)}
+	 */
+	public JobGroup newGroup(int maxWorkers) {
+		return new JobGroup(name, Math.max(1, maxWorkers), 0);
+	}
+
+	/**
+	 * Schedule a task. The task is skipped if the operation is canceled or stopped
+	 * before it starts.
+	 * @param group the group that bounds the number of concurrent tasks
+	 * @param work the amount of work of the monitor of the operation used by the task
+	 * @param task the task
+	 */
+	public void submit(JobGroup group, int work, final Task<T> task) {
+		if (monitor.isCanceled())
+			canceled = true;
+		synchronized (this) {
+			if (canceled || stopped) {
+				worked += work;
+				return;
+			}
+			running++;
+		}
+		final TaskMonitor taskMonitor = new TaskMonitor(work);
+		Job job = new Job(name) {
+			@Override
+			protected IStatus run(IProgressMonitor jobMonitor) {
+				T result = null;
+				Throwable error = null;
+				if (!canceled && !isStopped()) {
+					try {
+						result = task.run(taskMonitor);
+					} catch (OperationCanceledException e) {
+						// The operation was canceled
+					} catch (CoreException | RuntimeException | Error e) {
+						error = e;
+					}
+				}
+				taskMonitor.done();
+				completed(result, error);
+				// Failures are reported by join
+				return Status.OK_STATUS;
+			}
+		};
+		job.setSystem(true);
+		job.setJobGroup(group);
+		job.schedule();
+	}
+
+	/**
+	 * Do not start the tasks that have not started yet. The running tasks are allowed
+	 * to finish.
+	 */
+	public synchronized void stop() {
+		stopped = true;
+	}
+
+	/**
+	 * Return whether the tasks were stopped because a task failed or {@link #stop()} was called
+	 */
+	public synchronized boolean isStopped() {
+		return stopped;
+	}
+
+	/**
+	 * Return whether the operation was canceled while the tasks were running
+	 */
+	public boolean isCanceled() {
+		return canceled;
+	}
+
+	/**
+	 * Wait for the submitted tasks to complete, reporting their progress and handling
+	 * their results. Cancellation of the monitor of the operation is forwarded to the
+	 * running tasks but does not cause an exception: callers check {@link #isCanceled()}.
+	 * @throws CVSException the first failure of a task
+	 */
+	public void join() throws CVSException {
+		boolean interrupted = false;
+		boolean done;
+		do {
+			List<T> completed;
+			double work;
+			String task;
+			synchronized (this) {
+				if (running > 0 && results.isEmpty()) {
+					try {
+						wait(REPORT_INTERVAL);
+					} catch (InterruptedException e) {
+						interrupted = true;
+						canceled = true;
+					}
+				}
+				completed = new ArrayList<>(results);
+				results.clear();
+				work = worked - reported;
+				reported = worked;
+				task = subTask;
+				subTask = null;
+				done = running == 0;
+			}
+			if (monitor.isCanceled())
+				canceled = true;
+			if (task != null)
+				monitor.subTask(task);
+			if (work > 0)
+				monitor.internalWorked(work);
+			if (handler != null) {
+				for (T result : completed) {
+					handler.handleResult(result);
+				}
+			}
+		} while (!done);
+		if (interrupted)
+			Thread.currentThread().interrupt();
+		Throwable error;
+		synchronized (this) {
+			error = failure;
+		}
+		if (error instanceof CoreException)
+			throw CVSException.wrapException((CoreException)error);
+		if (error instanceof RuntimeException)
+			throw (RuntimeException)error;
+		if (error instanceof Error)
+			throw (Error)error;
+	}
+
+	private synchronized void completed(T result, Throwable error) {
+		running--;
+		if (result != null)
+			results.add(result);
+		if (error != null) {
+			if (failure == null)
+				failure = error;
+			stopped = true;
+		}
+		notifyAll();
+	}
+
+	/*
+	 * The monitor of a task. The work of the task is scaled to the work of the
+	 * monitor of the operation it was given when it was submitted.
+	 */
+	private class TaskMonitor extends NullProgressMonitor {
+		private double remaining;
+		private double scale;
+
+		TaskMonitor(int work) {
+			remaining = work;
+		}
+
+		@Override
+		public void beginTask(String name, int totalWork) {
+			if (scale == 0 && totalWork > 0)
+				scale = remaining / totalWork;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return canceled;
+		}
+
+		@Override
+		public void setTaskName(String name) {
+			subTask(name);
+		}
+
+		@Override
+		public void subTask(String name) {
+			synchronized (ParallelTasks.this) {
+				subTask = name;
+			}
+		}
+
+		@Override
+		public void worked(int work) {
+			internalWorked(work);
+		}
+
+		@Override
+		public void internalWorked(double work) {
+			report(work * scale);
+		}
+
+		@Override
+		public void done() {
+			report(remaining);
+		}
+
+		private void report(double work) {
+			work = Math.min(work, remaining);
+			if (work <= 0)
+				return;
+			remaining -= work;
+			synchronized (ParallelTasks.this) {
+				worked += work;
+			}
+		}
+	}
+}
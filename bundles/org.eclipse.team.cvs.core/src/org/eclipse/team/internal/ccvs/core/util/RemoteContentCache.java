@@ -0,0 +1,400 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.internal.ccvs.core.util;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.team.internal.ccvs.core.*;
+
+/**
+ * Caches the contents of remote file revisions on disk so that a revision is only
+ * transferred from the server once, whatever operation needs it. The contents of a
+ * CVS revision never change so entries do not expire. Instead, the least recently
+ * used entries are removed once the size of the cache exceeds the number of megabytes
+ * given by {@link CVSProviderPlugin#getRemoteContentCacheSize()}.
+ * <p>
+ * Each entry is stored in its own file in the plugin state location, named after a
+ * digest of its key. The file holds the key, the entry line received with the contents
+ * and the contents. Entries are written to a temporary file that is then moved into place
+ * so a reader never sees a partial entry and the cache can be used concurrently by
+ * several operations. The files are read when the cache is first used in a session and
+ * their modification time records the order in which they were used.
+ * </p>
+ * <p>
+ * The number of clients reading each entry is counted and an entry is not deleted while
+ * its contents are open. Such an entry is kept when the cache is trimmed or cleared.
+ * </p>
+ */
+public class RemoteContentCache {
+
+	private static final String CACHE_DIRECTORY = ".remoteContents"; //$NON-NLS-1$
+	private static final String ENTRY_FILE_EXTENSION = ".rev"; //$NON-NLS-1$
+	private static final String TEMP_FILE_EXTENSION = ".tmp"; //$NON-NLS-1$
+	private static final int ENTRY_FILE_VERSION = 1;
+	private static final int BUFFER_SIZE = 8192;
+
+	private static RemoteContentCache instance;
+
+	/**
+	 * The contents of a cached revision and the entry line that was received with them.
+	 * The contents must be closed by the client.
+	 */
+	public static class CachedContents {
+		private final byte[] syncBytes;
+		private final InputStream contents;
+		CachedContents(byte[] syncBytes, InputStream contents) {
+			this.syncBytes = syncBytes;
+			this.contents = contents;
+		}
+		public byte[] getSyncBytes() {
+			return syncBytes;
+		}
+		public InputStream getContents() {
+			return contents;
+		}
+	}
+
+	// entry file name -> size of the file, from the least to the most recently used
+	private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true /* access order */);
+	private long size;
+	private boolean loaded;
+	// entry file name -> number of clients reading the file
+	private final Map<String, Integer> openCounts = new HashMap<>();
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+
+	public static synchronized RemoteContentCache getInstance() {
+		if (instance == null) {
+			instance = new RemoteContentCache();
+		}
+		return instance;
+	}
+
+	/**
+	 * Return whether the contents of the given revision can be cached. Only numbered
+	 * revisions on the trunk or a branch are immutable: the added revision and branch
+	 * numbers (which have an odd number of segments or a 0 segment) are not.
+	 * @param revision a revision or <code>null</code>
+	 * @return whether the contents of the revision can be cached
+	 */
+	public static boolean isCacheable(String revision) {
+		if (revision == null) return false;
+		Revision parsed = Revision.valueOf(revision);
+		if (parsed == null || parsed.getSegmentCount() % 2 != 0) return false;
+		for (int i = 0; i < parsed.getSegmentCount(); i++) {
+			if (parsed.getSegment(i) == 0) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Return the key of the contents of a file revision. The tag through which the
+	 * contents are fetched is part of the key since the <code>$Name$</code> keyword
+	 * expands to it, as is the line ending mode since the line endings of text
+	 * contents are converted when they are received.
+	 * @param location the repository of the file
+	 * @param path the repository relative path of the file
+	 * @param revision the revision of the file
+	 * @param keywordMode the keyword substitution mode requested for the file
+	 * @param tag the tag used to fetch the contents or <code>null</code> if they are
+	 * fetched by revision
+	 * @return the key of the contents
+	 */
+	public static String getKey(ICVSRepositoryLocation location, String path, String revision, String keywordMode, CVSTag tag) {
+		String tagName = tag == null || tag.getType() == CVSTag.HEAD ? "" : tag.getName(); //$NON-NLS-1$
+		String lineEnd = CVSProviderPlugin.getPlugin().isUsePlatformLineend() ? "platform" : "lf"; //$NON-NLS-1$ //$NON-NLS-2$
+		// none of the parts contain newlines
+		return location.getLocation(false) + '\n' + path + '\n' + revision + '\n' + keywordMode + '\n' + tagName + '\n' + lineEnd;
+	}
+
+	/**
+	 * Return the cached contents with the given key or <code>null</code> if they are
+	 * not cached or the cache is disabled.
+	 * @param key a key obtained from {@link #getKey(ICVSRepositoryLocation, String, String, String, CVSTag)}
+	 * @return the cached contents or <code>null</code>
+	 */
+	public CachedContents getContents(String key) {
+		if (!isEnabled()) return null;
+		final String name = getFileName(key);
+		synchronized (this) {
+			ensureLoaded();
+			if (entries.get(name) == null) {
+				misses.incrementAndGet();
+				return null;
+			}
+			// the file is not deleted until the contents are closed
+			opened(name);
+		}
+		File file = new File(getCacheDirectory(), name);
+		DataInputStream in = null;
+		try {
+			in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE) {
+				private boolean closed;
+				@Override
+				public void close() throws IOException {
+					try {
+						super.close();
+					} finally {
+						if (!closed) {
+							closed = true;
+							closed(name);
+						}
+					}
+				}
+			});
+			if (in.readInt() != ENTRY_FILE_VERSION || !in.readUTF().equals(key)) {
+				throw new IOException();
+			}
+			int length = in.readInt();
+			if (length < 0 || length > file.length()) {
+				throw new IOException();
+			}
+			byte[] syncBytes = new byte[length];
+			in.readFully(syncBytes);
+			// record the use for the next session
+			file.setLastModified(System.currentTimeMillis());
+			hits.incrementAndGet();
+			return new CachedContents(syncBytes, in);
+		} catch (IOException | RuntimeException e) {
+			// The entry was removed concurrently or is unreadable
+			if (in != null) {
+				try {
+					in.close();
+				} catch (IOException e1) {
+					// ignore
+				}
+			} else {
+				closed(name);
+			}
+			remove(name);
+			misses.incrementAndGet();
+			return null;
+		}
+	}
+
+	/**
+	 * Cache the contents of a file revision, replacing the least recently used
+	 * entries if the cache becomes too large. Failures are logged since the cache
+	 * is only an optimization.
+	 * @param key a key obtained from {@link #getKey(ICVSRepositoryLocation, String, String, String, CVSTag)}
+	 * @param syncBytes the entry line received with the contents
+	 * @param contents the contents, which are read but not closed
+	 */
+	public void setContents(String key, byte[] syncBytes, InputStream contents) {
+		long maxSize = getMaxSize();
+		if (maxSize <= 0) return;
+		File directory = getCacheDirectory();
+		File tempFile = null;
+		try {
+			if (!directory.isDirectory() && !directory.mkdirs()) {
+				throw new IOException(directory.getPath());
+			}
+			tempFile = File.createTempFile("entry", TEMP_FILE_EXTENSION, directory); //$NON-NLS-1$
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile), BUFFER_SIZE))) {
+				out.writeInt(ENTRY_FILE_VERSION);
+				out.writeUTF(key);
+				out.writeInt(syncBytes.length);
+				out.write(syncBytes);
+				byte[] buffer = new byte[BUFFER_SIZE];
+				int read;
+				while ((read = contents.read(buffer)) != -1) {
+					out.write(buffer, 0, read);
+				}
+			}
+			long length = tempFile.length();
+			if (length > maxSize) {
+				tempFile.delete();
+				return;
+			}
+			String name = getFileName(key);
+			Files.move(tempFile.toPath(), new File(directory, name).toPath(), StandardCopyOption.REPLACE_EXISTING);
+			synchronized (this) {
+				ensureLoaded();
+				Long previous = entries.put(name, length);
+				size += length - (previous == null ? 0 : previous);
+				evict(maxSize);
+			}
+		} catch (IOException e) {
+			if (tempFile != null) {
+				tempFile.delete();
+			}
+			CVSProviderPlugin.log(IStatus.WARNING, CVSMessages.RemoteContentCache_0, e);
+		}
+	}
+
+	/**
+	 * Remove all the entries of the cache except those whose contents are open.
+	 */
+	public synchronized void clear() {
+		ensureLoaded();
+		File directory = getCacheDirectory();
+		for (Iterator<Map.Entry<String, Long>> iter = entries.entrySet().iterator(); iter.hasNext();) {
+			Map.Entry<String, Long> entry = iter.next();
+			if (!isOpen(entry.getKey())) {
+				iter.remove();
+				size -= entry.getValue();
+				new File(directory, entry.getKey()).delete();
+			}
+		}
+	}
+
+	/**
+	 * Return the number of requests that were answered from the cache.
+	 */
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	/**
+	 * Return the number of requests that were not answered from the cache.
+	 */
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	/**
+	 * Return the number of entries that were removed to keep the cache within its size.
+	 */
+	public long getEvictionCount() {
+		return evictions.get();
+	}
+
+	/**
+	 * Return the number of cached revisions.
+	 */
+	public synchronized int getEntryCount() {
+		ensureLoaded();
+		return entries.size();
+	}
+
+	/**
+	 * Return the number of bytes used by the cached revisions.
+	 */
+	public synchronized long getSize() {
+		ensureLoaded();
+		return size;
+	}
+
+	private void evict(long maxSize) {
+		File directory = getCacheDirectory();
+		for (Iterator<Map.Entry<String, Long>> iter = entries.entrySet().iterator(); size > maxSize && iter.hasNext();) {
+			Map.Entry<String, Long> entry = iter.next();
+			if (isOpen(entry.getKey())) {
+				// the entry is evicted once it is no longer read, if the cache is still too large
+				continue;
+			}
+			iter.remove();
+			size -= entry.getValue();
+			new File(directory, entry.getKey()).delete();
+			evictions.incrementAndGet();
+		}
+	}
+
+	private synchronized void remove(String name) {
+		if (isOpen(name)) return;
+		Long length = entries.remove(name);
+		if (length != null) {
+			size -= length;
+			new File(getCacheDirectory(), name).delete();
+		}
+	}
+
+	private void opened(String name) {
+		openCounts.merge(name, 1, Integer::sum);
+	}
+
+	private synchronized void closed(String name) {
+		Integer count = openCounts.get(name);
+		if (count == null) return;
+		if (count > 1) {
+			openCounts.put(name, count - 1);
+			return;
+		}
+		openCounts.remove(name);
+		// entries that were kept while they were read may now be evicted
+		long maxSize = getMaxSize();
+		if (maxSize > 0) {
+			evict(maxSize);
+		} else {
+			// the cache was disabled while the entry was read
+			remove(name);
+		}
+	}
+
+	private boolean isOpen(String name) {
+		return openCounts.containsKey(name);
+	}
+
+	private void ensureLoaded() {
+		if (loaded) return;
+		loaded = true;
+		File[] files = getCacheDirectory().listFiles();
+		if (files == null) return;
+		List<File> entryFiles = new ArrayList<>();
+		for (File file : files) {
+			String name = file.getName();
+			if (name.endsWith(ENTRY_FILE_EXTENSION)) {
+				entryFiles.add(file);
+			} else if (name.endsWith(TEMP_FILE_EXTENSION)) {
+				// left by a session that did not finish writing an entry
+				file.delete();
+			}
+		}
+		entryFiles.sort(Comparator.comparingLong(File::lastModified));
+		for (File file : entryFiles) {
+			long length = file.length();
+			entries.put(file.getName(), length);
+			size += length;
+		}
+		// the size may have been reduced since the last session
+		long maxSize = getMaxSize();
+		if (maxSize > 0) {
+			evict(maxSize);
+		}
+	}
+
+	/**
+	 * Return whether the cache is enabled, i.e. its size is not 0.
+	 */
+	public static boolean isEnabled() {
+		return getMaxSize() > 0;
+	}
+
+	private static long getMaxSize() {
+		return CVSProviderPlugin.getPlugin().getRemoteContentCacheSize() * 1024L * 1024L;
+	}
+
+	private static File getCacheDirectory() {
+		return CVSProviderPlugin.getPlugin().getStateLocation().append(CACHE_DIRECTORY).toFile();
+	}
+
+	private static String getFileName(String key) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-1"); //$NON-NLS-1$
+			return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8))) + ENTRY_FILE_EXTENSION;
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform supports SHA-1
+			throw new IllegalStateException(e);
+		}
+	}
+}
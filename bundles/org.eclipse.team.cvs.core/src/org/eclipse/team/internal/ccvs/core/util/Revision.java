@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.internal.ccvs.core.util;
+
+import java.util.Arrays;
+
+/**
+ * An immutable CVS revision number such as <code>1.4</code> or <code>1.4.2.3</code>.
+ * The number is parsed once into its numeric segments so that revisions can be
+ * compared and navigated without parsing their strings again.
+ * <p>
+ * Revisions are ordered segment by segment and, if one revision is a prefix of
+ * the other, the shorter revision comes first. {@link #compare(String, String)}
+ * applies the same ordering to revision strings without creating revisions.
+ * </p>
+ */
+public final class Revision implements Comparable<Revision> {
+
+	private final String revision;
+	private final int[] segments;
+
+	private Revision(String revision, int[] segments) {
+		this.revision = revision;
+		this.segments = segments;
+	}
+
+	/**
+	 * Return the revision with the given number or <code>null</code> if the
+	 * string is not a revision number (i.e. dot separated non-negative integers).
+	 * @param revision a revision number
+	 * @return the revision or <code>null</code>
+	 */
+	public static Revision valueOf(String revision) {
+		int length = revision.length();
+		if (length == 0) return null;
+		int count = 1;
+		for (int i = 0; i < length; i++) {
+			if (revision.charAt(i) == '.') count++;
+		}
+		int[] segments = new int[count];
+		int index = 0;
+		for (int segment = 0; segment < count; segment++) {
+			int start = index;
+			long value = 0;
+			for (; index < length && revision.charAt(index) != '.'; index++) {
+				char ch = revision.charAt(index);
+				if (ch < '0' || ch > '9') return null;
+				value = value * 10 + (ch - '0');
+				if (value > Integer.MAX_VALUE) return null;
+			}
+			if (index == start) return null;
+			segments[segment] = (int)value;
+			// skip the separator
+			index++;
+		}
+		return new Revision(revision, segments);
+	}
+
+	/**
+	 * Compare two revision strings in the order of {@link #compareTo(Revision)}
+	 * without creating revisions. A <code>null</code> revision comes first. Strings
+	 * that are not revision numbers are compared as strings.
+	 * @param revision1 a revision number or <code>null</code>
+	 * @param revision2 a revision number or <code>null</code>
+	 * @return a negative number, zero or a positive number as the first revision
+	 * is earlier than, equal to or later than the second
+	 */
+	public static int compare(String revision1, String revision2) {
+		if (revision1 == null && revision2 == null) return 0;
+		if (revision1 == null) return -1;
+		if (revision2 == null) return 1;
+		int length1 = revision1.length();
+		int length2 = revision2.length();
+		int index1 = 0;
+		int index2 = 0;
+		boolean more1 = length1 > 0;
+		boolean more2 = length2 > 0;
+		while (more1 && more2) {
+			long value1 = 0;
+			int start = index1;
+			for (; index1 < length1 && revision1.charAt(index1) != '.'; index1++) {
+				char ch = revision1.charAt(index1);
+				if (ch < '0' || ch > '9' || value1 > Integer.MAX_VALUE) return revision1.compareTo(revision2);
+				value1 = value1 * 10 + (ch - '0');
+			}
+			if (index1 == start) return revision1.compareTo(revision2);
+			long value2 = 0;
+			start = index2;
+			for (; index2 < length2 && revision2.charAt(index2) != '.'; index2++) {
+				char ch = revision2.charAt(index2);
+				if (ch < '0' || ch > '9' || value2 > Integer.MAX_VALUE) return revision1.compareTo(revision2);
+				value2 = value2 * 10 + (ch - '0');
+			}
+			if (index2 == start) return revision1.compareTo(revision2);
+			if (value1 != value2) {
+				return value1 > value2 ? 1 : -1;
+			}
+			more1 = index1 < length1;
+			more2 = index2 < length2;
+			// skip the separators
+			index1++;
+			index2++;
+		}
+		if (more1 == more2) return 0;
+		return more1 ? 1 : -1;
+	}
+
+	/**
+	 * Return the number of segments of the revision.
+	 */
+	public int getSegmentCount() {
+		return segments.length;
+	}
+
+	/**
+	 * Return the segment of the revision at the given index.
+	 */
+	public int getSegment(int index) {
+		return segments[index];
+	}
+
+	/**
+	 * Return a copy of the segments of the revision.
+	 */
+	public int[] getSegments() {
+		return segments.clone();
+	}
+
+	/**
+	 * Return whether the revision is on a branch, i.e. has more than two segments.
+	 */
+	public boolean isBranchRevision() {
+		return segments.length > 2;
+	}
+
+	/**
+	 * Return the revision whose last segment is one less than that of this revision.
+	 * The predecessor of <code>1.1</code> is <code>1.0</code>, which does not exist.
+	 */
+	public Revision getPredecessor() {
+		int[] predecessor = segments.clone();
+		predecessor[predecessor.length - 1]--;
+		return new Revision(toString(predecessor, predecessor.length), predecessor);
+	}
+
+	/**
+	 * Return the revision this revision branched from, obtained by removing the
+	 * trailing segments of the revision so that it is shorter and has an even
+	 * number of segments. For instance, <code>1.4.2.3</code> and <code>1.4.2</code>
+	 * branched from <code>1.4</code>.
+	 * @return the revision the branch started from or <code>null</code> if this
+	 * revision is not on a branch
+	 */
+	public Revision getBranchPoint() {
+		if (!isBranchRevision()) return null;
+		int length = segments.length - 1;
+		if (length % 2 == 1) {
+			length--;
+		}
+		return new Revision(toString(segments, length), Arrays.copyOf(segments, length));
+	}
+
+	/**
+	 * Return whether this revision is later than the given revision on the same
+	 * branch. This is the case if the given revision is a prefix of this revision
+	 * or if the revisions differ only by their last segment and that of this revision
+	 * is greater. If the given revision is longer, its additional segments are ignored
+	 * (this can occur as the result of an import).
+	 * @param other a revision
+	 * @return whether this revision is later on the same branch
+	 */
+	public boolean isLaterOnSameBranch(Revision other) {
+		int[] otherSegments = other.segments;
+		if (otherSegments.length < segments.length) {
+			// If there are more segments in this revision then all
+			// the leading segments must match
+			for (int i = 0; i < otherSegments.length; i++) {
+				if (segments[i] != otherSegments[i]) return false;
+			}
+			return true;
+		}
+		// The last segment must differ and all others must be the same.
+		int last = segments.length - 1;
+		for (int i = 0; i < last; i++) {
+			if (segments[i] != otherSegments[i]) return false;
+		}
+		return otherSegments[last] < segments[last];
+	}
+
+	@Override
+	public int compareTo(Revision other) {
+		int[] otherSegments = other.segments;
+		int length = Math.min(segments.length, otherSegments.length);
+		for (int i = 0; i < length; i++) {
+			if (segments[i] != otherSegments[i]) {
+				return segments[i] > otherSegments[i] ? 1 : -1;
+			}
+		}
+		return Integer.compare(segments.length, otherSegments.length);
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) return true;
+		if (!(other instanceof Revision)) return false;
+		return Arrays.equals(segments, ((Revision)other).segments);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(segments);
+	}
+
+	@Override
+	public String toString() {
+		return revision;
+	}
+
+	private static String toString(int[] segments, int length) {
+		StringBuilder buffer = new StringBuilder(length * 3);
+		for (int i = 0; i < length; i++) {
+			if (i > 0) {
+				buffer.append('.');
+			}
+			buffer.append(segments[i]);
+		}
+		return buffer.toString();
+	}
+}
@@ -158,6 +158,8 @@ public class SyncFileChangeListener implements IResourceChangeListener {
 			}			
 		} catch(CoreException e) {
 			CVSProviderPlugin.log(e);
+		} finally {
+			SyncFileWriter.deltaProcessed(event.getDelta());
 		}
 	}
 
@@ -188,11 +190,12 @@ public class SyncFileChangeListener implements IResourceChangeListener {
 	}
 
 	/*
-	 * Consider non-existing resources as being recently deleted and thus modified, and resources
-	 * with modification stamps that differ from when the CVS plugin last modified the meta-file.
+	 * Consider non-existing resources that were not deleted by the CVS plugin as being recently
+	 * deleted and thus modified, and resources with modification stamps that differ from when the
+	 * CVS plugin last modified the meta-file.
 	 */
 	protected boolean isModifiedBy3rdParty(IResource resource) {
-		if(!resource.exists()) return true;
+		if(!resource.exists()) return !SyncFileWriter.isDeletedByUs(resource);
 		long modStamp = resource.getModificationStamp();
 		Long whenWeWrote;
 		try {
@@ -64,6 +64,9 @@ public class SyncFileWriter {
 	// key for saving the mod stamp for each written meta file
 	public static final QualifiedName MODSTAMP_KEY = new QualifiedName("org.eclipse.team.cvs.core", "meta-file-modtime"); //$NON-NLS-1$ //$NON-NLS-2$
 	
+	// the meta files deleted by us whose removal has not been reported in a delta yet
+	private static final Set<IPath> deletedMetaFiles = Collections.synchronizedSet(new HashSet<>());
+	
 	/**
 	 * Reads the CVS/Entries, CVS/Entries.log and CVS/Permissions files from the
 	 * specified folder and returns ResourceSyncInfo instances for the data stored therein.
@@ -72,6 +75,14 @@ public class SyncFileWriter {
 	public static byte[][] readAllResourceSync(IContainer parent) throws CVSException {
 		IFolder cvsSubDir = getCVSSubdirectory(parent);
 		
+		// use the contents recorded in the index if the metafiles have not changed
+		SyncStateIndex index = SyncStateIndex.getInstance();
+		byte[][] indexed = index.getResourceSync(parent, cvsSubDir);
+		if (indexed != null) {
+			return indexed;
+		}
+		long[] stamps = SyncStateIndex.getStamps(cvsSubDir, SyncStateIndex.RESOURCE_SYNC_FILES);
+		
 		if (!folderExists(cvsSubDir)){
 			return null;
 		}
@@ -120,6 +131,7 @@ public class SyncFileWriter {
 			ResourceSyncInfo info = (ResourceSyncInfo) iter.next();
 			result[i++] = info.getBytes();
 		}
+		index.setResourceSync(parent, stamps, result, entriesLog == null ? 0 : entriesLog.length);
 		return result;
 	}
 	
@@ -140,10 +152,32 @@ public class SyncFileWriter {
 
 	public static void writeAllResourceSync(IContainer parent, byte[][] infos) throws CVSException {
 		try {
+			IFolder cvsSubDir = createCVSSubdirectory(parent);
+			
+			// If the contents of the metafiles are known, only record the changes in Entries.Log
+			SyncStateIndex index = SyncStateIndex.getInstance();
+			SyncStateIndex.Record previous = index.getResourceSyncRecord(parent, cvsSubDir);
+			if (previous != null && previous.logLines >= 0) {
+				String[] changes = getEntriesLogChanges(previous.contents, infos);
+				if (changes.length == 0) {
+					// nothing has changed since the metafiles were read or written
+					return;
+				}
+				int logLines = previous.logLines + changes.length;
+				// Rewrite Entries instead once the log gets long compared to it
+				if (logLines < infos.length / 2) {
+					if (Policy.DEBUG_METAFILE_CHANGES) {
+						System.out.println("Appending to Entries.Log file for folder " + parent.getFullPath()); //$NON-NLS-1$
+					}
+					appendLines(cvsSubDir.getFile(ENTRIES_LOG), changes);
+					index.setResourceSync(parent, SyncStateIndex.getStamps(cvsSubDir, SyncStateIndex.RESOURCE_SYNC_FILES), infos, logLines);
+					return;
+				}
+			}
+			
 			if (Policy.DEBUG_METAFILE_CHANGES) {
 				System.out.println("Writing Entries file for folder " + parent.getFullPath()); //$NON-NLS-1$
 			}
-			IFolder cvsSubDir = createCVSSubdirectory(parent);
 
 			// format file contents
 			String[] entries = new String[infos.length];
@@ -156,11 +190,111 @@ public class SyncFileWriter {
 			writeLines(cvsSubDir.getFile(ENTRIES), entries);
 
 			// delete Entries.log
-			cvsSubDir.getFile(ENTRIES_LOG).delete(IResource.NONE, null);
+			IFile log = cvsSubDir.getFile(ENTRIES_LOG);
+			if (isWrittenByUs(log)) {
+				// record the removal of a log we appended to so that it is not mistaken for a 3rd party change
+				deleteMetaFile(log);
+			} else {
+				log.delete(IResource.NONE, null);
+			}
+			
+			index.setResourceSync(parent, SyncStateIndex.getStamps(cvsSubDir, SyncStateIndex.RESOURCE_SYNC_FILES), infos, 0);
 		} catch(CoreException e) {
 			throw CVSException.wrapException(e);
 		}
 	}
+	
+	/*
+	 * Return the Entries.Log lines that turn the previous entries into the given entries.
+	 */
+	private static String[] getEntriesLogChanges(byte[][] previous, byte[][] infos) throws CVSException {
+		Map<String, byte[]> previousInfos = new HashMap<>();
+		for (byte[] info : previous) {
+			previousInfos.put(ResourceSyncInfo.getName(info), info);
+		}
+		List<String> changes = new ArrayList<>();
+		for (byte[] info : infos) {
+			byte[] previousInfo = previousInfos.remove(ResourceSyncInfo.getName(info));
+			if (previousInfo == null || !Arrays.equals(previousInfo, info)) {
+				// an added entry replaces any previous entry with the same name
+				changes.add(ADD_TAG + new String(info));
+			}
+		}
+		for (byte[] info : previousInfos.values()) {
+			changes.add(REMOVE_TAG + new String(info));
+		}
+		return changes.toArray(new String[changes.size()]);
+	}
+	
+	/*
+	 * Delete the given meta file, recording that its removal was done by us.
+	 */
+	private static void deleteMetaFile(final IFile file) throws CoreException {
+		// See writeLines(IFile, String[]) for why this is done in a runnable
+		ResourcesPlugin.getWorkspace().run((IWorkspaceRunnable) monitor -> {
+			deletedMetaFiles.add(file.getFullPath());
+			try {
+				file.delete(IResource.NONE, null);
+			} catch (CoreException e) {
+				deletedMetaFiles.remove(file.getFullPath());
+				throw e;
+			}
+		}, ResourcesPlugin.getWorkspace().getRuleFactory().deleteRule(file), 0, null);
+	}
+	
+	/**
+	 * Return whether the given meta file was deleted by us since its removal was last
+	 * reported. The removal is only reported once.
+	 */
+	static boolean isDeletedByUs(IResource resource) {
+		return deletedMetaFiles.remove(resource.getFullPath());
+	}
+	
+	/**
+	 * Forget the meta files deleted by us whose removal is reported in the given delta.
+	 * This is done once the delta has been processed so that removals that were not
+	 * visited (e.g. in a project that is not accessible) are not remembered forever.
+	 */
+	static void deltaProcessed(IResourceDelta delta) {
+		if (delta == null) return;
+		synchronized (deletedMetaFiles) {
+			for (Iterator<IPath> iter = deletedMetaFiles.iterator(); iter.hasNext();) {
+				// the removal of a folder or project is reported without its members
+				for (IPath path = iter.next(); path.segmentCount() > 0; path = path.removeLastSegments(1)) {
+					IResourceDelta member = delta.findMember(path);
+					if (member != null && member.getKind() == IResourceDelta.REMOVED) {
+						iter.remove();
+						break;
+					}
+				}
+			}
+		}
+	}
+	
+	/*
+	 * Return whether the given metafile exists and was last modified by us.
+	 */
+	private static boolean isWrittenByUs(IFile file) throws CoreException {
+		if (!file.exists()) return false;
+		Long stamp = (Long)file.getSessionProperty(MODSTAMP_KEY);
+		return stamp != null && stamp.longValue() == file.getModificationStamp();
+	}
+	/**
+	 * Returns the modification stamps of the metafiles that the resource sync and the
+	 * folder sync of the specified folder are read from. The stamps returned by two calls
+	 * are equal only if none of these metafiles was modified in between. If the folder
+	 * does not have a CVS subdirectory then <code>null</code> is returned.
+	 */
+	public static long[] getMetaFileStamps(IContainer folder) {
+		IFolder cvsSubDir = getCVSSubdirectory(folder);
+		long[] resourceStamps = SyncStateIndex.getModificationStamps(cvsSubDir, SyncStateIndex.RESOURCE_SYNC_FILES);
+		long[] folderStamps = SyncStateIndex.getModificationStamps(cvsSubDir, SyncStateIndex.FOLDER_SYNC_FILES);
+		if (resourceStamps == null || folderStamps == null) return null;
+		long[] stamps = Arrays.copyOf(resourceStamps, resourceStamps.length + folderStamps.length);
+		System.arraycopy(folderStamps, 0, stamps, resourceStamps.length, folderStamps.length);
+		return stamps;
+	}
+	
 	/**
 	 * Reads the CVS/Root, CVS/Repository, CVS/Tag, and CVS/Entries.static files from
 	 * the specified folder and returns a FolderSyncInfo instance for the data stored therein.
@@ -169,6 +303,14 @@ public class SyncFileWriter {
 	public static FolderSyncInfo readFolderSync(IContainer folder) throws CVSException {
 		IFolder cvsSubDir = getCVSSubdirectory(folder);
 		
+		// use the contents recorded in the index if the metafiles have not changed
+		SyncStateIndex index = SyncStateIndex.getInstance();
+		FolderSyncInfo indexed = index.getFolderSync(folder, cvsSubDir);
+		if (indexed != null) {
+			return indexed;
+		}
+		long[] stamps = SyncStateIndex.getStamps(cvsSubDir, SyncStateIndex.FOLDER_SYNC_FILES);
+		
 		if (!folderExists(cvsSubDir)){
 			return null;
 		}
@@ -209,7 +351,9 @@ public class SyncFileWriter {
 		boolean isStatic = (staticDir != null);
 		
 		// return folder sync
-		return new FolderSyncInfo(repository, root, cvsTag, isStatic);		
+		FolderSyncInfo info = new FolderSyncInfo(repository, root, cvsTag, isStatic);
+		index.setFolderSync(folder, stamps, info);
+		return info;
 	}
 	
 	/**
@@ -261,6 +405,8 @@ public class SyncFileWriter {
 					staticFile.delete(IResource.NONE, null);
 				}
 			}
+			
+			SyncStateIndex.getInstance().setFolderSync(folder, SyncStateIndex.getStamps(cvsSubDir, SyncStateIndex.FOLDER_SYNC_FILES), info);
 		} catch(CoreException e) {
 			throw CVSException.wrapException(e);
 		}
@@ -312,6 +458,7 @@ public class SyncFileWriter {
 			if (Policy.DEBUG_METAFILE_CHANGES) {
 				System.out.println("Deleting CVS directory from " + folder.getFullPath()); //$NON-NLS-1$
 			}
+			SyncStateIndex.getInstance().remove(folder);
 			getCVSSubdirectory(folder).delete(IResource.NONE, null);
 		} catch(CoreException e) {
 			throw CVSException.wrapException(e);
@@ -580,6 +727,8 @@ public class SyncFileWriter {
 	 * compatibility with other CVS clients.
 	 */
 	private static void writeLines(final IFile file, final String[] contents) throws CVSException {
+		// the file is created again so a pending removal is no longer ours to report
+		deletedMetaFiles.remove(file.getFullPath());
 		try {
 			// The creation of sync files has to be in a runnable in order for the resulting delta
 			// to include the MODSTAMP value. If not in a runnable then create/setContents
@@ -604,6 +753,33 @@ public class SyncFileWriter {
 		}
 	}
 	
+	/*
+	 * Appends the lines to the specified file, creating it if it does not exist.
+	 */
+	private static void appendLines(final IFile file, final String[] contents) throws CVSException {
+		// the file is created again so a pending removal is no longer ours to report
+		deletedMetaFiles.remove(file.getFullPath());
+		try {
+			// See writeLines(IFile, String[]) for why this is done in a runnable
+			ResourcesPlugin.getWorkspace().run((IWorkspaceRunnable) monitor -> {
+				try {
+					ByteArrayOutputStream os = new ByteArrayOutputStream();
+					writeLinesToStreamAndClose(os, contents);
+					if(!file.exists()) {
+						file.create(new ByteArrayInputStream(os.toByteArray()), IResource.FORCE /*don't keep history but do force*/, null);
+					} else {
+						file.appendContents(new ByteArrayInputStream(os.toByteArray()), IResource.FORCE /*don't keep history but do force*/, null);
+					}
+					file.setSessionProperty(MODSTAMP_KEY, Long.valueOf(file.getModificationStamp()));
+				} catch(CVSException e) {
+					throw new CoreException(e.getStatus());
+				}
+			}, ResourcesPlugin.getWorkspace().getRuleFactory().createRule(file), 0, null);
+		} catch (CoreException e) {
+			throw CVSException.wrapException(e);
+		}
+	}
+	
 	private static void writeLinesToStreamAndClose(OutputStream os, String[] contents) throws CVSException {
 		byte[] lineEnd = getLineDelimiter();
 		try {
@@ -0,0 +1,414 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.internal.ccvs.core.util;
+
+import java.io.*;
+import java.net.URI;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileInfo;
+import org.eclipse.core.resources.*;
+import org.eclipse.core.runtime.*;
+import org.eclipse.team.internal.ccvs.core.*;
+import org.eclipse.team.internal.ccvs.core.syncinfo.FolderSyncInfo;
+
+/**
+ * A persistent index of the sync information read from the CVS metafiles of
+ * the folders in the workspace. The index is saved in the plugin state location
+ * when the plugin is stopped and loaded in bulk the first time sync information is
+ * read in the next session.
+ * <p>
+ * Each entry records the modification stamps of the metafiles it was read from.
+ * These are the stamps that {@link SyncFileWriter} records under
+ * {@link SyncFileWriter#MODSTAMP_KEY} when it writes a metafile. An entry is only
+ * used while the stamps are unchanged so the metafiles of a folder are only read
+ * again if they were modified (by us or by a third party) since the entry was recorded.
+ * Checking the stamps does not access the file system. The last modification time
+ * and length of the metafiles are also recorded and are compared once when an entry
+ * loaded from the index file is first used. This catches a modification made while
+ * the workspace was not running that a refresh has not yet reported.
+ * </p>
+ */
+public class SyncStateIndex {
+
+	private static final String INDEX_FILE = ".syncStateIndex"; //$NON-NLS-1$
+	private static final int INDEX_FILE_VERSION = 3;
+	private static final byte RESOURCE_SYNC_RECORD = 1;
+	private static final byte FOLDER_SYNC_RECORD = 2;
+
+	// the metafiles the resource sync and the folder sync of a folder are read from
+	static final String[] RESOURCE_SYNC_FILES = new String[] { SyncFileWriter.ENTRIES, SyncFileWriter.ENTRIES_LOG };
+	static final String[] FOLDER_SYNC_FILES = new String[] { SyncFileWriter.ROOT, SyncFileWriter.REPOSITORY, SyncFileWriter.TAG, SyncFileWriter.STATIC };
+
+	private static SyncStateIndex instance;
+
+	/*
+	 * The contents of a folder's metafiles and the stamps they had when read.
+	 * For resource sync, the number of lines in the Entries.Log file is also known if the
+	 * record was created in this session (it is not persisted). A record loaded from
+	 * the index file is not verified until its file system attributes have been compared.
+	 */
+	static class Record {
+		final long[] stamps;
+		final byte[][] contents;
+		final int logLines;
+		volatile boolean verified;
+		Record(long[] stamps, byte[][] contents, int logLines, boolean verified) {
+			this.stamps = stamps;
+			this.contents = contents;
+			this.logLines = logLines;
+			this.verified = verified;
+		}
+	}
+
+	private final Map<String, Record> resourceSync = new ConcurrentHashMap<>();
+	private final Map<String, Record> folderSync = new ConcurrentHashMap<>();
+	private volatile boolean loaded;
+	private volatile boolean dirty;
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	public static synchronized SyncStateIndex getInstance() {
+		if (instance == null) {
+			instance = new SyncStateIndex();
+		}
+		return instance;
+	}
+
+	/**
+	 * Return the stamps of the given metafiles of the CVS subdirectory. The first
+	 * stamps are the workspace modification stamps of the metafiles, in the given order.
+	 * They are followed by the last modification times and then by the lengths of the
+	 * metafiles in the file system. The stamps must be obtained before the metafiles
+	 * are read so that a modification made while the files are being read invalidates
+	 * the entry. Only the modification stamps are compared on each use of an entry.
+	 *
+	 * @param cvsSubDir the CVS subdirectory
+	 * @param names the names of the metafiles
+	 * @return the stamps or <code>null</code> if the CVS subdirectory is not known to the workspace
+	 */
+	static long[] getStamps(IFolder cvsSubDir, String[] names) {
+		if (!cvsSubDir.exists()) return null;
+		long[] stamps = new long[names.length * 3];
+		for (int i = 0; i < names.length; i++) {
+			IFile file = cvsSubDir.getFile(names[i]);
+			stamps[i] = file.getModificationStamp();
+			if (stamps[i] == IResource.NULL_STAMP) continue;
+			URI location = file.getLocationURI();
+			if (location == null) continue;
+			try {
+				IFileInfo info = EFS.getStore(location).fetchInfo();
+				stamps[names.length + i] = info.getLastModified();
+				stamps[2 * names.length + i] = info.getLength();
+			} catch (CoreException e) {
+				// The file system attributes are not compared
+			}
+		}
+		return stamps;
+	}
+
+	/**
+	 * Return the workspace modification stamps of the given metafiles of the CVS
+	 * subdirectory, in the given order. Unlike {@link #getStamps(IFolder, String[])}
+	 * this does not access the file system.
+	 *
+	 * @param cvsSubDir the CVS subdirectory
+	 * @param names the names of the metafiles
+	 * @return the stamps or <code>null</code> if the CVS subdirectory is not known to the workspace
+	 */
+	static long[] getModificationStamps(IFolder cvsSubDir, String[] names) {
+		if (!cvsSubDir.exists()) return null;
+		long[] stamps = new long[names.length];
+		for (int i = 0; i < names.length; i++) {
+			stamps[i] = cvsSubDir.getFile(names[i]).getModificationStamp();
+		}
+		return stamps;
+	}
+
+	/**
+	 * Return the resource sync bytes recorded for the given folder or <code>null</code>
+	 * if there are none or if the metafiles have changed since they were recorded.
+	 */
+	byte[][] getResourceSync(IContainer parent, IFolder cvsSubDir) {
+		Record record = getResourceSyncRecord(parent, cvsSubDir);
+		return record == null ? null : record.contents;
+	}
+
+	/**
+	 * Return the resource sync record of the given folder or <code>null</code>
+	 * if there is none or if the metafiles have changed since it was recorded.
+	 */
+	Record getResourceSyncRecord(IContainer parent, IFolder cvsSubDir) {
+		return getValidRecord(resourceSync, parent, cvsSubDir, RESOURCE_SYNC_FILES);
+	}
+
+	/**
+	 * Record the resource sync bytes of the given folder.
+	 * @param stamps the stamps obtained using {@link #getStamps(IFolder, String[])} before the metafiles were read or written
+	 * @param logLines the number of lines in the Entries.Log file
+	 */
+	void setResourceSync(IContainer parent, long[] stamps, byte[][] infos, int logLines) {
+		ensureLoaded();
+		if (stamps == null || stamps[0] == IResource.NULL_STAMP || infos == null) {
+			// Only record folders whose Entries file is known to the workspace
+			resourceSync.remove(getKey(parent));
+		} else {
+			resourceSync.put(getKey(parent), new Record(stamps, infos, logLines, true));
+		}
+		dirty = true;
+	}
+
+	/**
+	 * Return the folder sync recorded for the given folder or <code>null</code>
+	 * if there is none or if the metafiles have changed since it was recorded.
+	 */
+	FolderSyncInfo getFolderSync(IContainer folder, IFolder cvsSubDir) {
+		Record record = getValidRecord(folderSync, folder, cvsSubDir, FOLDER_SYNC_FILES);
+		if (record == null) return null;
+		try {
+			return FolderSyncInfo.getFolderSyncInfo(record.contents[0]);
+		} catch (CVSException e) {
+			folderSync.remove(getKey(folder));
+			return null;
+		}
+	}
+
+	/**
+	 * Record the folder sync of the given folder.
+	 * @param stamps the stamps obtained using {@link #getStamps(IFolder, String[])} before the metafiles were read or written
+	 */
+	void setFolderSync(IContainer folder, long[] stamps, FolderSyncInfo info) {
+		ensureLoaded();
+		byte[] bytes = null;
+		if (stamps != null && stamps[0] != IResource.NULL_STAMP && stamps[1] != IResource.NULL_STAMP && info != null) {
+			try {
+				bytes = info.getBytes();
+			} catch (CVSException e) {
+				// Don't record it
+			}
+		}
+		if (bytes == null) {
+			folderSync.remove(getKey(folder));
+		} else {
+			folderSync.put(getKey(folder), new Record(stamps, new byte[][] { bytes }, 0, true));
+		}
+		dirty = true;
+	}
+
+	/**
+	 * Forget everything recorded for the given folder.
+	 */
+	void remove(IContainer folder) {
+		ensureLoaded();
+		String key = getKey(folder);
+		resourceSync.remove(key);
+		folderSync.remove(key);
+		dirty = true;
+	}
+
+	private Record getValidRecord(Map<String, Record> records, IContainer container, IFolder cvsSubDir, String[] names) {
+		ensureLoaded();
+		String key = getKey(container);
+		Record record = records.get(key);
+		if (record == null) {
+			misses.incrementAndGet();
+			return null;
+		}
+		boolean valid;
+		if (record.verified) {
+			valid = hasModificationStamps(cvsSubDir, names, record.stamps);
+		} else {
+			// the file system attributes are only compared the first time a loaded record is used
+			valid = Arrays.equals(getStamps(cvsSubDir, names), record.stamps);
+			record.verified = valid;
+		}
+		if (!valid) {
+			records.remove(key);
+			dirty = true;
+			misses.incrementAndGet();
+			return null;
+		}
+		hits.incrementAndGet();
+		return record;
+	}
+
+	/*
+	 * Return whether the metafiles still have the modification stamps at the start of the given stamps.
+	 */
+	private static boolean hasModificationStamps(IFolder cvsSubDir, String[] names, long[] stamps) {
+		if (!cvsSubDir.exists()) return false;
+		for (int i = 0; i < names.length; i++) {
+			if (cvsSubDir.getFile(names[i]).getModificationStamp() != stamps[i]) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Return the number of times sync information was found in the index.
+	 * @return the number of hits
+	 */
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	/**
+	 * Return the number of times sync information was not found in the index
+	 * or was no longer valid and had to be read from the metafiles.
+	 * @return the number of misses
+	 */
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	private String getKey(IContainer container) {
+		return container.getFullPath().toString();
+	}
+
+	private File getIndexFile() {
+		return CVSProviderPlugin.getPlugin().getStateLocation().append(INDEX_FILE).toFile();
+	}
+
+	private void ensureLoaded() {
+		if (loaded) return;
+		synchronized (this) {
+			if (loaded) return;
+			try {
+				// The stamps recorded by a session that crashed may not match the restored workspace
+				if (!CVSProviderPlugin.getPlugin().crashOnLastRun()) {
+					load(getIndexFile());
+				}
+			} catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+				// The index is only a cache so start from scratch
+				resourceSync.clear();
+				folderSync.clear();
+				CVSProviderPlugin.log(IStatus.WARNING, CVSMessages.SyncStateIndex_0, e);
+			}
+			loaded = true;
+		}
+	}
+
+	/*
+	 * Read the index file in a single read and then parse all records from memory.
+	 * The file is not memory mapped since a mapped file cannot be replaced on
+	 * some platforms until the mapping is garbage collected.
+	 */
+	private void load(File file) throws IOException {
+		if (!file.exists()) return;
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			ByteBuffer buffer = ByteBuffer.allocate((int)channel.size());
+			while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+				// keep reading
+			}
+			buffer.flip();
+			if (buffer.getInt() != INDEX_FILE_VERSION) return;
+			int count = buffer.getInt();
+			for (int i = 0; i < count; i++) {
+				byte kind = buffer.get();
+				String key = new String(readBytes(buffer), StandardCharsets.UTF_8);
+				long[] stamps = new long[buffer.get()];
+				for (int j = 0; j < stamps.length; j++) {
+					stamps[j] = buffer.getLong();
+				}
+				byte[][] contents = new byte[buffer.getInt()][];
+				for (int j = 0; j < contents.length; j++) {
+					contents[j] = readBytes(buffer);
+				}
+				Record record = new Record(stamps, contents, -1, false);
+				if (kind == RESOURCE_SYNC_RECORD) {
+					resourceSync.put(key, record);
+				} else if (kind == FOLDER_SYNC_RECORD) {
+					folderSync.put(key, record);
+				} else {
+					throw new IOException();
+				}
+			}
+		}
+	}
+
+	private static byte[] readBytes(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return bytes;
+	}
+
+	/**
+	 * Save the index to the plugin state location. Records whose metafiles have
+	 * changed or no longer exist are dropped.
+	 */
+	public void save() {
+		if (!loaded || !dirty) return;
+		File file = getIndexFile();
+		File tempFile = new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+				out.writeInt(INDEX_FILE_VERSION);
+				// drop the records that are no longer valid before writing the count
+				purge(resourceSync, RESOURCE_SYNC_FILES);
+				purge(folderSync, FOLDER_SYNC_FILES);
+				Map<String, Record> resourceRecords = new HashMap<>(resourceSync);
+				Map<String, Record> folderRecords = new HashMap<>(folderSync);
+				out.writeInt(resourceRecords.size() + folderRecords.size());
+				write(out, RESOURCE_SYNC_RECORD, resourceRecords);
+				write(out, FOLDER_SYNC_RECORD, folderRecords);
+			}
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			dirty = false;
+		} catch (IOException e) {
+			tempFile.delete();
+			CVSProviderPlugin.log(IStatus.WARNING, CVSMessages.SyncStateIndex_1, e);
+		}
+	}
+
+	private void purge(Map<String, Record> records, String[] names) {
+		IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+		for (Iterator<Map.Entry<String, Record>> iter = records.entrySet().iterator(); iter.hasNext();) {
+			Map.Entry<String, Record> entry = iter.next();
+			IResource resource = root.findMember(entry.getKey());
+			// a record that was never used is kept unverified, to be checked in the next session
+			if (!(resource instanceof IContainer)
+					|| !hasModificationStamps(((IContainer)resource).getFolder(new Path(SyncFileWriter.CVS_DIRNAME)), names, entry.getValue().stamps)) {
+				iter.remove();
+			}
+		}
+	}
+
+	private void write(DataOutputStream out, byte kind, Map<String, Record> records) throws IOException {
+		for (Map.Entry<String, Record> entry : records.entrySet()) {
+			Record record = entry.getValue();
+			out.writeByte(kind);
+			writeBytes(out, entry.getKey().getBytes(StandardCharsets.UTF_8));
+			out.writeByte(record.stamps.length);
+			for (long stamp : record.stamps) {
+				out.writeLong(stamp);
+			}
+			out.writeInt(record.contents.length);
+			for (byte[] bytes : record.contents) {
+				writeBytes(out, bytes);
+			}
+		}
+	}
+
+	private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+}
@@ -506,22 +506,19 @@ public class Util {
 	}
 
 	/**
-	 * @param localRevision
-	 * @return
+	 * Return the numeric segments of the given revision or an empty array
+	 * if it is not a revision number.
+	 * @param localRevision a revision number
+	 * @return the segments of the revision
+	 * @see Revision
 	 */
 	public static int[] convertToDigits(String localRevision) {
-		try {
-			String digitStrings[] = localRevision.split("\\."); //$NON-NLS-1$
-			int[] digits = new int[digitStrings.length];
-			for (int i = 0; i < digitStrings.length; i++) {
-				String digitString = digitStrings[i];
-				digits[i] = Integer.parseInt(digitString);
-			}
-			return digits;
-		} catch (NumberFormatException e) {
-			CVSProviderPlugin.log(CVSException.wrapException(e));
+		Revision revision = Revision.valueOf(localRevision);
+		if (revision == null) {
+			CVSProviderPlugin.log(CVSException.wrapException(new NumberFormatException(localRevision)));
 			return new int[0];
 		}
+		return revision.getSegments();
 	}
 
 	public static String toTruncatedPath(ICVSStorage file, ICVSFolder localRoot, int i) {
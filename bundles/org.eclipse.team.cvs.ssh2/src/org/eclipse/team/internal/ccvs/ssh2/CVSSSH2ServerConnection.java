@@ -33,7 +33,6 @@ import org.eclipse.team.internal.core.streams.TimeoutInputStream;
 import org.eclipse.team.internal.core.streams.TimeoutOutputStream;
 
 import com.jcraft.jsch.Channel;
-import com.jcraft.jsch.ChannelExec;
 import com.jcraft.jsch.JSchException;
 
 /**
@@ -97,8 +96,12 @@ public class CVSSSH2ServerConnection implements IServerConnection {
 					}
 				}
 			} finally {
-				if (channel != null)
+				if (channel != null) {
 					channel.disconnect();
+					channel = null;
+					// allow another connection to open a channel on the session
+					session.releaseChannel();
+				}
 			}
 		}
 	}
@@ -140,28 +143,34 @@ public class CVSSSH2ServerConnection implements IServerConnection {
 			while (firstTime || tryAgain) {
 				tryAgain = false; // reset the try again flag
 				session = JSchSession.getSession(location, location.getUsername(), password, location.getHost(), location.getPort(), monitor);
-				channel = session.getSession().openChannel("exec"); //$NON-NLS-1$
-				((ChannelExec) channel).setCommand(COMMAND);
-				channel_out = channel.getOutputStream();
-				channel_in = channel.getInputStream();
+				channel = session.openExecChannel(COMMAND, monitor);
+				boolean connected = false;
 				try {
+					channel_out = channel.getOutputStream();
+					channel_in = channel.getInputStream();
 					channel.connect();
+					connected = true;
 				} catch (JSchException ee) {
 					// This strange logic is here due to how the JSch client shares sessions.
 					// It is possible that we have obtained a session that thinks it is connected
 					// but is not. Channel connection only works if the session is connected so the
 					// above channel connect may fail because the session is down. For this reason,
 					// we want to retry if the connection fails.
-					try {
-						if (firstTime && (isSessionDownError(ee) || isChannelNotOpenError(ee))) {
-							tryAgain = true;
-						}
-						if (!tryAgain) {
-							throw ee;
-						}
-					} finally {
-						// Always dispose of the current session when a failure occurs so we can start from scratch
-						session.dispose();
+					if (firstTime && (isSessionDownError(ee) || isChannelNotOpenError(ee))) {
+						tryAgain = true;
+					}
+					if (!tryAgain) {
+						throw ee;
+					}
+				} finally {
+					if (!connected) {
+						// release the channel whatever the failure so the session can open another one
+						channel = null;
+						session.releaseChannel();
+						// Dispose of the current session when a failure occurs so we can start from scratch
+						// unless the connections that share it still have channels open
+						if (!session.isInUse())
+							session.dispose();
 					}
 				}
 				firstTime = false; // the first time is done
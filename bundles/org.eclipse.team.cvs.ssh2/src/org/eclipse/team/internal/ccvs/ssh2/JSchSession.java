@@ -16,6 +16,9 @@ package org.eclipse.team.internal.ccvs.ssh2;
 
 import java.util.Enumeration;
 import java.util.Hashtable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
@@ -27,12 +30,28 @@ import org.eclipse.team.internal.ccvs.core.*;
 
 import com.jcraft.jsch.*;
 
+/**
+ * An authenticated SSH session that is shared by the connections to the same
+ * user, host and port. Each connection runs the CVS server in its own exec channel
+ * so concurrent CVS sessions are multiplexed over one SSH connection and only the
+ * first connection pays for the key exchange and the authentication.
+ */
 class JSchSession {
 	private static final int SSH_DEFAULT_PORT = 22;
+	// the number of channels that may be open at once on a session. OpenSSH
+	// refuses more than 10 by default (MaxSessions).
+	private static final int MAX_CHANNELS = 8;
+	// the interval in milliseconds at which an idle session is checked and the
+	// number of unanswered checks after which it is considered down
+	private static final int SERVER_ALIVE_INTERVAL = 30000;
+	private static final int SERVER_ALIVE_COUNT_MAX = 3;
 	private static Hashtable<String, JSchSession> pool = new Hashtable<>();
+	// used to ensure that only one session is created at a time for a key
+	private static final ConcurrentHashMap<String, Object> locks = new ConcurrentHashMap<>();
 
 	private final Session session;
-	private final ICVSRepositoryLocation location;
+	private final String key;
+	private final Semaphore channels = new Semaphore(MAX_CHANNELS, true);
 
 	protected static int getCVSTimeoutInMillis() {
 		//return CVSProviderPlugin.getPlugin().getTimeout() * 1000;
@@ -52,60 +71,64 @@ class JSchSession {
 
 		String key = getPoolKey(username, hostname, actualPort);
 
-		try {
-			JSchSession jschSession = pool.get(key);
-			if (jschSession != null && !jschSession.getSession().isConnected()) {
-				pool.remove(key);
-				jschSession = null;
-			}
-
-			if (jschSession == null) {
-				IJSchService service = getJSchService();
-				IJSchLocation jlocation=service.getLocation(username, hostname, actualPort);
-
-				// As for the connection method "pserverssh2",
-				// there is not a place to save the given password for ssh2.
-				if (!location.getMethod().getName().equals("pserverssh2")) { //$NON-NLS-1$
-					IPasswordStore pstore = new IPasswordStore() {
-						@Override
-						public void clear(IJSchLocation l) {
-							location.flushUserInfo();
-						}
-						@Override
-						public boolean isCached(IJSchLocation l) {
-							return location.getUserInfoCached();
-						}
-						@Override
-						public void update(IJSchLocation l) {
-							location.setPassword(l.getPassword());
-							location.setAllowCaching(true);
-						}
-					};
-					jlocation.setPasswordStore(pstore);
+		// Connections that are opened concurrently wait for the first one to
+		// connect the session instead of creating sessions of their own
+		synchronized (locks.computeIfAbsent(key, k -> new Object())) {
+			try {
+				JSchSession jschSession = pool.get(key);
+				if (jschSession != null && !jschSession.getSession().isConnected()) {
+					pool.remove(key);
+					jschSession = null;
 				}
-				jlocation.setComment(NLS.bind(CVSSSH2Messages.JSchSession_3, new String[] {location.toString()}));
 
-				Session session = null;
-				try {
-					session = createSession(service, jlocation, password, monitor);
-				} catch (JSchException e) {
-					throw e;
+				if (jschSession == null) {
+					IJSchService service = getJSchService();
+					IJSchLocation jlocation=service.getLocation(username, hostname, actualPort);
+
+					// As for the connection method "pserverssh2",
+					// there is not a place to save the given password for ssh2.
+					if (!location.getMethod().getName().equals("pserverssh2")) { //$NON-NLS-1$
+						IPasswordStore pstore = new IPasswordStore() {
+							@Override
+							public void clear(IJSchLocation l) {
+								location.flushUserInfo();
+							}
+							@Override
+							public boolean isCached(IJSchLocation l) {
+								return location.getUserInfoCached();
+							}
+							@Override
+							public void update(IJSchLocation l) {
+								location.setPassword(l.getPassword());
+								location.setAllowCaching(true);
+							}
+						};
+						jlocation.setPasswordStore(pstore);
+					}
+					jlocation.setComment(NLS.bind(CVSSSH2Messages.JSchSession_3, new String[] {location.toString()}));
+
+					Session session = null;
+					try {
+						session = createSession(service, jlocation, password, monitor);
+					} catch (JSchException e) {
+						throw e;
+					}
+					if (session == null)
+						throw new JSchException(CVSSSH2Messages.JSchSession_4);
+					if (session.getTimeout() != location.getTimeout() * 1000)
+						session.setTimeout(location.getTimeout() * 1000);
+					JSchSession schSession = new JSchSession(session, key);
+					pool.put(key, schSession);
+					return schSession;
 				}
-				if (session == null)
-					throw new JSchException(CVSSSH2Messages.JSchSession_4);
-				if (session.getTimeout() != location.getTimeout() * 1000)
-					session.setTimeout(location.getTimeout() * 1000);
-				JSchSession schSession = new JSchSession(session, location);
-				pool.put(key, schSession);
-				return schSession;
-			}
-			return jschSession;
-		} catch (JSchException e) {
-			pool.remove(key);
-			if(e.toString().contains("Auth cancel")){  //$NON-NLS-1$
-				throw new OperationCanceledException();
+				return jschSession;
+			} catch (JSchException e) {
+				pool.remove(key);
+				if(e.toString().contains("Auth cancel")){  //$NON-NLS-1$
+					throw new OperationCanceledException();
+				}
+				throw e;
 			}
-			throw e;
 		}
 	}
 
@@ -116,6 +139,10 @@ class JSchSession {
 		session.setTimeout(getCVSTimeoutInMillis());
 		if (password != null)
 			session.setPassword(password);
+		// Keep the session alive between commands and detect when it is down so
+		// it is not reused after the server has dropped it
+		session.setServerAliveInterval(SERVER_ALIVE_INTERVAL);
+		session.setServerAliveCountMax(SERVER_ALIVE_COUNT_MAX);
 		service.connect(session, getCVSTimeoutInMillis(), monitor);
 		return session;
 	}
@@ -128,10 +155,6 @@ class JSchSession {
 		return username + "@" + hostname + ":" + port; //$NON-NLS-1$ //$NON-NLS-2$
 	}
 
-	private static String getPoolKey(ICVSRepositoryLocation location){
-		return location.getUsername() + "@" + location.getHost() + ":" + getPort(location); //$NON-NLS-1$ //$NON-NLS-2$
-	}
-
 	private static int getPort(ICVSRepositoryLocation location) {
 		int port = location.getPort();
 		if (port == ICVSRepositoryLocation.USE_DEFAULT_PORT)
@@ -157,20 +180,61 @@ class JSchSession {
 		return getJSchService().getJSch();
 	}
 
-	private JSchSession(Session session, ICVSRepositoryLocation location) {
+	private JSchSession(Session session, String key) {
 		this.session = session;
-		this.location = location;
+		this.key = key;
 	}
 
 	public Session getSession() {
 		return session;
 	}
 
+	/**
+	 * Open an exec channel that runs the given command. The channel is not
+	 * connected. If the maximum number of channels are open, wait until one of
+	 * them is released. Each channel that is returned must be released with
+	 * <code>releaseChannel</code> once it is disconnected.
+	 */
+	public ChannelExec openExecChannel(String command, IProgressMonitor monitor) throws JSchException {
+		try {
+			while (!channels.tryAcquire(1, TimeUnit.SECONDS)) {
+				if (monitor.isCanceled())
+					throw new OperationCanceledException();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		}
+		try {
+			ChannelExec channel = (ChannelExec) session.openChannel("exec"); //$NON-NLS-1$
+			channel.setCommand(command);
+			return channel;
+		} catch (JSchException | RuntimeException e) {
+			channels.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Release a channel returned by <code>openExecChannel</code>.
+	 */
+	public void releaseChannel() {
+		channels.release();
+	}
+
+	/**
+	 * Return whether the session is connected and other connections have
+	 * channels open on it.
+	 */
+	public boolean isInUse() {
+		return session.isConnected() && channels.availablePermits() < MAX_CHANNELS;
+	}
+
 	public void dispose() {
 		if (session.isConnected()) {
 			session.disconnect();
 		}
-		pool.remove(getPoolKey(location));
+		pool.remove(key, this);
 	}
 
 }
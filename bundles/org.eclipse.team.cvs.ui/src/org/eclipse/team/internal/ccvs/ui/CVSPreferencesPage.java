@@ -474,6 +474,94 @@ public class CVSPreferencesPage extends PreferencePage implements IWorkbenchPref
 				}
 			}
 		};
+		new TextField(
+				textComposite, 
+				ICVSUIConstants.PREF_MAX_CHECKOUT_CONNECTIONS, 
+				CVSUIMessages.CVSPreferencesPage_57, 
+				null) {
+			@Override
+			protected void modifyText(Text text) {
+				try {
+					final int x = Integer.parseInt(text.getText());
+					if (x > 0) {
+						setErrorMessage(null);
+						setValid(true);
+					} else {
+						setErrorMessage(CVSUIMessages.CVSPreferencesPage_58); 
+						setValid(false);
+					}
+				} catch (NumberFormatException ex) {
+					setErrorMessage(CVSUIMessages.CVSPreferencesPage_59); 
+					setValid(false);
+				}
+			}
+		};
+		new TextField(
+				textComposite, 
+				ICVSUIConstants.PREF_MODULE_CACHE_TIMEOUT, 
+				CVSUIMessages.CVSPreferencesPage_60, 
+				null) {
+			@Override
+			protected void modifyText(Text text) {
+				try {
+					final int x = Integer.parseInt(text.getText());
+					if (x >= 0) {
+						setErrorMessage(null);
+						setValid(true);
+					} else {
+						setErrorMessage(CVSUIMessages.CVSPreferencesPage_61); 
+						setValid(false);
+					}
+				} catch (NumberFormatException ex) {
+					setErrorMessage(CVSUIMessages.CVSPreferencesPage_62); 
+					setValid(false);
+				}
+			}
+		};
+		new TextField(
+				textComposite, 
+				ICVSUIConstants.PREF_REMOTE_CONTENT_CACHE_SIZE, 
+				CVSUIMessages.CVSPreferencesPage_63, 
+				null) {
+			@Override
+			protected void modifyText(Text text) {
+				try {
+					final int x = Integer.parseInt(text.getText());
+					if (x >= 0) {
+						setErrorMessage(null);
+						setValid(true);
+					} else {
+						setErrorMessage(CVSUIMessages.CVSPreferencesPage_64); 
+						setValid(false);
+					}
+				} catch (NumberFormatException ex) {
+					setErrorMessage(CVSUIMessages.CVSPreferencesPage_65); 
+					setValid(false);
+				}
+			}
+		};
+		new TextField(
+				textComposite, 
+				ICVSUIConstants.PREF_MAX_SYNC_INFO_READERS, 
+				CVSUIMessages.CVSPreferencesPage_66, 
+				null) {
+			@Override
+			protected void modifyText(Text text) {
+				try {
+					final int x = Integer.parseInt(text.getText());
+					if (x > 0) {
+						setErrorMessage(null);
+						setValid(true);
+					} else {
+						setErrorMessage(CVSUIMessages.CVSPreferencesPage_67); 
+						setValid(false);
+					}
+				} catch (NumberFormatException ex) {
+					setErrorMessage(CVSUIMessages.CVSPreferencesPage_68); 
+					setValid(false);
+				}
+			}
+		};
 		
 		final ComboBox quietnessCombo = new IntegerComboBox(
 				textComposite, 
@@ -503,6 +591,8 @@ public class CVSPreferencesPage extends PreferencePage implements IWorkbenchPref
 				IHelpContextIds.PREF_COMPRESSION, 
 				COMPRESSION_LABELS, COMPRESSION_VALUES);
 		
+		new Checkbox(composite, ICVSUIConstants.PREF_USE_STREAM_COMPRESSION, CVSUIMessages.CVSPreferencesPage_56, IHelpContextIds.PREF_COMPRESSION);
+		
 		SWTUtils.createPreferenceLink((IWorkbenchPreferenceContainer) getContainer(), composite, CVSUIMessages.CVSPreferencesPage_52, CVSUIMessages.CVSPreferencesPage_53);
 		
 		SWTUtils.createPreferenceLink((IWorkbenchPreferenceContainer) getContainer(), composite, CVSUIMessages.CVSPreferencesPage_54, CVSUIMessages.CVSPreferencesPage_55);
@@ -610,8 +700,13 @@ public class CVSPreferencesPage extends PreferencePage implements IWorkbenchPref
 		CVSProviderPlugin.getPlugin().setReplaceUnmanaged(store.getBoolean(ICVSUIConstants.PREF_REPLACE_UNMANAGED));
 		CVSProviderPlugin.getPlugin().setPruneEmptyDirectories(store.getBoolean(ICVSUIConstants.PREF_PRUNE_EMPTY_DIRECTORIES));
 		CVSProviderPlugin.getPlugin().setTimeout(store.getInt(ICVSUIConstants.PREF_TIMEOUT));
+		CVSProviderPlugin.getPlugin().setMaxCheckoutConnections(store.getInt(ICVSUIConstants.PREF_MAX_CHECKOUT_CONNECTIONS));
+		CVSProviderPlugin.getPlugin().setMaxSyncInfoReaders(store.getInt(ICVSUIConstants.PREF_MAX_SYNC_INFO_READERS));
+		CVSProviderPlugin.getPlugin().setModuleCacheTimeout(store.getInt(ICVSUIConstants.PREF_MODULE_CACHE_TIMEOUT));
+		CVSProviderPlugin.getPlugin().setRemoteContentCacheSize(store.getInt(ICVSUIConstants.PREF_REMOTE_CONTENT_CACHE_SIZE));
 		CVSProviderPlugin.getPlugin().setQuietness(getQuietnessOptionFor(store.getInt(ICVSUIConstants.PREF_QUIETNESS)));
 		CVSProviderPlugin.getPlugin().setCompressionLevel(store.getInt(ICVSUIConstants.PREF_COMPRESSION_LEVEL));
+		CVSProviderPlugin.getPlugin().setUseStreamCompression(store.getBoolean(ICVSUIConstants.PREF_USE_STREAM_COMPRESSION));
 		CVSProviderPlugin.getPlugin().setDebugProtocol(store.getBoolean(ICVSUIConstants.PREF_DEBUG_PROTOCOL));
 		CVSProviderPlugin.getPlugin().setRepositoriesAreBinary(store.getBoolean(ICVSUIConstants.PREF_REPOSITORIES_ARE_BINARY));
 		KSubstOption oldKSubst = CVSProviderPlugin.getPlugin().getDefaultTextKSubstOption();
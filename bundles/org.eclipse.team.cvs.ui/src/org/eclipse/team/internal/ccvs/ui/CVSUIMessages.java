@@ -72,6 +72,19 @@ public class CVSUIMessages extends NLS {
 	public static String CVSPreferencesPage_53;
 	public static String CVSPreferencesPage_54;
 	public static String CVSPreferencesPage_55;
+	public static String CVSPreferencesPage_56;
+	public static String CVSPreferencesPage_57;
+	public static String CVSPreferencesPage_58;
+	public static String CVSPreferencesPage_59;
+	public static String CVSPreferencesPage_60;
+	public static String CVSPreferencesPage_61;
+	public static String CVSPreferencesPage_62;
+	public static String CVSPreferencesPage_63;
+	public static String CVSPreferencesPage_64;
+	public static String CVSPreferencesPage_65;
+	public static String CVSPreferencesPage_66;
+	public static String CVSPreferencesPage_67;
+	public static String CVSPreferencesPage_68;
 	public static String DiffOperation_ThePatchDoesNotContainAllTheChanges;
 	public static String DiffOperation_ThePatchMayNotContainAllTheChanges;
 	public static String DiffOperation_CreatePatchConflictMessage;
@@ -396,6 +409,8 @@ public class CVSUIMessages extends NLS {
 	public static String Console_info;
 	public static String Console_warning;
 	public static String Console_error;
+	public static String Console_discardedLines;
+	public static String Console_flushJob;
 
 	public static String AddToBranchAction_enterTag;
 	public static String AddToBranchAction_enterTagLong;
@@ -524,6 +539,9 @@ public class CVSUIMessages extends NLS {
 	public static String RepositoryManager_ioException;
 	public static String RepositoryManager_parsingProblem;
 	public static String RepositoryManager_fetchingRemoteFolders;
+	public static String TagStore_invalid;
+	public static String TagStore_readFailed;
+	public static String TagStore_writeFailed;
 
 	public static String RepositoriesView_refresh;
 	public static String RepositoriesView_refreshTooltip;
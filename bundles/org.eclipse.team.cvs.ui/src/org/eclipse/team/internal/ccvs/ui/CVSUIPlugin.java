@@ -583,6 +583,7 @@ public class CVSUIPlugin extends AbstractUIPlugin {
 		store.setDefault(ICVSUIConstants.PREF_CONSIDER_CONTENTS, true);
 		store.setDefault(ICVSUIConstants.PREF_SYNCVIEW_REGEX_FILTER_PATTERN, ""); //default pattern is empty string //$NON-NLS-1$		
 		store.setDefault(ICVSUIConstants.PREF_COMPRESSION_LEVEL, CVSProviderPlugin.DEFAULT_COMPRESSION_LEVEL);
+		store.setDefault(ICVSUIConstants.PREF_USE_STREAM_COMPRESSION, CVSProviderPlugin.DEFAULT_USE_STREAM_COMPRESSION);
 		store.setDefault(ICVSUIConstants.PREF_TEXT_KSUBST, CVSProviderPlugin.DEFAULT_TEXT_KSUBST_OPTION.toMode());
 		store.setDefault(ICVSUIConstants.PREF_USE_PLATFORM_LINEEND, true);
 		store.setDefault(ICVSUIConstants.PREF_REPLACE_UNMANAGED, true);
@@ -601,6 +602,10 @@ public class CVSUIPlugin extends AbstractUIPlugin {
 		store.setDefault(ICVSUIConstants.PREF_AUTO_SHARE_ON_IMPORT, true);
 		store.setDefault(ICVSUIConstants.PREF_ENABLE_WATCH_ON_EDIT, false);
 		store.setDefault(ICVSUIConstants.PREF_USE_PROJECT_NAME_ON_CHECKOUT, false);
+		store.setDefault(ICVSUIConstants.PREF_MAX_CHECKOUT_CONNECTIONS, CVSProviderPlugin.DEFAULT_MAX_CHECKOUT_CONNECTIONS);
+		store.setDefault(ICVSUIConstants.PREF_MAX_SYNC_INFO_READERS, CVSProviderPlugin.DEFAULT_MAX_SYNC_INFO_READERS);
+		store.setDefault(ICVSUIConstants.PREF_MODULE_CACHE_TIMEOUT, CVSProviderPlugin.DEFAULT_MODULE_CACHE_TIMEOUT);
+		store.setDefault(ICVSUIConstants.PREF_REMOTE_CONTENT_CACHE_SIZE, CVSProviderPlugin.DEFAULT_REMOTE_CONTENT_CACHE_SIZE);
 		store.setDefault(ICVSUIConstants.PREF_COMMIT_FILES_DISPLAY_THRESHOLD, 1000);
 		store.setDefault(ICVSUIConstants.PREF_COMMIT_COMMENTS_MAX_HISTORY, RepositoryManager.DEFAULT_MAX_COMMENTS);
 		
@@ -653,12 +658,17 @@ public class CVSUIPlugin extends AbstractUIPlugin {
 		// Forward the values to the CVS plugin
 		CVSProviderPlugin.getPlugin().setPruneEmptyDirectories(store.getBoolean(ICVSUIConstants.PREF_PRUNE_EMPTY_DIRECTORIES));
 		CVSProviderPlugin.getPlugin().setTimeout(store.getInt(ICVSUIConstants.PREF_TIMEOUT));
+		CVSProviderPlugin.getPlugin().setMaxCheckoutConnections(store.getInt(ICVSUIConstants.PREF_MAX_CHECKOUT_CONNECTIONS));
+		CVSProviderPlugin.getPlugin().setMaxSyncInfoReaders(store.getInt(ICVSUIConstants.PREF_MAX_SYNC_INFO_READERS));
+		CVSProviderPlugin.getPlugin().setModuleCacheTimeout(store.getInt(ICVSUIConstants.PREF_MODULE_CACHE_TIMEOUT));
+		CVSProviderPlugin.getPlugin().setRemoteContentCacheSize(store.getInt(ICVSUIConstants.PREF_REMOTE_CONTENT_CACHE_SIZE));
 		CVSProviderPlugin.getPlugin().setCvsRshCommand(store.getString(ICVSUIConstants.PREF_CVS_RSH));
 		CVSProviderPlugin.getPlugin().setCvsRshParameters(store.getString(ICVSUIConstants.PREF_CVS_RSH_PARAMETERS));
 		CVSProviderPlugin.getPlugin().setCvsServer(store.getString(ICVSUIConstants.PREF_CVS_SERVER));
 		CVSRepositoryLocation.setExtConnectionMethodProxy(store.getString(ICVSUIConstants.PREF_EXT_CONNECTION_METHOD_PROXY));
 		CVSProviderPlugin.getPlugin().setQuietness(CVSPreferencesPage.getQuietnessOptionFor(store.getInt(ICVSUIConstants.PREF_QUIETNESS)));
 		CVSProviderPlugin.getPlugin().setCompressionLevel(store.getInt(ICVSUIConstants.PREF_COMPRESSION_LEVEL));
+		CVSProviderPlugin.getPlugin().setUseStreamCompression(store.getBoolean(ICVSUIConstants.PREF_USE_STREAM_COMPRESSION));
 		CVSProviderPlugin.getPlugin().setReplaceUnmanaged(store.getBoolean(ICVSUIConstants.PREF_REPLACE_UNMANAGED));
 		CVSProviderPlugin.getPlugin().setDefaultTextKSubstOption(KSubstOption.fromMode(store.getString(ICVSUIConstants.PREF_TEXT_KSUBST)));
 		CVSProviderPlugin.getPlugin().setUsePlatformLineend(store.getBoolean(ICVSUIConstants.PREF_USE_PLATFORM_LINEEND));
@@ -760,6 +770,15 @@ public class CVSUIPlugin extends AbstractUIPlugin {
 		return getPreferenceStore().getBoolean(ICVSUIConstants.PREF_USE_PROJECT_NAME_ON_CHECKOUT);
 	}
 
+	/**
+	 * Helper method which access the preference store to determine the number
+	 * of projects that are checked out at once, each over its own connection.
+	 * A value of 1 checks the projects out one after the other.
+	 */
+	public int getMaxCheckoutConnections() {
+		return Math.max(1, getPreferenceStore().getInt(ICVSUIConstants.PREF_MAX_CHECKOUT_CONNECTIONS));
+	}
+
 	public ActiveChangeSetManager getChangeSetManager() {
 		return CVSProviderPlugin.getPlugin().getChangeSetManager();
 	}
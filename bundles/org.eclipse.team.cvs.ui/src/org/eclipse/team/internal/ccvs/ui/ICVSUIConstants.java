@@ -102,6 +102,7 @@ public interface ICVSUIConstants {
 	public final String PREF_SYNCVIEW_REGEX_FILTER_PATTERN = "pref_syncview_regex_filter_pattern"; //$NON-NLS-1$
 	public final String PREF_REPLACE_UNMANAGED = "pref_replace_unmanaged"; //$NON-NLS-1$
 	public final String PREF_COMPRESSION_LEVEL = "pref_compression_level"; //$NON-NLS-1$
+	public final String PREF_USE_STREAM_COMPRESSION = "pref_use_stream_compression"; //$NON-NLS-1$
 	public final String PREF_TEXT_KSUBST = "pref_text_ksubst"; //$NON-NLS-1$
 	public final String PREF_USE_PLATFORM_LINEEND = "pref_lineend"; //$NON-NLS-1$
 	public final String PREF_PROMPT_ON_MIXED_TAGS = "pref_prompt_on_mixed_tags"; //$NON-NLS-1$
@@ -124,6 +125,10 @@ public interface ICVSUIConstants {
 	public final String PREF_AUTO_SHARE_ON_IMPORT = "pref_auto_share_on_import"; //$NON-NLS-1$
 	public final String PREF_ENABLE_WATCH_ON_EDIT = "pref_enable_watch_on_edit"; //$NON-NLS-1$ 
 	public final String PREF_USE_PROJECT_NAME_ON_CHECKOUT = "pref_use_project_name_on_checkout"; //$NON-NLS-1$
+	public final String PREF_MAX_CHECKOUT_CONNECTIONS = "pref_max_checkout_connections"; //$NON-NLS-1$
+	public final String PREF_MAX_SYNC_INFO_READERS = "pref_max_sync_info_readers"; //$NON-NLS-1$
+	public final String PREF_MODULE_CACHE_TIMEOUT = "pref_module_cache_timeout"; //$NON-NLS-1$
+	public final String PREF_REMOTE_CONTENT_CACHE_SIZE = "pref_remote_content_cache_size"; //$NON-NLS-1$
 	public final String PREF_INCLUDE_CHANGE_SETS_IN_COMMIT = "pref_include_change_sets"; //$NON-NLS-1$
 	public final String PREF_ANNOTATE_PROMPTFORBINARY = "pref_annotate_promptforbinary"; //$NON-NLS-1$
 	public final String PREF_ALLOW_COMMIT_WITH_WARNINGS = "pref_commit_with_warning"; //$NON-NLS-1$
@@ -16,8 +16,10 @@ package org.eclipse.team.internal.ccvs.ui.console;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.core.runtime.*;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.preference.PreferenceConverter;
 import org.eclipse.jface.resource.FontRegistry;
@@ -63,6 +65,12 @@ public class CVSOutputConsole extends MessageConsole implements IConsoleListener
 	private ConsoleDocument document;
 	private IConsoleManager consoleManager;
 	
+	// writes the lines of the document to the console in batches
+	private final Job flushJob;
+	private final AtomicBoolean flushScheduled = new AtomicBoolean();
+	// the lines written by one flush, only accessed while holding the lock of the document
+	private final ConsoleDocument.ConsoleLine[] batch = new ConsoleDocument.ConsoleLine[BATCH_SIZE];
+	
 	// format for timings printed to console
 	private static final DateFormat TIME_FORMAT;
 	
@@ -87,6 +95,23 @@ public class CVSOutputConsole extends MessageConsole implements IConsoleListener
 	 */
 	private static final String NESTING = "   "; //$NON-NLS-1$
 	
+	/*
+	 * Indent of message and error lines
+	 */
+	private static final String INDENT = "    "; //$NON-NLS-1$
+	
+	/*
+	 * The delay in milliseconds between the time a line is received and the time
+	 * it is written to the console. The lines received in the meantime are written
+	 * together.
+	 */
+	private static final long REFRESH_INTERVAL = 100;
+	
+	/*
+	 * The maximum number of lines written to a stream at once
+	 */
+	private static final int BATCH_SIZE = 512;
+	
 	/**
 	 * Used to notify this console of lifecycle methods <code>init()</code>
 	 * and <code>dispose()</code>.
@@ -120,6 +145,14 @@ public class CVSOutputConsole extends MessageConsole implements IConsoleListener
 		super("CVS", CVSUIPlugin.getPlugin().getImageDescriptor(ICVSUIConstants.IMG_CVS_CONSOLE)); //$NON-NLS-1$
 		showOnMessage = CVSUIPlugin.getPlugin().getPreferenceStore().getBoolean(ICVSUIConstants.PREF_CONSOLE_SHOW_ON_MESSAGE);
 		document = new ConsoleDocument();
+		flushJob = new Job(CVSUIMessages.Console_flushJob) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				flush();
+				return Status.OK_STATUS;
+			}
+		};
+		flushJob.setSystem(true);
 		consoleManager = ConsolePlugin.getDefault().getConsoleManager();
 		CVSProviderPlugin.getPlugin().setConsoleListener(CVSOutputConsole.this);
 		CVSUIPlugin.getPlugin().getPreferenceStore().addPropertyChangeListener(CVSOutputConsole.this);
@@ -187,32 +220,73 @@ public class CVSOutputConsole extends MessageConsole implements IConsoleListener
 	private void dump() {
 		synchronized(document) {
 			visible = true;
-			ConsoleDocument.ConsoleLine[] lines = document.getLines();
-			for (ConsoleDocument.ConsoleLine line : lines) {
-				appendLine(line.type, line.line);
-			}
-			document.clear();
+			writeLines();
 		}
 	}
 	
+	/*
+	 * Append a line to the document. The line is written to the console by the
+	 * flush job so the thread running the command does not wait for the console.
+	 */
 	private void appendLine(int type, String line) {
+		document.appendConsoleLine(type, line);
+		if (!flushScheduled.get() && flushScheduled.compareAndSet(false, true)) {
+			flushJob.schedule(REFRESH_INTERVAL);
+		}
+	}
+	
+	private void flush() {
+		flushScheduled.set(false);
+		if (document.isEmpty()) return;
 		showConsole();
 		synchronized(document) {
-			if(visible) {
-				switch(type) {
-					case ConsoleDocument.COMMAND:
-						commandStream.println(line);
-						break;
-					case ConsoleDocument.MESSAGE:
-						messageStream.println("  " + line); //$NON-NLS-1$
-						break;
-					case ConsoleDocument.ERROR:
-						errorStream.println("  " + line); //$NON-NLS-1$
-						break;
+			// the lines are kept in the document until the console is shown
+			if (visible) {
+				writeLines();
+			}
+		}
+	}
+	
+	/*
+	 * Write the lines of the document to the streams. Consecutive lines of the same
+	 * type are written at once. Must be called while holding the lock of the document
+	 * once the streams have been initialized.
+	 */
+	private void writeLines() {
+		int discarded = document.takeDiscardedCount();
+		if (discarded > 0) {
+			errorStream.println(NLS.bind(CVSUIMessages.Console_discardedLines, Integer.toString(discarded)));
+		}
+		StringBuilder text = new StringBuilder();
+		int count;
+		while ((count = document.removeLines(batch)) > 0) {
+			int type = batch[0].type;
+			for (int i = 0; i < count; i++) {
+				ConsoleDocument.ConsoleLine line = batch[i];
+				batch[i] = null;
+				if (line.type != type) {
+					getStream(type).print(text.toString());
+					text.setLength(0);
+					type = line.type;
 				}
-			} else {
-				document.appendConsoleLine(type, line);
+				if (type != ConsoleDocument.COMMAND) {
+					text.append(INDENT);
+				}
+				text.append(line.line).append('\n');
 			}
+			getStream(type).print(text.toString());
+			text.setLength(0);
+		}
+	}
+	
+	private MessageConsoleStream getStream(int type) {
+		switch (type) {
+			case ConsoleDocument.MESSAGE:
+				return messageStream;
+			case ConsoleDocument.ERROR:
+				return errorStream;
+			default:
+				return commandStream;
 		}
 	}
 
@@ -239,6 +313,7 @@ public class CVSOutputConsole extends MessageConsole implements IConsoleListener
 	public void shutdown() {
 		// Call super dispose because we want the partitioner to be
 		// disconnected.
+		flushJob.cancel();
 		super.dispose();
 		if (commandColor != null)
 			commandColor.dispose();
@@ -260,14 +335,14 @@ public class CVSOutputConsole extends MessageConsole implements IConsoleListener
 	@Override
 	public void messageLineReceived(Session session, String line, IStatus status) {
 		if (session.isOutputToConsole()) {
-			appendLine(ConsoleDocument.MESSAGE, "  " + line); //$NON-NLS-1$
+			appendLine(ConsoleDocument.MESSAGE, line);
 		}
 	}
 
 	@Override
 	public void errorLineReceived(Session session, String line, IStatus status) {
 		if (session.isOutputToConsole()) {
-			appendLine(ConsoleDocument.ERROR, "  " + line); //$NON-NLS-1$
+			appendLine(ConsoleDocument.ERROR, line);
 		}
 	}
 	
@@ -13,8 +13,14 @@
  *******************************************************************************/
 package org.eclipse.team.internal.ccvs.ui.console;
 
+import java.util.concurrent.atomic.*;
+
 /**
- * Simple circular buffer that stores a fix number of lines.
+ * Bounded buffer of the lines written to the console. Lines are appended by the
+ * threads running CVS commands without locking and are removed in batches by the
+ * console when it writes them to its document. When the buffer is full the oldest
+ * line is discarded so the memory used is bounded if lines are produced faster than
+ * they are written or while the console is not shown.
  */
 public class ConsoleDocument {
 	public static final int COMMAND = 0; // command text
@@ -23,13 +29,18 @@ public class ConsoleDocument {
 	public static final int STATUS = 3;  // status text
 	public static final int DELIMITER = 4; // delimiter text between runs
 
-	private int[] lineTypes;
-	private String[] lines;
-	
-	private int writeIndex = 0;
-	private int readIndex = 0;
+	// the number of lines kept (must be a power of 2)
+	private static final int BUFFER_SIZE = 8192;
+	private static final int MASK = BUFFER_SIZE - 1;
 
-	private static final int BUFFER_SIZE = 200;
+	private final ConsoleLine[] lines = new ConsoleLine[BUFFER_SIZE];
+	// the sequence of a slot is the write index that may claim it or, once the
+	// line is stored, that index plus one
+	private final AtomicLongArray sequences = new AtomicLongArray(BUFFER_SIZE);
+	private final AtomicLong writeIndex = new AtomicLong();
+	// only accessed while holding the lock of the document
+	private long readIndex = 0;
+	private final AtomicInteger discardedCount = new AtomicInteger();
 	
 	protected static class ConsoleLine {
 		public String line;
@@ -44,53 +55,95 @@ public class ConsoleDocument {
 	 * Creates an empty console document.
 	 */
 	public ConsoleDocument() {
+		for (int i = 0; i < BUFFER_SIZE; i++) {
+			sequences.set(i, i);
+		}
 	}
 	
 	/**
 	 * Clears the console document.
 	 */
-	public void clear() {
-		lineTypes = null;
-		lines = null;
-		writeIndex = 0;
-		readIndex = 0;
+	public synchronized void clear() {
+		while (poll() != null) {
+			// discard the line
+		}
+		discardedCount.set(0);
 	}
 	
 	/**
-	 * Appends a line of the specified type to the end of the console.
+	 * Appends a line of the specified type to the end of the console. This method
+	 * may be called by several threads at once.
 	 */
 	public void appendConsoleLine(int type, String line) {
-		if(lines == null) {
-			lines = new String[BUFFER_SIZE];
-			lineTypes = new int[BUFFER_SIZE];
-		}
-		lines[writeIndex] = line; 
-		lineTypes[writeIndex] = type;	
-		
-		if(++writeIndex >= BUFFER_SIZE) {
-			writeIndex = 0;
-		}
-		if(writeIndex == readIndex) {
-			if(++readIndex >= BUFFER_SIZE) {
-				readIndex = 0;
+		ConsoleLine consoleLine = new ConsoleLine(line, type);
+		while (true) {
+			long index = writeIndex.get();
+			int slot = (int) index & MASK;
+			long sequence = sequences.get(slot);
+			if (sequence == index) {
+				if (writeIndex.compareAndSet(index, index + 1)) {
+					lines[slot] = consoleLine;
+					// publish the line to the reader
+					sequences.set(slot, index + 1);
+					return;
+				}
+			} else if (sequence < index) {
+				// the buffer is full
+				discardOldest();
 			}
+			// otherwise another thread claimed the slot
 		}
-	}	
+	}
 	
-	public ConsoleLine[] getLines() {
-		if(isEmpty()) return new ConsoleLine[0];
-		ConsoleLine[] docLines = new ConsoleLine[readIndex > writeIndex ? BUFFER_SIZE : writeIndex];
-		int index = readIndex;
-		for (int i = 0; i < docLines.length; i++) {
-			docLines[i] = new ConsoleLine(lines[index], lineTypes[index]);
-			if (++index >= BUFFER_SIZE) {
-				index = 0;
-			}
+	private synchronized void discardOldest() {
+		if (poll() != null) {
+			discardedCount.incrementAndGet();
+		} else {
+			// the oldest line is being stored by another thread
+			Thread.yield();
+		}
+	}
+	
+	/*
+	 * Remove the oldest line. Must be called while holding the lock of the document.
+	 */
+	private ConsoleLine poll() {
+		int slot = (int) readIndex & MASK;
+		if (sequences.get(slot) != readIndex + 1) return null;
+		ConsoleLine line = lines[slot];
+		lines[slot] = null;
+		sequences.set(slot, readIndex + BUFFER_SIZE);
+		readIndex++;
+		return line;
+	}
+	
+	/**
+	 * Removes the oldest lines of the document and stores them in the given array.
+	 * @param batch the array that receives the lines
+	 * @return the number of lines removed
+	 */
+	public synchronized int removeLines(ConsoleLine[] batch) {
+		int count = 0;
+		while (count < batch.length) {
+			ConsoleLine line = poll();
+			if (line == null) break;
+			batch[count++] = line;
 		}
-		return docLines;
+		return count;
 	}
 	
-	public boolean isEmpty() {
-		return writeIndex == readIndex;
+	/**
+	 * Returns the number of lines that were discarded because the buffer was full
+	 * since the last call to this method.
+	 */
+	public int takeDiscardedCount() {
+		return discardedCount.getAndSet(0);
+	}
+	
+	/**
+	 * Returns whether the document has no line that can be removed.
+	 */
+	public synchronized boolean isEmpty() {
+		return sequences.get((int) readIndex & MASK) != readIndex + 1;
 	}
 }
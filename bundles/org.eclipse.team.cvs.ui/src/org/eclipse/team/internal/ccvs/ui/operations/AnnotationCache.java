@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.internal.ccvs.ui.operations;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.team.internal.ccvs.core.ILogEntry;
+import org.eclipse.team.internal.ccvs.core.client.listeners.AnnotateListener;
+
+/**
+ * Caches the annotations of the most recently annotated file revisions so that
+ * annotating a revision again does not contact the server. The annotations and
+ * log entries of a revision do not change once it is committed.
+ * <p>
+ * Only the annotations of remote files keep the contents of the revision. The
+ * contents of workspace files are discarded before they are cached since their
+ * editors show the local contents.
+ * </p>
+ */
+class AnnotationCache {
+
+	// the number of annotations kept, which can each hold a large remote file
+	private static final int MAX_ENTRIES = 8;
+
+	private static AnnotationCache instance;
+
+	/**
+	 * The annotations of a file revision and the log entries of the file
+	 */
+	static class Entry {
+		final AnnotateListener listener;
+		final ILogEntry[] logEntries;
+		Entry(AnnotateListener listener, ILogEntry[] logEntries) {
+			this.listener = listener;
+			this.logEntries = logEntries;
+		}
+	}
+
+	private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true /* access order */) {
+		private static final long serialVersionUID = 1L;
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	static synchronized AnnotationCache getInstance() {
+		if (instance == null) {
+			instance = new AnnotationCache();
+		}
+		return instance;
+	}
+
+	/**
+	 * Return the cached annotations of the given file revision or <code>null</code>.
+	 * @param root the repository root of the file
+	 * @param remotePath the path of the file in the repository
+	 * @param revision the annotated revision
+	 * @param binary whether the file was annotated as binary
+	 */
+	synchronized Entry get(String root, String remotePath, String revision, boolean binary) {
+		return entries.get(getKey(root, remotePath, revision, binary));
+	}
+
+	/**
+	 * Cache the complete annotations of the given file revision.
+	 */
+	synchronized void put(String root, String remotePath, String revision, boolean binary, AnnotateListener listener, ILogEntry[] logEntries) {
+		entries.put(getKey(root, remotePath, revision, binary), new Entry(listener, logEntries));
+	}
+
+	private static String getKey(String root, String remotePath, String revision, boolean binary) {
+		// none of the parts contain newlines
+		return root + '\n' + remotePath + '\n' + revision + (binary ? "\nb" : ""); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
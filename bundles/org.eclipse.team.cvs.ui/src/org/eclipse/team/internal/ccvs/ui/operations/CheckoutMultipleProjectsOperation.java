@@ -15,8 +15,12 @@ package org.eclipse.team.internal.ccvs.ui.operations;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.*;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobGroup;
 import org.eclipse.team.internal.ccvs.core.CVSException;
 import org.eclipse.team.internal.ccvs.core.ICVSRemoteFolder;
+import org.eclipse.team.internal.ccvs.core.util.ParallelTasks;
+import org.eclipse.team.internal.ccvs.ui.CVSUIPlugin;
 import org.eclipse.ui.IWorkbenchPart;
 import org.eclipse.ui.IWorkingSet;
 
@@ -24,6 +28,11 @@ import org.eclipse.ui.IWorkingSet;
  * This operation checks out a multiple remote folders into the workspace.
  * Each one will become a new project (overwritting any exsiting projects
  * with the same name).
+ * <p>
+ * If more than one connection may be used for checkouts, the folders are
+ * checked out concurrently, each over its own connection and holding only
+ * the rules of its target projects.
+ * </p>
  */
 public class CheckoutMultipleProjectsOperation extends CheckoutProjectOperation {
 
@@ -60,6 +69,41 @@ public class CheckoutMultipleProjectsOperation extends CheckoutProjectOperation
 		return checkout(folder, null, monitor);
 	}
 	
+	@Override
+	protected void checkout(ICVSRemoteFolder[] folders, IProgressMonitor monitor) throws CVSException {
+		int parallelism = Math.min(folders.length, CVSUIPlugin.getPlugin().getMaxCheckoutConnections());
+		// The workers obtain the rules of their projects so the folders are checked
+		// out one after the other if the caller already holds a rule
+		if (parallelism > 1 && Job.getJobManager().currentRule() == null) {
+			checkoutInParallel(folders, parallelism, monitor);
+		} else {
+			super.checkout(folders, monitor);
+		}
+	}
+	
+	/*
+	 * Check out the folders using the given number of workers. The workers only observe
+	 * cancellation of the given monitor and their progress is reported on the calling
+	 * thread. No new folder is started once the operation is canceled or a checkout fails
+	 * but the folders being checked out are allowed to finish so their projects are mapped
+	 * or cleaned up as usual.
+	 */
+	private void checkoutInParallel(ICVSRemoteFolder[] folders, int parallelism, IProgressMonitor monitor) throws CVSException {
+		monitor.beginTask(null, folders.length * 100);
+		try {
+			ParallelTasks<IStatus> tasks = new ParallelTasks<>("CVS checkout", monitor, this::collectStatus); //$NON-NLS-1$
+			JobGroup group = tasks.newGroup(parallelism);
+			for (final ICVSRemoteFolder folder : folders) {
+				tasks.submit(group, 100, workerMonitor -> checkout(folder, workerMonitor));
+			}
+			tasks.join();
+			if (tasks.isCanceled())
+				throw new OperationCanceledException();
+		} finally {
+			monitor.done();
+		}
+	}
+	
 	@Override
 	protected IWorkingSet[] getWorkingSets(){
 		return workingSets;
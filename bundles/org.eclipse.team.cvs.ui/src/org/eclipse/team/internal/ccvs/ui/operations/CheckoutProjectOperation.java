@@ -144,10 +144,11 @@ public abstract class CheckoutProjectOperation extends CheckoutOperation {
 			
 			// Determine the local target projects (either the project provider or the module expansions)
 			// Note: Module expansions can be run over the same connection as a checkout
-			final IProject[] targetProjects = determineProjects(session, resource, project, Policy.subMonitorFor(pm, 5));
+			final IStatus[] error = new IStatus[] { null };
+			final IProject[] targetProjects = determineProjects(session, resource, project, error, Policy.subMonitorFor(pm, 5));
 			if (targetProjects == null) {
-				// An error occurred and was recorded so return it
-				return getLastError();
+				// An error occurred so return it
+				return error[0];
 			} else if (targetProjects.length == 0) {
 				return OK;
 			}
@@ -298,8 +299,11 @@ public abstract class CheckoutProjectOperation extends CheckoutOperation {
 	 * 
 	 * If the remote resource is a folder which is not a root folder (i.e. a/b/c),
 	 * then the target project will be the last segment (i.e. c).
+	 * 
+	 * If the module expansion fails, null is returned and the error is stored in
+	 * the given array.
 	 */
-	private IProject[] determineProjects(Session session, final ICVSRemoteFolder remoteFolder, IProject project, IProgressMonitor pm) throws CVSException {
+	private IProject[] determineProjects(Session session, final ICVSRemoteFolder remoteFolder, IProject project, IStatus[] error, IProgressMonitor pm) throws CVSException {
 			
 		Set<IProject> targetProjectSet = new HashSet<>();
 		String moduleName = getRemoteModuleName(remoteFolder);
@@ -309,7 +313,7 @@ public abstract class CheckoutProjectOperation extends CheckoutOperation {
 			Policy.checkCanceled(pm);
 			IStatus status = Request.EXPAND_MODULES.execute(session, new String[] {moduleName}, pm);
 			if (status.getCode() == CVSStatus.SERVER_ERROR) {
-				collectStatus(status);
+				error[0] = status;
 				return null;
 			}
 			
@@ -433,6 +437,12 @@ public abstract class CheckoutProjectOperation extends CheckoutOperation {
 		return new File(project.getParent().getLocation().toFile(), project.getName());
 	}
 	
+	@Override
+	protected synchronized boolean promptToOverwrite(String title, String message, IResource resource) {
+		// Projects may be checked out concurrently so only prompt for one at a time
+		return super.promptToOverwrite(title, message, resource);
+	}
+	
 	private boolean promptToOverwrite(ICVSRemoteFolder remoteFolder, IProject project) {
 		// First, if the project exists in the workspace, prompt
 		if (project.exists()) {
@@ -510,7 +520,7 @@ public abstract class CheckoutProjectOperation extends CheckoutOperation {
 		}
 	}
 	
-	/* private */ void createWorkingSet(String workingSetName, IProject[] projects) {
+	/* private */ synchronized void createWorkingSet(String workingSetName, IProject[] projects) {
 		IWorkingSetManager manager = PlatformUI.getWorkbench().getWorkingSetManager();
 		IWorkingSet oldSet = manager.getWorkingSet(workingSetName);
 		if (oldSet == null) {
@@ -25,6 +25,7 @@ import org.eclipse.team.internal.ccvs.core.client.*;
 import org.eclipse.team.internal.ccvs.core.client.listeners.ILogEntryListener;
 import org.eclipse.team.internal.ccvs.core.client.listeners.LogListener;
 import org.eclipse.team.internal.ccvs.core.resources.CVSWorkspaceRoot;
+import org.eclipse.team.internal.ccvs.core.util.Revision;
 import org.eclipse.team.internal.ccvs.core.util.Util;
 import org.eclipse.team.internal.ccvs.ui.CVSUIMessages;
 import org.eclipse.team.internal.ccvs.ui.CVSUIPlugin;
@@ -64,7 +65,7 @@ public class RemoteLogOperation extends RepositoryLocationOperation {
 		 * @param path the file path
 		 * @return the log entries for the file
 		 */
-		public ILogEntry[] getLogEntries(String path) {
+		public synchronized ILogEntry[] getLogEntries(String path) {
 			Map<String, ILogEntry> map = internalGetLogEntries(path);
 			return map.values().toArray(new ILogEntry[map.size()]);
 		}
@@ -77,7 +78,7 @@ public class RemoteLogOperation extends RepositoryLocationOperation {
 			return null;
 		}
 		
-		public String[] getCachedFilePaths() {
+		public synchronized String[] getCachedFilePaths() {
 			return entries.keySet().toArray(new String[entries.size()]);
 		}
 		
@@ -131,15 +132,14 @@ public class RemoteLogOperation extends RepositoryLocationOperation {
 		}
 		
 		public synchronized ICVSRemoteFile getImmediatePredecessor(ICVSRemoteFile file) throws TeamException {
-			ILogEntry[] allLogs = getLogEntries(file);
-			String revision = file.getRevision();
+			Revision revision = Revision.valueOf(file.getRevision());
+			if (revision == null) return null;
+			String path = getFullPath(file);
 			// First decrement the last digit and see if that revision exists
-			String predecessorRevision = getPredecessorRevision(revision);
-			ICVSRemoteFile predecessor = findRevison(allLogs, predecessorRevision);
+			ICVSRemoteFile predecessor = findRevision(path, revision.getPredecessor());
 			// If nothing was found, try to fond the base of a branch
-			if (predecessor == null && isBrancheRevision(revision)) {
-				predecessorRevision = getBaseRevision(revision);
-				predecessor = findRevison(allLogs, predecessorRevision);
+			if (predecessor == null && revision.isBranchRevision()) {
+				predecessor = findRevision(path, revision.getBranchPoint());
 			}
 			// If that fails, it is still possible that there is a revision.
 			// This can happen if the revision has been manually set.
@@ -151,62 +151,14 @@ public class RemoteLogOperation extends RepositoryLocationOperation {
 		}
 		
 		/*
-		 * Find the given revision in the list of log entries.
+		 * Find the given revision in the log entries of the file.
 		 * Return null if the revision wasn't found.
 		 */
-		private ICVSRemoteFile findRevison(ILogEntry[] allLogs, String predecessorRevision) throws TeamException {
-			for (ILogEntry entry : allLogs) {
-				ICVSRemoteFile file = entry.getRemoteFile();
-				if (file.getRevision().equals(predecessorRevision)) {
-					return file;
-				}
-			}
-			return null;
-		}
-		/*
-		 * Decrement the trailing digit by one.
-		 */
-		private String getPredecessorRevision(String revision) {
-			int digits[] = Util.convertToDigits(revision);
-			digits[digits.length -1]--;
-			StringBuilder buffer = new StringBuilder(revision.length());
-			for (int i = 0; i < digits.length; i++) {
-				buffer.append(Integer.toString(digits[i]));
-				if (i < digits.length - 1) {
-					buffer.append('.');
-				}
-			}
-			return buffer.toString();
-		}
-		
-		/*
-		 * Return true if there are more than 2 digits in the revision number
-		 * (i.e. the revision is on a branch)
-		 */
-		private boolean isBrancheRevision(String revision) {
-			return Util.convertToDigits(revision).length > 2;
-		}
-		
-		/*
-		 * Remove the trailing revision digits such that the
-		 * returned revision is shorter than the given revision 
-		 * and is an even number of digits long
-		 */
-		private String getBaseRevision(String revision) {
-			int digits[] = Util.convertToDigits(revision);
-			int length = digits.length - 1;
-			if (length % 2 == 1) {
-				length--;
-			}
-			StringBuilder buffer = new StringBuilder(revision.length());
-			for (int i = 0; i < length; i++) {
-				buffer.append(Integer.toString(digits[i]));
-				if (i < length - 1) {
-					buffer.append('.');
-				}
-			}
-			return buffer.toString();
+		private ICVSRemoteFile findRevision(String path, Revision revision) throws TeamException {
+			ILogEntry entry = internalGetLogEntry(path, revision.toString());
+			return entry == null ? null : entry.getRemoteFile();
 		}
+
 		/**
 		 * Remove any entries for the remote resources
 		 * @param resource the remote resource
@@ -217,7 +169,7 @@ public class RemoteLogOperation extends RepositoryLocationOperation {
 		}
 
 		@Override
-		public void handleLogEntryReceived(ILogEntry entry) {
+		public synchronized void handleLogEntryReceived(ILogEntry entry) {
 			ICVSRemoteFile file = entry.getRemoteFile();
 			String fullPath = getFullPath(file);
 			String revision = entry.getRevision();
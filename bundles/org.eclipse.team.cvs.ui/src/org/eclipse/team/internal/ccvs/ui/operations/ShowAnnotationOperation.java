@@ -42,6 +42,7 @@ import org.eclipse.team.internal.ccvs.core.client.listeners.AnnotateListener;
 import org.eclipse.team.internal.ccvs.core.connection.CVSServerException;
 import org.eclipse.team.internal.ccvs.core.syncinfo.FolderSyncInfo;
 import org.eclipse.team.internal.ccvs.core.util.KnownRepositories;
+import org.eclipse.team.internal.ccvs.core.util.Util;
 import org.eclipse.team.internal.ccvs.ui.*;
 import org.eclipse.team.internal.ccvs.ui.Policy;
 import org.eclipse.team.internal.core.TeamPlugin;
@@ -73,12 +74,32 @@ public class ShowAnnotationOperation extends CVSOperation {
 		
 		monitor.beginTask(null, 100);
 
-		// Get the annotations from the repository.
-		final AnnotateListener listener= new AnnotateListener();
-		fetchAnnotation(listener, fCVSResource, fRevision, Policy.subMonitorFor(monitor, 80));
-
-		// this is not needed if there is no live annotate
-		final RevisionInformation information = createRevisionInformation(listener, Policy.subMonitorFor(monitor, 20));
+		// Get the annotations from the cache or from the repository.
+		final FolderSyncInfo info = fCVSResource.getParent().getFolderSyncInfo();
+		final String remotePath = Util.appendPath(info.getRepository(), fCVSResource.getName());
+		final AnnotateListener listener;
+		final ILogEntry[] logEntries;
+		// the editor of a workspace file shows its local contents
+		final boolean needsContents = !(fCVSResource.getIResource() instanceof IFile);
+		AnnotationCache.Entry cached = AnnotationCache.getInstance().get(info.getRoot(), remotePath, fRevision, fBinary);
+		if (cached != null && (!needsContents || cached.listener.hasContents())) {
+			listener = cached.listener;
+			logEntries = cached.logEntries;
+			monitor.worked(100);
+		} else {
+			listener = new AnnotateListener();
+			IStatus status = fetchAnnotation(listener, fCVSResource, fRevision, Policy.subMonitorFor(monitor, 80));
+			// this is not needed if there is no live annotate
+			logEntries = fetchLogEntries(Policy.subMonitorFor(monitor, 20));
+			if (status.isOK()) {
+				if (!needsContents) {
+					// only keep the annotations of a workspace file in memory
+					listener.discardContents();
+				}
+				AnnotationCache.getInstance().put(info.getRoot(), remotePath, fRevision, fBinary, listener, logEntries);
+			}
+		}
+		final RevisionInformation information = createRevisionInformation(listener, logEntries);
 
 		// Open the view and display it from the UI thread.
 		final Display display= getPart().getSite().getShell().getDisplay();
@@ -150,7 +171,7 @@ public class ShowAnnotationOperation extends CVSOperation {
 		return null;
 	}
 
-	private void fetchAnnotation(AnnotateListener listener, ICVSResource cvsResource, String revision, IProgressMonitor monitor) throws CVSException {
+	private IStatus fetchAnnotation(AnnotateListener listener, ICVSResource cvsResource, String revision, IProgressMonitor monitor) throws CVSException {
 	
 		monitor = Policy.monitorFor(monitor);
 		monitor.beginTask(null, 100);
@@ -176,6 +197,7 @@ public class ShowAnnotationOperation extends CVSOperation {
 				if (status.getCode() == CVSStatus.SERVER_ERROR) {
 					throw new CVSServerException(status);
 				}
+				return status;
 			} finally {
 				CVSProviderPlugin.getPlugin().setQuietness(quietness);
 				monitor.done();
@@ -185,14 +207,10 @@ public class ShowAnnotationOperation extends CVSOperation {
 		}
 	}
 
-	private RevisionInformation createRevisionInformation(final AnnotateListener listener, IProgressMonitor monitor) throws CVSException {
-		Map<String, ILogEntry> logEntriesByRevision = new HashMap<>();
+	private ILogEntry[] fetchLogEntries(IProgressMonitor monitor) throws CVSException {
 		if (fCVSResource instanceof ICVSFile) {
 			try {
-				ILogEntry[] logEntries= ((ICVSFile) fCVSResource).getLogEntries(monitor);
-				for (ILogEntry entry : logEntries) {
-					logEntriesByRevision.put(entry.getRevision(), entry);
-				}
+				return ((ICVSFile) fCVSResource).getLogEntries(monitor);
 			} catch (CVSException e) {
 				throw e;
 			} catch (TeamException e) {
@@ -200,6 +218,14 @@ public class ShowAnnotationOperation extends CVSOperation {
 				throw CVSException.wrapException(e);
 			}
 		}
+		return new ILogEntry[0];
+	}
+
+	private RevisionInformation createRevisionInformation(final AnnotateListener listener, ILogEntry[] logEntries) {
+		Map<String, ILogEntry> logEntriesByRevision = new HashMap<>();
+		for (ILogEntry entry : logEntries) {
+			logEntriesByRevision.put(entry.getRevision(), entry);
+		}
 
 		final CommitterColors colors= CommitterColors.getDefault();
 		RevisionInformation info= new RevisionInformation();
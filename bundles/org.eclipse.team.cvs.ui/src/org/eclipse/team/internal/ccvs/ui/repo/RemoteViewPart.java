@@ -24,6 +24,7 @@ import org.eclipse.swt.events.KeyAdapter;
 import org.eclipse.swt.events.KeyEvent;
 import org.eclipse.swt.widgets.*;
 import org.eclipse.team.internal.ccvs.core.ICVSRemoteFile;
+import org.eclipse.team.internal.ccvs.core.util.ModuleCache;
 import org.eclipse.team.internal.ccvs.ui.*;
 import org.eclipse.team.internal.ccvs.ui.actions.OpenRemoteFileAction;
 import org.eclipse.team.internal.ccvs.ui.model.RemoteContentProvider;
@@ -278,6 +279,8 @@ public abstract class RemoteViewPart extends ViewPart implements ISelectionListe
 	
 	protected void refreshAll() {
 		//CVSUIPlugin.getPlugin().getRepositoryManager().clearCaches();
+		// fetch the modules of the repositories again
+		ModuleCache.getInstance().clear();
 		refreshViewer();
 	}
 
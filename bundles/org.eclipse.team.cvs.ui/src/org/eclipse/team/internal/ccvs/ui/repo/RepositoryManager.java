@@ -310,8 +310,10 @@ public class RepositoryManager {
 	 */
 	public void rootRemoved(ICVSRepositoryLocation root) {
 		RepositoryRoot repoRoot = repositoryRoots.remove(root.getLocation(false));
-		if (repoRoot != null)
+		if (repoRoot != null) {
+			repoRoot.deleteTags();
 			broadcastRepositoryChange(repoRoot);
+		}
 	}
 	
 	/**
@@ -483,6 +485,8 @@ public class RepositoryManager {
 			CVSRepositoryLocation location = (CVSRepositoryLocation)it.next();
 			RepositoryRoot root = getRepositoryRootFor(location);
 			root.writeState(writer);
+			// the tags are kept in a store of their own
+			root.checkpointTags();
 		}
 		writer.endTag(RepositoriesViewContentHandler.REPOSITORIES_VIEW_TAG);
 	}
@@ -815,6 +819,8 @@ public class RepositoryManager {
 		try {
 			run(monitor -> {
 				RepositoryRoot root = getRepositoryRootFor(oldLocation);
+				// Read the tags before the store of the old location is deleted
+				root.loadTags();
 				// Disposing of the old location will result in the deletion of the
 				// cached root through a listener callback
 				KnownRepositories.getInstance().disposeRepository(oldLocation);
@@ -14,20 +14,22 @@
 package org.eclipse.team.internal.ccvs.ui.repo;
 
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
 import java.util.*;
 
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.*;
+import org.eclipse.core.runtime.jobs.JobGroup;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.team.core.TeamException;
 import org.eclipse.team.internal.ccvs.core.*;
-import org.eclipse.team.internal.ccvs.core.client.Command;
+import org.eclipse.team.internal.ccvs.core.client.*;
+import org.eclipse.team.internal.ccvs.core.client.listeners.SymbolicNamesListener;
+import org.eclipse.team.internal.ccvs.core.connection.CVSServerException;
 import org.eclipse.team.internal.ccvs.core.resources.CVSWorkspaceRoot;
 import org.eclipse.team.internal.ccvs.core.syncinfo.FolderSyncInfo;
+import org.eclipse.team.internal.ccvs.core.util.ParallelTasks;
 import org.eclipse.team.internal.ccvs.ui.*;
 import org.eclipse.team.internal.ccvs.ui.Policy;
-import org.eclipse.team.internal.ccvs.ui.operations.RemoteLogOperation;
-import org.eclipse.team.internal.ccvs.ui.operations.RemoteLogOperation.LogEntryCache;
 
 public class RepositoryRoot extends PlatformObject {
 
@@ -37,6 +39,11 @@ public class RepositoryRoot extends PlatformObject {
 	ICVSRepositoryLocation root;
 	String name;
 	TagCacheEntry rootTagCacheEntry = new TagCacheEntry(Path.ROOT, null);
+	// The persistent store of the tags, which is read the first time the tags are needed
+	TagStore tagStore;
+	boolean tagsLoaded;
+	// set while the tags are read from the store so they are not appended to it again
+	boolean replaying;
 	// Map of String (remote folder path) -> Set (file paths that are project relative)
 	Map<String, Set<String>> autoRefreshFiles = new HashMap<>();
 	// Map of String (module name) -> ICVSRemoteFolder (that is a defined module)
@@ -53,6 +60,8 @@ public class RepositoryRoot extends PlatformObject {
 		Map<String, TagCacheEntry> children = new HashMap<>();
 		TagCacheEntry parent;
 		long lastAccessTime;
+		// set on the root entry when the access time of an entry moves forward
+		boolean accessedSinceCheckpoint;
 		private static final int CACHE_LIFESPAN_IN_DAYS = 7;
 
 		public TagCacheEntry(IPath path, TagCacheEntry parent) {
@@ -75,16 +84,25 @@ public class RepositoryRoot extends PlatformObject {
 		}
 
 		public boolean isExpired() {
-			long currentTime = System.currentTimeMillis();
-			long ms = currentTime - lastAccessTime;
-			int seconds = (int)ms / 1000;
-			int hours = seconds / 60 / 60;
-			int days = hours / 24;
-			return days > CACHE_LIFESPAN_IN_DAYS;
+			return isExpired(lastAccessTime);
+		}
+
+		static boolean isExpired(long lastAccessTime) {
+			long ms = System.currentTimeMillis() - lastAccessTime;
+			return ms > TimeUnit.DAYS.toMillis(CACHE_LIFESPAN_IN_DAYS);
 		}
 
 		private void accessed() {
-			lastAccessTime = System.currentTimeMillis();
+			long now = System.currentTimeMillis();
+			if (now > lastAccessTime) {
+				lastAccessTime = now;
+				// the access times are persisted when the store is checkpointed
+				TagCacheEntry root = this;
+				while (root.parent != null) {
+					root = root.parent;
+				}
+				root.accessedSinceCheckpoint = true;
+			}
 		}
 	}
 	
@@ -233,6 +251,7 @@ public class RepositoryRoot extends PlatformObject {
 		TagCacheEntry entry = getTagCacheEntryFor(remotePath, true);
 
 		// Store the tag with the appropriate ancestor
+		List<CVSTag> added = new ArrayList<>();
 		for (CVSTag tag : tags) {
 			if (tag.getType() != CVSTag.DATE) {
 				Set parentTags = new HashSet();
@@ -240,9 +259,11 @@ public class RepositoryRoot extends PlatformObject {
 				if (!parentTags.contains(tag)) {
 					entry.getTags().add(tag);
 					removeTagFromChildrenCacheEntries(entry, tag);
+					added.add(tag);
 				}
 			}
 		}
+		appendTags(TagStore.ADD_RECORD, remotePath, added);
 	}
 
 	/**
@@ -286,7 +307,14 @@ public class RepositoryRoot extends PlatformObject {
 	}
 
 	private void removeVersionAndBranchTags(String remotePath, CVSTag[] tags) {
+		List<CVSTag> removed = new ArrayList<>();
+		for (CVSTag tag : tags) {
+			if (tag.getType() != CVSTag.DATE) {
+				removed.add(tag);
+			}
+		}
 		TagCacheEntry entry = getTagCacheEntryFor(remotePath, false);
+		appendTags(TagStore.REMOVE_RECORD, remotePath, removed);
 		// remove tags from this path and its children
 		if (entry != null) {
 			removeTagsFromChildrenCacheEntries(entry, tags);
@@ -324,6 +352,96 @@ public class RepositoryRoot extends PlatformObject {
 		}
 	}
 
+	/*
+	 * Return the cache of version and branch tags, reading it from the
+	 * persistent store if this is the first time it is needed
+	 */
+	private TagCacheEntry getRootTagCacheEntry() {
+		loadTags();
+		return rootTagCacheEntry;
+	}
+
+	/**
+	 * Read the version and branch tags of the receiver from its persistent store
+	 * unless they were already read. Tags whose path was not accessed for longer
+	 * than the lifespan of the cache are dropped.
+	 */
+	/* package */ synchronized void loadTags() {
+		if (tagsLoaded) return;
+		// set first since replaying the records accesses the cache
+		tagsLoaded = true;
+		replaying = true;
+		try {
+			for (TagStore.Record record : getTagStore().read()) {
+				if (record.kind == TagStore.REMOVE_RECORD) {
+					removeVersionAndBranchTags(record.path, record.tags);
+				} else if (!TagCacheEntry.isExpired(record.time)) {
+					addVersionAndBranchTags(record.path, record.tags);
+					setLastAccessedTime(record.path, record.time);
+				}
+			}
+		} finally {
+			replaying = false;
+		}
+		// the access times were read from the store
+		rootTagCacheEntry.accessedSinceCheckpoint = false;
+		if (getTagStore().needsCheckpoint()) {
+			checkpointTags();
+		}
+	}
+
+	private TagStore getTagStore() {
+		if (tagStore == null) {
+			tagStore = new TagStore(root);
+		}
+		return tagStore;
+	}
+
+	/*
+	 * Append the tags added to or removed from the given path to the persistent
+	 * store and checkpoint the store if enough changes were appended
+	 */
+	private void appendTags(byte kind, String remotePath, List<CVSTag> tags) {
+		if (replaying || tags.isEmpty()) return;
+		TagStore store = getTagStore();
+		store.append(kind, remotePath, System.currentTimeMillis(), tags.toArray(new CVSTag[tags.size()]));
+		if (store.needsCheckpoint()) {
+			checkpointTags();
+		}
+	}
+
+	/**
+	 * Rewrite the persistent store of the version and branch tags with one record
+	 * for each path that has tags, dropping the paths that have expired. Nothing is
+	 * written if the tags were not read, changed or accessed in this session.
+	 */
+	public synchronized void checkpointTags() {
+		if (!tagsLoaded || !(getTagStore().isDirty() || rootTagCacheEntry.accessedSinceCheckpoint)) return;
+		List<TagStore.Record> entries = new ArrayList<>();
+		collectTagStoreEntries(rootTagCacheEntry, entries);
+		getTagStore().checkpoint(entries);
+		rootTagCacheEntry.accessedSinceCheckpoint = false;
+	}
+
+	private void collectTagStoreEntries(TagCacheEntry entry, List<TagStore.Record> entries) {
+		// the tags are not accessed through getTags() so the access time is preserved
+		if (!entry.tags.isEmpty() && !entry.isExpired()) {
+			entries.add(new TagStore.Record(TagStore.ENTRY_RECORD, entry.path.toString(), entry.lastAccessTime,
+					entry.tags.toArray(new CVSTag[entry.tags.size()])));
+		}
+		for (TagCacheEntry child : entry.children.values()) {
+			collectTagStoreEntries(child, entries);
+		}
+	}
+
+	/**
+	 * Delete the persistent store of the version and branch tags. This is done
+	 * when the repository location is discarded.
+	 */
+	/* package */ synchronized void deleteTags() {
+		getTagStore().delete();
+	}
+
 	/**
 	 * Returns the absolute paths of the auto refresh files relative to the
 	 * repository.
@@ -373,41 +491,28 @@ public class RepositoryRoot extends PlatformObject {
 	}
 
 	/**
-	 * Fetches tags from auto-refresh files.
+	 * Fetches tags from auto-refresh files. If there are none, the tags are
+	 * found in the symbolic names of the files of the folder. When recursing,
+	 * the sub-folders of a folder without tags are searched concurrently.
 	 */
 	public CVSTag[] refreshDefinedTags(ICVSFolder folder, boolean recurse,
 			IProgressMonitor monitor) throws TeamException {
 		monitor = Policy.monitorFor(monitor);
 		monitor.beginTask(null, recurse ? 210 : 100);
 		try {
-			CVSTag[] tags = null;
-			if (!folder.getFolderSyncInfo().isVirtualDirectory()) {
-				// Only try the auto-refresh file(s) if we are not recursing
-				// into sub-folders
-				tags = fetchTagsUsingAutoRefreshFiles(folder,
-						Policy.subMonitorFor(monitor, 50));
-			}
-			if (tags == null || tags.length == 0) {
-				// There we're no tags found on the auto-refresh files or we
-				// we're asked to go deep
-				// Try using the log command
-				tags = fetchTagsUsingLog(folder,
-						Policy.subMonitorFor(monitor, 50));
-			}
-			if (tags != null && tags.length > 0) {
-				String remotePath = getRemotePathFor(folder);
-				addTags(remotePath, tags);
+			CVSTag[] tags = discoverTags(folder, Policy.subMonitorFor(monitor, 100));
+			if (tags.length > 0) {
+				addTags(getRemotePathFor(folder), tags);
 				return tags;
 			}
 			if (recurse) {
-				Set<CVSTag> tagsSet = new HashSet<>();
 				folder.fetchChildren(Policy.subMonitorFor(monitor, 10));
-				ICVSResource[] children = folder
-						.members(ICVSFolder.FOLDER_MEMBERS);
-				for (ICVSResource child : children) {
-					tagsSet.addAll(Arrays.asList(refreshDefinedTags((ICVSFolder) child, recurse, Policy
-							.subMonitorFor(monitor,
-									100 / children.length))));
+				ICVSResource[] children = folder.members(ICVSFolder.FOLDER_MEMBERS);
+				Map<String, CVSTag[]> discovered = discoverTagsInParallel(children, Policy.subMonitorFor(monitor, 100));
+				Set<CVSTag> tagsSet = new HashSet<>();
+				for (Map.Entry<String, CVSTag[]> entry : discovered.entrySet()) {
+					addTags(entry.getKey(), entry.getValue());
+					tagsSet.addAll(Arrays.asList(entry.getValue()));
 				}
 				tags = tagsSet.toArray(new CVSTag[tagsSet.size()]);
 			}
@@ -417,34 +522,118 @@ public class RepositoryRoot extends PlatformObject {
 		}
 	}
 
-	private CVSTag[] fetchTagsUsingLog(ICVSFolder folder, IProgressMonitor monitor) throws CVSException {
-		LogEntryCache logEntries = new LogEntryCache();
-		RemoteLogOperation operation = new RemoteLogOperation(null, new ICVSRemoteResource[] { asRemoteResource(folder) }, null, null, logEntries) {
-			@Override
-			protected Command.LocalOption[] getLocalOptions(CVSTag tag1,CVSTag tag2) {
-				Command.LocalOption[] options = new Command.LocalOption[] {};
-				Command.LocalOption[] newOptions = new Command.LocalOption[options.length + 1];
-				System.arraycopy(options, 0, newOptions, 0, options.length);
-				newOptions[options.length] = Command.DO_NOT_RECURSE;
-				return newOptions;
+	/*
+	 * Return the tags of the folder, which are those of its auto-refresh files
+	 * if they have any or else those of the files in the folder
+	 */
+	private CVSTag[] discoverTags(ICVSFolder folder, IProgressMonitor monitor) throws TeamException {
+		monitor.beginTask(null, 100);
+		try {
+			CVSTag[] tags = null;
+			if (!folder.getFolderSyncInfo().isVirtualDirectory()) {
+				tags = fetchTagsUsingAutoRefreshFiles(folder, Policy.subMonitorFor(monitor, 50));
+			}
+			if (tags == null || tags.length == 0) {
+				tags = fetchTagsUsingHeaders(folder, Policy.subMonitorFor(monitor, 50));
+			}
+			return tags;
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/*
+	 * Search the given folders for tags using up to the number of connections used to
+	 * fetch revisions. Each folder without tags is searched recursively by its worker.
+	 * Return the tags found keyed by the remote path of the folder they were found in.
+	 */
+	private Map<String, CVSTag[]> discoverTagsInParallel(ICVSResource[] folders, IProgressMonitor monitor) throws TeamException {
+		monitor.beginTask(null, Math.max(1, folders.length));
+		final Map<String, CVSTag[]> discovered = new LinkedHashMap<>();
+		int parallelism = Math.min(folders.length, CVSProviderPlugin.getPlugin().getMaxRevisionFetchConnections());
+		if (parallelism <= 1) {
+			try {
+				for (ICVSResource folder : folders) {
+					discoverTagsRecursively((ICVSFolder) folder, discovered, Policy.subMonitorFor(monitor, 1));
+				}
+				return discovered;
+			} finally {
+				monitor.done();
 			}
-		};
+		}
 		try {
-			operation.run(monitor);
-		} catch (InvocationTargetException e) {
-			throw CVSException.wrapException(e);
-		} catch (InterruptedException e) {
-			// Ignore;
+			ParallelTasks<Map<String, CVSTag[]>> tasks = new ParallelTasks<>("CVS tag discovery", monitor, discovered::putAll); //$NON-NLS-1$
+			JobGroup group = tasks.newGroup(parallelism);
+			for (ICVSResource folder : folders) {
+				tasks.submit(group, 1, workerMonitor -> {
+					Map<String, CVSTag[]> result = new LinkedHashMap<>();
+					discoverTagsRecursively((ICVSFolder) folder, result, workerMonitor);
+					return result;
+				});
+			}
+			tasks.join();
+			if (tasks.isCanceled())
+				throw new OperationCanceledException();
+			return discovered;
+		} finally {
+			monitor.done();
 		}
-		String[] keys = logEntries.getCachedFilePaths();
-		Set<CVSTag> tags = new HashSet<>();
-		for (String key : keys) {
-			ILogEntry[] entries = logEntries.getLogEntries(key);
-			for (ILogEntry entry : entries) {
-				tags.addAll(Arrays.asList(entry.getTags()));
+	}
+
+	/*
+	 * Record the tags of the folder or, if it has none, of its sub-folders.
+	 * The sub-folders share the work left once the folder has been searched.
+	 */
+	private void discoverTagsRecursively(ICVSFolder folder, Map<String, CVSTag[]> discovered, IProgressMonitor monitor) throws TeamException {
+		monitor.beginTask(null, 100);
+		try {
+			Policy.checkCanceled(monitor);
+			CVSTag[] tags = discoverTags(folder, Policy.subMonitorFor(monitor, 50));
+			if (tags.length > 0) {
+				discovered.put(getRemotePathFor(folder), tags);
+				return;
 			}
+			folder.fetchChildren(Policy.subMonitorFor(monitor, 10));
+			ICVSResource[] children = folder.members(ICVSFolder.FOLDER_MEMBERS);
+			IProgressMonitor childrenMonitor = Policy.subMonitorFor(monitor, 40);
+			childrenMonitor.beginTask(null, Math.max(1, children.length));
+			try {
+				for (ICVSResource child : children) {
+					discoverTagsRecursively((ICVSFolder) child, discovered, Policy.subMonitorFor(childrenMonitor, 1));
+				}
+			} finally {
+				childrenMonitor.done();
+			}
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/*
+	 * Return the tags found in the symbolic names of the files of the folder.
+	 * Only the headers of the files are requested (rlog -h -l) so the revisions
+	 * and comments of the files are not transferred.
+	 */
+	private CVSTag[] fetchTagsUsingHeaders(ICVSFolder folder, IProgressMonitor monitor) throws CVSException {
+		monitor.beginTask(null, 100);
+		SymbolicNamesListener listener = new SymbolicNamesListener();
+		Session session = new Session(root, CVSWorkspaceRoot.getCVSFolderFor(ResourcesPlugin.getWorkspace().getRoot()), false /* do not output to console */);
+		try {
+			session.open(Policy.subMonitorFor(monitor, 10), false /* read-only */);
+			try {
+				IStatus status = new RLog().execute(session, Command.NO_GLOBAL_OPTIONS,
+						new Command.LocalOption[] { RLog.HEADER_ONLY, Command.DO_NOT_RECURSE },
+						new ICVSResource[] { asRemoteResource(folder) }, listener, Policy.subMonitorFor(monitor, 90));
+				if (status.getCode() == CVSStatus.SERVER_ERROR) {
+					throw new CVSServerException(status);
+				}
+			} finally {
+				session.close();
+			}
+			return listener.getTags();
+		} finally {
+			monitor.done();
 		}
-		return tags.toArray(new CVSTag[tags.size()]);
 	}
 
 	private ICVSRemoteResource asRemoteResource(ICVSFolder folder) throws CVSException {
@@ -503,7 +692,7 @@ public class RepositoryRoot extends PlatformObject {
 
 	private TagCacheEntry getTagCacheEntryFor(String remotePath, boolean create) {
 		String[] segments = new Path(null, remotePath).segments();
-		TagCacheEntry currentTagCacheEntry = rootTagCacheEntry;
+		TagCacheEntry currentTagCacheEntry = getRootTagCacheEntry();
 		for (int i = 0; i < segments.length; i++) {
 			String segment = segments[i];
 			if (currentTagCacheEntry.children.containsKey(segment)) {
@@ -525,7 +714,7 @@ public class RepositoryRoot extends PlatformObject {
 
 	private TagCacheEntry getKnownParentTagCacheEntryFor(String remotePath) {
 		String[] segments = new Path(null, remotePath).segments();
-		TagCacheEntry currentTagCacheEntry = rootTagCacheEntry;
+		TagCacheEntry currentTagCacheEntry = getRootTagCacheEntry();
 		for (String segment : segments) {
 			if (currentTagCacheEntry.children.containsKey(segment)) {
 				currentTagCacheEntry = currentTagCacheEntry.children
@@ -609,10 +798,9 @@ public class RepositoryRoot extends PlatformObject {
 			writer.endTag(RepositoriesViewContentHandler.DATE_TAGS_TAG);
 		}
 		
-		// Gather all the modules that have tags and/or auto-refresh files
-		// for each module, write the moduel, tags and auto-refresh files.
-		String[] paths = getKnownRemotePaths();
-		for (String path : paths) {
+		// The tags of the modules are kept in the tag store so only the
+		// modules that have auto-refresh files are written.
+		for (String path : autoRefreshFiles.keySet()) {
 			attributes.clear();
 			String name = path;
 			if (isDefinedModuleName(path)) {
@@ -621,18 +809,7 @@ public class RepositoryRoot extends PlatformObject {
 				attributes.put(RepositoriesViewContentHandler.TYPE_ATTRIBUTE, RepositoriesViewContentHandler.DEFINED_MODULE_TYPE);
 			}
 			attributes.put(RepositoriesViewContentHandler.PATH_ATTRIBUTE, name);
-			TagCacheEntry entry = getTagCacheEntryFor(path, false);
-			boolean writeOutTags = entry != null && !entry.isExpired();
-			if (writeOutTags)
-				attributes.put(RepositoriesViewContentHandler.LAST_ACCESS_TIME_ATTRIBUTE, Long.toString(entry.lastAccessTime));
 			writer.startTag(RepositoriesViewContentHandler.MODULE_TAG, attributes, true);
-			if (writeOutTags) {
-				Iterator tagIt = entry.getTags().iterator();
-				while (tagIt.hasNext()) {
-					CVSTag tag = (CVSTag)tagIt.next();
-					writeATag(writer, attributes, tag, RepositoriesViewContentHandler.TAG_TAG);
-				}
-			}
 			Set refreshSet = autoRefreshFiles.get(path);
 			if (refreshSet != null) {
 				Iterator filenameIt = refreshSet.iterator();
@@ -689,14 +866,14 @@ public class RepositoryRoot extends PlatformObject {
 
 	public CVSTag[] getAllKnownTags() {
 		Set<CVSTag> tags = new HashSet<>(dateTags);
-		addAllKnownTagsForChildren(rootTagCacheEntry, tags);
+		addAllKnownTagsForChildren(getRootTagCacheEntry(), tags);
 		return tags.toArray(new CVSTag[tags.size()]);
 	}
 
 	public String[] getRemoteChildrenForTag(String remotePath, CVSTag tag) {
 		TagCacheEntry entry;
 		if (remotePath == null) {
-			entry = rootTagCacheEntry;
+			entry = getRootTagCacheEntry();
 		} else {
 			entry = getTagCacheEntryFor(remotePath, false);
 		}
@@ -729,7 +906,7 @@ public class RepositoryRoot extends PlatformObject {
 	}
 
 	public String[] getKnownRemotePaths() {
-		Set paths = getKnownRemotePaths(rootTagCacheEntry);
+		Set paths = getKnownRemotePaths(getRootTagCacheEntry());
 		paths.addAll(autoRefreshFiles.keySet());
 		return (String[]) paths.toArray(new String[paths.size()]);
 	}
@@ -773,8 +950,27 @@ public class RepositoryRoot extends PlatformObject {
 	 * Sets the root.
 	 * @param root The root to set
 	 */
-	void setRepositoryLocation(ICVSRepositoryLocation root) {
+	synchronized void setRepositoryLocation(ICVSRepositoryLocation root) {
+		// move the tags to the store of the new location
+		loadTags();
+		getTagStore().delete();
 		this.root = root;
+		tagStore = null;
+		List<TagStore.Record> entries = new ArrayList<>();
+		collectTagStoreEntries(rootTagCacheEntry, entries);
+		getTagStore().checkpoint(entries);
+		rootTagCacheEntry.accessedSinceCheckpoint = false;
+	}
+
+	/**
+	 * Return the time at which the tags of the given path were last accessed
+	 * or 0 if no tags are known for the path. The tags are not accessed.
+	 * @param remotePath a remote path
+	 * @return the last access time of the tags of the path
+	 */
+	public synchronized long getLastAccessTime(String remotePath) {
+		TagCacheEntry entry = getTagCacheEntryFor(remotePath, false);
+		return entry == null ? 0 : entry.lastAccessTime;
 	}
 
 	/*
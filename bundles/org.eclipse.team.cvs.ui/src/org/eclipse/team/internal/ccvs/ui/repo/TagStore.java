@@ -0,0 +1,273 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.internal.ccvs.ui.repo;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.team.internal.ccvs.core.CVSTag;
+import org.eclipse.team.internal.ccvs.core.ICVSRepositoryLocation;
+import org.eclipse.team.internal.ccvs.core.util.CVSTagRegistry;
+import org.eclipse.team.internal.ccvs.ui.CVSUIMessages;
+import org.eclipse.team.internal.ccvs.ui.CVSUIPlugin;
+
+/**
+ * A binary store of the tags known for the remote paths of a repository root.
+ * Changes to the tags are appended to the store as they are made so they survive
+ * a crash. Once enough changes have been appended, the store is checkpointed by
+ * rewriting it with one record per remote path.
+ * <p>
+ * Each repository root has its own store in the plugin state location. It is
+ * read the first time the tags of the root are needed rather than at startup.
+ * </p>
+ */
+class TagStore {
+
+	private static final String STORE_FOLDER = "tags"; //$NON-NLS-1$
+	private static final String STORE_EXTENSION = ".tags"; //$NON-NLS-1$
+	private static final int STORE_VERSION = 1;
+	// the checkpointed tags and last access time of a path
+	static final byte ENTRY_RECORD = 1;
+	// tags added to a path at the given time
+	static final byte ADD_RECORD = 2;
+	// tags removed from a path
+	static final byte REMOVE_RECORD = 3;
+	// the minimum number of records appended before the store is checkpointed
+	private static final int CHECKPOINT_THRESHOLD = 1000;
+
+	/**
+	 * A record read from or written to the store
+	 */
+	static class Record {
+		final byte kind;
+		final String path;
+		final long time;
+		final CVSTag[] tags;
+		Record(byte kind, String path, long time, CVSTag[] tags) {
+			this.kind = kind;
+			this.path = path;
+			this.time = time;
+			this.tags = tags;
+		}
+	}
+
+	private final ICVSRepositoryLocation location;
+	private final File file;
+	// the number of records written by the last checkpoint and appended since
+	private int checkpointedRecords;
+	private int appendedRecords;
+	// set if an append failed so the next checkpoint rewrites the store
+	private boolean failed;
+
+	TagStore(ICVSRepositoryLocation location) {
+		this.location = location;
+		String name = UUID.nameUUIDFromBytes(location.getLocation(false).getBytes(StandardCharsets.UTF_8)).toString();
+		this.file = CVSUIPlugin.getPlugin().getStateLocation().append(STORE_FOLDER).append(name + STORE_EXTENSION).toFile();
+	}
+
+	/**
+	 * Read the records of the store in the order they were written. An incomplete
+	 * record at the end of the store, which is left by a crash during an append, is
+	 * removed, as is a corrupt record and everything after it. If the store cannot
+	 * be read, it is discarded.
+	 */
+	synchronized List<Record> read() {
+		List<Record> records = new ArrayList<>();
+		if (!file.exists()) return records;
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			ByteBuffer buffer = ByteBuffer.allocate((int)channel.size());
+			while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+				// keep reading
+			}
+			buffer.flip();
+			if (buffer.getInt() != STORE_VERSION || !location.getLocation(false).equals(readString(buffer))) {
+				throw new IOException(NLS.bind(CVSUIMessages.TagStore_invalid, file.getAbsolutePath()));
+			}
+			CVSTagRegistry registry = CVSTagRegistry.getRegistry(location);
+			int end = buffer.position();
+			try {
+				while (buffer.hasRemaining()) {
+					Record record = readRecord(buffer, registry);
+					if (record == null) break;
+					records.add(record);
+					end = buffer.position();
+				}
+			} catch (BufferUnderflowException e) {
+				// the last record is incomplete
+			}
+			if (end < buffer.limit()) {
+				// drop the incomplete or corrupt record so that appends follow the last complete one
+				channel.truncate(end);
+			}
+			if (records.isEmpty() || records.get(0).kind != ENTRY_RECORD) {
+				checkpointedRecords = 0;
+				appendedRecords = records.size();
+			} else {
+				int count = 0;
+				while (count < records.size() && records.get(count).kind == ENTRY_RECORD) count++;
+				checkpointedRecords = count;
+				appendedRecords = records.size() - count;
+			}
+		} catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+			// The store is only a cache so start from scratch
+			records.clear();
+			delete();
+			CVSUIPlugin.log(IStatus.WARNING, NLS.bind(CVSUIMessages.TagStore_readFailed, file.getAbsolutePath()), e);
+		}
+		return records;
+	}
+
+	/**
+	 * Append a record of tags added to or removed from a path.
+	 */
+	synchronized void append(byte kind, String path, long time, CVSTag[] tags) {
+		if (tags.length == 0) return;
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (DataOutputStream out = new DataOutputStream(bytes)) {
+				if (!file.exists()) {
+					writeHeader(out);
+				}
+				writeRecord(out, kind, path, time, tags);
+			}
+			file.getParentFile().mkdirs();
+			try (FileOutputStream out = new FileOutputStream(file, true)) {
+				out.write(bytes.toByteArray());
+			}
+			appendedRecords++;
+		} catch (IOException e) {
+			failed = true;
+			CVSUIPlugin.log(IStatus.WARNING, NLS.bind(CVSUIMessages.TagStore_writeFailed, file.getAbsolutePath()), e);
+		}
+	}
+
+	/**
+	 * Return whether enough records were appended since the last checkpoint for
+	 * the store to be rewritten.
+	 */
+	synchronized boolean needsCheckpoint() {
+		return failed || appendedRecords >= Math.max(CHECKPOINT_THRESHOLD, checkpointedRecords);
+	}
+
+	/**
+	 * Return whether records were appended since the last checkpoint.
+	 */
+	synchronized boolean isDirty() {
+		return failed || appendedRecords > 0;
+	}
+
+	/**
+	 * Replace the contents of the store with the given entry records.
+	 */
+	synchronized void checkpoint(List<Record> entries) {
+		File tempFile = new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+		try {
+			file.getParentFile().mkdirs();
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+				writeHeader(out);
+				for (Record entry : entries) {
+					writeRecord(out, ENTRY_RECORD, entry.path, entry.time, entry.tags);
+				}
+			}
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			checkpointedRecords = entries.size();
+			appendedRecords = 0;
+			failed = false;
+		} catch (IOException e) {
+			tempFile.delete();
+			failed = true;
+			CVSUIPlugin.log(IStatus.WARNING, NLS.bind(CVSUIMessages.TagStore_writeFailed, file.getAbsolutePath()), e);
+		}
+	}
+
+	/**
+	 * Delete the store of the repository root.
+	 */
+	synchronized void delete() {
+		file.delete();
+		checkpointedRecords = 0;
+		appendedRecords = 0;
+	}
+
+	private void writeHeader(DataOutputStream out) throws IOException {
+		out.writeInt(STORE_VERSION);
+		writeString(out, location.getLocation(false));
+	}
+
+	private static void writeRecord(DataOutputStream out, byte kind, String path, long time, CVSTag[] tags) throws IOException {
+		out.writeByte(kind);
+		writeString(out, path);
+		out.writeLong(time);
+		out.writeInt(tags.length);
+		for (CVSTag tag : tags) {
+			writeString(out, tag.getName());
+			out.writeByte(tag.getType());
+		}
+	}
+
+	private static void writeString(DataOutputStream out, String string) throws IOException {
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	/*
+	 * Return the next record of the buffer or null if the record is corrupt
+	 */
+	private static Record readRecord(ByteBuffer buffer, CVSTagRegistry registry) {
+		byte kind = buffer.get();
+		if (kind != ENTRY_RECORD && kind != ADD_RECORD && kind != REMOVE_RECORD) return null;
+		String path = readString(buffer);
+		if (path == null) return null;
+		long time = buffer.getLong();
+		// each tag takes at least the length of its name and its type
+		int count = readLength(buffer, 5);
+		if (count == -1) return null;
+		CVSTag[] tags = new CVSTag[count];
+		for (int i = 0; i < tags.length; i++) {
+			String name = readString(buffer);
+			if (name == null) return null;
+			tags[i] = registry.getTag(name, null, buffer.get());
+		}
+		return new Record(kind, path, time, tags);
+	}
+
+	/*
+	 * Return the next string of the buffer or null if its length is corrupt
+	 */
+	private static String readString(ByteBuffer buffer) {
+		int length = readLength(buffer, 1);
+		if (length == -1) return null;
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/*
+	 * Return the next length of the buffer or -1 if it is negative or if the buffer
+	 * does not have room for that many elements of the given size
+	 */
+	private static int readLength(ByteBuffer buffer, int elementSize) {
+		int length = buffer.getInt();
+		if (length < 0 || length > buffer.remaining() / elementSize) return -1;
+		return length;
+	}
+}
@@ -18,7 +18,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.team.internal.ccvs.core.ICVSRepositoryLocation;
@@ -39,6 +41,8 @@ public class TestConnection implements IServerConnection {
 	
 	private ByteArrayInputStream serverResponse;
 	
+	private static Map<String, byte[]> responses = new HashMap<>();
+	
 	private static final String VALID_SERVER_REQUESTS = "Valid-requests Root Valid-responses valid-requests Repository Directory Max-dotdot Static-directory Sticky Checkin-prog Update-prog Entry Kopt Checkin-time Modified Is-modified UseUnchanged Unchanged Notify Questionable Case Argument Argumentx Global_option Gzip-stream wrapper-sendme-rcsOptions Set Kerberos-encrypt Gssapi-encrypt Gssapi-authenticate expand-modules ci co update diff log rlog add remove update-patches gzip-file-contents status rdiff tag rtag import admin export history release watch-on watch-off watch-add watch-remove watchers editors init annotate rannotate noop version";
 
 	public static IServerConnection createConnection(ICVSRepositoryLocation location, String password) {
@@ -46,6 +50,22 @@ public class TestConnection implements IServerConnection {
 		return currentConnection;
 	}
 	
+	/**
+	 * Set the responses sent by the server when it receives the given request.
+	 * The responses must be terminated by an ok or error response.
+	 */
+	public static void setResponse(String request, String response) {
+		responses.put(request, response.getBytes());
+	}
+	
+	/**
+	 * Forget the responses set using <code>setResponse</code> so that they
+	 * are not sent to the requests of another test.
+	 */
+	public static void resetResponses() {
+		responses.clear();
+	}
+	
 	public static String getLastLine() {
 		if (previousLines.isEmpty())
 			return null;
@@ -79,6 +99,14 @@ public class TestConnection implements IServerConnection {
 					return serverResponse.read();
 				}	
 			}
+			@Override
+			public int read(byte[] b, int off, int len) throws IOException {
+				if (serverResponse == null) {
+					throw new IOException("Not prepared to make a response");
+				} else {
+					return serverResponse.read(b, off, len);
+				}	
+			}
 		};
 	}
 
@@ -106,6 +134,8 @@ public class TestConnection implements IServerConnection {
 	protected void respondToSentLine(String sentLine) {
 		if (sentLine.equals("valid-requests")) {
 			serverResponse = new ByteArrayInputStream((VALID_SERVER_REQUESTS + "\nok\n").getBytes());
+		} else if (responses.containsKey(sentLine)) {
+			serverResponse = new ByteArrayInputStream(responses.get(sentLine));
 		}
 	}
 
@@ -24,6 +24,19 @@ public class AllTestsCVSResources extends EclipseTest {
 		suite.addTest(EclipseFolderTest.suite());
 		suite.addTest(ResourceSyncBytesTest.suite());
 		suite.addTest(CVSURITest.suite());
+		suite.addTest(ModuleCacheTest.suite());
+		suite.addTest(RevisionTest.suite());
+		suite.addTest(AnnotateListenerTest.suite());
+		suite.addTest(RemoteContentCacheTest.suite());
+		suite.addTest(TransferBufferTest.suite());
+		suite.addTest(ConnectionTest.suite());
+		suite.addTest(ConnectionPoolTest.suite());
+		suite.addTest(ParallelTasksTest.suite());
+		suite.addTest(CVSDateFormatterTest.suite());
+		suite.addTest(SyncStateIndexTest.suite());
+		suite.addTest(ServerMessageLineMatcherTest.suite());
+		suite.addTest(LogListenerTest.suite());
+		suite.addTest(SymbolicNamesListenerTest.suite());
 		return suite; 	
 	}	
 	
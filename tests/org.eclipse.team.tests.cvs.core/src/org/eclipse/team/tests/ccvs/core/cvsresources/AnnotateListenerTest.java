@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.tests.ccvs.core.cvsresources;
+
+import java.io.*;
+import java.util.List;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.team.internal.ccvs.core.CVSAnnotateBlock;
+import org.eclipse.team.internal.ccvs.core.client.listeners.AnnotateListener;
+import org.eclipse.team.tests.ccvs.core.EclipseTest;
+
+public class AnnotateListenerTest extends EclipseTest {
+
+	private static final String[] LINES = new String[] {
+		"1.1          (alice    01-Jan-03): first",
+		"1.1          (alice    01-Jan-03): second",
+		"1.3          (bob      02-Feb-03): ",
+		"1.3          (bob      02-Feb-03): fourth",
+		"1.1          (alice    01-Jan-03): fifth"
+	};
+
+	public AnnotateListenerTest() {
+		super();
+	}
+
+	public AnnotateListenerTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return new TestSuite(AnnotateListenerTest.class);
+	}
+
+	private AnnotateListener annotate(String[] lines) {
+		AnnotateListener listener = new AnnotateListener();
+		for (String line : lines) {
+			listener.messageLine(line, null, null, DEFAULT_MONITOR);
+		}
+		return listener;
+	}
+
+	private String read(InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[3];
+		int n;
+		while ((n = in.read(buffer)) != -1) {
+			out.write(buffer, 0, n);
+		}
+		return out.toString();
+	}
+
+	public void testBlocks() {
+		AnnotateListener listener = annotate(LINES);
+		List blocks = listener.getCvsAnnotateBlocks();
+		assertEquals(3, blocks.size());
+		CVSAnnotateBlock block = (CVSAnnotateBlock) blocks.get(1);
+		assertEquals("1.3", block.getRevision());
+		assertEquals(2, block.getStartLine());
+		assertEquals(3, block.getEndLine());
+		assertTrue(block.toString().startsWith("bob "));
+
+		assertEquals(5, listener.getLineCount());
+		assertEquals("1.1", listener.getRevision(0));
+		assertEquals("1.1", listener.getRevision(1));
+		assertEquals("1.3", listener.getRevision(3));
+		assertEquals("1.1", listener.getRevision(4));
+		assertNull(listener.getRevision(5));
+		assertSame(block, listener.getBlock(2));
+	}
+
+	public void testContents() throws IOException {
+		AnnotateListener listener = annotate(LINES);
+		String separator = System.lineSeparator();
+		String expected = "first" + separator + "second" + separator + separator + "fourth" + separator + "fifth" + separator;
+		assertEquals(expected, read(listener.getContents()));
+		// the contents can be read more than once
+		assertEquals(expected, read(listener.getContents()));
+
+		listener.setContents(new ByteArrayInputStream("replaced".getBytes()));
+		assertEquals("replaced", read(listener.getContents()));
+	}
+
+	public void testDiscardContents() throws IOException {
+		AnnotateListener listener = annotate(LINES);
+		assertTrue(listener.hasContents());
+		listener.discardContents();
+		assertFalse(listener.hasContents());
+		assertEquals("", read(listener.getContents()));
+		// the annotations are kept
+		assertEquals(3, listener.getCvsAnnotateBlocks().size());
+		assertEquals("1.3", listener.getRevision(3));
+	}
+
+	public void testMalformedLine() {
+		AnnotateListener listener = new AnnotateListener();
+		IStatus status = listener.messageLine("malformed", null, null, DEFAULT_MONITOR);
+		assertEquals(IStatus.ERROR, status.getSeverity());
+		assertEquals(1, listener.getCvsAnnotateBlocks().size());
+		assertFalse(((CVSAnnotateBlock) listener.getCvsAnnotateBlocks().get(0)).isValid());
+	}
+}
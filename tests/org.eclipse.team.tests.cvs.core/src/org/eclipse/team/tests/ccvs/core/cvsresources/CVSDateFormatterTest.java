@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.tests.ccvs.core.cvsresources;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.*;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.team.internal.ccvs.core.util.CVSDateFormatter;
+import org.eclipse.team.tests.ccvs.core.EclipseTest;
+
+public class CVSDateFormatterTest extends EclipseTest {
+
+	public CVSDateFormatterTest() {
+		super();
+	}
+
+	public CVSDateFormatterTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return new TestSuite(CVSDateFormatterTest.class);
+	}
+
+	public void testDateFormatter() throws ParseException {
+		// Tue Mar  4 19:47:36 2003 GMT
+		Date date = new Date(1046807256000L);
+		assertEquals("Tue Mar  4 19:47:36 2003", CVSDateFormatter.dateToEntryLine(date));
+		assertEquals("Tue Mar  4 19:47:36 2003", CVSDateFormatter.dateToEntryLine(new Date(date.getTime() + 999)));
+		assertEquals(date, CVSDateFormatter.entryLineToDate("Tue Mar  4 19:47:36 2003"));
+		assertEquals(date, CVSDateFormatter.entryLineToDate("Tue Mar 04 19:47:36 2003"));
+		assertEquals("Thu Mar 20 16:36:56 2003", CVSDateFormatter.dateToEntryLine(CVSDateFormatter.entryLineToDate("Thu Mar 20 16:36:56 2003")));
+		// a timestamp that is not in the canonical format is not returned when formatting
+		assertEquals("Tue Mar  4 19:47:36 2003", CVSDateFormatter.dateToEntryLine(CVSDateFormatter.entryLineToDate("Tue Mar 04 19:47:36 2003")));
+		assertEquals(date, CVSDateFormatter.entryLineToDate("Tue  Mar  4  19:47:36  2003"));
+		assertEquals("Tue Mar  4 19:47:36 2003", CVSDateFormatter.dateToEntryLine(date));
+		assertEquals(date, CVSDateFormatter.serverStampToDate("4 Mar 2003 19:47:36 -0000"));
+		assertEquals(date, CVSDateFormatter.serverStampToDate("04 Mar 2003 21:47:36 +0200"));
+		assertEquals("04 Mar 2003 19:47:36 GMT", CVSDateFormatter.dateToNotifyServer(date));
+		assertEquals(date, CVSDateFormatter.logStampToDate("2003/03/04 19:47:36 GMT"));
+		assertEquals(date, CVSDateFormatter.logStampToDate("2003-03-04 14:47:36 -0500 GMT"));
+		try {
+			CVSDateFormatter.entryLineToDate("dummy timestamp");
+			fail("Expected the dummy timestamp to fail");
+		} catch (ParseException e) {
+			// expected
+		}
+	}
+
+	public void testRoundTrip() throws ParseException {
+		// the formats used before the formatter was rewritten serve as the reference
+		SimpleDateFormat entryLineFormat = new SimpleDateFormat("E MMM dd HH:mm:ss yyyy", Locale.US);
+		entryLineFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
+		SimpleDateFormat serverFormat = new SimpleDateFormat("dd MMM yyyy HH:mm:ss", Locale.US);
+		serverFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
+		Random random = new Random(1046807256000L);
+		// dates from 1970 to 2100 with the precision of the formats
+		long range = 130L * 365 * 24 * 60 * 60;
+		for (int i = 0; i < 10000; i++) {
+			Date date = new Date((long)(random.nextDouble() * range) * 1000);
+			StringBuilder expected = new StringBuilder(entryLineFormat.format(date));
+			if (expected.charAt(8) == '0') {
+				expected.setCharAt(8, ' ');
+			}
+			String entryLine = CVSDateFormatter.dateToEntryLine(date);
+			assertEquals(expected.toString(), entryLine);
+			assertEquals(entryLine, date, CVSDateFormatter.entryLineToDate(entryLine));
+			String notify = CVSDateFormatter.dateToNotifyServer(date);
+			assertEquals(serverFormat.format(date) + " GMT", notify);
+			String serverStamp = notify.substring(0, notify.length() - " GMT".length()) + " -0000";
+			assertEquals(serverStamp, date, CVSDateFormatter.serverStampToDate(serverStamp));
+		}
+	}
+}
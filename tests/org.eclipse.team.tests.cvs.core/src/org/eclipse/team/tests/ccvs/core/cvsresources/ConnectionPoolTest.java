@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.tests.ccvs.core.cvsresources;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.team.internal.ccvs.core.CVSException;
+import org.eclipse.team.internal.ccvs.core.CVSProviderPlugin;
+import org.eclipse.team.internal.ccvs.core.ICVSFolder;
+import org.eclipse.team.internal.ccvs.core.ICVSRepositoryLocation;
+import org.eclipse.team.internal.ccvs.core.ICVSResource;
+import org.eclipse.team.internal.ccvs.core.client.Command;
+import org.eclipse.team.internal.ccvs.core.client.Command.GlobalOption;
+import org.eclipse.team.internal.ccvs.core.client.Session;
+import org.eclipse.team.internal.ccvs.core.connection.CVSRepositoryLocation;
+import org.eclipse.team.internal.ccvs.core.connection.ConnectionPool;
+import org.eclipse.team.internal.ccvs.core.resources.CVSWorkspaceRoot;
+import org.eclipse.team.internal.ccvs.core.util.KnownRepositories;
+import org.eclipse.team.tests.ccvs.core.EclipseTest;
+import org.eclipse.team.tests.ccvs.core.TestConnection;
+
+public class ConnectionPoolTest extends EclipseTest {
+
+	private ICVSRepositoryLocation location;
+	private ICVSFolder root;
+
+	public ConnectionPoolTest() {
+		super();
+	}
+
+	public ConnectionPoolTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return new TestSuite(ConnectionPoolTest.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		location = KnownRepositories.getInstance().getRepository(":test:user:password@host:/path");
+		root = CVSWorkspaceRoot.getCVSFolderFor(ResourcesPlugin.getWorkspace().getRoot());
+		// disable version determination to reduce traffic
+		CVSProviderPlugin.getPlugin().setDetermineVersionEnabled(false);
+		ConnectionPool.getInstance().closeAll(null);
+		// pooled connections are checked with a noop before they are reused
+		TestConnection.setResponse("noop", "ok\n");
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		ConnectionPool.getInstance().setIdleTimeout(ConnectionPool.IDLE_TIMEOUT);
+		CVSProviderPlugin.getPlugin().setMaxPooledConnections(CVSProviderPlugin.DEFAULT_MAX_POOLED_CONNECTIONS);
+		ConnectionPool.getInstance().closeAll(null);
+		TestConnection.resetResponses();
+		super.tearDown();
+	}
+
+	/*
+	 * Open and close a session on the given location and return the connection
+	 * that was last created
+	 */
+	private TestConnection openAndClose(ICVSRepositoryLocation repository) throws CVSException {
+		Session session = new Session(repository, root, false /* output to console */);
+		session.open(DEFAULT_MONITOR, false /* read-only */);
+		session.close();
+		return TestConnection.currentConnection;
+	}
+
+	public void testReuse() throws CVSException {
+		TestConnection connection = openAndClose(location);
+		// the connection was pooled and no new connection is created
+		assertSame(connection, openAndClose(location));
+	}
+
+	public void testGlobalOptionsNotPooled() throws CVSException {
+		// run a command with -n, which the server keeps applying on the connection
+		Session session = new Session(location, root, false /* output to console */);
+		session.open(DEFAULT_MONITOR, false /* read-only */);
+		TestConnection connection = TestConnection.currentConnection;
+		try {
+			IStatus status = Command.NOOP.execute(session, new GlobalOption[] { Command.DO_NOT_CHANGE }, Command.NO_LOCAL_OPTIONS, new ICVSResource[0], null, DEFAULT_MONITOR);
+			assertTrue(status.isOK());
+		} finally {
+			session.close();
+		}
+
+		// the connection must not be reused by a session that makes changes
+		assertNotSame(connection, openAndClose(location));
+	}
+
+	public void testPooledPerLocation() throws CVSException {
+		ICVSRepositoryLocation other = KnownRepositories.getInstance().getRepository(":test:user2:password@host:/path");
+		TestConnection connection = openAndClose(location);
+		// a connection authenticated for another user is not reused
+		TestConnection otherConnection = openAndClose(other);
+		assertNotSame(connection, otherConnection);
+		// both connections are pooled under their own location
+		assertSame(otherConnection, openAndClose(location));
+		assertSame(otherConnection, openAndClose(other));
+
+		// closing the connections of a location leaves those of the other location
+		ConnectionPool.getInstance().closeAll((CVSRepositoryLocation)location);
+		TestConnection newConnection = openAndClose(location);
+		assertNotSame(otherConnection, newConnection);
+		assertSame(newConnection, openAndClose(other));
+	}
+
+	public void testIdleEviction() throws CVSException, InterruptedException {
+		ConnectionPool.getInstance().setIdleTimeout(1);
+		TestConnection connection = openAndClose(location);
+		Thread.sleep(50);
+		// the idle connection was closed so a new one is created
+		assertNotSame(connection, openAndClose(location));
+	}
+
+	public void testPoolingDisabled() throws CVSException {
+		TestConnection connection = openAndClose(location);
+		// disabling the pool closes the idle connections
+		CVSProviderPlugin.getPlugin().setMaxPooledConnections(0);
+		TestConnection newConnection = openAndClose(location);
+		assertNotSame(connection, newConnection);
+		// and connections are no longer pooled
+		assertNotSame(newConnection, openAndClose(location));
+	}
+}
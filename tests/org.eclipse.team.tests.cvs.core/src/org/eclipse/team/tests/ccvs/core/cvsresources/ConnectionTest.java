@@ -0,0 +1,268 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.tests.ccvs.core.cvsresources;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.*;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.team.internal.ccvs.core.CVSException;
+import org.eclipse.team.internal.ccvs.core.IServerConnection;
+import org.eclipse.team.internal.ccvs.core.connection.CVSRepositoryLocation;
+import org.eclipse.team.internal.ccvs.core.connection.Connection;
+import org.eclipse.team.tests.ccvs.core.EclipseTest;
+
+public class ConnectionTest extends EclipseTest {
+
+	/*
+	 * A server connection that records the requests and replays canned responses
+	 */
+	private static class MemoryConnection implements IServerConnection {
+		final ByteArrayOutputStream requests = new ByteArrayOutputStream();
+		// the number of bytes of each write to the connection
+		final List<Integer> writes = new ArrayList<>();
+		private final InputStream responses;
+		private final OutputStream out = new OutputStream() {
+			@Override
+			public void write(int b) {
+				writes.add(1);
+				requests.write(b);
+			}
+			@Override
+			public void write(byte[] b, int off, int len) {
+				writes.add(len);
+				requests.write(b, off, len);
+			}
+		};
+		MemoryConnection(byte[] responses) {
+			this(responses, Integer.MAX_VALUE);
+		}
+		/*
+		 * Replay the responses, returning at most the given number of bytes from each read
+		 */
+		MemoryConnection(byte[] responses, final int chunkSize) {
+			this.responses = new ByteArrayInputStream(responses) {
+				@Override
+				public synchronized int read(byte[] b, int off, int len) {
+					return super.read(b, off, Math.min(len, chunkSize));
+				}
+			};
+		}
+		@Override
+		public void open(IProgressMonitor monitor) {
+			// nothing to open
+		}
+		@Override
+		public void close() {
+			// nothing to close
+		}
+		@Override
+		public InputStream getInputStream() {
+			return responses;
+		}
+		@Override
+		public OutputStream getOutputStream() {
+			return out;
+		}
+	}
+
+	public ConnectionTest() {
+		super();
+	}
+
+	public ConnectionTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return new TestSuite(ConnectionTest.class);
+	}
+
+	private CVSRepositoryLocation getLocation() throws CVSException {
+		return CVSRepositoryLocation.fromString(":pserver:user@host1:/path");
+	}
+
+	private Connection open(IServerConnection server) throws CVSException {
+		Connection connection = new Connection(getLocation(), server);
+		connection.open(DEFAULT_MONITOR);
+		return connection;
+	}
+
+	private static String repeat(char c, int count) {
+		char[] chars = new char[count];
+		Arrays.fill(chars, c);
+		return new String(chars);
+	}
+
+	private byte[] deflate(byte[] bytes) throws IOException {
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		try (DeflaterOutputStream out = new DeflaterOutputStream(compressed, new Deflater(6), true /* syncFlush */)) {
+			out.write(bytes);
+			out.flush();
+		}
+		return compressed.toByteArray();
+	}
+
+	private byte[] inflate(byte[] bytes, int offset) throws DataFormatException {
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(bytes, offset, bytes.length - offset);
+			byte[] buffer = new byte[1024];
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			int count;
+			while ((count = inflater.inflate(buffer)) > 0) {
+				out.write(buffer, 0, count);
+			}
+			return out.toByteArray();
+		} finally {
+			inflater.end();
+		}
+	}
+
+	public void testStreamCompression() throws IOException, CVSException, DataFormatException {
+		MemoryConnection server = new MemoryConnection(deflate("ok\nM hello\n".getBytes()));
+		Connection connection = open(server);
+		connection.writeLine("Gzip-stream 6");
+		connection.enableStreamCompression(6);
+		assertTrue(connection.isStreamCompressed());
+		connection.writeLine("Argument file.txt");
+		connection.writeLine("noop");
+		connection.flush();
+
+		// the request that starts the compression is not compressed
+		byte[] sent = server.requests.toByteArray();
+		byte[] request = "Gzip-stream 6\n".getBytes();
+		assertTrue(Arrays.equals(request, Arrays.copyOf(sent, request.length)));
+		assertEquals("Argument file.txt\nnoop\n", new String(inflate(sent, request.length)));
+
+		assertEquals("ok", connection.readLine());
+		assertEquals("M", connection.readResponse());
+		assertEquals("hello", connection.getResponseArgument());
+		connection.close();
+		assertFalse(connection.isStreamCompressed());
+	}
+
+	public void testLinesAcrossRefills() throws CVSException {
+		StringBuilder responses = new StringBuilder();
+		List<String> lines = new ArrayList<>();
+		for (int i = 0; i < 5000; i++) {
+			lines.add("M line " + i);
+		}
+		// a line longer than the read buffer
+		lines.add("M " + repeat('x', 100000));
+		lines.add("");
+		lines.add("ok");
+		for (String line : lines) {
+			responses.append(line).append('\n');
+		}
+		// the last line has no newline
+		responses.append("error");
+		Connection connection = open(new MemoryConnection(responses.toString().getBytes(), 4093));
+		for (String line : lines) {
+			assertEquals(line, connection.readLine());
+		}
+		assertEquals("error", connection.readLine());
+		assertEquals("", connection.readLine());
+		connection.close();
+	}
+
+	public void testResponsesAcrossRefills() throws CVSException {
+		String argument = repeat('y', 40000);
+		// the name and argument of the first response end in a different read
+		byte[] responses = ("Mbinary " + argument + "\nok\n").getBytes();
+		Connection connection = open(new MemoryConnection(responses, 5));
+		assertEquals("Mbinary", connection.readResponse());
+		assertEquals(argument, connection.getResponseArgument());
+		assertEquals("ok", connection.readResponse());
+		assertEquals("", connection.getResponseArgument());
+		connection.close();
+	}
+
+	public void testContentsBetweenLines() throws CVSException, IOException {
+		// file contents are read from the stream between two lines
+		byte[] contents = new byte[70000];
+		for (int i = 0; i < contents.length; i++) {
+			contents[i] = (byte)i;
+		}
+		ByteArrayOutputStream responses = new ByteArrayOutputStream();
+		responses.write(("" + contents.length + "\n").getBytes());
+		responses.write(contents);
+		responses.write("ok\n".getBytes());
+		Connection connection = open(new MemoryConnection(responses.toByteArray(), 30000));
+		int length = Integer.parseInt(connection.readLine());
+		byte[] read = new byte[length];
+		InputStream in = connection.getInputStream();
+		int offset = 0;
+		while (offset < length) {
+			int count = in.read(read, offset, length - offset);
+			assertTrue(count > 0);
+			offset += count;
+		}
+		assertTrue(Arrays.equals(contents, read));
+		assertEquals("ok", connection.readLine());
+		connection.close();
+	}
+
+	public void testUnmappableCharacters() throws CVSException, UnsupportedEncodingException {
+		// a lone surrogate and characters that may not be mappable in the encoding of the location
+		String line = "Argument a\uD800b\u00e9\u4e2d\uDC00";
+		MemoryConnection server = new MemoryConnection(new byte[0]);
+		Connection connection = open(server);
+		connection.writeLine(line);
+		connection.flush();
+		// the characters are replaced as String.getBytes does
+		byte[] expected = (line + "\n").getBytes(Connection.getEncoding(getLocation()));
+		assertTrue(Arrays.equals(expected, server.requests.toByteArray()));
+		connection.close();
+	}
+
+	public void testRequestsBuffered() throws CVSException {
+		MemoryConnection server = new MemoryConnection(new byte[0]);
+		Connection connection = open(server);
+		StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			connection.writeLine("Argument " + i);
+			expected.append("Argument ").append(i).append('\n');
+		}
+		assertTrue(server.writes.isEmpty());
+		connection.flush();
+		// the requests are written in a single write
+		assertEquals(1, server.writes.size());
+		assertEquals(expected.toString(), new String(server.requests.toByteArray()));
+		connection.close();
+	}
+
+	public void testLargeWriteBypassesBuffer() throws CVSException, IOException {
+		MemoryConnection server = new MemoryConnection(new byte[0]);
+		Connection connection = open(server);
+		connection.writeLine("Modified file.txt");
+		byte[] contents = new byte[100000];
+		Arrays.fill(contents, (byte)'z');
+		connection.getOutputStream().write(contents);
+		connection.writeLine("noop");
+		connection.flush();
+		// the buffered request is written before the contents, which are written as is
+		assertEquals(Arrays.asList(Integer.valueOf(18), Integer.valueOf(contents.length), Integer.valueOf(5)), server.writes);
+		byte[] sent = server.requests.toByteArray();
+		assertEquals(18 + contents.length + 5, sent.length);
+		assertTrue(Arrays.equals(contents, Arrays.copyOfRange(sent, 18, 18 + contents.length)));
+		connection.close();
+	}
+}
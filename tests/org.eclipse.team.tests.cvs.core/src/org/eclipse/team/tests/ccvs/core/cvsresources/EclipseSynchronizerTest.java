@@ -14,6 +14,7 @@
 package org.eclipse.team.tests.ccvs.core.cvsresources;
 
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -575,7 +576,58 @@ public class EclipseSynchronizerTest extends EclipseTest {
 		assertTrue(getCVSResource(project.getFile("folder/aaaa1/bbbb1/bbbb1.txt")).isIgnored());
 
 	}
-	
+
+	public void testEntriesLogAppend() throws CoreException, CVSException, IOException {
+		String[] resources = new String[21];
+		resources[0] = "folder1/";
+		for (int i = 1; i < resources.length; i++) {
+			resources[i] = "folder1/file" + i + ".txt";
+		}
+		IProject project = createProject(resources);
+		IFolder folder = project.getFolder("folder1");
+		sync.flush(project, true /* deep */, null);
+
+		// Changing a single entry should be recorded in the Entries.Log file
+		IFile file = folder.getFile("file1.txt");
+		MutableResourceSyncInfo info = new MutableResourceSyncInfo(file.getName(), "1.2");
+		info.setTag(CVSTag.DEFAULT);
+		sync.setResourceSync(file, info);
+		sync.flush(project, true /* deep */, null);
+		IFolder cvsFolder = folder.getFolder(SyncFileWriter.CVS_DIRNAME);
+		String[] entries = readFromFile(cvsFolder.getFile(SyncFileWriter.ENTRIES));
+		String[] log = readFromFile(cvsFolder.getFile(SyncFileWriter.ENTRIES_LOG));
+		assertFalse(Arrays.asList(entries).contains(new String(info.getBytes())));
+		assertNotNull(log);
+		assertEquals("A " + new String(info.getBytes()), log[log.length - 1]);
+		assertEquals(info, sync.getResourceSync(file));
+		assertEquals(resources.length - 1, SyncFileWriter.readAllResourceSync(folder).length);
+
+		// Once the log gets long, the Entries file is rewritten and the log is deleted
+		for (int i = 2; i < resources.length; i++) {
+			IFile other = folder.getFile("file" + i + ".txt");
+			MutableResourceSyncInfo otherInfo = new MutableResourceSyncInfo(other.getName(), "1.2");
+			otherInfo.setTag(CVSTag.DEFAULT);
+			sync.setResourceSync(other, otherInfo);
+		}
+		sync.flush(project, true /* deep */, null);
+		assertFalse(cvsFolder.getFile(SyncFileWriter.ENTRIES_LOG).exists());
+		entries = readFromFile(cvsFolder.getFile(SyncFileWriter.ENTRIES));
+		assertTrue(Arrays.asList(entries).contains(new String(info.getBytes())));
+		assertEquals(info, sync.getResourceSync(file));
+	}
+
+	public void testEnsureSyncInfoLoaded() throws CoreException, CVSException {
+		String[] resources = new String[] { "folder1/", "folder1/a.txt", "folder1/folder2/", "folder1/folder2/b.txt",
+				"folder3/", "folder3/c.txt", "d.txt" };
+		IProject project = createProject(resources);
+		sync.flush(project, true /* deep */, null);
+		IResource[] roots = new IResource[] { project };
+		assertFalse(sync.isSyncInfoLoaded(roots, IResource.DEPTH_INFINITE));
+		sync.ensureSyncInfoLoaded(roots, IResource.DEPTH_INFINITE);
+		assertTrue(sync.isSyncInfoLoaded(roots, IResource.DEPTH_INFINITE));
+		assertHasSyncInfo(project, resources);
+	}
+
 	public void testMembers() throws CoreException, CVSException {
 		IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
 		IProject project1 = getUniqueTestProject(getName() + "1");
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.tests.ccvs.core.cvsresources;
+
+import java.util.*;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.team.internal.ccvs.core.*;
+import org.eclipse.team.internal.ccvs.core.client.listeners.ILogFileListener;
+import org.eclipse.team.internal.ccvs.core.client.listeners.LogListener;
+import org.eclipse.team.internal.ccvs.core.connection.CVSRepositoryLocation;
+import org.eclipse.team.internal.ccvs.core.util.BoundedMap;
+import org.eclipse.team.tests.ccvs.core.EclipseTest;
+
+public class LogListenerTest extends EclipseTest {
+
+	/*
+	 * A listener that records the entries and the completed files in the order they are received
+	 */
+	private static class RecordingListener implements ILogFileListener {
+		final List<String> events = new ArrayList<>();
+		final List<ILogEntry> entries = new ArrayList<>();
+		@Override
+		public void handleLogEntryReceived(ILogEntry entry) {
+			entries.add(entry);
+			events.add(entry.getRemoteFile().getName() + " " + entry.getRevision());
+		}
+		@Override
+		public void handleFileCompleted(ICVSRemoteFile file) {
+			events.add(file.getName() + " done");
+		}
+	}
+
+	public LogListenerTest() {
+		super();
+	}
+
+	public LogListenerTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return new TestSuite(LogListenerTest.class);
+	}
+
+	private static void addLog(List<String> lines, String fileName) {
+		lines.add("RCS file: /path/project/" + fileName + ",v");
+		lines.add("head: 1.2");
+		lines.add("branch:");
+		lines.add("locks: strict");
+		lines.add("access list:");
+		lines.add("symbolic names:");
+		lines.add("\tv1: 1.1");
+		lines.add("\tb1: 1.1.0.2");
+		lines.add("keyword substitution: kv");
+		lines.add("total revisions: 2;\tselected revisions: 2");
+		lines.add("description:");
+		lines.add("----------------------------");
+		lines.add("revision 1.2");
+		lines.add("date: 2009/01/02 10:00:00;  author: alice;  state: Exp;  lines: +1 -0");
+		lines.add("second");
+		lines.add("----------------------------");
+		lines.add("revision 1.1");
+		lines.add("date: 2009/01/01 10:00:00;  author: bob;  state: Exp;");
+		lines.add("first");
+		lines.add("=============================================================================");
+	}
+
+	public void testFilesCompletedIncrementally() throws CVSException {
+		ICVSRepositoryLocation location = CVSRepositoryLocation.fromString(":pserver:user@host1:/path");
+		List<String> lines = new ArrayList<>();
+		addLog(lines, "a.txt");
+		addLog(lines, "b.txt");
+		RecordingListener listener = new RecordingListener();
+		LogListener logListener = new LogListener(listener);
+		int linesOfFirstFile = lines.size() / 2;
+		for (int i = 0; i < lines.size(); i++) {
+			assertTrue(logListener.messageLine(lines.get(i), location, null, DEFAULT_MONITOR).isOK());
+			if (i == linesOfFirstFile - 1) {
+				// the first file is complete before the log of the second one is received
+				assertEquals(Arrays.asList("a.txt 1.2", "a.txt 1.1", "a.txt done"), listener.events);
+			}
+		}
+		assertEquals(Arrays.asList("a.txt 1.2", "a.txt 1.1", "a.txt done", "b.txt 1.2", "b.txt 1.1", "b.txt done"), listener.events);
+
+		ILogEntry entry = listener.entries.get(0);
+		assertEquals("alice", entry.getAuthor());
+		assertEquals("second", entry.getComment());
+		ILogEntry first = listener.entries.get(1);
+		ILogEntry second = listener.entries.get(3);
+		assertEquals("first", first.getComment());
+		// the version and the branch made from revision 1.1
+		assertEquals(2, first.getTags().length);
+		assertEquals("v1", first.getTags()[0].getName());
+		assertEquals("b1", first.getTags()[1].getName());
+		// the tags and strings of a module are shared between its files
+		assertSame(first.getTags()[0], second.getTags()[0]);
+		assertSame(first.getAuthor(), second.getAuthor());
+	}
+
+	public void testBoundedMap() {
+		Map<String, String> map = new BoundedMap<>(2);
+		map.put("a", "1");
+		map.put("b", "2");
+		// reading an entry makes it the most recently used
+		assertEquals("1", map.get("a"));
+		map.put("c", "3");
+		assertEquals(2, map.size());
+		assertTrue(map.containsKey("a"));
+		assertFalse(map.containsKey("b"));
+		assertTrue(map.containsKey("c"));
+		map.put("d", "4");
+		assertEquals(new HashSet<>(Arrays.asList("c", "d")), map.keySet());
+	}
+}
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.tests.ccvs.core.cvsresources;
+
+import java.util.Arrays;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.team.internal.ccvs.core.CVSException;
+import org.eclipse.team.internal.ccvs.core.CVSProviderPlugin;
+import org.eclipse.team.internal.ccvs.core.connection.CVSRepositoryLocation;
+import org.eclipse.team.internal.ccvs.core.util.ModuleCache;
+import org.eclipse.team.tests.ccvs.core.EclipseTest;
+
+public class ModuleCacheTest extends EclipseTest {
+
+	public ModuleCacheTest() {
+		super();
+	}
+
+	public ModuleCacheTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return new TestSuite(ModuleCacheTest.class);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		CVSProviderPlugin.getPlugin().setModuleCacheTimeout(CVSProviderPlugin.DEFAULT_MODULE_CACHE_TIMEOUT);
+		ModuleCache.getInstance().clear();
+		super.tearDown();
+	}
+
+	public void testExpansions() throws CVSException {
+		CVSRepositoryLocation location = CVSRepositoryLocation.fromString(":pserver:user@host1:/path");
+		CVSRepositoryLocation other = CVSRepositoryLocation.fromString(":pserver:user@host2:/path");
+		ModuleCache cache = ModuleCache.getInstance();
+		cache.setModuleExpansions(location, new String[] {"module"}, new String[] {"project1", "project2"});
+		assertTrue(Arrays.equals(new String[] {"project1", "project2"}, cache.getModuleExpansions(location, new String[] {"module"})));
+		assertNull(cache.getModuleExpansions(location, new String[] {"module", "other"}));
+		assertNull(cache.getModuleExpansions(other, new String[] {"module"}));
+
+		cache.invalidate(location);
+		assertNull(cache.getModuleExpansions(location, new String[] {"module"}));
+	}
+
+	public void testDefinitions() throws CVSException {
+		CVSRepositoryLocation location = CVSRepositoryLocation.fromString(":pserver:user@host1:/path");
+		ModuleCache cache = ModuleCache.getInstance();
+		String[] definitions = new String[] {"alias -a project1 project2", "module project1"};
+		cache.setModuleDefinitions(location, definitions);
+		assertTrue(Arrays.equals(definitions, cache.getModuleDefinitions(location)));
+
+		cache.clear();
+		assertNull(cache.getModuleDefinitions(location));
+	}
+
+	public void testDisabled() throws CVSException {
+		CVSRepositoryLocation location = CVSRepositoryLocation.fromString(":pserver:user@host1:/path");
+		ModuleCache cache = ModuleCache.getInstance();
+		cache.setModuleDefinitions(location, new String[] {"module project1"});
+		CVSProviderPlugin.getPlugin().setModuleCacheTimeout(0);
+		assertNull(cache.getModuleDefinitions(location));
+		cache.setModuleExpansions(location, new String[] {"module"}, new String[] {"project1"});
+		assertNull(cache.getModuleExpansions(location, new String[] {"module"}));
+	}
+}
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.tests.ccvs.core.cvsresources;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.jobs.JobGroup;
+import org.eclipse.team.internal.ccvs.core.CVSException;
+import org.eclipse.team.internal.ccvs.core.util.ParallelTasks;
+import org.eclipse.team.tests.ccvs.core.EclipseTest;
+
+public class ParallelTasksTest extends EclipseTest {
+
+	public ParallelTasksTest() {
+		super();
+	}
+
+	public ParallelTasksTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return new TestSuite(ParallelTasksTest.class);
+	}
+
+	private void await(CountDownLatch latch) {
+		try {
+			assertTrue(latch.await(10, TimeUnit.SECONDS));
+		} catch (InterruptedException e) {
+			fail(e.getMessage());
+		}
+	}
+
+	public void testResults() throws CVSException {
+		List<Integer> results = new ArrayList<>();
+		ParallelTasks<Integer> tasks = new ParallelTasks<>("test", new NullProgressMonitor(), results::add);
+		JobGroup group = tasks.newGroup(3);
+		for (int i = 0; i < 10; i++) {
+			final int value = i;
+			tasks.submit(group, 1, monitor -> value);
+		}
+		// null results are not handled
+		tasks.submit(group, 1, monitor -> null);
+		tasks.join();
+		Collections.sort(results);
+		assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), results);
+		assertFalse(tasks.isStopped());
+		assertFalse(tasks.isCanceled());
+	}
+
+	public void testFailureStopsUnstartedTasks() {
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch fail = new CountDownLatch(1);
+		final CVSException failure = new CVSException("first failure");
+		final List<Integer> run = Collections.synchronizedList(new ArrayList<>());
+		ParallelTasks<Integer> tasks = new ParallelTasks<>("test", new NullProgressMonitor(), null);
+		// one task runs at a time so the others wait for the failing task
+		JobGroup group = tasks.newGroup(1);
+		tasks.submit(group, 1, monitor -> {
+			started.countDown();
+			await(fail);
+			throw failure;
+		});
+		await(started);
+		for (int i = 0; i < 5; i++) {
+			final int value = i;
+			tasks.submit(group, 1, monitor -> {
+				run.add(value);
+				return value;
+			});
+		}
+		fail.countDown();
+		try {
+			tasks.join();
+			fail("Expected the failure of the task");
+		} catch (CVSException e) {
+			assertSame(failure, e);
+		}
+		assertTrue(tasks.isStopped());
+		assertTrue(run.isEmpty());
+		// tasks submitted once the tasks are stopped are skipped
+		tasks.submit(group, 1, monitor -> {
+			run.add(-1);
+			return null;
+		});
+		assertTrue(run.isEmpty());
+	}
+
+	public void testFirstFailureRethrown() {
+		final CVSException first = new CVSException("first failure");
+		final CVSException second = new CVSException("second failure");
+		final CountDownLatch failed = new CountDownLatch(1);
+		final ParallelTasks<Integer> tasks = new ParallelTasks<>("test", new NullProgressMonitor(), null);
+		JobGroup group = tasks.newGroup(2);
+		tasks.submit(group, 1, monitor -> {
+			// fail once the other task has failed
+			await(failed);
+			while (!tasks.isStopped()) {
+				Thread.yield();
+			}
+			throw second;
+		});
+		tasks.submit(group, 1, monitor -> {
+			failed.countDown();
+			throw first;
+		});
+		try {
+			tasks.join();
+			fail("Expected the failure of the tasks");
+		} catch (CVSException e) {
+			assertSame(first, e);
+		}
+	}
+
+	public void testRuntimeFailureRethrown() throws CVSException {
+		ParallelTasks<Integer> tasks = new ParallelTasks<>("test", new NullProgressMonitor(), null);
+		tasks.submit(tasks.newGroup(1), 1, monitor -> {
+			throw new IllegalStateException("failure");
+		});
+		try {
+			tasks.join();
+			fail("Expected the failure of the task");
+		} catch (IllegalStateException e) {
+			assertEquals("failure", e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.tests.ccvs.core.cvsresources;
+
+import java.io.*;
+import java.util.Arrays;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.team.internal.ccvs.core.CVSException;
+import org.eclipse.team.internal.ccvs.core.CVSProviderPlugin;
+import org.eclipse.team.internal.ccvs.core.CVSTag;
+import org.eclipse.team.internal.ccvs.core.connection.CVSRepositoryLocation;
+import org.eclipse.team.internal.ccvs.core.util.RemoteContentCache;
+import org.eclipse.team.internal.ccvs.core.util.RemoteContentCache.CachedContents;
+import org.eclipse.team.tests.ccvs.core.EclipseTest;
+
+public class RemoteContentCacheTest extends EclipseTest {
+
+	private static final byte[] SYNC_BYTES = "/file.txt/1.2/dummy timestamp/-kkv/".getBytes();
+
+	public RemoteContentCacheTest() {
+		super();
+	}
+
+	public RemoteContentCacheTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return new TestSuite(RemoteContentCacheTest.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		RemoteContentCache.getInstance().clear();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		CVSProviderPlugin.getPlugin().setRemoteContentCacheSize(CVSProviderPlugin.DEFAULT_REMOTE_CONTENT_CACHE_SIZE);
+		RemoteContentCache.getInstance().clear();
+		super.tearDown();
+	}
+
+	private String getKey(String revision, String keywordMode) throws CVSException {
+		CVSRepositoryLocation location = CVSRepositoryLocation.fromString(":pserver:user@host1:/path");
+		return RemoteContentCache.getKey(location, "project/file.txt", revision, keywordMode, null);
+	}
+
+	private void put(String key, byte[] contents) {
+		RemoteContentCache.getInstance().setContents(key, SYNC_BYTES, new ByteArrayInputStream(contents));
+	}
+
+	private byte[] get(String key) throws IOException {
+		CachedContents cached = RemoteContentCache.getInstance().getContents(key);
+		if (cached == null) return null;
+		assertTrue(Arrays.equals(SYNC_BYTES, cached.getSyncBytes()));
+		try (InputStream in = cached.getContents()) {
+			return in.readAllBytes();
+		}
+	}
+
+	public void testCacheable() {
+		assertTrue(RemoteContentCache.isCacheable("1.2"));
+		assertTrue(RemoteContentCache.isCacheable("1.2.2.1"));
+		assertFalse(RemoteContentCache.isCacheable(null));
+		assertFalse(RemoteContentCache.isCacheable("0"));
+		assertFalse(RemoteContentCache.isCacheable("-1.2"));
+		assertFalse(RemoteContentCache.isCacheable("1.2.2"));
+		assertFalse(RemoteContentCache.isCacheable("1.2.0.2"));
+	}
+
+	public void testContents() throws IOException, CVSException {
+		RemoteContentCache cache = RemoteContentCache.getInstance();
+		long hits = cache.getHitCount();
+		long misses = cache.getMissCount();
+		byte[] contents = "line 1\nline 2\n".getBytes();
+		put(getKey("1.2", "-kkv"), contents);
+		assertTrue(Arrays.equals(contents, get(getKey("1.2", "-kkv"))));
+		assertNull(get(getKey("1.2", "-kb")));
+		assertNull(get(getKey("1.3", "-kkv")));
+		CVSRepositoryLocation location = CVSRepositoryLocation.fromString(":pserver:user@host1:/path");
+		assertNull(get(RemoteContentCache.getKey(location, "project/file.txt", "1.2", "-kkv", new CVSTag("v1", CVSTag.VERSION))));
+		assertEquals(hits + 1, cache.getHitCount());
+		assertEquals(misses + 3, cache.getMissCount());
+		assertEquals(1, cache.getEntryCount());
+	}
+
+	public void testEviction() throws IOException, CVSException {
+		CVSProviderPlugin.getPlugin().setRemoteContentCacheSize(1);
+		RemoteContentCache cache = RemoteContentCache.getInstance();
+		long evictions = cache.getEvictionCount();
+		byte[] contents = new byte[400 * 1024];
+		put(getKey("1.1", ""), contents);
+		put(getKey("1.2", ""), contents);
+		// using the first entry makes the second one the least recently used
+		assertNotNull(get(getKey("1.1", "")));
+		put(getKey("1.3", ""), contents);
+		assertEquals(evictions + 1, cache.getEvictionCount());
+		assertNotNull(get(getKey("1.1", "")));
+		assertNull(get(getKey("1.2", "")));
+		assertNotNull(get(getKey("1.3", "")));
+		assertTrue(cache.getSize() <= 1024 * 1024);
+
+		// contents larger than the cache are not cached
+		put(getKey("1.4", ""), new byte[2 * 1024 * 1024]);
+		assertNull(get(getKey("1.4", "")));
+	}
+
+	public void testDisabled() throws IOException, CVSException {
+		put(getKey("1.2", ""), "contents".getBytes());
+		CVSProviderPlugin.getPlugin().setRemoteContentCacheSize(0);
+		assertFalse(RemoteContentCache.isEnabled());
+		assertNull(get(getKey("1.2", "")));
+		put(getKey("1.3", ""), "contents".getBytes());
+		CVSProviderPlugin.getPlugin().setRemoteContentCacheSize(CVSProviderPlugin.DEFAULT_REMOTE_CONTENT_CACHE_SIZE);
+		assertNull(get(getKey("1.3", "")));
+		// disabling the cache removed its entries
+		assertNull(get(getKey("1.2", "")));
+		assertEquals(0, RemoteContentCache.getInstance().getEntryCount());
+	}
+
+	public void testOpenEntryKept() throws IOException, CVSException {
+		RemoteContentCache cache = RemoteContentCache.getInstance();
+		byte[] contents = "contents".getBytes();
+		put(getKey("1.2", ""), contents);
+		CachedContents cached = cache.getContents(getKey("1.2", ""));
+		assertNotNull(cached);
+		try (InputStream in = cached.getContents()) {
+			// an open entry is not deleted
+			cache.clear();
+			assertEquals(1, cache.getEntryCount());
+			assertTrue(Arrays.equals(contents, in.readAllBytes()));
+		}
+		cache.clear();
+		assertEquals(0, cache.getEntryCount());
+	}
+
+	public void testLineEndingModeInKey() throws IOException, CVSException {
+		boolean usePlatformLineend = CVSProviderPlugin.getPlugin().isUsePlatformLineend();
+		try {
+			CVSProviderPlugin.getPlugin().setUsePlatformLineend(false);
+			put(getKey("1.2", "-kkv"), "line\n".getBytes());
+			// contents received with other line endings are not shared
+			CVSProviderPlugin.getPlugin().setUsePlatformLineend(true);
+			assertNull(get(getKey("1.2", "-kkv")));
+			CVSProviderPlugin.getPlugin().setUsePlatformLineend(false);
+			assertNotNull(get(getKey("1.2", "-kkv")));
+		} finally {
+			CVSProviderPlugin.getPlugin().setUsePlatformLineend(usePlatformLineend);
+		}
+	}
+
+	public void testCorruptEntry() throws IOException, CVSException {
+		RemoteContentCache cache = RemoteContentCache.getInstance();
+		String key = getKey("1.2", "");
+		put(key, "contents".getBytes());
+		File[] files = CVSProviderPlugin.getPlugin().getStateLocation().append(".remoteContents").toFile().listFiles();
+		assertEquals(1, files.length);
+		// an entry line longer than the file
+		try (DataOutputStream out = new DataOutputStream(new FileOutputStream(files[0]))) {
+			out.writeInt(1);
+			out.writeUTF(key);
+			out.writeInt(Integer.MAX_VALUE);
+		}
+		long misses = cache.getMissCount();
+		assertNull(get(key));
+		assertEquals(misses + 1, cache.getMissCount());
+		// the entry was closed and removed
+		assertEquals(0, cache.getEntryCount());
+		assertFalse(files[0].exists());
+	}
+}
@@ -24,6 +24,7 @@ import org.eclipse.team.internal.ccvs.core.CVSProviderPlugin;
 import org.eclipse.team.internal.ccvs.core.ICVSRepositoryLocation;
 import org.eclipse.team.internal.ccvs.core.client.Session;
 import org.eclipse.team.internal.ccvs.core.resources.CVSWorkspaceRoot;
+import org.eclipse.team.internal.ccvs.core.syncinfo.EntryLineView;
 import org.eclipse.team.internal.ccvs.core.syncinfo.ResourceSyncInfo;
 import org.eclipse.team.internal.ccvs.core.util.*;
 import org.eclipse.team.internal.ccvs.core.util.CVSDateFormatter;
@@ -92,6 +93,51 @@ public class ResourceSyncBytesTest extends EclipseTest {
 		assertNull(getBytesForSlot(input, -1));
 	}
 
+	public void testEntryLineView() throws CVSException {
+		String[] entryLines = new String[] {
+				"/plugin.xml/1.27/Tue Mar  4 19:47:36 2003/-ko/",
+				"/plugin.xml/-1.27/Tue Mar  4 19:47:36 2003/-kb/Tv1",
+				"/plugin.xml/0/dummy timestamp/-ko/",
+				"/newfile.txt/1.10/Result of merge+Thu Mar 20 16:36:56 2003//Nbranch",
+				"/newfile.txt/1.10/Result of merge//",
+				"/newfile.txt/1.10/restored+Thu Mar 20 16:36:56 2003//",
+				"/file.txt/1.2.2.3\tlocked by: igorf;/Thu Mar 20 16:36:56 2003//",
+				"/file.txt/1.1/+=//Ttag/with/slashes"
+		};
+		for (String line : entryLines) {
+			byte[] syncBytes = line.getBytes();
+			EntryLineView view = new EntryLineView(syncBytes);
+			ResourceSyncInfo info = new ResourceSyncInfo(syncBytes);
+			assertEquals(line, ResourceSyncInfo.getRevision(syncBytes), view.getRevision());
+			assertEquals(line, info.getRevision(), view.getRevision());
+			assertEquals(line, ResourceSyncInfo.isAddition(syncBytes), view.isAddition());
+			assertEquals(line, ResourceSyncInfo.isDeletion(syncBytes), view.isDeletion());
+			assertEquals(line, ResourceSyncInfo.isBinary(syncBytes), view.isBinary());
+			assertEquals(line, ResourceSyncInfo.getKeywordMode(syncBytes), view.getKeywordMode());
+			assertEquals(line, ResourceSyncInfo.isMerge(syncBytes), view.isMerge());
+			assertEquals(line, ResourceSyncInfo.isMergedWithConflicts(syncBytes), view.isMergedWithConflicts());
+			assertEquals(line, ResourceSyncInfo.wasDeleted(syncBytes), view.wasDeleted());
+			assertEquals(line, info.getTimeStamp(), view.getTimeStamp());
+			assertEqualBytes(new String(getBytesForSlot(line, 5, true /* include rest */)), view.getTagBytes());
+			assertTrue(line, view.isSameTag(new EntryLineView(ResourceSyncInfo.setRevision(syncBytes, "1.1"))));
+			// pooled values are shared
+			String revision = view.getRevision();
+			assertSame(line, revision, ResourceSyncInfo.getRevision(line.getBytes()));
+		}
+		assertEquals("1.2.2.3", new EntryLineView(entryLines[6].getBytes()).getRevision());
+	}
+
+	public void testMalformedEntryLineView() {
+		EntryLineView view = new EntryLineView("/plugin.xml/1.27".getBytes());
+		assertFalse(view.hasSlot(EntryLineView.TIMESTAMP_SLOT));
+		try {
+			view.isBinary();
+			fail("Expected a malformed entry line to fail");
+		} catch (CVSException e) {
+			// expected
+		}
+	}
+
 	public void testSendEntry() throws CVSException, ParseException {
 		ICVSRepositoryLocation location = KnownRepositories.getInstance().getRepository(":test:user:password@host:/path");
 		// disable version detemrination to reduce traffic
@@ -103,26 +149,31 @@ public class ResourceSyncBytesTest extends EclipseTest {
 		// test a normal entry line
 		byte[] entryLine = "/plugin.xml/1.27/Tue Mar  4 19:47:36 2003/-ko/".getBytes();
 		session.sendEntry(entryLine, ResourceSyncInfo.getTimestampToServer(entryLine, CVSDateFormatter.entryLineToDate("Tue Mar  4 19:47:36 2003")));
+		session.flush();
 		assertEquals("Entry /plugin.xml/1.27//-ko/", TestConnection.getLastLine());
 		
 		// test a server merged with conflict entry line
 		entryLine = "/newfile.txt/1.10/Result of merge+Thu Mar 20 16:36:56 2003//".getBytes();
 		session.sendEntry(entryLine, ResourceSyncInfo.getTimestampToServer(entryLine, CVSDateFormatter.entryLineToDate("Thu Mar 20 16:36:56 2003")));
+		session.flush();
 		assertEquals("Entry /newfile.txt/1.10/+=//", TestConnection.getLastLine());
 		
 		// test a server merged entry line
 		entryLine = "/newfile.txt/1.10/Result of merge+Thu Mar 20 16:36:56 2003//".getBytes();
 		session.sendEntry(entryLine, ResourceSyncInfo.getTimestampToServer(entryLine, CVSDateFormatter.entryLineToDate("Thu Mar 20 16:37:56 2003")));
+		session.flush();
 		assertEquals("Entry /newfile.txt/1.10/+modified//", TestConnection.getLastLine());
 		
 		// test added entry line
 		entryLine = "/plugin.xml/0/dummy timestamp/-ko/".getBytes();
 		session.sendEntry(entryLine, ResourceSyncInfo.getTimestampToServer(entryLine, CVSDateFormatter.entryLineToDate("Tue Mar  4 19:47:36 2003")));
+		session.flush();
 		assertEquals("Entry /plugin.xml/0//-ko/", TestConnection.getLastLine());
 		
 		// test empty timestamp entry line
 		entryLine = "/plugin.xml/1.1//-ko/".getBytes();
 		session.sendEntry(entryLine, ResourceSyncInfo.getTimestampToServer(entryLine, CVSDateFormatter.entryLineToDate("Tue Mar  4 19:47:36 2003")));
+		session.flush();
 		assertEquals("Entry /plugin.xml/1.1//-ko/", TestConnection.getLastLine());
 		
 	}
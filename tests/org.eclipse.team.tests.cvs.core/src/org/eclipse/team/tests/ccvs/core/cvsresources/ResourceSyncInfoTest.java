@@ -19,9 +19,11 @@ import junit.framework.TestSuite;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.team.internal.ccvs.core.CVSException;
+import org.eclipse.team.internal.ccvs.core.CVSTag;
 import org.eclipse.team.internal.ccvs.core.connection.CVSRepositoryLocation;
 import org.eclipse.team.internal.ccvs.core.syncinfo.FolderSyncInfo;
 import org.eclipse.team.internal.ccvs.core.syncinfo.ResourceSyncInfo;
+import org.eclipse.team.internal.ccvs.core.util.CVSTagRegistry;
 import org.eclipse.team.tests.ccvs.core.CVSTestSetup;
 import org.eclipse.team.tests.ccvs.core.EclipseTest;
 
@@ -182,6 +184,24 @@ public class ResourceSyncInfoTest extends EclipseTest {
 		assertTrue( ! ResourceSyncInfo.isLaterRevisionOnSameBranch(syncInfo5.getBytes(), syncInfo5.getBytes()));
 	}
 	
+	public void testSharedTags() throws CVSException {
+		ResourceSyncInfo info1 = new ResourceSyncInfo("/file1.java/1.1/Mon Feb 25 21:44:02 2002/-k/Tv1", null);
+		ResourceSyncInfo info2 = new ResourceSyncInfo("/file2.java/1.2/Mon Feb 25 21:44:02 2002/-k/Tv1", null);
+		assertSame(info1.getTag(), info2.getTag());
+		ResourceSyncInfo info3 = new ResourceSyncInfo("/file3.java/1.2/Mon Feb 25 21:44:02 2002/-k/Nv1", null);
+		assertNotSame(info1.getTag(), info3.getTag());
+		
+		CVSTagRegistry registry = CVSTagRegistry.getRegistry(CVSRepositoryLocation.fromString(":pserver:user@host:/home/path"));
+		CVSTag tag1 = registry.getTag("v1", "1.1.0.2", CVSTag.BRANCH);
+		CVSTag tag2 = registry.getTag(new String("v1"), "1.1.0.2", CVSTag.BRANCH);
+		assertSame(tag1, tag2);
+		assertNotSame(tag1, registry.getTag("v1", "1.3.0.2", CVSTag.BRANCH));
+		CVSTag[] tags1 = registry.getTags(new CVSTag[] { new CVSTag("v1", "1.1.0.2", CVSTag.BRANCH), new CVSTag("v2", CVSTag.VERSION) });
+		CVSTag[] tags2 = registry.getTags(new CVSTag[] { new CVSTag("v1", "1.1.0.2", CVSTag.BRANCH), new CVSTag("v2", CVSTag.VERSION) });
+		assertSame(tags1, tags2);
+		assertSame(tag1, tags1[0]);
+	}
+	
 	public void testRepositoryLocationFormats() throws CVSException {
 		assertPathCorrect(CVSRepositoryLocation.fromString(":pserver:user@host:/home/path"), "/home/path");
 		assertPathCorrect(CVSRepositoryLocation.fromString(":pserver:user:password@host:/home/path"), "/home/path");
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.tests.ccvs.core.cvsresources;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.team.internal.ccvs.core.util.Revision;
+import org.eclipse.team.tests.ccvs.core.EclipseTest;
+
+public class RevisionTest extends EclipseTest {
+
+	public RevisionTest() {
+		super();
+	}
+
+	public RevisionTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return new TestSuite(RevisionTest.class);
+	}
+
+	public void testParsing() {
+		Revision revision = Revision.valueOf("1.12.2.3");
+		assertEquals(4, revision.getSegmentCount());
+		assertEquals(12, revision.getSegment(1));
+		assertEquals("1.12.2.3", revision.toString());
+		assertTrue(revision.isBranchRevision());
+		assertFalse(Revision.valueOf("1.12").isBranchRevision());
+
+		assertNull(Revision.valueOf(""));
+		assertNull(Revision.valueOf("1."));
+		assertNull(Revision.valueOf("1..2"));
+		assertNull(Revision.valueOf("1.a"));
+		assertNull(Revision.valueOf("1.99999999999"));
+	}
+
+	public void testCompare() {
+		assertTrue(Revision.compare("1.9", "1.10") < 0);
+		assertTrue(Revision.compare("1.10", "1.9") > 0);
+		assertTrue(Revision.compare("1.2", "1.2.2.1") < 0);
+		assertTrue(Revision.compare("1.3", "1.2.2.1") > 0);
+		assertEquals(0, Revision.compare("1.2.2.1", "1.2.2.1"));
+		assertTrue(Revision.compare(null, "1.1") < 0);
+		assertTrue(Revision.compare("1.1", null) > 0);
+		assertEquals(0, Revision.compare(null, null));
+
+		assertTrue(Revision.valueOf("1.9").compareTo(Revision.valueOf("1.10")) < 0);
+		assertTrue(Revision.valueOf("1.2.2.1").compareTo(Revision.valueOf("1.2")) > 0);
+		assertEquals(Revision.valueOf("1.2"), Revision.valueOf("1.2"));
+		assertEquals(Revision.valueOf("1.2").hashCode(), Revision.valueOf("1.2").hashCode());
+	}
+
+	public void testNavigation() {
+		assertEquals("1.4.2.2", Revision.valueOf("1.4.2.3").getPredecessor().toString());
+		assertEquals("1.0", Revision.valueOf("1.1").getPredecessor().toString());
+		assertEquals("1.4", Revision.valueOf("1.4.2.3").getBranchPoint().toString());
+		assertEquals("1.4", Revision.valueOf("1.4.2").getBranchPoint().toString());
+		assertNull(Revision.valueOf("1.4").getBranchPoint());
+	}
+
+	public void testLaterOnSameBranch() {
+		assertTrue(Revision.valueOf("1.9").isLaterOnSameBranch(Revision.valueOf("1.8")));
+		assertFalse(Revision.valueOf("1.8").isLaterOnSameBranch(Revision.valueOf("1.8")));
+		assertTrue(Revision.valueOf("1.8.1.2").isLaterOnSameBranch(Revision.valueOf("1.8")));
+		assertFalse(Revision.valueOf("1.8").isLaterOnSameBranch(Revision.valueOf("1.8.1.2")));
+		assertFalse(Revision.valueOf("1.8.1.2").isLaterOnSameBranch(Revision.valueOf("1.7")));
+	}
+}
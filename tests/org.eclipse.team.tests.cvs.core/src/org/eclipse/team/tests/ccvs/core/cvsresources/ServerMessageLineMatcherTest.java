@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.tests.ccvs.core.cvsresources;
+
+import java.util.Map;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.team.internal.ccvs.core.CVSException;
+import org.eclipse.team.internal.ccvs.core.client.listeners.IMessagePatterns;
+import org.eclipse.team.internal.ccvs.core.client.listeners.ServerMessageLineMatcher;
+import org.eclipse.team.internal.ccvs.core.util.Util;
+import org.eclipse.team.tests.ccvs.core.EclipseTest;
+
+public class ServerMessageLineMatcherTest extends EclipseTest {
+
+	public ServerMessageLineMatcherTest() {
+		super();
+	}
+
+	public ServerMessageLineMatcherTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return new TestSuite(ServerMessageLineMatcherTest.class);
+	}
+
+	private ServerMessageLineMatcher matcher(String template, String... variables) throws CVSException {
+		return new ServerMessageLineMatcher(template, variables);
+	}
+
+	public void testRDiffMessages() throws CVSException {
+		ServerMessageLineMatcher fileDiff = matcher(IMessagePatterns.RDIFF_SUMMARY_FILE_DIFF, "remoteFilePath", "leftRevision", "rightRevision");
+		ServerMessageLineMatcher newFile = matcher(IMessagePatterns.RDIFF_SUMMARY_NEW_FILE, "remoteFilePath", "rightRevision");
+		ServerMessageLineMatcher deletedFile = matcher(IMessagePatterns.RDIFF_SUMMARY_DELETED_FILE, "remoteFilePath");
+
+		Map variables = fileDiff.processServerMessage("File project/a.txt changed from revision 1.1 to 1.2");
+		assertNotNull(variables);
+		assertEquals("project/a.txt", variables.get("remoteFilePath"));
+		assertEquals("1.1", variables.get("leftRevision"));
+		assertEquals("1.2", variables.get("rightRevision"));
+		assertNull(newFile.processServerMessage("File project/a.txt changed from revision 1.1 to 1.2"));
+
+		variables = newFile.processServerMessage("File project/b.txt is new; v1-0 revision 1.1");
+		assertNotNull(variables);
+		assertEquals("project/b.txt", variables.get("remoteFilePath"));
+		assertEquals("1.1", variables.get("rightRevision"));
+		assertNull(fileDiff.processServerMessage("File project/b.txt is new; v1-0 revision 1.1"));
+
+		variables = deletedFile.processServerMessage("File project/c.txt is removed; not included in release tag v1");
+		assertNotNull(variables);
+		assertEquals("project/c.txt", variables.get("remoteFilePath"));
+		assertNull(deletedFile.processServerMessage("File project/c.txt is removed; v1 revision 1.3"));
+	}
+
+	public void testMessagePrefix() throws CVSException {
+		// the prefix only contains escapes so the required text starts after it
+		ServerMessageLineMatcher directory = matcher(IMessagePatterns.RDIFF_DIRECTORY, "remoteFolderPath");
+		Map variables = directory.processServerMessage("cvs rdiff: Diffing project/folder");
+		assertNotNull(variables);
+		assertEquals("project/folder", variables.get("remoteFolderPath"));
+		assertNotNull(directory.processServerMessage("cvs server: Diffing project"));
+		assertNull(directory.processServerMessage("cvs rdiff: Updating project"));
+		assertNull(directory.processServerMessage("Diffing project"));
+	}
+
+	public void testLiteralsInOrder() throws CVSException {
+		ServerMessageLineMatcher matcher = matcher("from " + Util.getVariablePattern(".*", "name") + " to end", "name");
+		assertNotNull(matcher.processServerMessage("from here to end"));
+		// the text is present but not in the order of the template
+		assertNull(matcher.processServerMessage("to end from here"));
+	}
+
+	public void testOptionalCharacters() throws CVSException {
+		// the text before a quantifier is still required but the quantified character is not
+		ServerMessageLineMatcher optional = matcher("colou?r " + Util.getVariablePattern("\\d+", "value"), "value");
+		assertEquals("12", optional.processServerMessage("color 12").get("value"));
+		assertEquals("12", optional.processServerMessage("colour 12").get("value"));
+		assertNull(optional.processServerMessage("colouur 12"));
+
+		ServerMessageLineMatcher repeated = matcher("a{2}b " + Util.getVariablePattern(".*", "value"), "value");
+		assertEquals("c", repeated.processServerMessage("aab c").get("value"));
+		assertNull(repeated.processServerMessage("ab c"));
+
+		ServerMessageLineMatcher star = matcher("xy*z " + Util.getVariablePattern(".*", "value"), "value");
+		assertNotNull(star.processServerMessage("xz 1"));
+		assertNotNull(star.processServerMessage("xyyyz 1"));
+	}
+
+	public void testCharacterClasses() throws CVSException {
+		ServerMessageLineMatcher matcher = matcher("[Ff]ile " + Util.getVariablePattern(".*", "name") + " exists", "name");
+		assertEquals("a.txt", matcher.processServerMessage("file a.txt exists").get("name"));
+		assertEquals("a.txt", matcher.processServerMessage("File a.txt exists").get("name"));
+		assertNull(matcher.processServerMessage("Pile a.txt exists"));
+	}
+
+	public void testAlternation() throws CVSException {
+		// no text is required when the template has alternatives
+		ServerMessageLineMatcher matcher = matcher("new|added " + Util.getVariablePattern(".*", "name"), "name");
+		assertNotNull(matcher.processServerMessage("new file"));
+		assertEquals("file", matcher.processServerMessage("added file").get("name"));
+		assertNull(matcher.processServerMessage("removed file"));
+	}
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.tests.ccvs.core.cvsresources;
+
+import java.util.*;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.team.internal.ccvs.core.*;
+import org.eclipse.team.internal.ccvs.core.client.listeners.SymbolicNamesListener;
+import org.eclipse.team.internal.ccvs.core.connection.CVSRepositoryLocation;
+import org.eclipse.team.internal.ccvs.core.util.CVSTagRegistry;
+import org.eclipse.team.tests.ccvs.core.EclipseTest;
+
+public class SymbolicNamesListenerTest extends EclipseTest {
+
+	public SymbolicNamesListenerTest() {
+		super();
+	}
+
+	public SymbolicNamesListenerTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return new TestSuite(SymbolicNamesListenerTest.class);
+	}
+
+	/*
+	 * Add the output of rlog -h for a file with the given symbolic name lines
+	 */
+	private static void addHeader(List<String> lines, String fileName, String... symbolicNames) {
+		lines.add("");
+		lines.add("RCS file: /path/project/" + fileName + ",v");
+		lines.add("head: 1.2");
+		lines.add("branch:");
+		lines.add("locks: strict");
+		lines.add("access list:");
+		lines.add("symbolic names:");
+		lines.addAll(Arrays.asList(symbolicNames));
+		lines.add("keyword substitution: kv");
+		lines.add("total revisions: 2");
+		lines.add("=============================================================================");
+	}
+
+	private static CVSTag[] getTags(List<String> lines, ICVSRepositoryLocation location) {
+		SymbolicNamesListener listener = new SymbolicNamesListener();
+		for (String line : lines) {
+			assertTrue(listener.messageLine(line, location, null, DEFAULT_MONITOR).isOK());
+		}
+		return listener.getTags();
+	}
+
+	private static Map<String, CVSTag> byName(CVSTag[] tags) {
+		Map<String, CVSTag> result = new HashMap<>();
+		for (CVSTag tag : tags) {
+			assertNull("Duplicate tag " + tag.getName(), result.put(tag.getName(), tag));
+		}
+		return result;
+	}
+
+	public void testTagsOfHeaders() throws CVSException {
+		ICVSRepositoryLocation location = CVSRepositoryLocation.fromString(":pserver:user@host1:/path");
+		List<String> lines = new ArrayList<>();
+		addHeader(lines, "a.txt", "\tv1: 1.1", "\tb1: 1.1.0.2");
+		addHeader(lines, "b.txt", "\tv1: 1.1", "\tb1: 1.1.0.2", "\tv2: 1.2");
+		Map<String, CVSTag> tags = byName(getTags(lines, location));
+		assertEquals(new HashSet<>(Arrays.asList("v1", "b1", "v2")), tags.keySet());
+		assertEquals(CVSTag.VERSION, tags.get("v1").getType());
+		assertEquals(CVSTag.BRANCH, tags.get("b1").getType());
+		assertEquals(CVSTag.VERSION, tags.get("v2").getType());
+		// the tags are the canonical tags of the repository
+		assertSame(CVSTagRegistry.getRegistry(location).getTag("v1", null, CVSTag.VERSION), tags.get("v1"));
+	}
+
+	public void testOnlySymbolicNamesParsed() throws CVSException {
+		ICVSRepositoryLocation location = CVSRepositoryLocation.fromString(":pserver:user@host1:/path");
+		List<String> lines = new ArrayList<>();
+		addHeader(lines, "a.txt", "\tv1: 1.1");
+		// indented lines outside of the symbolic names are not tags
+		lines.add("\tnot: 1.1");
+		addHeader(lines, "b.txt");
+		lines.add("\talso: 1.1");
+		Map<String, CVSTag> tags = byName(getTags(lines, location));
+		assertEquals(Collections.singleton("v1"), tags.keySet());
+	}
+
+	public void testNoTags() throws CVSException {
+		ICVSRepositoryLocation location = CVSRepositoryLocation.fromString(":pserver:user@host1:/path");
+		List<String> lines = new ArrayList<>();
+		addHeader(lines, "a.txt");
+		// a malformed symbolic name line is ignored
+		addHeader(lines, "b.txt", "\tbroken");
+		assertEquals(0, getTags(lines, location).length);
+	}
+}
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.tests.ccvs.core.cvsresources;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.core.resources.*;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.team.internal.ccvs.core.CVSException;
+import org.eclipse.team.internal.ccvs.core.syncinfo.ResourceSyncInfo;
+import org.eclipse.team.internal.ccvs.core.util.SyncFileWriter;
+import org.eclipse.team.internal.ccvs.core.util.SyncStateIndex;
+import org.eclipse.team.tests.ccvs.core.EclipseTest;
+
+public class SyncStateIndexTest extends EclipseTest {
+
+	private static final String LINE_1 = "/file1.txt/1.1/Thu Jan  1 00:00:00 2009//";
+	private static final String LINE_2 = "/file2.txt/1.3/Thu Jan  1 00:00:00 2009/-kb/";
+
+	public SyncStateIndexTest() {
+		super();
+	}
+
+	public SyncStateIndexTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return new TestSuite(SyncStateIndexTest.class);
+	}
+
+	private static byte[][] toBytes(String... lines) throws CVSException {
+		byte[][] infos = new byte[lines.length][];
+		for (int i = 0; i < lines.length; i++) {
+			infos[i] = new ResourceSyncInfo(lines[i], null).getBytes();
+		}
+		return infos;
+	}
+
+	private static void assertInfosEqual(byte[][] expected, byte[][] actual) {
+		assertNotNull(actual);
+		assertEquals(expected.length, actual.length);
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(new String(expected[i]), new String(actual[i]));
+		}
+	}
+
+	private static byte[] toContents(String... lines) {
+		StringBuilder builder = new StringBuilder();
+		for (String line : lines) {
+			builder.append(line).append('\n');
+		}
+		return builder.toString().getBytes(StandardCharsets.US_ASCII);
+	}
+
+	public void testHit() throws CoreException {
+		IProject project = getUniqueTestProject(getName());
+		byte[][] infos = toBytes(LINE_1, LINE_2);
+		SyncFileWriter.writeAllResourceSync(project, infos);
+		SyncStateIndex index = SyncStateIndex.getInstance();
+		long hits = index.getHitCount();
+		long misses = index.getMissCount();
+		assertInfosEqual(infos, SyncFileWriter.readAllResourceSync(project));
+		assertInfosEqual(infos, SyncFileWriter.readAllResourceSync(project));
+		assertEquals(hits + 2, index.getHitCount());
+		assertEquals(misses, index.getMissCount());
+	}
+
+	public void testStaleOnExternalEdit() throws CoreException, IOException {
+		IProject project = getUniqueTestProject(getName());
+		SyncFileWriter.writeAllResourceSync(project, toBytes(LINE_1, LINE_2));
+		IFile entries = project.getFolder(SyncFileWriter.CVS_DIRNAME).getFile(SyncFileWriter.ENTRIES);
+		File file = entries.getLocation().toFile();
+		long lastModified = file.lastModified();
+		Files.write(file.toPath(), toContents(LINE_2));
+		// make sure the refresh notices the change whatever the file system time resolution
+		file.setLastModified(lastModified + 10000);
+		project.refreshLocal(IResource.DEPTH_INFINITE, DEFAULT_MONITOR);
+		SyncStateIndex index = SyncStateIndex.getInstance();
+		long misses = index.getMissCount();
+		assertInfosEqual(toBytes(LINE_2), SyncFileWriter.readAllResourceSync(project));
+		assertEquals(misses + 1, index.getMissCount());
+	}
+
+	public void testStaleOnWorkspaceEdit() throws CoreException {
+		IProject project = getUniqueTestProject(getName());
+		SyncFileWriter.writeAllResourceSync(project, toBytes(LINE_1));
+		IFile entries = project.getFolder(SyncFileWriter.CVS_DIRNAME).getFile(SyncFileWriter.ENTRIES);
+		entries.setContents(new ByteArrayInputStream(toContents(LINE_1, LINE_2)), IResource.FORCE, DEFAULT_MONITOR);
+		SyncStateIndex index = SyncStateIndex.getInstance();
+		long misses = index.getMissCount();
+		assertInfosEqual(toBytes(LINE_1, LINE_2), SyncFileWriter.readAllResourceSync(project));
+		assertEquals(misses + 1, index.getMissCount());
+	}
+
+	public void testFallbackToFullRead() throws CoreException {
+		IProject project = getUniqueTestProject(getName());
+		IFolder cvsSubDir = project.getFolder(SyncFileWriter.CVS_DIRNAME);
+		cvsSubDir.create(false, true, DEFAULT_MONITOR);
+		// metafiles that were not written by us are not in the index
+		cvsSubDir.getFile(SyncFileWriter.ENTRIES).create(new ByteArrayInputStream(toContents(LINE_1, LINE_2)), false, DEFAULT_MONITOR);
+		SyncStateIndex index = SyncStateIndex.getInstance();
+		long hits = index.getHitCount();
+		long misses = index.getMissCount();
+		byte[][] infos = toBytes(LINE_1, LINE_2);
+		assertInfosEqual(infos, SyncFileWriter.readAllResourceSync(project));
+		assertEquals(misses + 1, index.getMissCount());
+		// the full read is recorded in the index
+		assertInfosEqual(infos, SyncFileWriter.readAllResourceSync(project));
+		assertEquals(hits + 1, index.getHitCount());
+	}
+}
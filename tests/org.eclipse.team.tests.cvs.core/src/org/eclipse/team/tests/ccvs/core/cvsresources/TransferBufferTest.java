@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.tests.ccvs.core.cvsresources;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.team.internal.ccvs.core.client.TransferBuffer;
+import org.eclipse.team.tests.ccvs.core.EclipseTest;
+
+public class TransferBufferTest extends EclipseTest {
+
+	public TransferBufferTest() {
+		super();
+	}
+
+	public TransferBufferTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return new TestSuite(TransferBufferTest.class);
+	}
+
+	private byte[] getContents(int size) {
+		byte[] contents = new byte[size];
+		new Random(size).nextBytes(contents);
+		return contents;
+	}
+
+	/*
+	 * Write the contents in chunks of the given size and return what the buffer transfers
+	 */
+	private byte[] transfer(TransferBuffer buffer, byte[] contents, int chunkSize) throws IOException {
+		for (int offset = 0; offset < contents.length; offset += chunkSize) {
+			buffer.write(contents, offset, Math.min(chunkSize, contents.length - offset));
+		}
+		// wrapping streams close the buffer before it is transferred
+		buffer.close();
+		assertEquals(contents.length, buffer.getSize());
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		buffer.writeTo(out);
+		return out.toByteArray();
+	}
+
+	public void testInMemory() throws IOException {
+		TransferBuffer buffer = new TransferBuffer();
+		// the contents grow the initial buffer one byte past its size
+		byte[] contents = getContents(8193);
+		assertTrue(Arrays.equals(contents, transfer(buffer, contents, 1000)));
+		buffer.reset();
+		assertEquals(0, buffer.getSize());
+		// the contents of the previous file are not transferred again
+		contents = getContents(10);
+		assertTrue(Arrays.equals(contents, transfer(buffer, contents, 1)));
+	}
+
+	public void testSpill() throws IOException {
+		TransferBuffer buffer = new TransferBuffer();
+		// the write that crosses the spill threshold is split across memory and disk
+		byte[] contents = getContents(1024 * 1024 + 3);
+		assertTrue(Arrays.equals(contents, transfer(buffer, contents, 4097)));
+		// the buffer is reused in memory after a spill
+		buffer.reset();
+		contents = getContents(100);
+		assertTrue(Arrays.equals(contents, transfer(buffer, contents, 7)));
+		buffer.reset();
+	}
+
+	public void testSingleLargeWrite() throws IOException {
+		TransferBuffer buffer = new TransferBuffer();
+		byte[] contents = getContents(2 * 1024 * 1024);
+		assertTrue(Arrays.equals(contents, transfer(buffer, contents, contents.length)));
+		buffer.reset();
+	}
+}
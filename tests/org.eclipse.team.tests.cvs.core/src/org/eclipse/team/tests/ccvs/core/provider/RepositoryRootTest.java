@@ -22,8 +22,11 @@ import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.team.core.TeamException;
 import org.eclipse.team.internal.ccvs.core.CVSException;
+import org.eclipse.team.internal.ccvs.core.CVSProviderPlugin;
 import org.eclipse.team.internal.ccvs.core.CVSTag;
 import org.eclipse.team.internal.ccvs.core.ICVSFolder;
 import org.eclipse.team.internal.ccvs.core.resources.CVSWorkspaceRoot;
@@ -257,6 +260,39 @@ public class RepositoryRootTest extends EclipseTest {
 		assertProjectTags(data);
 	}
 
+	public void testParallelDiscovery() throws CoreException {
+		String submodule = "Submodule_1" + System.currentTimeMillis();
+		CVSCacheTestData data = new CVSCacheTestData(submodule, submodule);
+		ICVSFolder submoduleFolder = repositoryRoot.getRemoteFolder(submodule,
+				null, getMonitor());
+		final double[] worked = new double[1];
+		IProgressMonitor monitor = new NullProgressMonitor() {
+			@Override
+			public void internalWorked(double work) {
+				worked[0] += work;
+			}
+
+			@Override
+			public void worked(int work) {
+				internalWorked(work);
+			}
+		};
+
+		clearRepositoryRootCache();
+		CVSProviderPlugin.getPlugin().setMaxRevisionFetchConnections(2);
+		try {
+			repositoryManager.refreshDefinedTags(submoduleFolder, true, true,
+					monitor);
+		} finally {
+			CVSProviderPlugin.getPlugin().setMaxRevisionFetchConnections(
+					CVSProviderPlugin.DEFAULT_MAX_REVISION_FETCH_CONNECTIONS);
+		}
+		// the projects searched concurrently have their own tags
+		assertProjectTags(data);
+		// the search of the projects reports all of its work
+		assertTrue("Work not reported: " + worked[0], worked[0] > 200);
+	}
+
 	public void testNestedProjects() throws CoreException {
 		IProject superProject = createProject("SuperProject", (String) null);
 		CVSTag superProjectBranch = new CVSTag("Branch_"
@@ -399,6 +435,36 @@ public class RepositoryRootTest extends EclipseTest {
 		assertEquals(0, knownTags.length);
 	}
 
+	public void testTagsPersisted() throws CoreException {
+		String remotePath = "Persisted_" + System.currentTimeMillis() + "/project";
+		CVSTag branch = new CVSTag("Branch_" + System.currentTimeMillis(), CVSTag.BRANCH);
+		CVSTag version = new CVSTag("Root_" + branch.getName(), CVSTag.VERSION);
+		repositoryRoot.addTags(remotePath, new CVSTag[] { branch, version });
+		// a new root reads the tags appended to the store of the repository
+		List<CVSTag> knownTags = Arrays.asList(new RepositoryRoot(getRepository()).getAllKnownTags(remotePath));
+		assertTags(knownTags, new CVSTag[] { branch, version }, new CVSTag[0]);
+
+		repositoryRoot.removeTags(remotePath, new CVSTag[] { branch });
+		knownTags = Arrays.asList(new RepositoryRoot(getRepository()).getAllKnownTags(remotePath));
+		assertTags(knownTags, new CVSTag[] { version }, new CVSTag[] { branch });
+	}
+
+	public void testTagAccessPersisted() throws CoreException, InterruptedException {
+		String remotePath = "Accessed_" + System.currentTimeMillis() + "/project";
+		CVSTag version = new CVSTag("Version_" + System.currentTimeMillis(), CVSTag.VERSION);
+		repositoryRoot.addTags(remotePath, new CVSTag[] { version });
+		repositoryRoot.checkpointTags();
+		long added = repositoryRoot.getLastAccessTime(remotePath);
+		Thread.sleep(10);
+		// reading the tags of the path accesses them
+		repositoryRoot.getAllKnownTags(remotePath);
+		long accessed = repositoryRoot.getLastAccessTime(remotePath);
+		assertTrue(accessed > added);
+		// the access alone is enough for the checkpoint to write the store
+		repositoryRoot.checkpointTags();
+		assertEquals(accessed, new RepositoryRoot(getRepository()).getLastAccessTime(remotePath));
+	}
+
 	public void testDateTags() throws CoreException {
 		CVSTag dateTag = new CVSTag(new Date());
 		repositoryManager.addDateTag(getRepository(), dateTag);
@@ -22,11 +22,14 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.team.core.TeamException;
 import org.eclipse.team.internal.ccvs.core.ICVSFolder;
 import org.eclipse.team.internal.ccvs.core.ICVSRemoteFolder;
 import org.eclipse.team.internal.ccvs.core.resources.CVSWorkspaceRoot;
 import org.eclipse.team.internal.ccvs.core.syncinfo.FolderSyncInfo;
+import org.eclipse.team.internal.ccvs.ui.CVSUIPlugin;
+import org.eclipse.team.internal.ccvs.ui.ICVSUIConstants;
 import org.eclipse.team.internal.ccvs.ui.operations.CVSOperation;
 import org.eclipse.team.internal.ccvs.ui.operations.CheckoutMultipleProjectsOperation;
 import org.eclipse.team.internal.ccvs.ui.operations.CheckoutSingleProjectOperation;
@@ -110,6 +113,32 @@ public class CheckoutOperationTests extends CVSOperationTest {
 		run(op);
 	}
 	
+	public void testParallelCheckout() throws CoreException, TeamException, IOException {
+		IProject[] projects = new IProject[3];
+		IProject[] movedProjects = new IProject[projects.length];
+		ICVSRemoteFolder[] folders = new ICVSRemoteFolder[projects.length];
+		for (int i = 0; i < projects.length; i++) {
+			projects[i] = createProject("testParallelCheckout" + i, new String[] { "file.txt", "folder1/", "folder1/a.txt" });
+			// move the created project so we can do a simple checkout
+			projects[i].move(new Path("moved-parallel-project" + i), false /* force */, DEFAULT_MONITOR);
+			movedProjects[i] = ResourcesPlugin.getWorkspace().getRoot().getProject("moved-parallel-project" + i);
+			folders[i] = (ICVSRemoteFolder)CVSWorkspaceRoot.getRemoteResourceFor(movedProjects[i]);
+		}
+
+		// checkout the projects to the default location over several connections
+		IPreferenceStore store = CVSUIPlugin.getPlugin().getPreferenceStore();
+		store.setValue(ICVSUIConstants.PREF_MAX_CHECKOUT_CONNECTIONS, projects.length);
+		try {
+			run(new CheckoutMultipleProjectsOperation(null /* shell */, folders, null /*target location*/));
+		} finally {
+			store.setToDefault(ICVSUIConstants.PREF_MAX_CHECKOUT_CONNECTIONS);
+		}
+
+		for (int i = 0; i < projects.length; i++) {
+			assertEquals(projects[i], movedProjects[i]);
+		}
+	}
+	
 	public void testCheckoutAs() throws TeamException, CoreException, IOException {
 		IProject project = createProject("testCheckoutAs", new String[] { "changed.txt", "deleted.txt", "folder1/", "folder1/a.txt" });
 		IProject copy = ResourcesPlugin.getWorkspace().getRoot().getProject(project.getName() + "-copy");
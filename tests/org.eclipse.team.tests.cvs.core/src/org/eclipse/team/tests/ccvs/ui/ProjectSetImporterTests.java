@@ -34,6 +34,7 @@ import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.team.core.ProjectSetCapability;
 import org.eclipse.team.core.ProjectSetSerializationContext;
+import org.eclipse.team.core.RepositoryProvider;
 import org.eclipse.team.core.RepositoryProviderType;
 import org.eclipse.team.core.ScmUrlImportDescription;
 import org.eclipse.team.core.Team;
@@ -43,6 +44,7 @@ import org.eclipse.team.core.importing.provisional.IBundleImporter;
 import org.eclipse.team.internal.ccvs.core.CVSProviderPlugin;
 import org.eclipse.team.internal.ccvs.core.CVSTag;
 import org.eclipse.team.internal.ccvs.core.CVSTeamProviderType;
+import org.eclipse.team.internal.ccvs.core.util.ModuleCache;
 import org.eclipse.team.internal.ccvs.ui.wizards.CVSScmUrlImportWizardPage;
 import org.eclipse.team.internal.ui.ProjectSetImporter;
 import org.eclipse.team.tests.ccvs.core.CVSTestSetup;
@@ -187,6 +189,63 @@ public class ProjectSetImporterTests extends EclipseTest {
 		// If we got here and no NPE was thrown, we're good.
 	}
 
+	public void testParallelImport() throws TeamException, CoreException {
+		IProject[] projects = new IProject[3];
+		String[] referenceStrings = new String[projects.length];
+		for (int i = 0; i < projects.length; i++) {
+			projects[i] = createProject("testParallelImport" + i, new String[] { "file.txt", "folder1/", "folder1/a.txt" });
+			referenceStrings[i] = "1.0," + CVSTestSetup.REPOSITORY_LOCATION + "," + projects[i].getName() + "," + projects[i].getName();
+			projects[i].delete(true, null);
+		}
+
+		ProjectSetCapability c = new CVSTeamProviderType().getProjectSetCapability();
+		CVSProviderPlugin.getPlugin().setMaxCheckoutConnections(projects.length);
+		IProject[] importedProjects;
+		try {
+			importedProjects = c.addToWorkspace(referenceStrings, new ProjectSetSerializationContext(), null);
+		} finally {
+			CVSProviderPlugin.getPlugin().setMaxCheckoutConnections(CVSProviderPlugin.DEFAULT_MAX_CHECKOUT_CONNECTIONS);
+		}
+
+		assertEquals(projects.length, importedProjects.length);
+		for (int i = 0; i < projects.length; i++) {
+			assertTrue(projects[i].equals(importedProjects[i]));
+			assertExistsInWorkspace(projects[i]);
+			// the batched expansion is reused by the per-project checkouts
+			String[] expansions = ModuleCache.getInstance().getModuleExpansions(getRepository(), new String[] { projects[i].getName() });
+			assertNotNull(expansions);
+			assertEquals(projects[i].getName(), expansions[0]);
+		}
+	}
+
+	public void testParallelImportWithFailure() throws TeamException, CoreException {
+		IProject[] projects = new IProject[2];
+		for (int i = 0; i < projects.length; i++) {
+			projects[i] = createProject("testParallelImportWithFailure" + i, new String[] { "file.txt", "folder1/", "folder1/a.txt" });
+			projects[i].delete(true, null);
+		}
+		String[] referenceStrings = new String[] {
+			"1.0," + CVSTestSetup.REPOSITORY_LOCATION + "," + projects[0].getName() + "," + projects[0].getName(),
+			// The checkout of the second project fails since its branch does not exist
+			"1.0," + CVSTestSetup.REPOSITORY_LOCATION + "," + projects[1].getName() + "," + projects[1].getName() + ",noSuchBranch"
+		};
+
+		ProjectSetCapability c = new CVSTeamProviderType().getProjectSetCapability();
+		CVSProviderPlugin.getPlugin().setMaxCheckoutConnections(projects.length);
+		try {
+			c.addToWorkspace(referenceStrings, new ProjectSetSerializationContext(), null);
+			fail("The import of a missing branch should fail");
+		} catch (TeamException e) {
+			// expected
+		} finally {
+			CVSProviderPlugin.getPlugin().setMaxCheckoutConnections(CVSProviderPlugin.DEFAULT_MAX_CHECKOUT_CONNECTIONS);
+		}
+
+		// The failure does not cancel the checkout of the other project
+		assertExistsInWorkspace(projects[0]);
+		assertNotNull(RepositoryProvider.getProvider(projects[0], CVSProviderPlugin.getTypeId()));
+	}
+
 	public void testScmUrlImport() throws TeamException, CoreException {
 		IProject project = createProject("testScmUrlImport", new String[0]);
 		project.delete(true, true, null);
@@ -32,6 +32,11 @@ public class AllBenchmarkTests extends EclipseTest {
 		TestSuite suite = new TestSuite();
 		suite.addTest(WorkflowTests.suite());
 		suite.addTest(SyncTests.suite());
+		suite.addTest(SyncBytesTests.suite());
+		suite.addTest(SynchronizerContentionTests.suite());
+		suite.addTest(ResponseDispatchTests.suite());
+		suite.addTest(ConsoleOutputTests.suite());
+		suite.addTest(RevisionSortTests.suite());
 		// TODO: Enable decorators?
 		return new CVSTestSetup(suite);
 	}
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.tests.ccvs.ui.benchmark;
+
+import junit.framework.Test;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.team.internal.ccvs.core.ICVSRepositoryLocation;
+import org.eclipse.team.internal.ccvs.core.client.ConsoleListeners;
+import org.eclipse.team.internal.ccvs.core.client.Session;
+import org.eclipse.team.internal.ccvs.core.resources.CVSWorkspaceRoot;
+import org.eclipse.team.internal.ccvs.core.util.KnownRepositories;
+import org.eclipse.team.internal.ccvs.ui.CVSUIPlugin;
+
+/**
+ * Measures the time spent by the thread running a command to send the lines
+ * received from the server to the CVS console.
+ */
+public class ConsoleOutputTests extends BenchmarkTest {
+	private static final int COMMAND_COUNT = 20;
+	private static final int LINE_COUNT = 5000;
+
+	private static final String OUTPUT_GROUP_SUFFIX = "Output";
+	private static final String[] PERFORMANCE_GROUPS = new String[] {OUTPUT_GROUP_SUFFIX};
+
+	public ConsoleOutputTests() {
+		super();
+	}
+
+	public ConsoleOutputTests(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return suite(ConsoleOutputTests.class);
+	}
+
+	public void testConsoleOutput() throws Exception {
+		// ensure the console is registered as a listener
+		assertNotNull(CVSUIPlugin.getPlugin().getConsole());
+		ICVSRepositoryLocation location = KnownRepositories.getInstance().getRepository(":test:user:password@host:/path");
+		Session session = new Session(location, CVSWorkspaceRoot.getCVSFolderFor(ResourcesPlugin.getWorkspace().getRoot()), true /* output to console */);
+		ConsoleListeners listeners = ConsoleListeners.getInstance();
+		setupGroups(PERFORMANCE_GROUPS, "CVS Console Output", false);
+		for (int i = 0; i < BenchmarkTestSetup.LOOP_COUNT; i++) {
+			startGroup(OUTPUT_GROUP_SUFFIX);
+			for (int j = 0; j < COMMAND_COUNT; j++) {
+				listeners.commandInvoked(session, "update");
+				for (int k = 0; k < LINE_COUNT; k++) {
+					if (k % 10 == 0) {
+						listeners.errorLineReceived(session, "cvs update: Updating project/folder" + k, Status.OK_STATUS);
+					} else {
+						listeners.messageLineReceived(session, "U project/folder/file" + k + ".txt", Status.OK_STATUS);
+					}
+				}
+				listeners.commandCompleted(session, Status.OK_STATUS, null);
+			}
+			endGroup();
+		}
+		commitGroups(false);
+	}
+}
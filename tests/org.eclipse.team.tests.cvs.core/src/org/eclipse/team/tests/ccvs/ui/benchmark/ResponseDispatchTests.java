@@ -0,0 +1,239 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.tests.ccvs.ui.benchmark;
+
+import junit.framework.Test;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.team.internal.ccvs.core.CVSProviderPlugin;
+import org.eclipse.team.internal.ccvs.core.ICVSFolder;
+import org.eclipse.team.internal.ccvs.core.ICVSRepositoryLocation;
+import org.eclipse.team.internal.ccvs.core.client.Command;
+import org.eclipse.team.internal.ccvs.core.client.Command.LocalOption;
+import org.eclipse.team.internal.ccvs.core.client.RDiff;
+import org.eclipse.team.internal.ccvs.core.client.Session;
+import org.eclipse.team.internal.ccvs.core.client.listeners.ICommandOutputListener;
+import org.eclipse.team.internal.ccvs.core.client.listeners.IUpdateMessageListener;
+import org.eclipse.team.internal.ccvs.core.client.listeners.LogListener;
+import org.eclipse.team.internal.ccvs.core.client.listeners.RDiffSummaryListener;
+import org.eclipse.team.internal.ccvs.core.client.listeners.StatusListener;
+import org.eclipse.team.internal.ccvs.core.client.listeners.UpdateListener;
+import org.eclipse.team.internal.ccvs.core.resources.CVSWorkspaceRoot;
+import org.eclipse.team.internal.ccvs.core.util.KnownRepositories;
+import org.eclipse.team.tests.ccvs.core.TestConnection;
+
+/**
+ * Measures the processing of the responses of the server by replaying the
+ * output of update, status, log and rdiff commands through a session on a
+ * test connection. The responses are dispatched and passed to the listener
+ * used by the corresponding command.
+ */
+public class ResponseDispatchTests extends BenchmarkTest {
+	private static final int FOLDER_COUNT = 20;
+	private static final int FILE_COUNT = 50;
+
+	private static final String UPDATE_GROUP_SUFFIX = "Update";
+	private static final String STATUS_GROUP_SUFFIX = "Status";
+	private static final String LOG_GROUP_SUFFIX = "Log";
+	private static final String RDIFF_GROUP_SUFFIX = "RDiff";
+	private static final String[] PERFORMANCE_GROUPS = new String[] {UPDATE_GROUP_SUFFIX, STATUS_GROUP_SUFFIX, LOG_GROUP_SUFFIX, RDIFF_GROUP_SUFFIX};
+
+	// the number of lines passed to the listeners
+	private int count;
+
+	public ResponseDispatchTests() {
+		super();
+	}
+
+	public ResponseDispatchTests(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return suite(ResponseDispatchTests.class);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		TestConnection.resetResponses();
+		super.tearDown();
+	}
+
+	public void testResponseDispatch() throws Exception {
+		ICVSRepositoryLocation location = KnownRepositories.getInstance().getRepository(":test:user:password@host:/path");
+		// disable version determination to reduce traffic
+		CVSProviderPlugin.getPlugin().setDetermineVersionEnabled(false);
+		Session session = new Session(location, CVSWorkspaceRoot.getCVSFolderFor(ResourcesPlugin.getWorkspace().getRoot()), false /* output to console */);
+		session.open(DEFAULT_MONITOR, false /* read-only */);
+		try {
+			String update = createUpdateResponses();
+			String status = createStatusResponses();
+			String log = createLogResponses();
+			String rdiff = createRDiffResponses();
+			setupGroups(PERFORMANCE_GROUPS, "CVS Response Dispatch", false);
+			for (int i = 0; i < BenchmarkTestSetup.LOOP_COUNT; i++) {
+				startGroup(UPDATE_GROUP_SUFFIX);
+				replay(session, update, new UpdateListener(new UpdateMessageCounter()));
+				endGroup();
+
+				startGroup(STATUS_GROUP_SUFFIX);
+				replay(session, status, new StatusListener((commandRoot, path, remoteRevision) -> count++));
+				endGroup();
+
+				startGroup(LOG_GROUP_SUFFIX);
+				replay(session, log, new LogListener(entry -> count++));
+				endGroup();
+
+				startGroup(RDIFF_GROUP_SUFFIX);
+				replay(session, rdiff, new RDiffSummaryListener(new FileDiffCounter()));
+				endGroup();
+			}
+			commitGroups(false);
+		} finally {
+			session.close();
+		}
+		assertTrue(count > 0);
+	}
+
+	/*
+	 * Execute a command for which the test connection responds with the given responses
+	 */
+	private void replay(Session session, String responses, ICommandOutputListener listener) throws Exception {
+		TestConnection.setResponse("rdiff", responses);
+		IStatus status = Command.RDIFF.execute(session, Command.NO_GLOBAL_OPTIONS, new LocalOption[] {RDiff.SUMMARY},
+				new String[] {"project"}, listener, DEFAULT_MONITOR);
+		assertTrue(status.isOK());
+	}
+
+	private String createUpdateResponses() {
+		SequenceGenerator gen = new SequenceGenerator();
+		StringBuilder buffer = new StringBuilder();
+		for (int i = 0; i < FOLDER_COUNT; i++) {
+			buffer.append("E cvs update: Updating project/folder").append(i).append('\n');
+			for (int j = 0; j < FILE_COUNT; j++) {
+				char type = "UPMC?".charAt(gen.nextInt(5));
+				buffer.append("M ").append(type).append(" project/folder").append(i).append("/file").append(j).append(".txt\n");
+			}
+		}
+		return buffer.append("ok\n").toString();
+	}
+
+	private String createStatusResponses() {
+		StringBuilder buffer = new StringBuilder();
+		for (int i = 0; i < FOLDER_COUNT; i++) {
+			buffer.append("E cvs status: Examining project/folder").append(i).append('\n');
+			for (int j = 0; j < FILE_COUNT; j++) {
+				String file = "file" + j + ".txt";
+				buffer.append("M ===================================================================\n");
+				buffer.append("M File: ").append(file).append("        \tStatus: Up-to-date\n");
+				buffer.append("M \n");
+				buffer.append("M    Working revision:\t1.3\n");
+				buffer.append("M    Repository revision:\t1.3\t/path/project/folder").append(i).append('/').append(file).append(",v\n");
+				buffer.append("M    Sticky Tag:\t\t(none)\n");
+				buffer.append("M    Sticky Date:\t\t(none)\n");
+				buffer.append("M    Sticky Options:\t(none)\n");
+				buffer.append("M \n");
+			}
+		}
+		return buffer.append("ok\n").toString();
+	}
+
+	private String createLogResponses() {
+		StringBuilder buffer = new StringBuilder();
+		for (int i = 0; i < FOLDER_COUNT; i++) {
+			for (int j = 0; j < FILE_COUNT; j++) {
+				buffer.append("M \n");
+				buffer.append("M RCS file: /path/project/folder").append(i).append("/file").append(j).append(".txt,v\n");
+				buffer.append("M head: 1.3\n");
+				buffer.append("M branch:\n");
+				buffer.append("M locks: strict\n");
+				buffer.append("M access list:\n");
+				buffer.append("M symbolic names:\n");
+				buffer.append("M \tv2: 1.3\n");
+				buffer.append("M \tbranch1: 1.1.0.2\n");
+				buffer.append("M keyword substitution: kv\n");
+				buffer.append("M total revisions: 3;\tselected revisions: 3\n");
+				buffer.append("M description:\n");
+				for (int k = 3; k > 0; k--) {
+					buffer.append("M ----------------------------\n");
+					buffer.append("M revision 1.").append(k).append('\n');
+					buffer.append("M date: 2003/03/04 19:47:36;  author: user;  state: Exp;  lines: +1 -1\n");
+					buffer.append("M Change ").append(k).append('\n');
+				}
+				buffer.append("M =============================================================================\n");
+			}
+		}
+		return buffer.append("ok\n").toString();
+	}
+
+	private String createRDiffResponses() {
+		StringBuilder buffer = new StringBuilder();
+		for (int i = 0; i < FOLDER_COUNT; i++) {
+			buffer.append("E cvs rdiff: Diffing project/folder").append(i).append('\n');
+			for (int j = 0; j < FILE_COUNT; j++) {
+				String file = "project/folder" + i + "/file" + j + ".txt";
+				switch (j % 3) {
+				case 0:
+					buffer.append("M File ").append(file).append(" changed from revision 1.1 to 1.2\n");
+					break;
+				case 1:
+					buffer.append("M File ").append(file).append(" is new; v2 revision 1.1\n");
+					break;
+				default:
+					buffer.append("M File ").append(file).append(" is removed; v1 revision 1.3\n");
+				}
+			}
+		}
+		return buffer.append("ok\n").toString();
+	}
+
+	private class UpdateMessageCounter implements IUpdateMessageListener {
+		@Override
+		public void directoryDoesNotExist(ICVSFolder commandRoot, String path) {
+			count++;
+		}
+		@Override
+		public void directoryInformation(ICVSFolder commandRoot, String path, boolean newDirectory) {
+			count++;
+		}
+		@Override
+		public void fileInformation(int type, ICVSFolder parent, String filename) {
+			count++;
+		}
+		@Override
+		public void fileDoesNotExist(ICVSFolder parent, String filename) {
+			count++;
+		}
+	}
+
+	private class FileDiffCounter implements RDiffSummaryListener.IFileDiffListener {
+		@Override
+		public void fileDiff(String remoteFilePath, String leftRevision, String rightRevision) {
+			count++;
+		}
+		@Override
+		public void newFile(String remoteFilePath, String rightRevision) {
+			count++;
+		}
+		@Override
+		public void deletedFile(String remoteFilePath, String leftRevision) {
+			count++;
+		}
+		@Override
+		public void directory(String remoteFolderPath) {
+			count++;
+		}
+	}
+}
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.tests.ccvs.ui.benchmark;
+
+import java.util.*;
+
+import junit.framework.Test;
+
+import org.eclipse.team.internal.ccvs.core.util.Revision;
+import org.eclipse.team.internal.ccvs.ui.VersionCollator;
+
+/**
+ * Compares the cost of sorting the revisions of a large history by splitting
+ * the revision strings for each comparison, by comparing the strings in place
+ * and by parsing each revision once.
+ */
+public class RevisionSortTests extends BenchmarkTest {
+	private static final int REVISION_COUNT = 10000;
+	private static final int SORT_COUNT = 10;
+
+	private static final String SPLIT_GROUP_SUFFIX = "SplitSegments";
+	private static final String IN_PLACE_GROUP_SUFFIX = "InPlace";
+	private static final String PARSED_GROUP_SUFFIX = "ParsedRevisions";
+	private static final String[] PERFORMANCE_GROUPS = new String[] {SPLIT_GROUP_SUFFIX, IN_PLACE_GROUP_SUFFIX, PARSED_GROUP_SUFFIX};
+
+	public RevisionSortTests() {
+		super();
+	}
+
+	public RevisionSortTests(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return suite(RevisionSortTests.class);
+	}
+
+	public void testSortHistory() {
+		String[] revisions = createRevisions();
+		VersionCollator collator = new VersionCollator();
+		setupGroups(PERFORMANCE_GROUPS, "CVS Revision Sort", false);
+		for (int i = 0; i < BenchmarkTestSetup.LOOP_COUNT; i++) {
+			String[] expected = null;
+			startGroup(SPLIT_GROUP_SUFFIX);
+			for (int j = 0; j < SORT_COUNT; j++) {
+				String[] sorted = revisions.clone();
+				Arrays.sort(sorted, RevisionSortTests::compareSegments);
+				expected = sorted;
+			}
+			endGroup();
+
+			startGroup(IN_PLACE_GROUP_SUFFIX);
+			for (int j = 0; j < SORT_COUNT; j++) {
+				String[] sorted = revisions.clone();
+				Arrays.sort(sorted, collator::compare);
+				assertTrue(Arrays.equals(expected, sorted));
+			}
+			endGroup();
+
+			startGroup(PARSED_GROUP_SUFFIX);
+			for (int j = 0; j < SORT_COUNT; j++) {
+				Revision[] sorted = new Revision[revisions.length];
+				for (int k = 0; k < sorted.length; k++) {
+					sorted[k] = Revision.valueOf(revisions[k]);
+				}
+				Arrays.sort(sorted);
+				assertEquals(expected[0], sorted[0].toString());
+			}
+			endGroup();
+		}
+		commitGroups(false);
+	}
+
+	/*
+	 * Return the revisions of a history with a long trunk and a few branches
+	 */
+	private String[] createRevisions() {
+		SequenceGenerator gen = new SequenceGenerator();
+		List<String> revisions = new ArrayList<>(REVISION_COUNT);
+		int trunk = 1;
+		while (revisions.size() < REVISION_COUNT) {
+			revisions.add("1." + trunk);
+			if (gen.nextInt(20) == 0) {
+				int length = gen.nextInt(30) + 1;
+				for (int i = 1; i <= length && revisions.size() < REVISION_COUNT; i++) {
+					revisions.add("1." + trunk + ".2." + i);
+				}
+			}
+			trunk++;
+		}
+		Collections.shuffle(revisions, new Random(0));
+		return revisions.toArray(new String[revisions.size()]);
+	}
+
+	/*
+	 * Compare the revisions the way the history tables used to, splitting
+	 * the strings into their segments for each comparison
+	 */
+	private static int compareSegments(String revision1, String revision2) {
+		int[] segments1 = getSegments(revision1);
+		int[] segments2 = getSegments(revision2);
+		for (int i = 0; i < segments1.length && i < segments2.length; i++) {
+			if (segments1[i] != segments2[i]) {
+				return segments1[i] > segments2[i] ? 1 : -1;
+			}
+		}
+		return Integer.compare(segments1.length, segments2.length);
+	}
+
+	private static int[] getSegments(String revision) {
+		List<Integer> list = new ArrayList<>();
+		StringBuilder buffer = new StringBuilder();
+		for (int i = 0; i < revision.length(); i++) {
+			char ch = revision.charAt(i);
+			if (ch == '.') {
+				list.add(Integer.valueOf(buffer.toString()));
+				buffer = new StringBuilder();
+			} else {
+				buffer.append(ch);
+			}
+		}
+		list.add(Integer.valueOf(buffer.toString()));
+		int[] result = new int[list.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = list.get(i).intValue();
+		}
+		return result;
+	}
+}
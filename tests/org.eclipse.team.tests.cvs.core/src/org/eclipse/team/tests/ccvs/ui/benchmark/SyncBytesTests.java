@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.tests.ccvs.ui.benchmark;
+
+import junit.framework.Test;
+
+import org.eclipse.team.internal.ccvs.core.CVSException;
+import org.eclipse.team.internal.ccvs.core.syncinfo.EntryLineView;
+import org.eclipse.team.internal.ccvs.core.syncinfo.ResourceSyncInfo;
+
+/**
+ * Compares the cost of querying entry lines using the static helpers of
+ * ResourceSyncInfo, a ResourceSyncInfo instance and an EntryLineView.
+ */
+public class SyncBytesTests extends BenchmarkTest {
+	private static final int ENTRY_COUNT = 10000;
+	private static final int QUERY_COUNT = 50;
+
+	private static final String STATIC_GROUP_SUFFIX = "StaticHelpers";
+	private static final String INSTANCE_GROUP_SUFFIX = "ResourceSyncInfo";
+	private static final String VIEW_GROUP_SUFFIX = "EntryLineView";
+	private static final String[] PERFORMANCE_GROUPS = new String[] {STATIC_GROUP_SUFFIX, INSTANCE_GROUP_SUFFIX, VIEW_GROUP_SUFFIX};
+
+	// prevents the queries from being optimized away
+	private int checksum;
+
+	public SyncBytesTests() {
+		super();
+	}
+
+	public SyncBytesTests(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return suite(SyncBytesTests.class);
+	}
+
+	public void testEntryLineQueries() throws Exception {
+		byte[][] entries = createEntries();
+		setupGroups(PERFORMANCE_GROUPS, "CVS Entry Line Queries", false);
+		for (int i = 0; i < BenchmarkTestSetup.LOOP_COUNT; i++) {
+			startGroup(STATIC_GROUP_SUFFIX);
+			for (int j = 0; j < QUERY_COUNT; j++) queryStatic(entries);
+			endGroup();
+
+			startGroup(INSTANCE_GROUP_SUFFIX);
+			for (int j = 0; j < QUERY_COUNT; j++) queryInstance(entries);
+			endGroup();
+
+			startGroup(VIEW_GROUP_SUFFIX);
+			for (int j = 0; j < QUERY_COUNT; j++) queryView(entries);
+			endGroup();
+		}
+		commitGroups(false);
+		assertTrue(checksum != 0);
+	}
+
+	private byte[][] createEntries() {
+		SequenceGenerator gen = new SequenceGenerator();
+		byte[][] entries = new byte[ENTRY_COUNT][];
+		for (int i = 0; i < entries.length; i++) {
+			String revision = "1." + (gen.nextInt(20) + 1);
+			String mode = i % 10 == 0 ? "-kb" : "";
+			String tag = i % 3 == 0 ? "Nbranch" : "";
+			entries[i] = ("/file" + i + ".txt/" + revision + "/Tue Mar  4 19:47:36 2003/" + mode + "/" + tag).getBytes();
+		}
+		return entries;
+	}
+
+	private void queryStatic(byte[][] entries) throws CVSException {
+		for (byte[] entry : entries) {
+			if (!ResourceSyncInfo.isAddition(entry) && !ResourceSyncInfo.isMerge(entry)
+					&& !ResourceSyncInfo.isBinary(entry)) {
+				checksum += ResourceSyncInfo.getRevision(entry).length() + ResourceSyncInfo.getTagBytes(entry).length;
+			}
+		}
+	}
+
+	private void queryInstance(byte[][] entries) throws CVSException {
+		for (byte[] entry : entries) {
+			ResourceSyncInfo info = new ResourceSyncInfo(entry);
+			if (!info.isAdded() && !info.isMerged() && !info.getKeywordMode().isBinary()) {
+				checksum += info.getRevision().length() + (info.getTag() == null ? 0 : info.getTag().getName().length() + 1);
+			}
+		}
+	}
+
+	private void queryView(byte[][] entries) throws CVSException {
+		for (byte[] entry : entries) {
+			EntryLineView view = new EntryLineView(entry);
+			if (!view.isAddition() && !view.isMerge() && !view.isBinary()) {
+				checksum += view.getRevision().length() + view.getTagBytes().length;
+			}
+		}
+	}
+}
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.team.tests.ccvs.ui.benchmark;
+
+import junit.framework.Test;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.team.internal.ccvs.core.CVSTag;
+import org.eclipse.team.internal.ccvs.core.resources.EclipseSynchronizer;
+import org.eclipse.team.internal.ccvs.core.syncinfo.FolderSyncInfo;
+import org.eclipse.team.internal.ccvs.core.syncinfo.MutableResourceSyncInfo;
+import org.eclipse.team.internal.ccvs.core.syncinfo.ResourceSyncInfo;
+
+/**
+ * Measures how the access to sync information scales when several threads
+ * work in different projects at the same time. The same work is done once
+ * by a single thread and once by one thread per project.
+ */
+public class SynchronizerContentionTests extends BenchmarkTest {
+	private static final int PROJECT_COUNT = 4;
+	private static final int FOLDER_COUNT = 10;
+	private static final int FILE_COUNT = 50;
+
+	private static final String SEQUENTIAL_GROUP_SUFFIX = "Sequential";
+	private static final String CONCURRENT_GROUP_SUFFIX = "Concurrent";
+	private static final String[] PERFORMANCE_GROUPS = new String[] {SEQUENTIAL_GROUP_SUFFIX, CONCURRENT_GROUP_SUFFIX};
+
+	private static EclipseSynchronizer sync = EclipseSynchronizer.getInstance();
+
+	public SynchronizerContentionTests() {
+		super();
+	}
+
+	public SynchronizerContentionTests(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return suite(SynchronizerContentionTests.class);
+	}
+
+	public void testSyncInfoAccess() throws Exception {
+		final IProject[] projects = new IProject[PROJECT_COUNT];
+		for (int i = 0; i < projects.length; i++) {
+			projects[i] = createProject(getName() + i);
+		}
+		setupGroups(PERFORMANCE_GROUPS, "CVS Synchronizer Contention", false);
+		for (int i = 0; i < BenchmarkTestSetup.LOOP_COUNT; i++) {
+			startGroup(SEQUENTIAL_GROUP_SUFFIX);
+			for (IProject project : projects) {
+				accessSyncInfo(project);
+			}
+			endGroup();
+
+			startGroup(CONCURRENT_GROUP_SUFFIX);
+			final Exception[] errors = new Exception[projects.length];
+			Thread[] threads = new Thread[projects.length];
+			for (int j = 0; j < projects.length; j++) {
+				final int index = j;
+				threads[j] = new Thread(() -> {
+					try {
+						accessSyncInfo(projects[index]);
+					} catch (Exception e) {
+						errors[index] = e;
+					}
+				}, "Synchronizer contention " + j);
+				threads[j].start();
+			}
+			for (Thread thread : threads) {
+				thread.join();
+			}
+			endGroup();
+			for (Exception e : errors) {
+				if (e != null) throw e;
+			}
+		}
+		commitGroups(false);
+	}
+
+	/*
+	 * Create a project with dummy sync info for all its resources
+	 */
+	private IProject createProject(String prefix) throws CoreException {
+		String[] paths = new String[FOLDER_COUNT * (FILE_COUNT + 1)];
+		int index = 0;
+		for (int i = 0; i < FOLDER_COUNT; i++) {
+			paths[index++] = "folder" + i + "/";
+			for (int j = 0; j < FILE_COUNT; j++) {
+				paths[index++] = "folder" + i + "/file" + j + ".txt";
+			}
+		}
+		IProject project = getUniqueTestProject(prefix);
+		buildResources(project, paths, true);
+		project.accept(resource -> {
+			if (resource.getType() != IResource.PROJECT) {
+				sync.setResourceSync(resource, dummyResourceSync(resource));
+			}
+			if (resource.getType() != IResource.FILE) {
+				sync.setFolderSync((IContainer)resource, new FolderSyncInfo("repo", ":pserver:user@host:/root", CVSTag.DEFAULT, false));
+			}
+			return true;
+		});
+		return project;
+	}
+
+	private ResourceSyncInfo dummyResourceSync(IResource resource) {
+		if (resource.getType() == IResource.FILE) {
+			MutableResourceSyncInfo info = new MutableResourceSyncInfo(resource.getName(), "1.1");
+			info.setTag(CVSTag.DEFAULT);
+			return info;
+		} else {
+			return new ResourceSyncInfo(resource.getName());
+		}
+	}
+
+	/*
+	 * Purge the cached sync info of the project and read it back
+	 */
+	private void accessSyncInfo(IProject project) throws CoreException {
+		sync.flush(project, true /* deep */, null);
+		project.accept(resource -> {
+			if (resource.getType() != IResource.PROJECT) {
+				assertNotNull(sync.getSyncBytes(resource));
+			}
+			if (resource.getType() != IResource.FILE) {
+				assertNotNull(sync.getFolderSync((IContainer)resource));
+			}
+			return true;
+		});
+	}
+}